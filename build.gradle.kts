@@ -1,6 +1,7 @@
 plugins {
     id("java")
     id("application")
+    id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "org.lab"
@@ -16,19 +17,25 @@ java {
     }
 }
 
+val jvmFlags = listOf(
+    "--enable-preview",
+    "--add-modules", "jdk.incubator.vector"
+)
+
 tasks.withType<JavaCompile> {
     options.compilerArgs.addAll(listOf(
         "--enable-preview",
-        "-Xlint:preview"
+        "-Xlint:preview",
+        "--add-modules", "jdk.incubator.vector"
     ))
 }
 
 tasks.withType<Test> {
-    jvmArgs("--enable-preview")
+    jvmArgs(jvmFlags)
 }
 
 tasks.withType<JavaExec> {
-    jvmArgs("--enable-preview")
+    jvmArgs(jvmFlags)
 }
 
 dependencies {
@@ -41,6 +48,44 @@ tasks.test {
     useJUnitPlatform()
 }
 
+jmh {
+    includeTests = false
+    jmhVersion = "1.37"
+    jvmArgs.addAll(jvmFlags)
+}
+
+tasks.named<me.champeau.jmh.JmhBytecodeGeneratorTask>("jmhRunBytecodeGenerator") {
+    jvmArgs.addAll(jvmFlags)
+}
+
 application {
     mainClass = "org.lab.Main"
-}
\ No newline at end of file
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Runs the synthetic workload against an in-memory service"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "org.lab.load.LoadTest"
+}
+
+tasks.register<JavaExec>("apiServer") {
+    group = "application"
+    description = "Serves the HTTP API over an empty in-memory service"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "org.lab.http.ApiServer"
+}
+
+tasks.register<JavaExec>("replicaNode") {
+    group = "application"
+    description = "Runs a replication leader or follower node; see org.lab.replication.ReplicaNode"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "org.lab.replication.ReplicaNode"
+}
+
+tasks.register<JavaExec>("apiBenchmark") {
+    group = "verification"
+    description = "Benchmarks the HTTP API, against an embedded server unless --url is given"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass = "org.lab.http.ApiBenchmarkClient"
+}
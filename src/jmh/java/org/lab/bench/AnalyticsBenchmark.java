@@ -0,0 +1,90 @@
+package org.lab.bench;
+
+import org.lab.model.*;
+import org.lab.service.ProjectAnalyticsService;
+import org.lab.service.ProjectAnalyticsService.ProjectStats;
+import org.lab.service.ProjectManagementService;
+import org.lab.service.ProjectStatsCalculator;
+import org.lab.service.StatusKernels;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A stats-only analytics request: {@code eager} loads the three lists and
+ * recounts them, as the analytics handle used to; {@code counters} reads the
+ * service's running totals, and {@code handle} builds the lazy analytics
+ * handle around them. Run with {@code -prof gc} for bytes per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnalyticsBenchmark {
+
+    @Param({"1000", "10000"})
+    private int tickets;
+
+    private ProjectManagementService service;
+    private ProjectAnalyticsService analytics;
+    private ProjectStatsCalculator calculator;
+    private UUID projectId;
+
+    @Setup
+    public void setUp() {
+        service = new ProjectManagementService();
+        analytics = new ProjectAnalyticsService(service);
+        calculator = new ProjectStatsCalculator(StatusKernels.preferred(),
+                ProjectStatsCalculator.DEFAULT_PARALLEL_THRESHOLD);
+        var manager = User.create("manager", "manager@bench.org", "Manager");
+        var project = Project.create("Project", "Benchmark", manager.id());
+        projectId = project.id();
+        var random = new Random(5);
+        var now = LocalDateTime.now();
+        var ticketStatuses = TicketStatus.values();
+        var bugStatuses = BugReportStatus.values();
+
+        var milestones = new ArrayList<Milestone>();
+        for (int m = 0; m < 20; m++) {
+            var status = m < 18 ? MilestoneStatus.CLOSED : MilestoneStatus.ACTIVE;
+            milestones.add(new Milestone(UUID.randomUUID(), STR."Sprint \{m}", "", status, projectId,
+                    null, null, List.of(), now, now));
+        }
+        var ticketList = new ArrayList<Ticket>(tickets);
+        for (int t = 0; t < tickets; t++) {
+            ticketList.add(new Ticket(UUID.randomUUID(), STR."Ticket \{t}", "Desc",
+                    ticketStatuses[random.nextInt(ticketStatuses.length)], projectId, null, Set.of(), now, now));
+        }
+        var bugList = new ArrayList<BugReport>(tickets / 4);
+        for (int b = 0; b < tickets / 4; b++) {
+            bugList.add(new BugReport(UUID.randomUUID(), STR."Bug \{b}", "Desc",
+                    bugStatuses[random.nextInt(bugStatuses.length)], projectId, manager.id(), null,
+                    random.nextBoolean() ? "critical" : "low", now, now));
+        }
+        service.bulkLoad(List.of(manager), List.of(project), milestones, ticketList, bugList);
+    }
+
+    @Benchmark
+    public ProjectStats eager() {
+        return calculator.calculate(service.getTicketsByProject(projectId),
+                service.getBugReportsByProject(projectId), service.getMilestonesByProject(projectId));
+    }
+
+    @Benchmark
+    public ProjectStats counters() {
+        return service.getProjectStats(projectId);
+    }
+
+    @Benchmark
+    public ProjectStats handle() {
+        return analytics.getProjectAnalytics(projectId).stats();
+    }
+}
@@ -0,0 +1,93 @@
+package org.lab.bench;
+
+import org.lab.command.Command;
+import org.lab.command.CommandPipeline;
+import org.lab.model.Role;
+import org.lab.model.Ticket;
+import org.lab.model.User;
+import org.lab.service.ProjectManagementService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write bursts of {@value #BURST} developer reassignments per caller,
+ * applied by direct service calls versus through the command pipeline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class CommandPipelineBenchmark {
+    private static final int BURST = 64;
+
+    private ProjectManagementService service;
+    private CommandPipeline pipeline;
+    private User manager;
+    private List<User> developers;
+    private List<Ticket> tickets;
+
+    @Setup
+    public void setUp() {
+        service = new ProjectManagementService();
+        pipeline = new CommandPipeline(service);
+        manager = service.registerUser("manager", "manager@bench.org", "Manager");
+        developers = new ArrayList<>();
+        tickets = new ArrayList<>();
+        for (int d = 0; d < 8; d++) {
+            developers.add(service.registerUser(STR."dev\{d}", STR."dev\{d}@bench.org", "Developer"));
+        }
+        for (int p = 0; p < 32; p++) {
+            var project = service.createProject(STR."Project \{p}", "Benchmark", manager.id());
+            for (var developer : developers) {
+                service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+            }
+            for (int t = 0; t < 128; t++) {
+                tickets.add(service.createTicket(STR."Ticket \{t}", "Benchmark", project.id(), null, manager.id()));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        pipeline.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void direct() {
+        var random = ThreadLocalRandom.current();
+        for (int i = 0; i < BURST; i++) {
+            service.assignDevelopersToTicket(randomTicket(random), Set.of(randomDeveloper(random)), manager.id());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void pipelined() {
+        var random = ThreadLocalRandom.current();
+        var acks = new CompletableFuture<?>[BURST];
+        for (int i = 0; i < BURST; i++) {
+            acks[i] = pipeline.submit(new Command.AssignTicket(randomTicket(random),
+                    Set.of(randomDeveloper(random)), manager.id()));
+        }
+        CompletableFuture.allOf(acks).join();
+    }
+
+    private UUID randomTicket(ThreadLocalRandom random) {
+        return tickets.get(random.nextInt(tickets.size())).id();
+    }
+
+    private UUID randomDeveloper(ThreadLocalRandom random) {
+        return developers.get(random.nextInt(developers.size())).id();
+    }
+}
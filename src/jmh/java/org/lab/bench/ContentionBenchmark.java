@@ -0,0 +1,60 @@
+package org.lab.bench;
+
+import org.lab.model.Role;
+import org.lab.model.Ticket;
+import org.lab.model.User;
+import org.lab.service.ProjectManagementService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compare-and-set ticket updates from many threads over a shrinking set of
+ * hot tickets; {@code hotTickets=1} means every thread fights for one key.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+public class ContentionBenchmark {
+
+    @Param({"1", "16", "1024"})
+    private int hotTickets;
+
+    private ProjectManagementService service;
+    private User manager;
+    private List<User> developers;
+    private List<Ticket> tickets;
+
+    @Setup
+    public void setUp() {
+        service = new ProjectManagementService();
+        manager = service.registerUser("manager", "manager@bench.org", "Manager");
+        var project = service.createProject("Project", "Benchmark", manager.id());
+        developers = new ArrayList<>();
+        for (int d = 0; d < 4; d++) {
+            var developer = service.registerUser(STR."dev\{d}", STR."dev\{d}@bench.org", "Developer");
+            service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+            developers.add(developer);
+        }
+        tickets = new ArrayList<>();
+        for (int t = 0; t < hotTickets; t++) {
+            tickets.add(service.createTicket(STR."Ticket \{t}", "Benchmark", project.id(), null, manager.id()));
+        }
+    }
+
+    @Benchmark
+    public void reassign() {
+        var random = ThreadLocalRandom.current();
+        var ticket = tickets.get(random.nextInt(tickets.size()));
+        var developer = developers.get(random.nextInt(developers.size()));
+        service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+    }
+}
@@ -0,0 +1,96 @@
+package org.lab.bench;
+
+import org.lab.graph.DependencyGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dependency graph of {@code nodes} tickets spread over 100 milestones, with
+ * two random "blocks" edges per ticket that all point the same way in a
+ * hidden order, inserted shuffled so insertion keeps reordering. Measures
+ * the reads ({@code nextUnblocked}, {@code criticalPath}) and the
+ * incremental upkeep: an edge added and removed again, and a ticket
+ * completed and reopened, each with the re-sorting and depth propagation
+ * it causes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DependencyGraphBenchmark {
+
+    private static final int MILESTONES = 100;
+
+    @Param({"10000", "100000"})
+    private int nodes;
+
+    private DependencyGraph graph;
+    private List<UUID> ids;
+    private List<UUID> milestones;
+    private Random random;
+    private long version;
+
+    @Setup
+    public void setUp() {
+        graph = new DependencyGraph();
+        random = new Random(1);
+        milestones = new ArrayList<>();
+        for (int m = 0; m < MILESTONES; m++) {
+            milestones.add(UUID.randomUUID());
+        }
+        ids = new ArrayList<>(nodes);
+        for (int i = 0; i < nodes; i++) {
+            var id = UUID.randomUUID();
+            ids.add(id);
+            graph.put(id, milestones.get(i % MILESTONES), true, 0);
+        }
+        var edges = new ArrayList<int[]>();
+        for (int i = 1; i < nodes; i++) {
+            for (int e = 0; e < 2; e++) {
+                int from = Math.max(0, i - 1 - random.nextInt(Math.min(i, 50)));
+                edges.add(new int[]{from, i});
+            }
+        }
+        Collections.shuffle(edges, random);
+        for (var edge : edges) {
+            graph.addEdge(ids.get(edge[0]), ids.get(edge[1]));
+        }
+        version = 1;
+    }
+
+    @Benchmark
+    public List<UUID> nextUnblocked() {
+        return graph.unblocked(20);
+    }
+
+    @Benchmark
+    public List<UUID> criticalPath() {
+        return graph.criticalPath(milestones.get(random.nextInt(MILESTONES)));
+    }
+
+    @Benchmark
+    public boolean addAndRemoveEdge() {
+        int to = 1 + random.nextInt(nodes - 1);
+        int from = random.nextInt(to);
+        var blocker = ids.get(from);
+        var blocked = ids.get(to);
+        return graph.addEdge(blocker, blocked) && graph.removeEdge(blocker, blocked);
+    }
+
+    @Benchmark
+    public void completeAndReopen() {
+        int node = random.nextInt(nodes);
+        var id = ids.get(node);
+        var milestone = milestones.get(node % MILESTONES);
+        graph.put(id, milestone, false, version++);
+        graph.put(id, milestone, true, version++);
+    }
+}
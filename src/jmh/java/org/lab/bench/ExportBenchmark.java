@@ -0,0 +1,76 @@
+package org.lab.bench;
+
+import org.lab.io.ExportFormat;
+import org.lab.io.ProjectExporter;
+import org.lab.model.Project;
+import org.lab.model.Role;
+import org.lab.service.ProjectManagementService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/** Export throughput to a local file; the {@code bytes} counter reports bytes per second. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExportBenchmark {
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long bytes;
+    }
+
+    @Param({"100000"})
+    private int tickets;
+
+    @Param({"JSON_LINES", "CSV"})
+    private ExportFormat format;
+
+    private ProjectManagementService service;
+    private Project project;
+    private ProjectExporter exporter;
+    private Path target;
+
+    @Setup
+    public void setUp() throws IOException {
+        service = new ProjectManagementService();
+        var manager = service.registerUser("manager", "manager@bench.org", "Manager");
+        var developer = service.registerUser("dev", "dev@bench.org", "Developer");
+        project = service.createProject("Bench", "Export benchmark", manager.id());
+        service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        for (int i = 0; i < tickets; i++) {
+            var ticket = service.createTicket(STR."Ticket \{i}", STR."Description of ticket \{i}, with \"quotes\"",
+                    project.id(), null, manager.id());
+            service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+            if (i % 10 == 0) {
+                service.createBugReport(STR."Bug \{i}", "Steps to reproduce", project.id(), developer.id(), "low");
+            }
+        }
+        exporter = new ProjectExporter(service, format);
+        target = Files.createTempFile("export", ".out");
+    }
+
+    @Benchmark
+    public long exportToFile(Counters counters) throws IOException {
+        try (var channel = FileChannel.open(target, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            long written = exporter.export(project.id(), channel);
+            counters.bytes += written;
+            return written;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(target);
+    }
+}
@@ -0,0 +1,72 @@
+package org.lab.bench;
+
+import org.lab.io.BulkImporter;
+import org.lab.io.ExportFormat;
+import org.lab.io.ImportReport;
+import org.lab.service.ProjectManagementService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/** Wall-clock time of a full import of a generated CSV file. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx3g"})
+public class ImportBenchmark {
+
+    @Param({"1000000"})
+    private int rows;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        file = Files.createTempFile("import", ".csv");
+        int userCount = Math.max(1, rows / 100);
+        int projectCount = Math.max(1, rows / 10_000);
+        var users = new UUID[userCount];
+        var projects = new UUID[projectCount];
+        var developers = new UUID[projectCount];
+        int written = 0;
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (int i = 0; i < userCount; i++, written++) {
+                users[i] = UUID.randomUUID();
+                out.write(STR."user,\{users[i]},user\{i},user\{i}@bench.org,User \{i}\n");
+            }
+            for (int i = 0; i < projectCount; i++, written += 3) {
+                projects[i] = UUID.randomUUID();
+                developers[i] = users[(i + 1) % userCount];
+                out.write(STR."project,\{projects[i]},Project \{i},Imported,\{users[i % userCount]},,,2025-01-01T10:00,2025-01-01T10:00\n");
+                out.write(STR."member,\{projects[i]},\{users[i % userCount]},manager\n");
+                out.write(STR."member,\{projects[i]},\{developers[i]},developer\n");
+            }
+            for (int i = 0; written < rows; i++, written++) {
+                var project = projects[i % projectCount];
+                var assignee = developers[i % projectCount];
+                out.write(STR."ticket,\{UUID.randomUUID()},\{project},,Ticket \{i},\"Imported, row \{i}\",IN_PROGRESS,\{assignee},2025-01-01T10:00,2025-01-02T10:00\n");
+            }
+        }
+    }
+
+    @Benchmark
+    public ImportReport importCsv() throws IOException {
+        var report = new BulkImporter(new ProjectManagementService()).importFile(file, ExportFormat.CSV);
+        if (!report.successful()) {
+            throw new IllegalStateException(report.errors().toString());
+        }
+        return report;
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+}
@@ -0,0 +1,99 @@
+package org.lab.bench;
+
+import org.lab.model.*;
+import org.lab.service.InboxItem;
+import org.lab.service.ProjectManagementService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "What's on my plate", first page of 20: {@code assignedLists} reads the
+ * user's tickets and bug reports through the assignee indexes, drops
+ * finished ones and sorts; {@code inbox} reads the maintained inbox.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InboxBenchmark {
+
+    private static final int PAGE = 20;
+
+    @Param({"50", "500"})
+    private int assigned;
+
+    private ProjectManagementService service;
+    private User developer;
+
+    @Setup
+    public void setUp() {
+        service = new ProjectManagementService();
+        var manager = User.create("manager", "manager@bench.org", "Manager");
+        developer = User.create("dev", "dev@bench.org", "Developer");
+        var project = Project.create("Project", "Benchmark", manager.id());
+        project.addTeamMember(developer.id(), new Role.Developer());
+        var random = new Random(11);
+        var now = LocalDateTime.now();
+        var statuses = TicketStatus.values();
+        var severities = List.of("critical", "high", "medium", "low");
+
+        var tickets = new ArrayList<Ticket>();
+        for (int t = 0; t < 20_000; t++) {
+            var assignees = t < assigned ? Set.of(developer.id()) : Set.of(manager.id());
+            tickets.add(new Ticket(UUID.randomUUID(), STR."Ticket \{t}", "Desc",
+                    statuses[random.nextInt(statuses.length)], project.id(), null, assignees,
+                    now.minusMinutes(random.nextInt(10_000)), now.minusMinutes(random.nextInt(10_000))));
+        }
+        var bugs = new ArrayList<BugReport>();
+        for (int b = 0; b < assigned / 4; b++) {
+            bugs.add(new BugReport(UUID.randomUUID(), STR."Bug \{b}", "Desc",
+                    b % 3 == 0 ? BugReportStatus.CLOSED : BugReportStatus.NEW, project.id(), manager.id(),
+                    developer.id(), severities.get(random.nextInt(severities.size())),
+                    now, now.minusMinutes(random.nextInt(10_000))));
+        }
+        service.bulkLoad(List.of(manager, developer), List.of(project), List.of(), tickets, bugs);
+    }
+
+    @Benchmark
+    public List<InboxItem> assignedLists() {
+        var items = new ArrayList<InboxItem>();
+        for (var ticket : service.getUserTickets(developer.id())) {
+            if (!ticket.status().isCompleted()) {
+                items.add(new InboxItem(InboxItem.Kind.TICKET, ticket.id(), ticket.projectId(), ticket.title(),
+                        ticket.status().name(), switch (ticket.status()) {
+                            case IN_PROGRESS -> 1;
+                            case ACCEPTED -> 2;
+                            case NEW, COMPLETED -> 3;
+                        }, ticket.updatedAt(), ticket.version()));
+            }
+        }
+        for (var bug : service.getUserBugReports(developer.id())) {
+            if (!bug.status().isClosed()) {
+                items.add(new InboxItem(InboxItem.Kind.BUG_REPORT, bug.id(), bug.projectId(), bug.title(),
+                        bug.status().name(), switch (bug.severity()) {
+                            case "critical" -> 0;
+                            case "high" -> 1;
+                            case "medium" -> 2;
+                            default -> 3;
+                        }, bug.updatedAt(), bug.version()));
+            }
+        }
+        items.sort(Comparator.comparingInt(InboxItem::priority).thenComparing(InboxItem::updatedAt));
+        return items.subList(0, Math.min(PAGE, items.size()));
+    }
+
+    @Benchmark
+    public List<InboxItem> inbox() {
+        return service.getInbox(developer.id(), 0, PAGE);
+    }
+}
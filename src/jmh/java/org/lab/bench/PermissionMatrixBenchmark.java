@@ -0,0 +1,62 @@
+package org.lab.bench;
+
+import org.lab.model.Project;
+import org.lab.model.Role;
+import org.lab.model.User;
+import org.lab.service.PermissionChecker;
+import org.lab.service.PermissionMatrix;
+import org.lab.service.ProjectManagementService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Permissions of a user in every project they belong to: {@code perPair}
+ * asks each project for the role and checks every permission, as a client
+ * had to before; {@code matrix} reads the cached matrix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionMatrixBenchmark {
+
+    @Param({"10", "2000"})
+    private int memberships;
+
+    private ProjectManagementService service;
+    private User member;
+
+    @Setup
+    public void setUp() {
+        service = new ProjectManagementService();
+        var owner = service.registerUser("owner", "owner@bench.org", "Owner");
+        member = service.registerUser("member", "member@bench.org", "Member");
+        for (int i = 0; i < memberships; i++) {
+            var project = service.createProject(STR."Project \{i}", "Benchmark", owner.id());
+            service.addTeamMember(project.id(), member.id(), i % 2 == 0 ? new Role.Developer() : new Role.Tester(),
+                    owner.id());
+        }
+    }
+
+    @Benchmark
+    public int perPair() {
+        int granted = 0;
+        for (Project project : service.getUserProjects(member.id())) {
+            var role = project.getUserRole(member.id()).orElseThrow();
+            for (var permission : PermissionMatrix.PERMISSIONS) {
+                if (PermissionChecker.hasPermission(role, permission)) {
+                    granted++;
+                }
+            }
+        }
+        return granted;
+    }
+
+    @Benchmark
+    public PermissionMatrix matrix() {
+        return service.getPermissionMatrix(member.id());
+    }
+}
@@ -0,0 +1,90 @@
+package org.lab.bench;
+
+import org.lab.model.*;
+import org.lab.query.Criterion;
+import org.lab.service.ProjectManagementService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static org.lab.query.TicketQueries.*;
+
+/**
+ * "In-progress tickets of one developer in one milestone touched in the last
+ * three days", answered by the planner and by filtering every ticket.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+    @Param({"10000", "200000"})
+    private int tickets;
+
+    private ProjectManagementService service;
+    private Criterion<Ticket> query;
+    private Criterion<Ticket> scan;
+
+    @Setup
+    public void setUp() {
+        service = new ProjectManagementService();
+        var random = new Random(42);
+        var users = new ArrayList<User>();
+        for (int i = 0; i < 200; i++) {
+            users.add(new User(UUID.randomUUID(), STR."user\{i}", STR."user\{i}@bench.org", STR."User \{i}"));
+        }
+        var projects = new ArrayList<Project>();
+        var milestones = new ArrayList<Milestone>();
+        var ticketList = new ArrayList<Ticket>(tickets);
+        var now = LocalDateTime.now();
+        var statuses = TicketStatus.values();
+        for (int p = 0; p < 20; p++) {
+            var projectId = UUID.randomUUID();
+            var team = new HashMap<UUID, Role>();
+            team.put(users.get(p).id(), new Role.Manager());
+            var members = users.subList(20 + p * 9, 29 + p * 9);
+            members.forEach(u -> team.put(u.id(), new Role.Developer()));
+            var milestoneIds = new ArrayList<UUID>();
+            for (int m = 0; m < 5; m++) {
+                var milestoneId = UUID.randomUUID();
+                var ticketIds = new ArrayList<UUID>();
+                for (int t = 0; t < tickets / 100; t++) {
+                    var ticket = new Ticket(UUID.randomUUID(), STR."Ticket \{t}", "", statuses[random.nextInt(statuses.length)],
+                            projectId, milestoneId, Set.of(members.get(random.nextInt(members.size())).id()),
+                            now.minusDays(60), now.minusMinutes(random.nextInt(60 * 24 * 60)), 1);
+                    ticketIds.add(ticket.id());
+                    ticketList.add(ticket);
+                }
+                milestoneIds.add(milestoneId);
+                milestones.add(new Milestone(milestoneId, STR."M\{m}", "", MilestoneStatus.ACTIVE, projectId,
+                        null, null, ticketIds, now, now));
+            }
+            projects.add(new Project(projectId, STR."Project \{p}", "", team, users.get(p).id(), null,
+                    milestoneIds, List.of(), null, now, now));
+        }
+        service.bulkLoad(users, projects, milestones, ticketList, List.of());
+
+        var sample = ticketList.get(ticketList.size() / 2);
+        query = status(TicketStatus.IN_PROGRESS)
+                .and(assignedTo(sample.assignedDevelopers().iterator().next()))
+                .and(inMilestone(sample.milestoneId()))
+                .and(updatedWithin(Duration.ofDays(3)));
+        scan = matching("same, unindexed", query::test);
+    }
+
+    @Benchmark
+    public List<Ticket> planned() {
+        return service.findTickets(query);
+    }
+
+    @Benchmark
+    public List<Ticket> naiveFilter() {
+        return service.findTickets(scan);
+    }
+}
@@ -0,0 +1,83 @@
+package org.lab.bench;
+
+import org.lab.command.Admission;
+import org.lab.command.Command;
+import org.lab.command.RateLimit;
+import org.lab.command.RateLimiter;
+import org.lab.command.RateLimits;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of admitting an operation whose buckets have tokens to spare:
+ * {@code userOnly} takes one token, {@code userAndProject} one per scope,
+ * {@code unlimited} finds no limit for the operation. {@code clock} is the
+ * {@link System#nanoTime()} read every limited call pays for. Run with
+ * {@code -t} above one to see the CAS under contention on a shared project.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1000"})
+    private int users;
+
+    private RateLimiter limiter;
+    private UUID[] userIds;
+    private UUID projectId;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        var generous = new RateLimit(1e9, 1_000_000);
+        limiter = new RateLimiter(RateLimits.NONE
+                .withUserLimit(Command.CreateTicket.class, generous)
+                .withUserLimit(Command.CreateBugReport.class, generous)
+                .withProjectLimit(Command.CreateBugReport.class, generous));
+        userIds = new UUID[users];
+        for (int i = 0; i < users; i++) {
+            userIds[i] = UUID.randomUUID();
+        }
+        projectId = UUID.randomUUID();
+        for (var userId : userIds) {
+            limiter.tryAcquire(Command.CreateBugReport.class, userId, projectId);
+            limiter.tryAcquire(Command.CreateTicket.class, userId, projectId);
+        }
+    }
+
+    private UUID user(Cursor cursor) {
+        var userId = userIds[cursor.next];
+        cursor.next = cursor.next + 1 == userIds.length ? 0 : cursor.next + 1;
+        return userId;
+    }
+
+    @Benchmark
+    public long clock() {
+        return System.nanoTime();
+    }
+
+    @Benchmark
+    public Admission.Throttled<?> unlimited(Cursor cursor) {
+        return limiter.tryAcquire(Command.AssignBug.class, user(cursor), projectId);
+    }
+
+    @Benchmark
+    public Admission.Throttled<?> userOnly(Cursor cursor) {
+        return limiter.tryAcquire(Command.CreateTicket.class, user(cursor), projectId);
+    }
+
+    @Benchmark
+    public Admission.Throttled<?> userAndProject(Cursor cursor) {
+        return limiter.tryAcquire(Command.CreateBugReport.class, user(cursor), projectId);
+    }
+}
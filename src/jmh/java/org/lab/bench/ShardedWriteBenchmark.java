@@ -0,0 +1,69 @@
+package org.lab.bench;
+
+import org.lab.model.Role;
+import org.lab.model.Ticket;
+import org.lab.model.User;
+import org.lab.service.ShardedProjectService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write throughput of the sharded service as shard count grows. Callers
+ * reassign developers on random tickets, a write that does not grow the
+ * store, so iterations stay comparable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class ShardedWriteBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    private int shards;
+
+    private ShardedProjectService service;
+    private User manager;
+    private List<User> developers;
+    private List<Ticket> tickets;
+
+    @Setup
+    public void setUp() {
+        service = new ShardedProjectService(shards);
+        manager = service.registerUser("manager", "manager@bench.org", "Manager");
+        developers = new ArrayList<>();
+        tickets = new ArrayList<>();
+        for (int d = 0; d < 8; d++) {
+            developers.add(service.registerUser(STR."dev\{d}", STR."dev\{d}@bench.org", "Developer"));
+        }
+        for (int p = 0; p < 64; p++) {
+            var project = service.createProject(STR."Project \{p}", "Benchmark", manager.id());
+            for (var developer : developers) {
+                service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+            }
+            for (int t = 0; t < 64; t++) {
+                tickets.add(service.createTicket(STR."Ticket \{t}", "Benchmark", project.id(), null, manager.id()));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public void reassignTicket() {
+        var random = ThreadLocalRandom.current();
+        var ticket = tickets.get(random.nextInt(tickets.size()));
+        var developer = developers.get(random.nextInt(developers.size()));
+        service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+    }
+}
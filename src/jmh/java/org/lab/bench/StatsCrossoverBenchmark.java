@@ -0,0 +1,70 @@
+package org.lab.bench;
+
+import org.lab.model.*;
+import org.lab.service.ProjectAnalyticsService.ProjectStats;
+import org.lab.service.ProjectStatsCalculator;
+import org.lab.service.StatusKernels;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Locates the size at which the fused parallel pass overtakes the columnar
+ * path; {@link ProjectStatsCalculator#DEFAULT_PARALLEL_THRESHOLD} follows it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatsCrossoverBenchmark {
+
+    @Param({"10000", "50000", "100000", "200000", "500000", "1000000"})
+    private int size;
+
+    private ProjectStatsCalculator calculator;
+    private List<Ticket> tickets;
+    private List<BugReport> bugs;
+    private List<Milestone> milestones;
+
+    @Setup
+    public void setUp() {
+        calculator = new ProjectStatsCalculator(StatusKernels.preferred(), Integer.MAX_VALUE);
+        var random = new Random(3);
+        var projectId = UUID.randomUUID();
+        var ticketStatuses = TicketStatus.values();
+        var bugStatuses = BugReportStatus.values();
+
+        tickets = new ArrayList<>(size);
+        bugs = new ArrayList<>(size / 4);
+        for (int i = 0; i < size; i++) {
+            tickets.add(Ticket.create("Ticket", "Desc", projectId, null)
+                    .withStatus(ticketStatuses[random.nextInt(ticketStatuses.length)]));
+        }
+        for (int i = 0; i < size / 4; i++) {
+            bugs.add(BugReport.create("Bug", "Desc", projectId, projectId, random.nextBoolean() ? "critical" : "low")
+                    .withStatus(bugStatuses[random.nextInt(bugStatuses.length)]));
+        }
+        milestones = List.of();
+    }
+
+    @Benchmark
+    public ProjectStats columnar() {
+        return calculator.columnar(tickets, bugs, milestones);
+    }
+
+    @Benchmark
+    public ProjectStats fusedSequential() {
+        return calculator.fused(tickets, bugs, milestones, false);
+    }
+
+    @Benchmark
+    public ProjectStats fusedParallel() {
+        return calculator.fused(tickets, bugs, milestones, true);
+    }
+}
@@ -0,0 +1,102 @@
+package org.lab.bench;
+
+import org.lab.model.Ticket;
+import org.lab.model.TicketStatus;
+import org.lab.service.StatusColumns;
+import org.lab.service.StatusKernel;
+import org.lab.service.StatusKernels;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status kernels on prebuilt columns ({@code histogram}, {@code criticalOpen},
+ * {@code overdue}); the service keeps its ticket columns up to date, so
+ * {@code overdue} is what its stuck-ticket check costs. For comparison,
+ * {@code overdueFromTickets} builds the columns from a ticket list on every
+ * call and {@code overdueStream} filters the list without a kernel.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatusKernelBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"scalar", "vector"})
+    private String kernelName;
+
+    private StatusKernel kernel;
+    private byte[] status;
+    private byte[] critical;
+    private long[] updatedAt;
+    private List<Ticket> tickets;
+    private LocalDateTime threshold;
+
+    @Setup
+    public void setUp() {
+        kernel = kernelName.equals("vector")
+                ? StatusKernels.vector().orElseThrow(() -> new IllegalStateException("Vector API is not available"))
+                : StatusKernels.scalar();
+
+        var random = new Random(1);
+        status = new byte[size];
+        critical = new byte[size];
+        updatedAt = new long[size];
+        for (int i = 0; i < size; i++) {
+            status[i] = (byte) random.nextInt(TicketStatus.values().length);
+            critical[i] = (byte) (random.nextInt(10) == 0 ? 1 : 0);
+            updatedAt[i] = random.nextLong(1_000_000);
+        }
+
+        var base = LocalDateTime.of(2026, 1, 1, 0, 0);
+        var projectId = UUID.randomUUID();
+        tickets = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            var time = base.plusSeconds(updatedAt[i]);
+            tickets.add(new Ticket(UUID.randomUUID(), "Task", "", TicketStatus.values()[status[i]], projectId, null,
+                    Set.of(), time, time));
+        }
+        threshold = base.plusSeconds(500_000);
+    }
+
+    @Benchmark
+    public int[] histogram() {
+        return kernel.histogram(status, size, TicketStatus.values().length);
+    }
+
+    @Benchmark
+    public int criticalOpen() {
+        return kernel.countBoth(critical, (byte) 1, status, (byte) 0, size);
+    }
+
+    @Benchmark
+    public int overdue() {
+        return kernel.countBefore(status, (byte) TicketStatus.IN_PROGRESS.ordinal(), updatedAt, 500_000, size);
+    }
+
+    @Benchmark
+    public int overdueFromTickets() {
+        var columns = StatusColumns.ofTickets(tickets);
+        return kernel.countBefore(columns.status(), StatusColumns.code(TicketStatus.IN_PROGRESS),
+                columns.updatedAt(), StatusColumns.epochMicros(threshold), columns.size());
+    }
+
+    @Benchmark
+    public long overdueStream() {
+        return tickets.stream()
+                .filter(t -> t.status() == TicketStatus.IN_PROGRESS)
+                .filter(t -> t.updatedAt().isBefore(threshold))
+                .count();
+    }
+}
@@ -0,0 +1,63 @@
+package org.lab.bench;
+
+import org.lab.service.OffHeapTextStorage;
+import org.lab.service.ProjectManagementService;
+import org.lab.service.TextStorage;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full GC pause over a populated service, with descriptions kept on-heap or
+ * off-heap. Heap occupancy after GC is printed at the end of each trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class TextStorageBenchmark {
+
+    @Param({"1000000"})
+    private int tickets;
+
+    @Param({"512"})
+    private int descriptionLength;
+
+    @Param({"heap", "offheap"})
+    private String storage;
+
+    private TextStorage textStorage;
+    private ProjectManagementService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        textStorage = storage.equals("offheap") ? new OffHeapTextStorage() : TextStorage.onHeap();
+        service = new ProjectManagementService(textStorage);
+        var manager = service.registerUser("manager", "manager@bench.org", "Manager");
+        var project = service.createProject("Bench", "Bench project", manager.id());
+        var description = "d".repeat(descriptionLength);
+        for (int i = 0; i < tickets; i++) {
+            // Distinct contents, as they would be when parsed from requests.
+            service.createTicket("Ticket", description + i, project.id(), null, manager.id());
+        }
+    }
+
+    @Benchmark
+    public void fullGc() {
+        System.gc();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.gc();
+        var used = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        System.out.println(STR."\n# \{storage}: heap used after GC = \{used / (1024 * 1024)} MiB");
+        if (textStorage instanceof OffHeapTextStorage offHeap) {
+            System.out.println(STR."# off-heap bytes = \{offHeap.usedBytes() / (1024 * 1024)} MiB");
+            offHeap.close();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.lab.bench;
+
+import org.lab.model.Project;
+import org.lab.model.Role;
+import org.lab.model.Ticket;
+import org.lab.model.TicketStatus;
+import org.lab.model.User;
+import org.lab.service.ProjectManagementService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-transition cost of {@code updateTicketStatus}: every ticket of a fresh
+ * store is walked through accepted, in progress and completed. Transitions
+ * only go forward, so each iteration reloads the store and runs once. With
+ * {@code -prof gc} the reload is counted too: bytes per transition are
+ * {@code gc.alloc.rate.norm} of {@code lifecycle} minus that of
+ * {@code reloadOnly}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TicketUpdateBenchmark {
+
+    private static final int TICKETS = 50_000;
+
+    @Param({"1", "3"})
+    private int assignees;
+
+    private ProjectManagementService service;
+    private User manager;
+    private List<Ticket> tickets;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        service = new ProjectManagementService();
+        manager = User.create("manager", "manager@bench.org", "Manager");
+        var project = Project.create("Project", "Benchmark", manager.id());
+        var developers = new ArrayList<User>();
+        for (int d = 0; d < assignees; d++) {
+            var developer = User.create(STR."dev\{d}", STR."dev\{d}@bench.org", "Developer");
+            project.addTeamMember(developer.id(), new Role.Developer());
+            developers.add(developer);
+        }
+        var team = new HashSet<UUID>();
+        developers.forEach(d -> team.add(d.id()));
+        tickets = new ArrayList<>(TICKETS);
+        var now = LocalDateTime.now();
+        for (int t = 0; t < TICKETS; t++) {
+            var ticket = new Ticket(UUID.randomUUID(), STR."Ticket \{t}", "", TicketStatus.NEW, project.id(),
+                    null, team, now, now);
+            tickets.add(ticket);
+        }
+        developers.add(manager);
+        service.bulkLoad(developers, List.of(project), List.of(), tickets, List.of());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKETS * 3)
+    public void lifecycle() {
+        for (var ticket : tickets) {
+            var developer = ticket.assignedDevelopers().iterator().next();
+            service.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id());
+            service.updateTicketStatus(ticket.id(), TicketStatus.IN_PROGRESS, developer);
+            service.updateTicketStatus(ticket.id(), TicketStatus.COMPLETED, developer);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TICKETS * 3)
+    public ProjectManagementService reloadOnly() {
+        return service;
+    }
+}
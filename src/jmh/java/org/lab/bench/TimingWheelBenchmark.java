@@ -0,0 +1,53 @@
+package org.lab.bench;
+
+import org.lab.timer.TimingWheel;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the deadline lifecycle: schedule a deadline days ahead, cancel it
+ * (the common case, the ticket moves on), and expire a million pending
+ * deadlines by advancing the wheel over a week.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimingWheelBenchmark {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+
+    private final SplittableRandom random = new SplittableRandom(1);
+    private TimingWheel<Integer> wheel;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        wheel = new TimingWheel<>(1_000, 0);
+        for (int i = 0; i < 100_000; i++) {
+            wheel.schedule(random.nextLong(7 * DAY), i);
+        }
+    }
+
+    @Benchmark
+    public boolean scheduleThenCancel() {
+        return wheel.schedule(random.nextLong(7 * DAY), 0).cancel();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    public int scheduleAndExpireMillion(Blackhole blackhole) {
+        var fresh = new TimingWheel<Integer>(1_000, 0);
+        for (int i = 0; i < 1_000_000; i++) {
+            fresh.schedule(random.nextLong(7 * DAY), i);
+        }
+        return fresh.advance(7 * DAY, blackhole::consume);
+    }
+}
@@ -0,0 +1,44 @@
+package org.lab.bench;
+
+import org.lab.model.Project;
+import org.lab.model.Role;
+import org.lab.model.User;
+import org.lab.service.ProjectManagementService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** "My projects" for a user with a handful of memberships among many projects. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserProjectsBenchmark {
+
+    @Param({"1000", "100000"})
+    private int projects;
+
+    private ProjectManagementService service;
+    private User member;
+
+    @Setup
+    public void setUp() {
+        service = new ProjectManagementService();
+        var owner = service.registerUser("owner", "owner@bench.org", "Owner");
+        member = service.registerUser("member", "member@bench.org", "Member");
+        for (int i = 0; i < projects; i++) {
+            var project = service.createProject(STR."Project \{i}", "Benchmark", owner.id());
+            if (i % (projects / 5) == 0) {
+                service.addTeamMember(project.id(), member.id(), new Role.Developer(), owner.id());
+            }
+        }
+    }
+
+    @Benchmark
+    public List<Project> userProjects() {
+        return service.getUserProjects(member.id());
+    }
+}
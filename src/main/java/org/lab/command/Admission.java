@@ -0,0 +1,25 @@
+package org.lab.command;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Outcome of a rate-limited {@link Command}: either it ran and this carries
+ * its result, or a token bucket was empty and it did not run at all.
+ */
+public sealed interface Admission<R> {
+
+    enum Scope { USER, PROJECT }
+
+    record Admitted<R>(R result) implements Admission<R> {}
+
+    /**
+     * The {@code operation} bucket of {@code key}, a user or a project id
+     * depending on {@code scope}, holds a token again after {@code retryAfter}.
+     */
+    record Throttled<R>(Class<?> operation, Scope scope, UUID key, Duration retryAfter) implements Admission<R> {}
+
+    default boolean admitted() {
+        return this instanceof Admitted<R>;
+    }
+}
@@ -0,0 +1,47 @@
+package org.lab.command;
+
+import org.lab.model.*;
+
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A mutation of {@link org.lab.service.ProjectManagementService} as data.
+ * The type parameter is the value the command is acknowledged with;
+ * commands without a result acknowledge {@code null}.
+ */
+public sealed interface Command<R> {
+
+    record RegisterUser(String username, String email, String fullName) implements Command<User> {}
+
+    record CreateProject(String name, String description, UUID creatorId) implements Command<Project> {}
+
+    record AddTeamMember(UUID projectId, UUID userId, Role role, UUID requesterId) implements Command<Void> {}
+
+    record AssignTeamLeader(UUID projectId, UUID userId, UUID requesterId) implements Command<Void> {}
+
+    record CreateMilestone(String name, String description, UUID projectId, LocalDate startDate,
+                           LocalDate endDate, UUID requesterId) implements Command<Milestone> {}
+
+    record ChangeMilestoneStatus(UUID milestoneId, MilestoneStatus status, UUID requesterId)
+            implements Command<Void> {}
+
+    record CreateTicket(String title, String description, UUID projectId, UUID milestoneId,
+                        UUID requesterId) implements Command<Ticket> {}
+
+    record AssignTicket(UUID ticketId, Set<UUID> developerIds, UUID requesterId) implements Command<Void> {
+        public AssignTicket {
+            developerIds = Set.copyOf(developerIds);
+        }
+    }
+
+    record UpdateTicketStatus(UUID ticketId, TicketStatus status, UUID requesterId) implements Command<Void> {}
+
+    record CreateBugReport(String title, String description, UUID projectId, UUID reporterId,
+                           String severity) implements Command<BugReport> {}
+
+    record AssignBug(UUID bugReportId, UUID developerId, UUID requesterId) implements Command<Void> {}
+
+    record UpdateBugStatus(UUID bugReportId, BugReportStatus status, UUID requesterId) implements Command<Void> {}
+}
@@ -0,0 +1,25 @@
+package org.lab.command;
+
+import java.util.List;
+
+/**
+ * Observer of the {@link CommandPipeline}, called on the pipeline thread
+ * before the batch is acknowledged. A journal or replicator that must be
+ * durable before callers see their result belongs here; listeners should
+ * not block for long, since they delay every command in the batch. An
+ * exception thrown here fails the futures of the commands concerned.
+ */
+public interface CommandListener {
+
+    /** A command ran; {@code result} is its acknowledgement value. */
+    default void onApplied(Command<?> command, Object result) {
+    }
+
+    /** A command was rejected by validation and left no trace. */
+    default void onRejected(Command<?> command, RuntimeException error) {
+    }
+
+    /** Every command of the batch has been applied or rejected. */
+    default void onBatch(List<Command<?>> batch, long elapsedNanos) {
+    }
+}
@@ -0,0 +1,281 @@
+package org.lab.command;
+
+import org.lab.service.ProjectManagementService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Applies {@link Command}s to a {@link ProjectManagementService} from one
+ * pipeline thread. Submitters enqueue and get a future; the pipeline
+ * drains up to {@code maxBatch} commands at a time, groups them by project
+ * (keeping submission order within a project), applies each group, lets
+ * the {@link CommandListener}s see the outcome and only then completes
+ * the futures of the whole batch.
+ *
+ * <p>Within a project's group the project and each requester's role are
+ * looked up once, through one {@link ProjectManagementService.ProjectScope}
+ * per requester, instead of once per command; a membership change in the
+ * group makes the affected user's next command look their role up again.
+ * Permissions on the entities themselves and state transitions are still
+ * checked per command. A listener that throws fails the futures of the
+ * commands it was told about; the pipeline thread keeps running, and a
+ * command whose {@code onApplied} failed stays applied. If the pipeline
+ * thread is interrupted, the pipeline closes and fails every queued
+ * command.
+ *
+ * <p>Commands not tied to an existing project (user registration, project
+ * creation, unknown ids) form a group that runs first. Commands of
+ * different projects may therefore be applied in a different order than
+ * they were submitted; each caller that needs an id from an earlier
+ * command has waited for its acknowledgement anyway.
+ */
+public final class CommandPipeline implements AutoCloseable {
+    public static final int DEFAULT_MAX_BATCH = 256;
+    public static final int DEFAULT_CAPACITY = 65_536;
+
+    private static final class Pending {
+        final Command<?> command;
+        final CompletableFuture<Object> ack;
+        Object result;
+        RuntimeException error;
+
+        Pending(Command<?> command, CompletableFuture<Object> ack) {
+            this.command = command;
+            this.ack = ack;
+        }
+    }
+
+    private static final Pending STOP = new Pending(null, null);
+
+    private final ProjectManagementService service;
+    private final int maxBatch;
+    private final BlockingQueue<Pending> queue;
+    private final List<CommandListener> listeners = new CopyOnWriteArrayList<>();
+    private final Thread worker;
+    /** Submitters enqueue under the read lock, so none can slip in after {@link #STOP}. */
+    private final ReadWriteLock closing = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    public CommandPipeline(ProjectManagementService service) {
+        this(service, DEFAULT_MAX_BATCH, DEFAULT_CAPACITY);
+    }
+
+    public CommandPipeline(ProjectManagementService service, int maxBatch, int capacity) {
+        if (maxBatch < 1 || capacity < 1) {
+            throw new IllegalArgumentException("Batch size and capacity must be positive");
+        }
+        this.service = service;
+        this.maxBatch = maxBatch;
+        this.queue = new LinkedBlockingQueue<>(capacity);
+        this.worker = Thread.ofPlatform().name("command-pipeline").daemon().start(this::run);
+    }
+
+    public void addListener(CommandListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Enqueues a command, blocking while the queue is full. The future
+     * completes with the command's result, or exceptionally with the
+     * exception the service raised while validating it.
+     */
+    @SuppressWarnings("unchecked")
+    public <R> CompletableFuture<R> submit(Command<R> command) {
+        Objects.requireNonNull(command, "command");
+        var ack = new CompletableFuture<Object>();
+        closing.readLock().lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Pipeline is closed");
+            }
+            queue.put(new Pending(command, ack));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while submitting", e);
+        } finally {
+            closing.readLock().unlock();
+        }
+        return (CompletableFuture<R>) (CompletableFuture<?>) ack;
+    }
+
+    /** Applies everything submitted so far, then stops the pipeline thread. */
+    @Override
+    public void close() {
+        closing.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closing.writeLock().unlock();
+        }
+        try {
+            queue.put(STOP);
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        var batch = new ArrayList<Pending>(maxBatch);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                abandon();
+                return;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            boolean stop = batch.remove(STOP);
+            if (!batch.isEmpty()) {
+                try {
+                    process(batch);
+                } catch (RuntimeException | Error e) {
+                    batch.forEach(pending -> pending.ack.completeExceptionally(e));
+                }
+            }
+            batch.clear();
+            if (stop) {
+                return;
+            }
+        }
+    }
+
+    private void process(List<Pending> batch) {
+        long start = System.nanoTime();
+        var global = new ArrayList<Pending>();
+        var byProject = new LinkedHashMap<UUID, List<Pending>>();
+        for (var pending : batch) {
+            var projectId = Commands.projectOf(service, pending.command);
+            if (projectId == null) {
+                global.add(pending);
+            } else {
+                byProject.computeIfAbsent(projectId, id -> new ArrayList<>()).add(pending);
+            }
+        }
+
+        applyAll(global);
+        byProject.forEach(this::applyAll);
+
+        if (!listeners.isEmpty()) {
+            var commands = new ArrayList<Command<?>>(batch.size());
+            batch.forEach(pending -> commands.add(pending.command));
+            long elapsed = System.nanoTime() - start;
+            for (var listener : listeners) {
+                try {
+                    listener.onBatch(commands, elapsed);
+                } catch (RuntimeException e) {
+                    batch.forEach(pending -> fail(pending, e));
+                }
+            }
+        }
+
+        for (var pending : batch) {
+            if (pending.error != null) {
+                pending.ack.completeExceptionally(pending.error);
+            } else {
+                pending.ack.complete(pending.result);
+            }
+        }
+    }
+
+    private void applyAll(List<Pending> global) {
+        for (var pending : global) {
+            try {
+                pending.result = Commands.apply(service, pending.command);
+            } catch (RuntimeException e) {
+                reject(pending, e);
+                continue;
+            }
+            applied(pending);
+        }
+    }
+
+    /** Applies one project's commands in submission order, reusing one scope per requester. */
+    private void applyAll(UUID projectId, List<Pending> group) {
+        var scopes = new HashMap<UUID, ProjectManagementService.ProjectScope>();
+        for (var pending : group) {
+            try {
+                var scope = scopes.computeIfAbsent(Commands.requesterOf(pending.command),
+                        requester -> service.scope(projectId, requester));
+                pending.result = Commands.apply(scope, pending.command);
+                var member = Commands.memberOf(pending.command);
+                if (member != null && !member.equals(scope.requesterId())) {
+                    scopes.remove(member);
+                }
+            } catch (RuntimeException e) {
+                reject(pending, e);
+                continue;
+            }
+            applied(pending);
+        }
+    }
+
+    private void applied(Pending pending) {
+        for (var listener : listeners) {
+            try {
+                listener.onApplied(pending.command, pending.result);
+            } catch (RuntimeException e) {
+                fail(pending, e);
+            }
+        }
+    }
+
+    /** Closes the pipeline after its thread was interrupted and fails whatever is still queued. */
+    private void abandon() {
+        var error = new IllegalStateException("Pipeline thread was interrupted");
+        // Draining makes room for submitters blocked on a full queue, so they release the read lock.
+        while (!closing.writeLock().tryLock()) {
+            failQueued(error);
+            Thread.onSpinWait();
+        }
+        try {
+            closed = true;
+        } finally {
+            closing.writeLock().unlock();
+        }
+        failQueued(error);
+    }
+
+    private void failQueued(RuntimeException error) {
+        var abandoned = new ArrayList<Pending>();
+        queue.drainTo(abandoned);
+        for (var pending : abandoned) {
+            if (pending != STOP) {
+                pending.ack.completeExceptionally(error);
+            }
+        }
+    }
+
+    private void reject(Pending pending, RuntimeException error) {
+        pending.error = error;
+        for (var listener : listeners) {
+            try {
+                listener.onRejected(pending.command, error);
+            } catch (RuntimeException e) {
+                error.addSuppressed(e);
+            }
+        }
+    }
+
+    private static void fail(Pending pending, RuntimeException listenerError) {
+        if (pending.error == null) {
+            pending.error = new IllegalStateException("Command listener failed", listenerError);
+        } else {
+            pending.error.addSuppressed(listenerError);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package org.lab.command;
+
+import org.lab.service.ProjectManagementService;
+
+import java.util.UUID;
+
+/** How a {@link Command} maps onto the {@link ProjectManagementService}. */
+final class Commands {
+
+    private Commands() {
+    }
+
+    /** The project the command changes, or null if it is not tied to an existing one. */
+    static UUID projectOf(ProjectManagementService service, Command<?> command) {
+        return switch (command) {
+            case Command.RegisterUser c -> null;
+            case Command.CreateProject c -> null;
+            case Command.AddTeamMember c -> c.projectId();
+            case Command.AssignTeamLeader c -> c.projectId();
+            case Command.CreateMilestone c -> c.projectId();
+            case Command.ChangeMilestoneStatus c -> service.projectIdOf(c.milestoneId()).orElse(null);
+            case Command.CreateTicket c -> c.projectId();
+            case Command.AssignTicket c -> service.projectIdOf(c.ticketId()).orElse(null);
+            case Command.UpdateTicketStatus c -> service.projectIdOf(c.ticketId()).orElse(null);
+            case Command.CreateBugReport c -> c.projectId();
+            case Command.AssignBug c -> service.projectIdOf(c.bugReportId()).orElse(null);
+            case Command.UpdateBugStatus c -> service.projectIdOf(c.bugReportId()).orElse(null);
+        };
+    }
+
+    /** The user on whose behalf the command runs, or null for user registration. */
+    static UUID requesterOf(Command<?> command) {
+        return switch (command) {
+            case Command.RegisterUser c -> null;
+            case Command.CreateProject c -> c.creatorId();
+            case Command.AddTeamMember c -> c.requesterId();
+            case Command.AssignTeamLeader c -> c.requesterId();
+            case Command.CreateMilestone c -> c.requesterId();
+            case Command.ChangeMilestoneStatus c -> c.requesterId();
+            case Command.CreateTicket c -> c.requesterId();
+            case Command.AssignTicket c -> c.requesterId();
+            case Command.UpdateTicketStatus c -> c.requesterId();
+            case Command.CreateBugReport c -> c.reporterId();
+            case Command.AssignBug c -> c.requesterId();
+            case Command.UpdateBugStatus c -> c.requesterId();
+        };
+    }
+
+    /** The user whose role in the project the command changes, or null. */
+    static UUID memberOf(Command<?> command) {
+        return switch (command) {
+            case Command.AddTeamMember c -> c.userId();
+            case Command.AssignTeamLeader c -> c.userId();
+            default -> null;
+        };
+    }
+
+    /**
+     * Runs a command of the scope's project as the scope's requester, who
+     * must be the command's; returns its acknowledgement value.
+     */
+    static Object apply(ProjectManagementService.ProjectScope scope, Command<?> command) {
+        return switch (command) {
+            case Command.AddTeamMember c -> {
+                scope.addTeamMember(c.userId(), c.role());
+                yield null;
+            }
+            case Command.AssignTeamLeader c -> {
+                scope.assignTeamLeader(c.userId());
+                yield null;
+            }
+            case Command.CreateMilestone c -> scope.createMilestone(c.name(), c.description(),
+                    c.startDate(), c.endDate());
+            case Command.ChangeMilestoneStatus c -> {
+                scope.changeMilestoneStatus(c.milestoneId(), c.status(), ProjectManagementService.ANY_VERSION);
+                yield null;
+            }
+            case Command.CreateTicket c -> scope.createTicket(c.title(), c.description(), c.milestoneId());
+            case Command.AssignTicket c -> {
+                scope.assignDevelopersToTicket(c.ticketId(), c.developerIds(), ProjectManagementService.ANY_VERSION);
+                yield null;
+            }
+            case Command.UpdateTicketStatus c -> {
+                scope.updateTicketStatus(c.ticketId(), c.status(), ProjectManagementService.ANY_VERSION);
+                yield null;
+            }
+            case Command.CreateBugReport c -> scope.createBugReport(c.title(), c.description(), c.severity());
+            case Command.AssignBug c -> {
+                scope.assignBugReport(c.bugReportId(), c.developerId(), ProjectManagementService.ANY_VERSION);
+                yield null;
+            }
+            case Command.UpdateBugStatus c -> {
+                scope.updateBugReportStatus(c.bugReportId(), c.status(), ProjectManagementService.ANY_VERSION);
+                yield null;
+            }
+            case Command.RegisterUser c -> throw new IllegalArgumentException("User registration has no project");
+            case Command.CreateProject c -> throw new IllegalArgumentException("Project creation has no project");
+        };
+    }
+
+    /** Runs the command against the service and returns its acknowledgement value. */
+    static Object apply(ProjectManagementService service, Command<?> command) {
+        return switch (command) {
+            case Command.RegisterUser c -> service.registerUser(c.username(), c.email(), c.fullName());
+            case Command.CreateProject c -> service.createProject(c.name(), c.description(), c.creatorId());
+            case Command.AddTeamMember c -> {
+                service.addTeamMember(c.projectId(), c.userId(), c.role(), c.requesterId());
+                yield null;
+            }
+            case Command.AssignTeamLeader c -> {
+                service.assignTeamLeader(c.projectId(), c.userId(), c.requesterId());
+                yield null;
+            }
+            case Command.CreateMilestone c -> service.createMilestone(c.name(), c.description(), c.projectId(),
+                    c.startDate(), c.endDate(), c.requesterId());
+            case Command.ChangeMilestoneStatus c -> {
+                service.changeMilestoneStatus(c.milestoneId(), c.status(), c.requesterId());
+                yield null;
+            }
+            case Command.CreateTicket c -> service.createTicket(c.title(), c.description(), c.projectId(),
+                    c.milestoneId(), c.requesterId());
+            case Command.AssignTicket c -> {
+                service.assignDevelopersToTicket(c.ticketId(), c.developerIds(), c.requesterId());
+                yield null;
+            }
+            case Command.UpdateTicketStatus c -> {
+                service.updateTicketStatus(c.ticketId(), c.status(), c.requesterId());
+                yield null;
+            }
+            case Command.CreateBugReport c -> service.createBugReport(c.title(), c.description(), c.projectId(),
+                    c.reporterId(), c.severity());
+            case Command.AssignBug c -> {
+                service.assignBugReport(c.bugReportId(), c.developerId(), c.requesterId());
+                yield null;
+            }
+            case Command.UpdateBugStatus c -> {
+                service.updateBugReportStatus(c.bugReportId(), c.status(), c.requesterId());
+                yield null;
+            }
+        };
+    }
+}
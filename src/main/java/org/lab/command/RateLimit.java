@@ -0,0 +1,21 @@
+package org.lab.command;
+
+/**
+ * A token bucket's shape: {@code perSecond} tokens are added each second,
+ * up to {@code burst} held at once, so an idle caller may fire
+ * {@code burst} operations back to back and then one every
+ * {@code 1 / perSecond} seconds.
+ */
+public record RateLimit(double perSecond, int burst) {
+
+    public RateLimit {
+        if (!(perSecond > 0) || Double.isInfinite(perSecond) || burst < 1) {
+            throw new IllegalArgumentException(STR."Invalid rate limit: \{perSecond}/s, burst \{burst}");
+        }
+    }
+
+    /** Nanoseconds between two tokens, at least one. */
+    long intervalNanos() {
+        return Math.max(1, Math.round(1e9 / perSecond));
+    }
+}
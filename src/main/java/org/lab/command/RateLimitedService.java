@@ -0,0 +1,49 @@
+package org.lab.command;
+
+import org.lab.service.ProjectManagementService;
+
+/**
+ * Front door for mutations of a {@link ProjectManagementService} that
+ * keeps one caller from starving the others: every {@link Command} first
+ * takes a token from its requester's and its project's bucket for that
+ * operation type and, if either is empty, comes back
+ * {@link Admission.Throttled} at once instead of running or waiting.
+ *
+ * <p>Admitted commands run on the calling thread; validation failures are
+ * thrown by the service as usual and still count against the limits, so
+ * hammering with invalid calls is throttled too. Reads go to the service
+ * directly.
+ */
+public final class RateLimitedService {
+
+    private final ProjectManagementService service;
+    private final RateLimiter limiter;
+
+    public RateLimitedService(ProjectManagementService service) {
+        this(service, new RateLimiter(RateLimits.DEFAULT));
+    }
+
+    public RateLimitedService(ProjectManagementService service, RateLimiter limiter) {
+        this.service = service;
+        this.limiter = limiter;
+    }
+
+    public ProjectManagementService service() {
+        return service;
+    }
+
+    public RateLimiter limiter() {
+        return limiter;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <R> Admission<R> execute(Command<R> command) {
+        var operation = command.getClass();
+        var projectId = limiter.limitsProjects(operation) ? Commands.projectOf(service, command) : null;
+        Admission.Throttled<R> throttled = limiter.tryAcquire(operation, Commands.requesterOf(command), projectId);
+        if (throttled != null) {
+            return throttled;
+        }
+        return new Admission.Admitted<>((R) Commands.apply(service, command));
+    }
+}
@@ -0,0 +1,137 @@
+package org.lab.command;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-user and per-project token buckets for each operation type, as
+ * configured by {@link RateLimits}. Admitting an operation reads the
+ * operation's buckets from concurrent maps and takes a token from each
+ * with a CAS, so callers never block or wait on each other; a bucket is
+ * only created, under the map's bin lock, on a key's first operation.
+ *
+ * <p>An operation needs a token from both scopes. If the project bucket is
+ * empty the user token is given back, so a throttled call costs nothing.
+ */
+public final class RateLimiter {
+
+    private static final class Buckets {
+        final RateLimit limit;
+        final ConcurrentHashMap<UUID, TokenBucket> byKey = new ConcurrentHashMap<>();
+
+        Buckets(RateLimit limit) {
+            this.limit = limit;
+        }
+
+        TokenBucket of(UUID key) {
+            var bucket = byKey.get(key);
+            return bucket != null ? bucket : byKey.computeIfAbsent(key, k -> new TokenBucket(limit));
+        }
+    }
+
+    private final RateLimits limits;
+    private final Map<Class<?>, Buckets> perUser;
+    private final Map<Class<?>, Buckets> perProject;
+    private final LongSupplier clock;
+    private final long origin;
+
+    public RateLimiter(RateLimits limits) {
+        this(limits, System::nanoTime);
+    }
+
+    /** {@code clock} is a monotonic nanosecond source, {@link System#nanoTime()} outside of tests. */
+    public RateLimiter(RateLimits limits, LongSupplier clock) {
+        this.limits = limits;
+        this.perUser = buckets(limits.perUser());
+        this.perProject = buckets(limits.perProject());
+        this.clock = clock;
+        this.origin = clock.getAsLong();
+    }
+
+    public RateLimits limits() {
+        return limits;
+    }
+
+    /** Whether {@code operation} is limited per project, i.e. whether its project is worth resolving. */
+    public boolean limitsProjects(Class<?> operation) {
+        return perProject.containsKey(operation);
+    }
+
+    /**
+     * Takes a token for {@code operation} from the user's and the project's
+     * bucket; null ids skip their scope. Returns null if the operation may
+     * proceed, or the refusal to hand back to the caller.
+     */
+    public <R> Admission.Throttled<R> tryAcquire(Class<?> operation, UUID userId, UUID projectId) {
+        var users = userId == null ? null : perUser.get(operation);
+        var projects = projectId == null ? null : perProject.get(operation);
+        if (users == null && projects == null) {
+            return null;
+        }
+        long now = clock.getAsLong() - origin;
+        TokenBucket userBucket = null;
+        if (users != null) {
+            userBucket = users.of(userId);
+            long wait = userBucket.tryAcquire(now);
+            if (wait > 0) {
+                return new Admission.Throttled<>(operation, Admission.Scope.USER, userId, Duration.ofNanos(wait));
+            }
+        }
+        if (projects != null) {
+            long wait = projects.of(projectId).tryAcquire(now);
+            if (wait > 0) {
+                if (userBucket != null) {
+                    userBucket.release();
+                }
+                return new Admission.Throttled<>(operation, Admission.Scope.PROJECT, projectId,
+                        Duration.ofNanos(wait));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Drops buckets that have refilled completely, which behave exactly like
+     * the fresh bucket the next operation would create. A token taken
+     * concurrently from a bucket being dropped is forgotten, erring towards
+     * admitting. Returns how many were dropped.
+     */
+    public int evictIdle() {
+        long now = clock.getAsLong() - origin;
+        return evictIdle(perUser, now) + evictIdle(perProject, now);
+    }
+
+    /** Buckets currently held across all operations and scopes. */
+    public int bucketCount() {
+        int count = 0;
+        for (var buckets : perUser.values()) {
+            count += buckets.byKey.size();
+        }
+        for (var buckets : perProject.values()) {
+            count += buckets.byKey.size();
+        }
+        return count;
+    }
+
+    private static int evictIdle(Map<Class<?>, Buckets> scope, long now) {
+        int evicted = 0;
+        for (var buckets : scope.values()) {
+            for (var entry : buckets.byKey.entrySet()) {
+                if (entry.getValue().isFull(now) && buckets.byKey.remove(entry.getKey(), entry.getValue())) {
+                    evicted++;
+                }
+            }
+        }
+        return evicted;
+    }
+
+    private static Map<Class<?>, Buckets> buckets(Map<Class<? extends Command<?>>, RateLimit> limits) {
+        var buckets = new HashMap<Class<?>, Buckets>();
+        limits.forEach((operation, limit) -> buckets.put(operation, new Buckets(limit)));
+        return Map.copyOf(buckets);
+    }
+}
@@ -0,0 +1,53 @@
+package org.lab.command;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Token buckets per operation type, i.e. per {@link Command} record class.
+ * {@code perUser} limits each requester and {@code perProject} each project
+ * for that operation separately; an operation without an entry is not
+ * limited in that scope.
+ */
+public record RateLimits(Map<Class<? extends Command<?>>, RateLimit> perUser,
+                         Map<Class<? extends Command<?>>, RateLimit> perProject) {
+
+    public static final RateLimits NONE = new RateLimits(Map.of(), Map.of());
+
+    /**
+     * Creating tickets and bug reports is what scripts hammer, so it gets
+     * the tightest limits; state changes are cheaper and allowed more.
+     */
+    public static final RateLimits DEFAULT = NONE
+            .withUserLimit(Command.CreateProject.class, new RateLimit(1, 10))
+            .withUserLimit(Command.CreateMilestone.class, new RateLimit(2, 20))
+            .withUserLimit(Command.CreateTicket.class, new RateLimit(10, 50))
+            .withUserLimit(Command.CreateBugReport.class, new RateLimit(10, 50))
+            .withUserLimit(Command.AssignTicket.class, new RateLimit(50, 200))
+            .withUserLimit(Command.UpdateTicketStatus.class, new RateLimit(50, 200))
+            .withUserLimit(Command.AssignBug.class, new RateLimit(50, 200))
+            .withUserLimit(Command.UpdateBugStatus.class, new RateLimit(50, 200))
+            .withProjectLimit(Command.CreateTicket.class, new RateLimit(100, 500))
+            .withProjectLimit(Command.CreateBugReport.class, new RateLimit(100, 500));
+
+    public RateLimits {
+        perUser = Map.copyOf(perUser);
+        perProject = Map.copyOf(perProject);
+    }
+
+    public RateLimits withUserLimit(Class<? extends Command<?>> operation, RateLimit limit) {
+        return new RateLimits(with(perUser, operation, limit), perProject);
+    }
+
+    public RateLimits withProjectLimit(Class<? extends Command<?>> operation, RateLimit limit) {
+        return new RateLimits(perUser, with(perProject, operation, limit));
+    }
+
+    private static Map<Class<? extends Command<?>>, RateLimit> with(
+            Map<Class<? extends Command<?>>, RateLimit> limits, Class<? extends Command<?>> operation,
+            RateLimit limit) {
+        var copy = new HashMap<>(limits);
+        copy.put(operation, limit);
+        return copy;
+    }
+}
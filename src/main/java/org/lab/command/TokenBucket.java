@@ -0,0 +1,48 @@
+package org.lab.command;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single timestamp (the generic cell rate
+ * algorithm): {@code arrival} is when the bucket would be full again if
+ * nothing more were taken. Taking a token pushes it one interval further;
+ * the bucket is empty while it lies more than {@code burst - 1} intervals
+ * ahead of now. One CAS per token, no lock.
+ */
+final class TokenBucket {
+
+    private final long interval;
+    private final long tolerance;
+    private final AtomicLong arrival = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(RateLimit limit) {
+        this.interval = limit.intervalNanos();
+        long tokens = limit.burst() - 1L;
+        this.tolerance = tokens > Long.MAX_VALUE / interval ? Long.MAX_VALUE : interval * tokens;
+    }
+
+    /** Takes a token at {@code now}; returns 0, or the nanoseconds until one is available. */
+    long tryAcquire(long now) {
+        while (true) {
+            long current = arrival.get();
+            long start = Math.max(current, now);
+            long ahead = start - now;
+            if (ahead > tolerance) {
+                return ahead - tolerance;
+            }
+            if (arrival.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Gives back a token taken by {@link #tryAcquire} that was not used after all. */
+    void release() {
+        arrival.addAndGet(-interval);
+    }
+
+    /** Whether the bucket is full at {@code now}, i.e. indistinguishable from a new one. */
+    boolean isFull(long now) {
+        return arrival.get() <= now;
+    }
+}
@@ -0,0 +1,398 @@
+package org.lab.graph;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+/**
+ * "Blocks" edges between the tickets of one project, kept acyclic. Three
+ * things are maintained as the graph changes, so reading them never walks
+ * the graph:
+ *
+ * <ul>
+ *   <li>a topological order: every node has a position ahead of all nodes
+ *       it blocks. An edge that contradicts the order only renumbers the
+ *       nodes between its ends that are reachable from either end (the
+ *       Pearce–Kelly algorithm), and finding the blocker among them is the
+ *       cycle check;</li>
+ *   <li>the unblocked set: open nodes none of whose blockers is open, in
+ *       the order they became unblocked;</li>
+ *   <li>depths: an open node's depth is one more than the deepest of its
+ *       open blockers, a closed node's is zero. A change re-evaluates the
+ *       nodes downstream in topological order and stops where depths stay
+ *       the same. A milestone's critical path is the chain behind its
+ *       deepest open node, blockers outside the milestone included, as
+ *       they gate it all the same.</li>
+ * </ul>
+ *
+ * Nodes carry the version of the ticket they were last updated from and
+ * ignore older updates. Thread-safe.
+ */
+public final class DependencyGraph {
+
+    private static final class Node {
+        final UUID id;
+        UUID milestoneId;
+        boolean open;
+        long version;
+        int position;
+        int depth;
+        int openBlockers;
+        int mark;
+        boolean queued;
+        final List<Node> blockers = new ArrayList<>(0);
+        final List<Node> blocked = new ArrayList<>(0);
+
+        Node(UUID id) {
+            this.id = id;
+        }
+
+        boolean ranked() {
+            return open && milestoneId != null;
+        }
+    }
+
+    /** Deepest first; the id only tells equally deep nodes apart. */
+    private static final Comparator<Node> DEEPEST_FIRST =
+            Comparator.<Node>comparingInt(n -> -n.depth).thenComparing(n -> n.id);
+
+    private final Map<UUID, Node> nodes = new HashMap<>();
+    private final Set<Node> unblocked = new LinkedHashSet<>();
+    private final Map<UUID, TreeSet<Node>> byMilestone = new HashMap<>();
+    private int nextPosition;
+    private int epoch;
+    private int edges;
+
+    /**
+     * Adds the ticket or brings it up to date, unless a newer version was
+     * seen already. {@code open} is false once the ticket is done.
+     */
+    public synchronized void put(UUID id, UUID milestoneId, boolean open, long version) {
+        var node = nodes.get(id);
+        if (node == null) {
+            node = new Node(id);
+            node.position = nextPosition++;
+            node.version = version;
+            node.milestoneId = milestoneId;
+            nodes.put(id, node);
+            setOpen(node, open);
+            return;
+        }
+        if (version < node.version) {
+            return;
+        }
+        node.version = version;
+        if (node.ranked()) {
+            byMilestone.get(node.milestoneId).remove(node);
+        }
+        node.milestoneId = milestoneId;
+        if (node.ranked()) {
+            rank(node);
+        }
+        if (node.open != open) {
+            setOpen(node, open);
+        }
+    }
+
+    /** Drops the ticket and its edges in both directions. */
+    public synchronized void remove(UUID id) {
+        var node = nodes.remove(id);
+        if (node == null) {
+            return;
+        }
+        if (node.open) {
+            setOpen(node, false);
+        }
+        unblocked.remove(node);
+        for (var blocker : node.blockers) {
+            blocker.blocked.remove(node);
+        }
+        for (var blocked : node.blocked) {
+            blocked.blockers.remove(node);
+        }
+        edges -= node.blockers.size() + node.blocked.size();
+    }
+
+    /**
+     * Records that {@code blockerId} blocks {@code blockedId}; returns false
+     * if it already did. Throws {@link IllegalStateException} if the edge
+     * would close a cycle, leaving the graph unchanged.
+     */
+    public synchronized boolean addEdge(UUID blockerId, UUID blockedId) {
+        var blocker = node(blockerId);
+        var blocked = node(blockedId);
+        if (blocker == blocked) {
+            throw new IllegalStateException(STR."Ticket \{blockerId} cannot block itself");
+        }
+        if (blocker.blocked.contains(blocked)) {
+            return false;
+        }
+        if (blocker.position > blocked.position) {
+            reorder(blocker, blocked);
+        }
+        blocker.blocked.add(blocked);
+        blocked.blockers.add(blocker);
+        edges++;
+        if (blocker.open) {
+            if (blocked.openBlockers++ == 0) {
+                unblocked.remove(blocked);
+            }
+            propagate(List.of(blocked));
+        }
+        return true;
+    }
+
+    /** Removes the edge; returns false if there was none. */
+    public synchronized boolean removeEdge(UUID blockerId, UUID blockedId) {
+        var blocker = nodes.get(blockerId);
+        var blocked = nodes.get(blockedId);
+        if (blocker == null || blocked == null || !blocker.blocked.remove(blocked)) {
+            return false;
+        }
+        blocked.blockers.remove(blocker);
+        edges--;
+        if (blocker.open) {
+            if (--blocked.openBlockers == 0 && blocked.open) {
+                unblocked.add(blocked);
+            }
+            propagate(List.of(blocked));
+        }
+        return true;
+    }
+
+    public synchronized boolean contains(UUID id) {
+        return nodes.containsKey(id);
+    }
+
+    /** Tickets that block {@code id} directly. */
+    public synchronized List<UUID> blockers(UUID id) {
+        var node = nodes.get(id);
+        return node == null ? List.of() : node.blockers.stream().map(n -> n.id).toList();
+    }
+
+    /** Tickets {@code id} blocks directly. */
+    public synchronized List<UUID> blocked(UUID id) {
+        var node = nodes.get(id);
+        return node == null ? List.of() : node.blocked.stream().map(n -> n.id).toList();
+    }
+
+    /** Up to {@code limit} open tickets with no open blocker, longest unblocked first. */
+    public synchronized List<UUID> unblocked(int limit) {
+        var result = new ArrayList<UUID>(Math.min(limit, unblocked.size()));
+        for (var node : unblocked) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(node.id);
+        }
+        return result;
+    }
+
+    /**
+     * The longest chain of open tickets ending in one of the milestone's
+     * open tickets, first blocker first; empty if it has no open tickets.
+     */
+    public synchronized List<UUID> criticalPath(UUID milestoneId) {
+        var ranked = byMilestone.get(milestoneId);
+        if (ranked == null || ranked.isEmpty()) {
+            return List.of();
+        }
+        var path = new ArrayDeque<UUID>();
+        var node = ranked.first();
+        while (node != null) {
+            path.addFirst(node.id);
+            Node next = null;
+            for (var blocker : node.blockers) {
+                if (blocker.open && blocker.depth == node.depth - 1) {
+                    next = blocker;
+                    break;
+                }
+            }
+            node = next;
+        }
+        return List.copyOf(path);
+    }
+
+    /** Number of tickets on the milestone's critical path. */
+    public synchronized int criticalPathLength(UUID milestoneId) {
+        var ranked = byMilestone.get(milestoneId);
+        return ranked == null || ranked.isEmpty() ? 0 : ranked.first().depth;
+    }
+
+    /** Every ticket, each ahead of all the tickets it blocks. */
+    public synchronized List<UUID> topologicalOrder() {
+        return nodes.values().stream()
+                .sorted(Comparator.comparingInt(n -> n.position))
+                .map(n -> n.id)
+                .toList();
+    }
+
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    public synchronized int edgeCount() {
+        return edges;
+    }
+
+    private Node node(UUID id) {
+        var node = nodes.get(id);
+        if (node == null) {
+            throw new IllegalArgumentException(STR."Ticket \{id} is not in the dependency graph");
+        }
+        return node;
+    }
+
+    private void setOpen(Node node, boolean open) {
+        if (node.ranked()) {
+            byMilestone.get(node.milestoneId).remove(node);
+        }
+        node.open = open;
+        if (open && node.openBlockers == 0) {
+            unblocked.add(node);
+        } else {
+            unblocked.remove(node);
+        }
+        int delta = open ? 1 : -1;
+        for (var blocked : node.blocked) {
+            blocked.openBlockers += delta;
+            if (blocked.open && blocked.openBlockers == 0) {
+                unblocked.add(blocked);
+            } else {
+                unblocked.remove(blocked);
+            }
+        }
+        node.depth = depthOf(node);
+        if (node.ranked()) {
+            rank(node);
+        }
+        propagate(node.blocked);
+    }
+
+    private void rank(Node node) {
+        byMilestone.computeIfAbsent(node.milestoneId, id -> new TreeSet<>(DEEPEST_FIRST)).add(node);
+    }
+
+    private int depthOf(Node node) {
+        if (!node.open) {
+            return 0;
+        }
+        int deepest = 0;
+        for (var blocker : node.blockers) {
+            deepest = Math.max(deepest, blocker.depth);
+        }
+        return deepest + 1;
+    }
+
+    /** Re-evaluates depths from {@code starts} on, in topological order, until they stop changing. */
+    private void propagate(Collection<Node> starts) {
+        if (starts.isEmpty()) {
+            return;
+        }
+        var pending = new PriorityQueue<Node>(Comparator.comparingInt(n -> n.position));
+        for (var start : starts) {
+            if (!start.queued) {
+                start.queued = true;
+                pending.add(start);
+            }
+        }
+        while (!pending.isEmpty()) {
+            var node = pending.poll();
+            node.queued = false;
+            int depth = depthOf(node);
+            if (depth == node.depth) {
+                continue;
+            }
+            var ranked = node.ranked() ? byMilestone.get(node.milestoneId) : null;
+            if (ranked != null) {
+                ranked.remove(node);
+            }
+            node.depth = depth;
+            if (ranked != null) {
+                ranked.add(node);
+            }
+            for (var blocked : node.blocked) {
+                if (!blocked.queued) {
+                    blocked.queued = true;
+                    pending.add(blocked);
+                }
+            }
+        }
+    }
+
+    /**
+     * Makes room for {@code blocker -> blocked} where {@code blocked} sits
+     * ahead of {@code blocker}: the nodes reachable from {@code blocked} up
+     * to the blocker's position and the nodes reaching {@code blocker} down
+     * to the blocked position swap into each other's positions, each group
+     * keeping its own order.
+     */
+    private void reorder(Node blocker, Node blocked) {
+        int lower = blocked.position;
+        int upper = blocker.position;
+        int mark = ++epoch;
+
+        var forward = new ArrayList<Node>();
+        var stack = new ArrayDeque<Node>();
+        blocked.mark = mark;
+        stack.push(blocked);
+        while (!stack.isEmpty()) {
+            var node = stack.pop();
+            forward.add(node);
+            for (var next : node.blocked) {
+                if (next == blocker) {
+                    throw new IllegalStateException(
+                            STR."Ticket \{blocker.id} cannot block \{blocked.id}, which already blocks it");
+                }
+                if (next.mark != mark && next.position < upper) {
+                    next.mark = mark;
+                    stack.push(next);
+                }
+            }
+        }
+
+        var backward = new ArrayList<Node>();
+        blocker.mark = mark;
+        stack.push(blocker);
+        while (!stack.isEmpty()) {
+            var node = stack.pop();
+            backward.add(node);
+            for (var previous : node.blockers) {
+                if (previous.mark != mark && previous.position > lower) {
+                    previous.mark = mark;
+                    stack.push(previous);
+                }
+            }
+        }
+
+        Comparator<Node> byPosition = Comparator.comparingInt(n -> n.position);
+        forward.sort(byPosition);
+        backward.sort(byPosition);
+        var positions = new int[forward.size() + backward.size()];
+        int i = 0;
+        for (var node : backward) {
+            positions[i++] = node.position;
+        }
+        for (var node : forward) {
+            positions[i++] = node.position;
+        }
+        Arrays.sort(positions);
+        i = 0;
+        for (var node : backward) {
+            node.position = positions[i++];
+        }
+        for (var node : forward) {
+            node.position = positions[i++];
+        }
+    }
+}
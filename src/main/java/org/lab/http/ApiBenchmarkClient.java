@@ -0,0 +1,280 @@
+package org.lab.http;
+
+import org.lab.load.LatencyHistogram;
+import org.lab.service.ProjectManagementService;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Closed-loop HTTP benchmark for {@link ApiServer}: seeds users, projects
+ * and tickets through the API, then keeps {@code --threads} virtual threads
+ * issuing a read-heavy request mix for {@code --duration} seconds and prints
+ * throughput, status codes and latency percentiles. Without {@code --url}
+ * an embedded server is started on a free port.
+ *
+ * <p>Each worker owns one keep-alive HTTP/1.1 connection and speaks the
+ * protocol directly; {@code java.net.http.HttpClient} costs more CPU per
+ * request than the server itself and would dominate the measurement.
+ *
+ * <p>{@code gradle apiBenchmark --args="--threads=128 --duration=20"}
+ */
+public final class ApiBenchmarkClient {
+
+    private enum Call { GET_TICKET, GET_PROJECT, LIST_TICKETS, CREATE_TICKET, ACCEPT_TICKET }
+
+    private static final int[] WEIGHTS = {60, 15, 5, 10, 10};
+
+    private record Seeded(UUID projectId, String managerToken, List<UUID> tickets) {}
+
+    private record Response(int status, String body) {}
+
+    private final URI base;
+
+    private ApiBenchmarkClient(URI base) {
+        this.base = base;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        int threads = 64, projects = 20, ticketsPerProject = 50;
+        var duration = Duration.ofSeconds(10);
+        for (var arg : args) {
+            var value = arg.substring(arg.indexOf('=') + 1);
+            switch (arg.substring(0, Math.max(0, arg.indexOf('=')))) {
+                case "--url" -> url = value;
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+                case "--projects" -> projects = Integer.parseInt(value);
+                case "--tickets" -> ticketsPerProject = Integer.parseInt(value);
+                default -> throw new IllegalArgumentException(STR."Unknown option: \{arg}");
+            }
+        }
+
+        ApiServer embedded = null;
+        if (url == null) {
+            embedded = ApiServer.start(new ProjectManagementService(), 0);
+            url = STR."http://localhost:\{embedded.port()}";
+        }
+        try {
+            var benchmark = new ApiBenchmarkClient(URI.create(url));
+            var seeded = benchmark.seed(projects, ticketsPerProject);
+            benchmark.run(seeded, threads, duration);
+        } finally {
+            if (embedded != null) {
+                embedded.close();
+            }
+        }
+    }
+
+    private List<Seeded> seed(int projects, int ticketsPerProject) throws IOException {
+        var result = new ArrayList<Seeded>(projects);
+        try (var connection = new Connection(base)) {
+            for (int p = 0; p < projects; p++) {
+                var suffix = UUID.randomUUID().toString().substring(0, 8);
+                var registered = created(connection.send("POST", "/users", null, STR."""
+                        {"username":"manager-\{suffix}","email":"manager-\{suffix}@bench.test","fullName":"Bench Manager"}"""));
+                var manager = (String) registered.get("token");
+                var project = id(connection.send("POST", "/projects", manager, STR."""
+                        {"name":"Bench \{p}","description":"HTTP benchmark"}"""));
+                var tickets = new ArrayList<UUID>(ticketsPerProject);
+                for (int t = 0; t < ticketsPerProject; t++) {
+                    tickets.add(id(connection.send("POST", STR."/projects/\{project}/tickets", manager, STR."""
+                            {"title":"Ticket \{t}","description":"Seeded by the benchmark client"}""")));
+                }
+                result.add(new Seeded(project, manager, tickets));
+            }
+        }
+        return result;
+    }
+
+    private void run(List<Seeded> seeded, int threads, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        var futures = new ArrayList<Future<Worker>>(threads);
+        long start = System.nanoTime();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < threads; i++) {
+                var worker = new Worker(seeded, new SplittableRandom(i));
+                futures.add(executor.submit(() -> {
+                    try (var connection = new Connection(base)) {
+                        while (System.nanoTime() < deadline) {
+                            worker.step(connection);
+                        }
+                    }
+                    return worker;
+                }));
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        var latency = new LatencyHistogram[Call.values().length];
+        var statuses = new TreeMap<Integer, Long>();
+        for (int i = 0; i < latency.length; i++) {
+            latency[i] = new LatencyHistogram();
+        }
+        for (var future : futures) {
+            try {
+                var worker = future.get();
+                for (int i = 0; i < latency.length; i++) {
+                    latency[i].merge(worker.latency[i]);
+                }
+                worker.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Benchmark worker failed", e.getCause());
+            }
+        }
+
+        var all = new LatencyHistogram();
+        for (var histogram : latency) {
+            all.merge(histogram);
+        }
+        System.out.printf("%d requests in %.1f s: %.0f req/s, statuses %s%n",
+                all.count(), seconds, all.count() / seconds, statuses);
+        System.out.printf("%-14s %9s %9s %9s %9s %9s%n", "call", "count", "p50 us", "p99 us", "p99.9 us", "max us");
+        for (var call : Call.values()) {
+            print(call.name().toLowerCase(), latency[call.ordinal()]);
+        }
+        print("all", all);
+    }
+
+    private static void print(String label, LatencyHistogram histogram) {
+        System.out.printf("%-14s %9d %9.1f %9.1f %9.1f %9.1f%n", label, histogram.count(),
+                histogram.percentileNanos(50) / 1e3, histogram.percentileNanos(99) / 1e3,
+                histogram.percentileNanos(99.9) / 1e3, histogram.maxNanos() / 1e3);
+    }
+
+    private final class Worker {
+        private final List<Seeded> seeded;
+        private final SplittableRandom random;
+        private final LatencyHistogram[] latency = new LatencyHistogram[Call.values().length];
+        private final Map<Integer, Long> statuses = new TreeMap<>();
+
+        Worker(List<Seeded> seeded, SplittableRandom random) {
+            this.seeded = seeded;
+            this.random = random;
+            for (int i = 0; i < latency.length; i++) {
+                latency[i] = new LatencyHistogram();
+            }
+        }
+
+        void step(Connection connection) throws IOException {
+            var call = pick();
+            var project = seeded.get(random.nextInt(seeded.size()));
+            var ticket = project.tickets().get(random.nextInt(project.tickets().size()));
+            long start = System.nanoTime();
+            var response = switch (call) {
+                case GET_TICKET -> connection.send("GET", STR."/tickets/\{ticket}", project.managerToken(), null);
+                case GET_PROJECT -> connection.send("GET", STR."/projects/\{project.projectId()}",
+                        project.managerToken(), null);
+                case LIST_TICKETS -> connection.send("GET", STR."/projects/\{project.projectId()}/tickets",
+                        project.managerToken(), null);
+                case CREATE_TICKET -> connection.send("POST", STR."/projects/\{project.projectId()}/tickets",
+                        project.managerToken(), "{\"title\":\"Benchmark ticket\"}");
+                case ACCEPT_TICKET -> connection.send("PUT", STR."/tickets/\{ticket}/status",
+                        project.managerToken(), "{\"status\":\"ACCEPTED\"}");
+            };
+            latency[call.ordinal()].record(System.nanoTime() - start);
+            statuses.merge(response.status(), 1L, Long::sum);
+        }
+
+        private Call pick() {
+            int roll = random.nextInt(100);
+            for (int i = 0; i < WEIGHTS.length; i++) {
+                roll -= WEIGHTS[i];
+                if (roll < 0) {
+                    return Call.values()[i];
+                }
+            }
+            return Call.GET_TICKET;
+        }
+    }
+
+    /** One persistent HTTP/1.1 connection; not thread-safe. */
+    private static final class Connection implements AutoCloseable {
+        private final Socket socket;
+        private final String host;
+        private final InputStream in;
+        private final OutputStream out;
+
+        Connection(URI base) throws IOException {
+            this.socket = new Socket(base.getHost(), base.getPort());
+            socket.setTcpNoDelay(true);
+            this.host = STR."\{base.getHost()}:\{base.getPort()}";
+            this.in = new BufferedInputStream(socket.getInputStream());
+            this.out = new BufferedOutputStream(socket.getOutputStream());
+        }
+
+        Response send(String method, String path, String token, String body) throws IOException {
+            var payload = body == null ? new byte[0] : body.getBytes(StandardCharsets.UTF_8);
+            var head = new StringBuilder(160)
+                    .append(method).append(' ').append(path).append(" HTTP/1.1\r\n")
+                    .append("Host: ").append(host).append("\r\n")
+                    .append("Content-Length: ").append(payload.length).append("\r\n");
+            if (token != null) {
+                head.append(ApiServer.AUTHORIZATION_HEADER).append(": Bearer ").append(token).append("\r\n");
+            }
+            out.write(head.append("\r\n").toString().getBytes(StandardCharsets.US_ASCII));
+            out.write(payload);
+            out.flush();
+
+            var statusLine = readLine();
+            int status = Integer.parseInt(statusLine.substring(9, 12));
+            int length = 0;
+            for (var line = readLine(); !line.isEmpty(); line = readLine()) {
+                if (line.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                    length = Integer.parseInt(line.substring(15).trim());
+                }
+            }
+            var content = in.readNBytes(length);
+            if (content.length != length) {
+                throw new IOException("Connection closed mid-response");
+            }
+            return new Response(status, new String(content, StandardCharsets.UTF_8));
+        }
+
+        private String readLine() throws IOException {
+            var line = new StringBuilder(64);
+            for (int c = in.read(); c != '\n'; c = in.read()) {
+                if (c < 0) {
+                    throw new IOException("Connection closed");
+                }
+                if (c != '\r') {
+                    line.append((char) c);
+                }
+            }
+            return line.toString();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+        }
+    }
+
+    private static UUID id(Response response) {
+        return UUID.fromString((String) created(response).get("id"));
+    }
+
+    private static Map<String, Object> created(Response response) {
+        if (response.status() != 201) {
+            throw new IllegalStateException(STR."Seeding failed with \{response.status()}: \{response.body()}");
+        }
+        return Json.parseObject(response.body());
+    }
+}
@@ -0,0 +1,151 @@
+package org.lab.http;
+
+import org.lab.model.*;
+import org.lab.service.ProjectAnalyticsService;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+/** JSON representations of the model types served by {@link ApiServer}. */
+final class ApiJson {
+    private ApiJson() {
+    }
+
+    static <T> JsonWriter list(Collection<T> values, BiConsumer<JsonWriter, T> encoder) {
+        var json = new JsonWriter().beginObject().beginArray("items");
+        values.forEach(value -> encoder.accept(json, value));
+        return json.endArray().field("count", values.size()).endObject();
+    }
+
+    static JsonWriter single(Object value) {
+        var json = new JsonWriter();
+        switch (value) {
+            case User user -> user(json, user);
+            case Project project -> project(json, project);
+            case Milestone milestone -> milestone(json, milestone);
+            case Ticket ticket -> ticket(json, ticket);
+            case BugReport bugReport -> bugReport(json, bugReport);
+            default -> throw new IllegalArgumentException(STR."No JSON mapping for \{value.getClass()}");
+        }
+        return json;
+    }
+
+    static void user(JsonWriter json, User user) {
+        json.beginObject()
+                .field("id", user.id())
+                .field("username", user.username())
+                .field("email", user.email())
+                .field("fullName", user.fullName())
+                .endObject();
+    }
+
+    /** A freshly registered user plus the bearer token issued for it. */
+    static JsonWriter registeredUser(User user, String token) {
+        return new JsonWriter().beginObject()
+                .field("id", user.id())
+                .field("username", user.username())
+                .field("email", user.email())
+                .field("fullName", user.fullName())
+                .field("token", token)
+                .endObject();
+    }
+
+    static void project(JsonWriter json, Project project) {
+        json.beginObject()
+                .field("id", project.id())
+                .field("name", project.name())
+                .field("description", project.description())
+                .field("managerId", project.managerId())
+                .field("teamLeaderId", project.teamLeaderId())
+                .field("activeMilestoneId", project.activeMilestoneId())
+                .beginArray("members");
+        project.teamMembers().forEach((userId, role) -> json.beginObject()
+                .field("userId", userId)
+                .field("role", role.displayName())
+                .endObject());
+        json.endArray()
+                .uuids("milestoneIds", project.milestoneIds())
+                .uuids("bugReportIds", project.bugReportIds())
+                .field("createdAt", project.createdAt())
+                .field("updatedAt", project.updatedAt())
+                .field("version", project.version())
+                .endObject();
+    }
+
+    static void milestone(JsonWriter json, Milestone milestone) {
+        json.beginObject()
+                .field("id", milestone.id())
+                .field("name", milestone.name())
+                .field("description", milestone.description())
+                .field("status", milestone.status())
+                .field("projectId", milestone.projectId())
+                .field("startDate", milestone.startDate())
+                .field("endDate", milestone.endDate())
+                .uuids("ticketIds", milestone.ticketIds())
+                .field("createdAt", milestone.createdAt())
+                .field("updatedAt", milestone.updatedAt())
+                .field("version", milestone.version())
+                .endObject();
+    }
+
+    static void ticket(JsonWriter json, Ticket ticket) {
+        json.beginObject()
+                .field("id", ticket.id())
+                .field("title", ticket.title())
+                .field("description", ticket.description())
+                .field("status", ticket.status())
+                .field("projectId", ticket.projectId())
+                .field("milestoneId", ticket.milestoneId())
+                .uuids("assignedDevelopers", ticket.assignedDevelopers())
+                .field("createdAt", ticket.createdAt())
+                .field("updatedAt", ticket.updatedAt())
+                .field("version", ticket.version())
+                .endObject();
+    }
+
+    static void bugReport(JsonWriter json, BugReport bugReport) {
+        json.beginObject()
+                .field("id", bugReport.id())
+                .field("title", bugReport.title())
+                .field("description", bugReport.description())
+                .field("status", bugReport.status())
+                .field("projectId", bugReport.projectId())
+                .field("reportedBy", bugReport.reportedBy())
+                .field("assignedTo", bugReport.assignedTo())
+                .field("severity", bugReport.severity())
+                .field("createdAt", bugReport.createdAt())
+                .field("updatedAt", bugReport.updatedAt())
+                .field("version", bugReport.version())
+                .endObject();
+    }
+
+    static JsonWriter analytics(ProjectAnalyticsService.ProjectAnalytics analytics) {
+        var stats = analytics.stats();
+        return new JsonWriter().beginObject()
+                .field("projectId", analytics.project().id())
+                .field("name", analytics.project().name())
+                .beginObject("stats")
+                .field("totalTickets", stats.totalTickets())
+                .field("completedTickets", stats.completedTickets())
+                .field("openBugs", stats.openBugs())
+                .field("criticalBugs", stats.criticalBugs())
+                .field("activeMilestones", stats.activeMilestones())
+                .field("completionPercentage", stats.completionPercentage())
+                .endObject()
+                .endObject();
+    }
+
+    static JsonWriter health(ProjectAnalyticsService.HealthCheckResult health) {
+        return new JsonWriter().beginObject()
+                .field("healthy", health.healthy())
+                .field("issue", health.issue())
+                .endObject();
+    }
+
+    static JsonWriter error(int status, String message) {
+        return new JsonWriter().beginObject()
+                .field("status", status)
+                .field("error", message)
+                .endObject();
+    }
+}
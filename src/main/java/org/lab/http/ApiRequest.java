@@ -0,0 +1,87 @@
+package org.lab.http;
+
+import org.lab.service.ProjectManagementService;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A matched request: the path ids captured by the route, the authenticated
+ * caller (or {@code null}) and the parsed JSON body.
+ */
+record ApiRequest(List<UUID> pathIds, UUID requesterId, Map<String, Object> body) {
+    static final String UNAUTHENTICATED = "Missing or invalid bearer token";
+
+    UUID id(int index) {
+        return pathIds.get(index);
+    }
+
+    UUID requester() {
+        if (requesterId == null) {
+            throw new SecurityException(UNAUTHENTICATED);
+        }
+        return requesterId;
+    }
+
+    String string(String name) {
+        var value = optionalString(name);
+        if (value == null) {
+            throw new IllegalArgumentException(STR."Field '\{name}' is required");
+        }
+        return value;
+    }
+
+    String optionalString(String name) {
+        return switch (body.get(name)) {
+            case null -> null;
+            case String s -> s;
+            default -> throw new IllegalArgumentException(STR."Field '\{name}' must be a string");
+        };
+    }
+
+    UUID uuid(String name) {
+        return UUID.fromString(string(name));
+    }
+
+    UUID optionalUuid(String name) {
+        var value = optionalString(name);
+        return value == null ? null : UUID.fromString(value);
+    }
+
+    LocalDate date(String name) {
+        var value = optionalString(name);
+        return value == null ? null : LocalDate.parse(value);
+    }
+
+    /** Optional {@code expectedVersion} field for optimistic updates. */
+    long expectedVersion() {
+        return switch (body.get("expectedVersion")) {
+            case null -> ProjectManagementService.ANY_VERSION;
+            case Long l when l >= 0 -> l;
+            default -> throw new IllegalArgumentException("Field 'expectedVersion' must be a non-negative integer");
+        };
+    }
+
+    <E extends Enum<E>> E status(Class<E> type) {
+        return Enum.valueOf(type, string("status").trim().toUpperCase(Locale.ROOT).replace(' ', '_'));
+    }
+
+    Set<UUID> uuids(String name) {
+        if (!(body.get(name) instanceof List<?> values)) {
+            throw new IllegalArgumentException(STR."Field '\{name}' must be an array");
+        }
+        var result = new HashSet<UUID>();
+        for (var value : values) {
+            if (!(value instanceof String s)) {
+                throw new IllegalArgumentException(STR."Field '\{name}' must contain ids");
+            }
+            result.add(UUID.fromString(s));
+        }
+        return result;
+    }
+}
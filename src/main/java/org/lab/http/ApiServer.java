@@ -0,0 +1,373 @@
+package org.lab.http;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.lab.model.*;
+import org.lab.service.ProjectAnalyticsService;
+import org.lab.service.ProjectManagementService;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * JSON over HTTP front end for {@link ProjectManagementService} and
+ * {@link ProjectAnalyticsService}, served by the JDK's built-in server
+ * with one virtual thread per request.
+ *
+ * <p>Every route but {@code POST /users}, reads included, requires the
+ * caller's {@code Authorization: Bearer <token>} header; tokens come from
+ * {@code POST /users} or {@link #issueToken(UUID)} and are checked against
+ * the server's {@link ApiTokens}, so servers sharing a token secret, such
+ * as a leader and its read replicas, accept each other's. Only a server started with {@link #startTrustingUserHeader} also accepts a
+ * bare {@value #USER_HEADER} header, which anyone can forge — that mode is
+ * for tests and local benchmarks, never for a reachable port. Service
+ * exceptions map to status codes: {@link IllegalArgumentException} → 400,
+ * {@link SecurityException} → 403, missing entities → 404,
+ * {@link IllegalStateException} → 409; anything else is logged and answered
+ * with a generic 500. Bodies over {@value #MAX_BODY_BYTES} bytes are
+ * answered with 413 without being read. A read-only server, as run in front of a replica,
+ * answers every request other than {@code GET} with 405.
+ */
+public final class ApiServer implements AutoCloseable {
+    public static final String USER_HEADER = "X-User-Id";
+    public static final String AUTHORIZATION_HEADER = "Authorization";
+    public static final int MAX_BODY_BYTES = 1 << 20;
+
+    private static final String BEARER = "Bearer ";
+    private static final byte[] EMPTY = new byte[0];
+    private static final System.Logger LOG = System.getLogger(ApiServer.class.getName());
+
+    static {
+        // Small responses otherwise stall ~40 ms on Nagle plus delayed ACK.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final ProjectManagementService service;
+    private final ProjectAnalyticsService analytics;
+    private final List<Route> routes = new ArrayList<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final ApiTokens tokens;
+    private final boolean readOnly;
+    private final boolean trustUserHeader;
+
+    private ApiServer(ProjectManagementService service, ProjectAnalyticsService analytics,
+                      InetSocketAddress address, ApiTokens tokens, int backlog, boolean readOnly,
+                      boolean trustUserHeader) throws IOException {
+        this.service = service;
+        this.analytics = analytics;
+        this.tokens = tokens;
+        this.readOnly = readOnly;
+        this.trustUserHeader = trustUserHeader;
+        registerRoutes();
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(address, backlog);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+    }
+
+    /** Binds and starts a server issuing tokens under a random secret; port 0 picks a free port. */
+    public static ApiServer start(ProjectManagementService service, ProjectAnalyticsService analytics,
+                                  InetSocketAddress address) throws IOException {
+        return start(service, analytics, address, ApiTokens.random());
+    }
+
+    public static ApiServer start(ProjectManagementService service, ProjectAnalyticsService analytics,
+                                  InetSocketAddress address, ApiTokens tokens) throws IOException {
+        var api = new ApiServer(service, analytics, address, tokens, 1024, false, false);
+        api.server.start();
+        return api;
+    }
+
+    /**
+     * Like {@link #start(ProjectManagementService, ProjectAnalyticsService, InetSocketAddress)}
+     * but also taking the caller from an unauthenticated {@value #USER_HEADER}
+     * header. For tests and local benchmarks only.
+     */
+    public static ApiServer startTrustingUserHeader(ProjectManagementService service,
+                                                    ProjectAnalyticsService analytics,
+                                                    InetSocketAddress address) throws IOException {
+        LOG.log(System.Logger.Level.WARNING, "Trusting the {0} header; do not expose this server", USER_HEADER);
+        var api = new ApiServer(service, analytics, address, ApiTokens.random(), 1024, false, true);
+        api.server.start();
+        return api;
+    }
+
+    /**
+     * Like {@link #start(ProjectManagementService, ProjectAnalyticsService, InetSocketAddress, ApiTokens)}
+     * but serving reads only; pass the leader's token secret for its tokens to be accepted.
+     */
+    public static ApiServer startReadOnly(ProjectManagementService service, ProjectAnalyticsService analytics,
+                                          InetSocketAddress address, ApiTokens tokens) throws IOException {
+        var api = new ApiServer(service, analytics, address, tokens, 1024, true, false);
+        api.server.start();
+        return api;
+    }
+
+    public static ApiServer start(ProjectManagementService service, int port) throws IOException {
+        return start(service, new ProjectAnalyticsService(service), new InetSocketAddress(port));
+    }
+
+    /** Serves an empty in-memory service on the given port (default 8080) until killed. */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        var api = start(new ProjectManagementService(), port);
+        System.out.println(STR."Listening on http://localhost:\{api.port()}");
+    }
+
+    /** Issues a bearer token acting as the given registered user. */
+    public String issueToken(UUID userId) {
+        service.getUser(userId).orElseThrow(() -> new IllegalArgumentException(STR."Unknown user \{userId}"));
+        return tokens.issue(userId);
+    }
+
+    public void revokeToken(String token) {
+        tokens.revoke(token);
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private record Response(int status, byte[] body) {
+        static Response ok(JsonWriter json) {
+            return new Response(200, json.toBytes());
+        }
+
+        static Response created(JsonWriter json) {
+            return new Response(201, json.toBytes());
+        }
+
+        static Response noContent() {
+            return new Response(204, EMPTY);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Response handle(ApiRequest request) throws Exception;
+    }
+
+    /**
+     * A method plus a path template whose {@code {}} segments capture UUIDs;
+     * only an unauthenticated route answers callers without a valid token.
+     */
+    private record Route(String method, String[] segments, boolean authenticated, Handler handler) {
+        List<UUID> match(String method, String[] path) {
+            if (path.length != segments.length || !this.method.equals(method)) {
+                return null;
+            }
+            List<UUID> ids = List.of();
+            for (int i = 0; i < path.length; i++) {
+                if (segments[i].equals("{}")) {
+                    if (ids.isEmpty()) {
+                        ids = new ArrayList<>(2);
+                    }
+                    ids.add(UUID.fromString(path[i]));
+                } else if (!segments[i].equals(path[i])) {
+                    return null;
+                }
+            }
+            return ids;
+        }
+
+        boolean matchesPath(String[] path) {
+            if (path.length != segments.length) {
+                return false;
+            }
+            for (int i = 0; i < path.length; i++) {
+                if (!segments[i].equals("{}") && !segments[i].equals(path[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private void route(String method, String template, Handler handler) {
+        routes.add(new Route(method, split(template), true, handler));
+    }
+
+    private void unauthenticatedRoute(String method, String template, Handler handler) {
+        routes.add(new Route(method, split(template), false, handler));
+    }
+
+    private void registerRoutes() {
+        unauthenticatedRoute("POST", "/users", r -> {
+            var user = service.registerUser(r.string("username"), r.string("email"), r.string("fullName"));
+            return Response.created(ApiJson.registeredUser(user, issueToken(user.id())));
+        });
+        route("GET", "/users/{}", r -> Response.ok(ApiJson.single(service.getUser(r.id(0)).orElseThrow())));
+        route("GET", "/users/{}/projects", r -> Response.ok(ApiJson.list(
+                service.getUserProjects(r.id(0)), ApiJson::project)));
+        route("GET", "/users/{}/tickets", r -> Response.ok(ApiJson.list(
+                service.getUserTickets(r.id(0)), ApiJson::ticket)));
+        route("GET", "/users/{}/bugs", r -> Response.ok(ApiJson.list(
+                service.getUserBugReports(r.id(0)), ApiJson::bugReport)));
+
+        route("POST", "/projects", r -> Response.created(ApiJson.single(
+                service.createProject(r.string("name"), r.optionalString("description"), r.requester()))));
+        route("GET", "/projects/{}", r -> Response.ok(ApiJson.single(service.getProject(r.id(0)).orElseThrow())));
+        route("POST", "/projects/{}/members", r -> {
+            service.addTeamMember(r.id(0), r.uuid("userId"), Role.fromString(r.string("role")), r.requester(),
+                    r.expectedVersion());
+            return Response.noContent();
+        });
+        route("PUT", "/projects/{}/leader", r -> {
+            service.assignTeamLeader(r.id(0), r.uuid("userId"), r.requester(), r.expectedVersion());
+            return Response.noContent();
+        });
+        route("GET", "/projects/{}/analytics", r -> Response.ok(ApiJson.analytics(
+                analytics.getProjectAnalytics(r.id(0)))));
+        route("GET", "/projects/{}/health", r -> Response.ok(ApiJson.health(
+                analytics.quickHealthCheck(r.id(0)))));
+
+        route("POST", "/projects/{}/milestones", r -> Response.created(ApiJson.single(
+                service.createMilestone(r.string("name"), r.optionalString("description"), r.id(0),
+                        r.date("startDate"), r.date("endDate"), r.requester()))));
+        route("GET", "/projects/{}/milestones", r -> Response.ok(ApiJson.list(
+                service.getMilestonesByProject(r.id(0)), ApiJson::milestone)));
+        route("GET", "/milestones/{}", r -> Response.ok(ApiJson.single(service.getMilestone(r.id(0)).orElseThrow())));
+        route("GET", "/milestones/{}/tickets", r -> Response.ok(ApiJson.list(
+                service.getTicketsByMilestone(r.id(0)), ApiJson::ticket)));
+        route("PUT", "/milestones/{}/status", r -> {
+            service.changeMilestoneStatus(r.id(0), r.status(MilestoneStatus.class), r.requester(),
+                    r.expectedVersion());
+            return Response.noContent();
+        });
+
+        route("POST", "/projects/{}/tickets", r -> Response.created(ApiJson.single(
+                service.createTicket(r.string("title"), r.optionalString("description"), r.id(0),
+                        r.optionalUuid("milestoneId"), r.requester()))));
+        route("GET", "/projects/{}/tickets", r -> Response.ok(ApiJson.list(
+                service.getTicketsByProject(r.id(0)), ApiJson::ticket)));
+        route("GET", "/tickets/{}", r -> Response.ok(ApiJson.single(service.getTicket(r.id(0)).orElseThrow())));
+        route("PUT", "/tickets/{}/status", r -> {
+            service.updateTicketStatus(r.id(0), r.status(TicketStatus.class), r.requester(), r.expectedVersion());
+            return Response.noContent();
+        });
+        route("PUT", "/tickets/{}/assignees", r -> {
+            service.assignDevelopersToTicket(r.id(0), r.uuids("developerIds"), r.requester(),
+                    r.expectedVersion());
+            return Response.noContent();
+        });
+
+        route("POST", "/projects/{}/bugs", r -> Response.created(ApiJson.single(
+                service.createBugReport(r.string("title"), r.optionalString("description"), r.id(0),
+                        r.requester(), r.string("severity")))));
+        route("GET", "/projects/{}/bugs", r -> Response.ok(ApiJson.list(
+                service.getBugReportsByProject(r.id(0)), ApiJson::bugReport)));
+        route("GET", "/bugs/{}", r -> Response.ok(ApiJson.single(service.getBugReport(r.id(0)).orElseThrow())));
+        route("PUT", "/bugs/{}/assignee", r -> {
+            service.assignBugReport(r.id(0), r.uuid("userId"), r.requester(), r.expectedVersion());
+            return Response.noContent();
+        });
+        route("PUT", "/bugs/{}/status", r -> {
+            service.updateBugReportStatus(r.id(0), r.status(BugReportStatus.class), r.requester(),
+                    r.expectedVersion());
+            return Response.noContent();
+        });
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            var response = dispatch(exchange);
+            var headers = exchange.getResponseHeaders();
+            if (response.body().length > 0) {
+                headers.set("Content-Type", "application/json; charset=utf-8");
+            }
+            exchange.sendResponseHeaders(response.status(), response.body().length == 0 ? -1 : response.body().length);
+            if (response.body().length > 0) {
+                exchange.getResponseBody().write(response.body());
+            }
+        }
+    }
+
+    private Response dispatch(HttpExchange exchange) {
+        try {
+            var method = exchange.getRequestMethod();
+            if (readOnly && !method.equals("GET")) {
+                return error(405, "This server is a read-only replica");
+            }
+            var path = split(exchange.getRequestURI().getPath());
+            boolean pathKnown = false;
+            for (var route : routes) {
+                if (!route.matchesPath(path)) {
+                    continue;
+                }
+                pathKnown = true;
+                var ids = route.match(method, path);
+                if (ids != null) {
+                    var raw = exchange.getRequestBody().readNBytes(MAX_BODY_BYTES + 1);
+                    if (raw.length > MAX_BODY_BYTES) {
+                        return error(413, STR."Request body exceeds \{MAX_BODY_BYTES} bytes");
+                    }
+                    var requester = requester(exchange);
+                    if (requester == null && route.authenticated()) {
+                        throw new SecurityException(ApiRequest.UNAUTHENTICATED);
+                    }
+                    return route.handler().handle(new ApiRequest(ids, requester, body(raw)));
+                }
+            }
+            return pathKnown ? error(405, STR."Method \{method} not allowed") : error(404, "No such resource");
+        } catch (NoSuchElementException e) {
+            return error(404, "Not found");
+        } catch (SecurityException e) {
+            return error(403, e.getMessage());
+        } catch (IllegalStateException e) {
+            return error(409, e.getMessage());
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            return error(400, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return error(503, "Interrupted");
+        } catch (Exception e) {
+            LOG.log(System.Logger.Level.ERROR, STR."\{exchange.getRequestMethod()} \{exchange.getRequestURI()} failed", e);
+            return error(500, "Internal server error");
+        }
+    }
+
+    /** The token's user, else the trusted header's when enabled, else {@code null}. */
+    private UUID requester(HttpExchange exchange) {
+        var headers = exchange.getRequestHeaders();
+        var authorization = headers.getFirst(AUTHORIZATION_HEADER);
+        if (authorization != null && authorization.regionMatches(true, 0, BEARER, 0, BEARER.length())) {
+            return tokens.verify(authorization.substring(BEARER.length()).trim());
+        }
+        var header = trustUserHeader ? headers.getFirst(USER_HEADER) : null;
+        return header == null ? null : UUID.fromString(header.trim());
+    }
+
+    private static Map<String, Object> body(byte[] bytes) {
+        return bytes.length == 0 ? Map.of() : Json.parseObject(new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    private static Response error(int status, String message) {
+        return new Response(status, ApiJson.error(status, message).toBytes());
+    }
+
+    private static String[] split(String path) {
+        var trimmed = path.startsWith("/") ? path.substring(1) : path;
+        if (trimmed.endsWith("/")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1);
+        }
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+    }
+}
@@ -0,0 +1,102 @@
+package org.lab.http;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bearer tokens that carry their user id plus a random nonce, signed with
+ * HMAC-SHA256 under a secret. Any {@link ApiServer} holding the same secret
+ * accepts them without shared state, so a replica in another process
+ * accepts tokens its leader issued. Revocation only applies to the
+ * instance it was made on.
+ */
+public final class ApiTokens {
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int ID_BYTES = 16;
+    private static final int NONCE_BYTES = 8;
+    private static final int MAC_BYTES = 16;
+    private static final int TOKEN_BYTES = ID_BYTES + NONCE_BYTES + MAC_BYTES;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final SecretKeySpec key;
+    private final Set<String> revoked = ConcurrentHashMap.newKeySet();
+
+    public ApiTokens(byte[] secret) {
+        if (secret.length < 16) {
+            throw new IllegalArgumentException("Token secret must be at least 16 bytes");
+        }
+        this.key = new SecretKeySpec(secret.clone(), ALGORITHM);
+    }
+
+    /** Tokens under a fresh random secret, accepted only by servers sharing this instance. */
+    public static ApiTokens random() {
+        var secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        return new ApiTokens(secret);
+    }
+
+    public String issue(UUID userId) {
+        var token = ByteBuffer.allocate(TOKEN_BYTES)
+                .putLong(userId.getMostSignificantBits())
+                .putLong(userId.getLeastSignificantBits());
+        var nonce = new byte[NONCE_BYTES];
+        RANDOM.nextBytes(nonce);
+        token.put(nonce).put(mac(token.array()), 0, MAC_BYTES);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(token.array());
+    }
+
+    /** The token's user, or {@code null} if it is malformed, forged or revoked. */
+    public UUID verify(String token) {
+        var bytes = decode(token);
+        if (bytes == null || revoked.contains(encode(bytes))) {
+            return null;
+        }
+        var expected = Arrays.copyOf(mac(bytes), MAC_BYTES);
+        if (!MessageDigest.isEqual(expected, Arrays.copyOfRange(bytes, ID_BYTES + NONCE_BYTES, TOKEN_BYTES))) {
+            return null;
+        }
+        var id = ByteBuffer.wrap(bytes);
+        return new UUID(id.getLong(), id.getLong());
+    }
+
+    public void revoke(String token) {
+        var bytes = decode(token);
+        if (bytes != null) {
+            revoked.add(encode(bytes));
+        }
+    }
+
+    /** The MAC over the id and nonce. */
+    private byte[] mac(byte[] token) {
+        try {
+            var mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            mac.update(token, 0, ID_BYTES + NONCE_BYTES);
+            return mac.doFinal();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] decode(String token) {
+        try {
+            var bytes = Base64.getUrlDecoder().decode(token);
+            return bytes.length == TOKEN_BYTES ? bytes : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
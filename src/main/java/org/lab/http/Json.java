@@ -0,0 +1,206 @@
+package org.lab.http;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal recursive-descent JSON reader for request bodies. Objects become
+ * {@code Map<String, Object>}, arrays {@code List<Object>}, integral
+ * numbers {@code Long} ({@code BigInteger} past 64 bits) and the rest
+ * {@code Double}; malformed input, or objects and arrays nested deeper
+ * than {@value #MAX_DEPTH} levels, raise {@link IllegalArgumentException}.
+ */
+final class Json {
+    static final int MAX_DEPTH = 64;
+
+    private final String text;
+    private int pos;
+    private int depth;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    static Map<String, Object> parseObject(String text) {
+        var parser = new Json(text);
+        parser.skipWhitespace();
+        if (parser.pos == text.length()) {
+            return Map.of();
+        }
+        var value = parser.value();
+        parser.skipWhitespace();
+        if (parser.pos != text.length()) {
+            throw parser.error("Trailing characters");
+        }
+        if (!(value instanceof Map<?, ?>)) {
+            throw new IllegalArgumentException("Request body must be a JSON object");
+        }
+        @SuppressWarnings("unchecked")
+        var object = (Map<String, Object>) value;
+        return object;
+    }
+
+    private Object value() {
+        skipWhitespace();
+        if (pos >= text.length()) {
+            throw error("Unexpected end of input");
+        }
+        return switch (text.charAt(pos)) {
+            case '{', '[' -> nested();
+            case '"' -> string();
+            case 't' -> literal("true", Boolean.TRUE);
+            case 'f' -> literal("false", Boolean.FALSE);
+            case 'n' -> literal("null", null);
+            default -> number();
+        };
+    }
+
+    private Object nested() {
+        if (depth == MAX_DEPTH) {
+            throw error(STR."Nested deeper than \{MAX_DEPTH} levels");
+        }
+        depth++;
+        try {
+            return text.charAt(pos) == '{' ? object() : array();
+        } finally {
+            depth--;
+        }
+    }
+
+    private Map<String, Object> object() {
+        var result = new LinkedHashMap<String, Object>();
+        pos++;
+        skipWhitespace();
+        if (peek('}')) {
+            pos++;
+            return result;
+        }
+        while (true) {
+            skipWhitespace();
+            if (!peek('"')) {
+                throw error("Expected field name");
+            }
+            var name = string();
+            skipWhitespace();
+            expect(':');
+            result.put(name, value());
+            skipWhitespace();
+            if (peek(',')) {
+                pos++;
+            } else {
+                expect('}');
+                return result;
+            }
+        }
+    }
+
+    private List<Object> array() {
+        var result = new ArrayList<>();
+        pos++;
+        skipWhitespace();
+        if (peek(']')) {
+            pos++;
+            return result;
+        }
+        while (true) {
+            result.add(value());
+            skipWhitespace();
+            if (peek(',')) {
+                pos++;
+            } else {
+                expect(']');
+                return result;
+            }
+        }
+    }
+
+    private String string() {
+        pos++;
+        var out = new StringBuilder();
+        while (pos < text.length()) {
+            char c = text.charAt(pos++);
+            if (c == '"') {
+                return out.toString();
+            }
+            if (c != '\\') {
+                out.append(c);
+                continue;
+            }
+            if (pos >= text.length()) {
+                break;
+            }
+            char escaped = text.charAt(pos++);
+            switch (escaped) {
+                case '"', '\\', '/' -> out.append(escaped);
+                case 'b' -> out.append('\b');
+                case 'f' -> out.append('\f');
+                case 'n' -> out.append('\n');
+                case 'r' -> out.append('\r');
+                case 't' -> out.append('\t');
+                case 'u' -> {
+                    if (pos + 4 > text.length()) {
+                        throw error("Truncated unicode escape");
+                    }
+                    out.append((char) Integer.parseInt(text, pos, pos + 4, 16));
+                    pos += 4;
+                }
+                default -> throw error(STR."Invalid escape \\\{escaped}");
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private Number number() {
+        int start = pos;
+        boolean integral = true;
+        while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+            integral &= "0123456789-".indexOf(text.charAt(pos)) >= 0;
+            pos++;
+        }
+        if (start == pos) {
+            throw error("Unexpected character");
+        }
+        var literal = text.substring(start, pos);
+        try {
+            if (!integral) {
+                return Double.valueOf(literal);
+            }
+            var value = new BigInteger(literal);
+            return value.bitLength() < Long.SIZE ? (Number) value.longValue() : value;
+        } catch (NumberFormatException e) {
+            throw error("Malformed number");
+        }
+    }
+
+    private Object literal(String word, Object value) {
+        if (!text.startsWith(word, pos)) {
+            throw error("Unexpected literal");
+        }
+        pos += word.length();
+        return value;
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private boolean peek(char c) {
+        return pos < text.length() && text.charAt(pos) == c;
+    }
+
+    private void expect(char c) {
+        if (!peek(c)) {
+            throw error(STR."Expected '\{c}'");
+        }
+        pos++;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(STR."Malformed JSON at offset \{pos}: \{message}");
+    }
+}
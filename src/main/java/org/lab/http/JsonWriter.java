@@ -0,0 +1,144 @@
+package org.lab.http;
+
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Append-only JSON builder. Commas are inserted automatically; callers
+ * only open and close containers and name fields.
+ */
+final class JsonWriter {
+    private final StringBuilder out = new StringBuilder(256);
+    private boolean needsComma;
+
+    JsonWriter beginObject() {
+        comma();
+        out.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    JsonWriter beginObject(String name) {
+        name(name);
+        out.append('{');
+        needsComma = false;
+        return this;
+    }
+
+    JsonWriter endObject() {
+        out.append('}');
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter beginArray(String name) {
+        name(name);
+        out.append('[');
+        needsComma = false;
+        return this;
+    }
+
+    JsonWriter endArray() {
+        out.append(']');
+        needsComma = true;
+        return this;
+    }
+
+    JsonWriter field(String name, String value) {
+        name(name);
+        string(value);
+        return this;
+    }
+
+    JsonWriter field(String name, UUID value) {
+        return field(name, value == null ? null : value.toString());
+    }
+
+    JsonWriter field(String name, Enum<?> value) {
+        return field(name, value == null ? null : value.name());
+    }
+
+    JsonWriter field(String name, TemporalAccessor value) {
+        return field(name, value == null ? null : value.toString());
+    }
+
+    JsonWriter field(String name, long value) {
+        name(name);
+        out.append(value);
+        return this;
+    }
+
+    JsonWriter field(String name, double value) {
+        name(name);
+        out.append(value);
+        return this;
+    }
+
+    JsonWriter field(String name, boolean value) {
+        name(name);
+        out.append(value);
+        return this;
+    }
+
+    JsonWriter uuids(String name, Collection<UUID> values) {
+        beginArray(name);
+        for (var value : values) {
+            comma();
+            string(value.toString());
+            needsComma = true;
+        }
+        return endArray();
+    }
+
+    byte[] toBytes() {
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    private void name(String name) {
+        comma();
+        if (name != null) {
+            string(name);
+            out.append(':');
+        }
+        needsComma = true;
+    }
+
+    private void comma() {
+        if (needsComma) {
+            out.append(',');
+        }
+    }
+
+    private void string(String value) {
+        if (value == null) {
+            out.append("null");
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,344 @@
+package org.lab.io;
+
+import org.lab.model.*;
+import org.lab.service.ProjectManagementService;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Loads users, projects, members, milestones, tickets and bug reports from a
+ * file in the {@link RowType} layout written by {@link ProjectExporter}.
+ * <p>
+ * The file is memory-mapped and cut into chunks at row boundaries; chunks are
+ * decoded in parallel. A second, sequential pass resolves project, milestone
+ * and user references, rejects rows whose references cannot be resolved, and
+ * hands the result to {@link ProjectManagementService#bulkLoad}. Users may
+ * refer to accounts already registered in the service; projects and
+ * milestones must be part of the same import. A user row whose username or
+ * email clashes, case-insensitively, with another user of the import or of
+ * the service is rejected like any other bad row; only a clash with a user
+ * registered while the import runs still fails the whole load.
+ */
+public final class BulkImporter {
+
+    public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+    public static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private final ProjectManagementService service;
+    private final int chunkSize;
+
+    public BulkImporter(ProjectManagementService service) {
+        this(service, DEFAULT_CHUNK_SIZE);
+    }
+
+    public BulkImporter(ProjectManagementService service, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.service = service;
+        this.chunkSize = chunkSize;
+    }
+
+    public ImportReport importFile(Path file, ExportFormat format) throws IOException {
+        long started = System.nanoTime();
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ);
+             var arena = Arena.ofShared()) {
+            var data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            var bounds = split(data, format);
+
+            var chunks = new ArrayList<ParsedChunk>(bounds.length - 1);
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                chunks.add(null);
+            }
+            IntStream.range(0, chunks.size()).parallel().forEach(i ->
+                    chunks.set(i, new ChunkParser(data, format, bounds[i], bounds[i + 1]).parse()));
+
+            var resolver = new Resolver();
+            resolver.resolve(chunks);
+            service.bulkLoad(resolver.users.values(), resolver.projects, resolver.milestones,
+                    resolver.tickets, resolver.bugs);
+
+            long rows = chunks.stream().mapToLong(c -> c.rows).sum();
+            var errors = resolver.errors.stream()
+                    .sorted(Comparator.comparingLong(ImportReport.RowError::line))
+                    .toList();
+            return new ImportReport(rows, rows - resolver.errorCount, resolver.errorCount,
+                    errors, Duration.ofNanos(System.nanoTime() - started));
+        }
+    }
+
+    /**
+     * Chunk start offsets plus the file size. JSON-lines rows never contain raw
+     * line breaks, so any line break is a boundary. CSV quoted fields may span
+     * lines, so whether a line break ends a row depends on the quotes before
+     * it; see {@link #splitCsv}.
+     */
+    private long[] split(MemorySegment data, ExportFormat format) {
+        long size = data.byteSize();
+        var bounds = new ArrayList<Long>();
+        bounds.add(0L);
+        switch (format) {
+            case JSON_LINES -> {
+                long next = chunkSize;
+                while (next < size) {
+                    while (next < size && data.get(ValueLayout.JAVA_BYTE, next - 1) != '\n') {
+                        next++;
+                    }
+                    if (next >= size) {
+                        break;
+                    }
+                    bounds.add(next);
+                    next += chunkSize;
+                }
+            }
+            case CSV -> {
+                for (long bound : splitCsv(data)) {
+                    if (bound > bounds.getLast() && bound < size) {
+                        bounds.add(bound);
+                    }
+                }
+            }
+        }
+        bounds.add(size);
+        return bounds.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Cuts the file at every {@code chunkSize} bytes and scans the pieces in
+     * parallel. Not knowing whether its start lies inside a quoted field, a
+     * piece records the first row end for either case, plus whether it holds
+     * an odd number of quotes. Folding those parities from the start of the
+     * file then tells each piece which of its two candidates is real. A piece
+     * reads past its end only up to its first line break, so a candidate may
+     * be missing; the piece then simply joins the previous chunk. Returns the
+     * boundaries in order, possibly repeated, -1 where a piece has none.
+     */
+    private long[] splitCsv(MemorySegment data) {
+        long size = data.byteSize();
+        int pieces = (int) Math.max(1, (size + chunkSize - 1) / chunkSize);
+        var oddQuotes = new boolean[pieces];
+        var unquotedEnd = new long[pieces];
+        var quotedEnd = new long[pieces];
+        IntStream.range(0, pieces).parallel().forEach(piece -> {
+            long start = (long) piece * chunkSize;
+            long end = Math.min(size, start + chunkSize);
+            boolean odd = false;
+            long unquoted = -1;
+            long quoted = -1;
+            for (long i = start; i < size && (i < end || (piece > 0 && unquoted < 0 && quoted < 0)); i++) {
+                byte b = data.get(ValueLayout.JAVA_BYTE, i);
+                if (b == '"') {
+                    odd = !odd;
+                } else if (b == '\n' && piece > 0) {
+                    if (!odd && unquoted < 0) {
+                        unquoted = i + 1;
+                    } else if (odd && quoted < 0) {
+                        quoted = i + 1;
+                    }
+                }
+                if (i + 1 == end) {
+                    oddQuotes[piece] = odd;
+                }
+            }
+            unquotedEnd[piece] = unquoted;
+            quotedEnd[piece] = quoted;
+        });
+
+        var bounds = new long[pieces];
+        boolean inQuotes = false;
+        for (int piece = 1; piece < pieces; piece++) {
+            inQuotes ^= oddQuotes[piece - 1];
+            bounds[piece] = inQuotes ? quotedEnd[piece] : unquotedEnd[piece];
+        }
+        return bounds;
+    }
+
+    private interface RowAction<T> {
+        void accept(long line, T value);
+    }
+
+    /** Second pass: merges the chunks in file order and checks every reference. */
+    private final class Resolver {
+        final Map<UUID, User> users = new LinkedHashMap<>();
+        final List<Project> projects = new ArrayList<>();
+        final List<Milestone> milestones = new ArrayList<>();
+        final List<Ticket> tickets = new ArrayList<>();
+        final List<BugReport> bugs = new ArrayList<>();
+        /** The reported errors: those of the lowest lines, largest line on top. */
+        final PriorityQueue<ImportReport.RowError> errors = new PriorityQueue<>(
+                Comparator.comparingLong(ImportReport.RowError::line).reversed());
+        long errorCount;
+
+        private final Map<UUID, Project> projectDrafts = new LinkedHashMap<>();
+        private final Map<UUID, Milestone> milestoneDrafts = new LinkedHashMap<>();
+        private final Map<UUID, Map<UUID, Role>> members = new HashMap<>();
+        private final Map<UUID, List<UUID>> milestonesByProject = new HashMap<>();
+        private final Map<UUID, List<UUID>> bugsByProject = new HashMap<>();
+        private final Map<UUID, List<UUID>> ticketsByMilestone = new HashMap<>();
+        private final Map<String, UUID> usernames = new HashMap<>();
+        private final Map<String, UUID> emails = new HashMap<>();
+
+        void resolve(List<ParsedChunk> chunks) {
+            var offsets = new long[chunks.size()];
+            for (int i = 1; i < chunks.size(); i++) {
+                offsets[i] = offsets[i - 1] + chunks.get(i - 1).lines;
+            }
+            for (int i = 0; i < chunks.size(); i++) {
+                for (var error : chunks.get(i).errors) {
+                    reject(offsets[i] + error.line(), error.message());
+                }
+            }
+
+            forEach(chunks, offsets, c -> c.users, (line, user) -> {
+                var usernameOwner = owner(usernames, user.username(), service::findUserByUsername);
+                var emailOwner = owner(emails, user.email(), service::findUserByEmail);
+                if (usernameOwner != null && !usernameOwner.equals(user.id())) {
+                    reject(line, STR."Username '\{user.username()}' is already taken");
+                } else if (emailOwner != null && !emailOwner.equals(user.id())) {
+                    reject(line, STR."Email '\{user.email()}' is already registered");
+                } else {
+                    usernames.put(key(user.username()), user.id());
+                    emails.put(key(user.email()), user.id());
+                    users.put(user.id(), user);
+                }
+            });
+            forEach(chunks, offsets, c -> c.projects, (line, project) -> {
+                if (project.managerId() != null && !userExists(project.managerId())) {
+                    reject(line, STR."Unknown manager \{project.managerId()}");
+                } else {
+                    projectDrafts.put(project.id(), project);
+                }
+            });
+            forEach(chunks, offsets, c -> c.members, (line, member) -> {
+                if (!projectDrafts.containsKey(member.projectId())) {
+                    reject(line, STR."Unknown project \{member.projectId()}");
+                } else if (!userExists(member.userId())) {
+                    reject(line, STR."Unknown user \{member.userId()}");
+                } else {
+                    members.computeIfAbsent(member.projectId(), id -> new HashMap<>())
+                            .put(member.userId(), member.role());
+                }
+            });
+            forEach(chunks, offsets, c -> c.milestones, (line, milestone) -> {
+                if (!projectDrafts.containsKey(milestone.projectId())) {
+                    reject(line, STR."Unknown project \{milestone.projectId()}");
+                } else {
+                    milestoneDrafts.put(milestone.id(), milestone);
+                    milestonesByProject.computeIfAbsent(milestone.projectId(), id -> new ArrayList<>())
+                            .add(milestone.id());
+                }
+            });
+            forEach(chunks, offsets, c -> c.tickets, (line, ticket) -> {
+                var milestone = ticket.milestoneId() == null ? null : milestoneDrafts.get(ticket.milestoneId());
+                var unknownDeveloper = ticket.assignedDevelopers().stream()
+                        .filter(id -> !userExists(id))
+                        .findFirst();
+                var nonDeveloper = ticket.assignedDevelopers().stream()
+                        .filter(id -> !(role(ticket.projectId(), id) instanceof Role.Developer
+                                || role(ticket.projectId(), id) instanceof Role.TeamLeader))
+                        .findFirst();
+                if (!projectDrafts.containsKey(ticket.projectId())) {
+                    reject(line, STR."Unknown project \{ticket.projectId()}");
+                } else if (ticket.milestoneId() != null && milestone == null) {
+                    reject(line, STR."Unknown milestone \{ticket.milestoneId()}");
+                } else if (milestone != null && !milestone.projectId().equals(ticket.projectId())) {
+                    reject(line, "Milestone does not belong to the project");
+                } else if (unknownDeveloper.isPresent()) {
+                    reject(line, STR."Unknown user \{unknownDeveloper.get()}");
+                } else if (nonDeveloper.isPresent()) {
+                    reject(line, STR."User \{nonDeveloper.get()} is not a developer in this project");
+                } else {
+                    tickets.add(ticket);
+                    if (milestone != null) {
+                        ticketsByMilestone.computeIfAbsent(milestone.id(), id -> new ArrayList<>()).add(ticket.id());
+                    }
+                }
+            });
+            forEach(chunks, offsets, c -> c.bugs, (line, bug) -> {
+                if (!projectDrafts.containsKey(bug.projectId())) {
+                    reject(line, STR."Unknown project \{bug.projectId()}");
+                } else if (!userExists(bug.reportedBy())) {
+                    reject(line, STR."Unknown reporter \{bug.reportedBy()}");
+                } else if (bug.assignedTo() != null && !userExists(bug.assignedTo())) {
+                    reject(line, STR."Unknown user \{bug.assignedTo()}");
+                } else if (bug.assignedTo() != null
+                        && !(role(bug.projectId(), bug.assignedTo()) instanceof Role.Developer)) {
+                    reject(line, "Assigned user must be a developer");
+                } else {
+                    bugs.add(bug);
+                    bugsByProject.computeIfAbsent(bug.projectId(), id -> new ArrayList<>()).add(bug.id());
+                }
+            });
+            forEach(chunks, offsets, c -> c.archived, (line, id) ->
+                    reject(line, "Archived rows are only valid in replication streams"));
+
+            for (var draft : milestoneDrafts.values()) {
+                milestones.add(new Milestone(draft.id(), draft.name(), draft.description(), draft.status(),
+                        draft.projectId(), draft.startDate(), draft.endDate(),
+                        ticketsByMilestone.getOrDefault(draft.id(), List.of()),
+                        draft.createdAt(), draft.updatedAt(), draft.version()));
+            }
+            for (var draft : projectDrafts.values()) {
+                var projectMilestones = milestonesByProject.getOrDefault(draft.id(), List.of());
+                var activeMilestone = draft.activeMilestoneId() != null
+                        && projectMilestones.contains(draft.activeMilestoneId())
+                        ? draft.activeMilestoneId()
+                        : null;
+                projects.add(new Project(draft.id(), draft.name(), draft.description(),
+                        members.getOrDefault(draft.id(), Map.of()), draft.managerId(), draft.teamLeaderId(),
+                        projectMilestones, bugsByProject.getOrDefault(draft.id(), List.of()),
+                        activeMilestone, draft.createdAt(), draft.updatedAt(), draft.version()));
+            }
+        }
+
+        /** The user's role in an imported project, from its member rows; null if none. */
+        private Role role(UUID projectId, UUID userId) {
+            return members.getOrDefault(projectId, Map.of()).get(userId);
+        }
+
+        /** Who holds the name: an earlier row of this import, else a registered user, else null. */
+        private UUID owner(Map<String, UUID> imported, String name, Function<String, Optional<User>> registered) {
+            var owner = imported.get(key(name));
+            return owner != null ? owner : registered.apply(name).map(User::id).orElse(null);
+        }
+
+        /** The service's case-insensitive form of a username or email. */
+        private static String key(String name) {
+            return name.strip().toLowerCase(Locale.ROOT);
+        }
+
+        private boolean userExists(UUID userId) {
+            return users.containsKey(userId) || service.getUser(userId).isPresent();
+        }
+
+        /** Counts the error and keeps it if it is among the first {@link #MAX_REPORTED_ERRORS} by line. */
+        private void reject(long line, String message) {
+            errorCount++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportReport.RowError(line, message));
+            } else if (line < errors.peek().line()) {
+                errors.poll();
+                errors.add(new ImportReport.RowError(line, message));
+            }
+        }
+
+        private <T> void forEach(List<ParsedChunk> chunks, long[] offsets,
+                                 Function<ParsedChunk, List<ParsedChunk.Line<T>>> rows, RowAction<T> action) {
+            for (int i = 0; i < chunks.size(); i++) {
+                for (var row : rows.apply(chunks.get(i))) {
+                    action.accept(offsets[i] + row.line(), row.value());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package org.lab.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.UUID;
+
+/**
+ * Encodes text straight into a reusable buffer as UTF-8 and drains it to a
+ * channel whenever it fills up. Bytes are written into the backing array
+ * directly; the {@link ByteBuffer} view is only used to hand them over.
+ */
+final class ChannelWriter {
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private int position;
+    private WritableByteChannel channel;
+    private long written;
+
+    ChannelWriter(int bufferSize) {
+        if (bufferSize < 64) {
+            throw new IllegalArgumentException("Buffer size must be at least 64 bytes");
+        }
+        this.bytes = new byte[bufferSize];
+        this.buffer = ByteBuffer.wrap(bytes);
+    }
+
+    void open(WritableByteChannel channel) {
+        this.channel = channel;
+        this.written = 0;
+        this.position = 0;
+    }
+
+    /** Flushes pending bytes and returns the total written since {@link #open}. */
+    long finish() throws IOException {
+        drain();
+        channel = null;
+        return written;
+    }
+
+    void writeByte(char c) throws IOException {
+        ensure(1);
+        bytes[position++] = (byte) c;
+    }
+
+    void writeAscii(String s) throws IOException {
+        int length = s.length();
+        if (length > bytes.length) {
+            for (int i = 0; i < length; i++) {
+                writeByte(s.charAt(i));
+            }
+            return;
+        }
+        ensure(length);
+        for (int i = 0; i < length; i++) {
+            bytes[position++] = (byte) s.charAt(i);
+        }
+    }
+
+    void writeUuid(UUID id) throws IOException {
+        ensure(36);
+        writeHex(id.getMostSignificantBits() >>> 32, 8);
+        bytes[position++] = '-';
+        writeHex(id.getMostSignificantBits() >>> 16, 4);
+        bytes[position++] = '-';
+        writeHex(id.getMostSignificantBits(), 4);
+        bytes[position++] = '-';
+        writeHex(id.getLeastSignificantBits() >>> 48, 4);
+        bytes[position++] = '-';
+        writeHex(id.getLeastSignificantBits(), 12);
+    }
+
+    /** Writes the character at {@code index} as UTF-8 and returns the index of the next one. */
+    int writeUtf8(String s, int index) throws IOException {
+        ensure(4);
+        char c = s.charAt(index);
+        if (c < 0x80) {
+            bytes[position++] = (byte) c;
+        } else if (c < 0x800) {
+            bytes[position++] = (byte) (0xC0 | (c >> 6));
+            bytes[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c) && index + 1 < s.length()
+                && Character.isLowSurrogate(s.charAt(index + 1))) {
+            int cp = Character.toCodePoint(c, s.charAt(index + 1));
+            bytes[position++] = (byte) (0xF0 | (cp >> 18));
+            bytes[position++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+            bytes[position++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+            bytes[position++] = (byte) (0x80 | (cp & 0x3F));
+            return index + 2;
+        } else if (Character.isSurrogate(c)) {
+            bytes[position++] = '?';
+        } else {
+            bytes[position++] = (byte) (0xE0 | (c >> 12));
+            bytes[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            bytes[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+        return index + 1;
+    }
+
+    private void writeHex(long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            bytes[position++] = HEX[(int) (value >>> shift) & 0xF];
+        }
+    }
+
+    private void ensure(int count) throws IOException {
+        if (bytes.length - position < count) {
+            drain();
+        }
+    }
+
+    private void drain() throws IOException {
+        buffer.clear().limit(position);
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        position = 0;
+    }
+}
@@ -0,0 +1,345 @@
+package org.lab.io;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+/**
+ * Decodes the rows of one chunk of a memory-mapped input file.
+ * A chunk always starts at the beginning of a row and ends right after a
+ * line break (or at the end of the file). Instances are single-threaded.
+ */
+final class ChunkParser {
+
+    private record Row(RowType type, String[] values) {}
+
+    private final MemorySegment data;
+    private final ExportFormat format;
+    private final long end;
+    private long pos;
+    private long newlines;
+    private byte[] scratch = new byte[256];
+    private final StringBuilder text = new StringBuilder();
+
+    ChunkParser(MemorySegment data, ExportFormat format, long start, long end) {
+        this.data = data;
+        this.format = format;
+        this.pos = start;
+        this.end = end;
+    }
+
+    ParsedChunk parse() {
+        var chunk = new ParsedChunk();
+        while (pos < end) {
+            long line = newlines + 1;
+            if (at(pos) == '\n' || at(pos) == '\r') {
+                skipLine();
+                continue;
+            }
+            chunk.rows++;
+            Row row;
+            try {
+                row = switch (format) {
+                    case JSON_LINES -> parseJsonRow();
+                    case CSV -> parseCsvRow();
+                };
+            } catch (IllegalArgumentException e) {
+                chunk.error(line, e.getMessage());
+                skipLine();
+                continue;
+            }
+            try {
+                chunk.accept(line, row.type(), row.values());
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                chunk.error(line, e.getMessage());
+            }
+        }
+        chunk.lines = newlines;
+        return chunk;
+    }
+
+    // --- JSON lines ---
+
+    private Row parseJsonRow() {
+        expect('{');
+        RowType type = null;
+        String[] values = null;
+        String[] pendingKeys = new String[0];
+        String[] pendingValues = new String[0];
+        skipSpaces();
+        if (at(pos) == '}') {
+            throw new IllegalArgumentException("Empty row");
+        }
+        while (true) {
+            skipSpaces();
+            var key = jsonString();
+            skipSpaces();
+            expect(':');
+            skipSpaces();
+            var value = jsonValue();
+            if (key.equals("type")) {
+                type = RowType.fromTag(value)
+                        .orElseThrow(() -> new IllegalArgumentException(STR."Unknown row type: \{value}"));
+                values = new String[type.fields().size()];
+                for (int i = 0; i < pendingKeys.length; i++) {
+                    assign(type, values, pendingKeys[i], pendingValues[i]);
+                }
+            } else if (type != null) {
+                assign(type, values, key, value);
+            } else {
+                // Field seen before the type tag; keep it until the tag arrives.
+                pendingKeys = Arrays.copyOf(pendingKeys, pendingKeys.length + 1);
+                pendingValues = Arrays.copyOf(pendingValues, pendingValues.length + 1);
+                pendingKeys[pendingKeys.length - 1] = key;
+                pendingValues[pendingValues.length - 1] = value;
+            }
+            skipSpaces();
+            byte b = next();
+            if (b == '}') {
+                break;
+            }
+            if (b != ',') {
+                throw new IllegalArgumentException(STR."Expected ',' or '}' but found '\{(char) b}'");
+            }
+        }
+        skipSpaces();
+        if (pos < end && at(pos) != '\n' && at(pos) != '\r') {
+            throw new IllegalArgumentException("Unexpected content after row");
+        }
+        if (type == null) {
+            throw new IllegalArgumentException("Missing row type");
+        }
+        skipLine();
+        return new Row(type, values);
+    }
+
+    private static void assign(RowType type, String[] values, String key, String value) {
+        int index = type.fieldIndex(key);
+        if (index >= 0) {
+            values[index] = value;
+        }
+    }
+
+    /** Reads a string, null, literal or string array; arrays are joined with the CSV list separator. */
+    private String jsonValue() {
+        byte b = at(pos);
+        if (b == '"') {
+            return jsonString();
+        }
+        if (b == '[') {
+            pos++;
+            var joined = new StringBuilder();
+            skipSpaces();
+            if (at(pos) == ']') {
+                pos++;
+                return "";
+            }
+            while (true) {
+                skipSpaces();
+                if (!joined.isEmpty()) {
+                    joined.append(CsvEncoder.LIST_SEPARATOR);
+                }
+                joined.append(jsonString());
+                skipSpaces();
+                byte c = next();
+                if (c == ']') {
+                    return joined.toString();
+                }
+                if (c != ',') {
+                    throw new IllegalArgumentException("Malformed array");
+                }
+            }
+        }
+        long start = pos;
+        while (pos < end && at(pos) != ',' && at(pos) != '}' && at(pos) != '\n' && at(pos) != ' ') {
+            pos++;
+        }
+        var literal = decode(start, pos);
+        if (literal.equals("null")) {
+            return null;
+        }
+        if (literal.isEmpty()) {
+            throw new IllegalArgumentException("Missing value");
+        }
+        return literal;
+    }
+
+    private String jsonString() {
+        expect('"');
+        long start = pos;
+        while (true) {
+            if (pos >= end) {
+                throw new IllegalArgumentException("Unterminated string");
+            }
+            byte b = at(pos);
+            if (b == '"') {
+                var value = decode(start, pos);
+                pos++;
+                return value;
+            }
+            if (b == '\\') {
+                return jsonEscapedString(start);
+            }
+            if (b == '\n') {
+                throw new IllegalArgumentException("Unterminated string");
+            }
+            pos++;
+        }
+    }
+
+    private String jsonEscapedString(long start) {
+        text.setLength(0);
+        text.append(decode(start, pos));
+        while (true) {
+            if (pos >= end) {
+                throw new IllegalArgumentException("Unterminated string");
+            }
+            byte b = at(pos);
+            if (b == '"') {
+                pos++;
+                return text.toString();
+            }
+            if (b == '\\') {
+                pos++;
+                byte escape = next();
+                switch (escape) {
+                    case '"' -> text.append('"');
+                    case '\\' -> text.append('\\');
+                    case '/' -> text.append('/');
+                    case 'b' -> text.append('\b');
+                    case 'f' -> text.append('\f');
+                    case 'n' -> text.append('\n');
+                    case 'r' -> text.append('\r');
+                    case 't' -> text.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > end) {
+                            throw new IllegalArgumentException("Truncated unicode escape");
+                        }
+                        text.append((char) Integer.parseInt(decode(pos, pos + 4), 16));
+                        pos += 4;
+                    }
+                    default -> throw new IllegalArgumentException(STR."Invalid escape '\\\{(char) escape}'");
+                }
+                continue;
+            }
+            long runStart = pos;
+            while (pos < end && at(pos) != '"' && at(pos) != '\\' && at(pos) != '\n') {
+                pos++;
+            }
+            if (pos < end && at(pos) == '\n') {
+                throw new IllegalArgumentException("Unterminated string");
+            }
+            text.append(decode(runStart, pos));
+        }
+    }
+
+    // --- CSV ---
+
+    private Row parseCsvRow() {
+        var tag = csvField();
+        var type = tag == null ? null : RowType.fromTag(tag).orElse(null);
+        if (type == null) {
+            throw new IllegalArgumentException(STR."Unknown row type: \{tag}");
+        }
+        var values = new String[type.fields().size()];
+        int field = 0;
+        while (pos < end && at(pos) == ',') {
+            pos++;
+            var value = csvField();
+            if (field >= values.length) {
+                throw new IllegalArgumentException(STR."Too many fields for \{type.tag()} row");
+            }
+            values[field++] = value;
+        }
+        if (field < type.requiredFields()) {
+            throw new IllegalArgumentException(
+                    STR."Expected \{values.length} fields for \{type.tag()} row but found \{field}");
+        }
+        if (pos < end && at(pos) != '\n' && at(pos) != '\r') {
+            throw new IllegalArgumentException("Unexpected content after field");
+        }
+        skipLine();
+        return new Row(type, values);
+    }
+
+    /** Returns null for an empty unquoted field and "" for {@code ""}. */
+    private String csvField() {
+        if (pos >= end || at(pos) != '"') {
+            long start = pos;
+            while (pos < end && at(pos) != ',' && at(pos) != '\n' && at(pos) != '\r') {
+                pos++;
+            }
+            return pos == start ? null : decode(start, pos);
+        }
+        pos++;
+        text.setLength(0);
+        long runStart = pos;
+        while (true) {
+            if (pos >= end) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            byte b = at(pos);
+            if (b == '"') {
+                text.append(decode(runStart, pos));
+                pos++;
+                if (pos < end && at(pos) == '"') {
+                    text.append('"');
+                    pos++;
+                    runStart = pos;
+                    continue;
+                }
+                return text.toString();
+            }
+            if (b == '\n') {
+                newlines++;
+            }
+            pos++;
+        }
+    }
+
+    // --- helpers ---
+
+    private byte at(long index) {
+        return data.get(ValueLayout.JAVA_BYTE, index);
+    }
+
+    private byte next() {
+        if (pos >= end) {
+            throw new IllegalArgumentException("Unexpected end of row");
+        }
+        return at(pos++);
+    }
+
+    private void expect(char c) {
+        byte b = next();
+        if (b != c) {
+            throw new IllegalArgumentException(STR."Expected '\{c}' but found '\{(char) b}'");
+        }
+    }
+
+    private void skipSpaces() {
+        while (pos < end && (at(pos) == ' ' || at(pos) == '\t')) {
+            pos++;
+        }
+    }
+
+    private void skipLine() {
+        while (pos < end) {
+            if (at(pos++) == '\n') {
+                newlines++;
+                return;
+            }
+        }
+    }
+
+    private String decode(long from, long to) {
+        int length = Math.toIntExact(to - from);
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        MemorySegment.copy(data, ValueLayout.JAVA_BYTE, from, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+}
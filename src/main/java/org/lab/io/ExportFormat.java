@@ -0,0 +1,6 @@
+package org.lab.io;
+
+public enum ExportFormat {
+    JSON_LINES,
+    CSV
+}
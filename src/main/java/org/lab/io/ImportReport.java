@@ -0,0 +1,23 @@
+package org.lab.io;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Every rejected row is counted in
+ * {@code errorCount}; only the first {@link BulkImporter#MAX_REPORTED_ERRORS}
+ * are kept in {@code errors}.
+ */
+public record ImportReport(
+        long rowsRead,
+        long rowsImported,
+        long errorCount,
+        List<RowError> errors,
+        Duration elapsed
+) {
+    public record RowError(long line, String message) {}
+
+    public boolean successful() {
+        return errorCount == 0;
+    }
+}
@@ -0,0 +1,95 @@
+package org.lab.io;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.UUID;
+
+final class JsonLinesEncoder implements RowEncoder {
+
+    private final ChannelWriter out;
+    private RowType type;
+    private int field;
+
+    JsonLinesEncoder(ChannelWriter out) {
+        this.out = out;
+    }
+
+    @Override
+    public void begin(RowType type) throws IOException {
+        this.type = type;
+        this.field = 0;
+        out.writeAscii("{\"type\":\"");
+        out.writeAscii(type.tag());
+        out.writeByte('"');
+    }
+
+    @Override
+    public void text(String value) throws IOException {
+        name();
+        if (value == null) {
+            out.writeAscii("null");
+            return;
+        }
+        out.writeByte('"');
+        for (int i = 0; i < value.length(); ) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.writeAscii("\\\"");
+                case '\\' -> out.writeAscii("\\\\");
+                case '\n' -> out.writeAscii("\\n");
+                case '\r' -> out.writeAscii("\\r");
+                case '\t' -> out.writeAscii("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.writeAscii(String.format("\\u%04x", (int) c));
+                    } else {
+                        i = out.writeUtf8(value, i);
+                        continue;
+                    }
+                }
+            }
+            i++;
+        }
+        out.writeByte('"');
+    }
+
+    @Override
+    public void uuid(UUID value) throws IOException {
+        name();
+        if (value == null) {
+            out.writeAscii("null");
+            return;
+        }
+        out.writeByte('"');
+        out.writeUuid(value);
+        out.writeByte('"');
+    }
+
+    @Override
+    public void uuids(Collection<UUID> values) throws IOException {
+        name();
+        out.writeByte('[');
+        boolean first = true;
+        for (var value : values) {
+            if (!first) {
+                out.writeByte(',');
+            }
+            first = false;
+            out.writeByte('"');
+            out.writeUuid(value);
+            out.writeByte('"');
+        }
+        out.writeByte(']');
+    }
+
+    @Override
+    public void end() throws IOException {
+        out.writeAscii("}\n");
+    }
+
+    private void name() throws IOException {
+        out.writeAscii(",\"");
+        out.writeAscii(type.fields().get(field++));
+        out.writeAscii("\":");
+    }
+}
@@ -0,0 +1,104 @@
+package org.lab.io;
+
+import org.lab.model.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Entities decoded from one chunk of the input, each tagged with its line
+ * number relative to the chunk. Projects and milestones are decoded without
+ * their cross references; those are filled in when the chunks are merged.
+ */
+final class ParsedChunk {
+
+    record Line<T>(long line, T value) {}
+
+    record Member(UUID projectId, UUID userId, Role role) {}
+
+    final List<Line<User>> users = new ArrayList<>();
+    final List<Line<Project>> projects = new ArrayList<>();
+    final List<Line<Member>> members = new ArrayList<>();
+    final List<Line<Milestone>> milestones = new ArrayList<>();
+    final List<Line<Ticket>> tickets = new ArrayList<>();
+    final List<Line<BugReport>> bugs = new ArrayList<>();
+    final List<Line<UUID>> archived = new ArrayList<>();
+    final List<ImportReport.RowError> errors = new ArrayList<>();
+    long rows;
+    long lines;
+
+    void accept(long line, RowType type, String[] v) {
+        switch (type) {
+            case USER -> users.add(new Line<>(line, new User(id(v[0]), v[1], v[2], v[3])));
+            case PROJECT -> projects.add(new Line<>(line, new Project(id(v[0]), v[1], v[2], Map.of(),
+                    uuid(v[3]), uuid(v[4]), List.of(), List.of(), uuid(v[5]), time(v[6]), time(v[7]), version(v[8]))));
+            case MEMBER -> members.add(new Line<>(line, new Member(id(v[0]), id(v[1]), role(v[2]))));
+            case MILESTONE -> milestones.add(new Line<>(line, new Milestone(id(v[0]), v[2], v[3],
+                    v[4] == null ? MilestoneStatus.OPEN : MilestoneStatus.valueOf(v[4]),
+                    id(v[1]), date(v[5]), date(v[6]), List.of(), time(v[7]), time(v[8]), version(v[9]))));
+            case TICKET -> tickets.add(new Line<>(line, new Ticket(id(v[0]), v[3], v[4],
+                    v[5] == null ? TicketStatus.NEW : TicketStatus.valueOf(v[5]),
+                    id(v[1]), uuid(v[2]), uuids(v[6]), time(v[7]), time(v[8]), version(v[9]))));
+            case BUG -> bugs.add(new Line<>(line, new BugReport(id(v[0]), v[2], v[3],
+                    v[4] == null ? BugReportStatus.NEW : BugReportStatus.valueOf(v[4]),
+                    id(v[1]), id(v[5]), uuid(v[6]), v[7], time(v[8]), time(v[9]), version(v[10]))));
+            case ARCHIVED -> archived.add(new Line<>(line, id(v[0])));
+        }
+    }
+
+    void error(long line, String message) {
+        errors.add(new ImportReport.RowError(line, message));
+    }
+
+    private static UUID id(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing required id");
+        }
+        return UUID.fromString(value);
+    }
+
+    private static UUID uuid(String value) {
+        return value == null || value.isEmpty() ? null : UUID.fromString(value);
+    }
+
+    /** Ids joined with {@link CsvEncoder#LIST_SEPARATOR}; JSON arrays are decoded into the same form. */
+    private static Set<UUID> uuids(String value) {
+        if (value == null || value.isEmpty()) {
+            return Set.of();
+        }
+        var ids = new HashSet<UUID>();
+        int start = 0;
+        for (int i = 0; i <= value.length(); i++) {
+            if (i == value.length() || value.charAt(i) == CsvEncoder.LIST_SEPARATOR) {
+                ids.add(UUID.fromString(value.substring(start, i)));
+                start = i + 1;
+            }
+        }
+        return ids;
+    }
+
+    private static Role role(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Missing role");
+        }
+        return Role.fromString(value);
+    }
+
+    private static LocalDateTime time(String value) {
+        return value == null ? LocalDateTime.now() : LocalDateTime.parse(value);
+    }
+
+    private static long version(String value) {
+        return value == null || value.isEmpty() ? 0 : Long.parseLong(value);
+    }
+
+    private static LocalDate date(String value) {
+        return value == null ? null : LocalDate.parse(value);
+    }
+}
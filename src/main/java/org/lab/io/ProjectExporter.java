@@ -0,0 +1,75 @@
+package org.lab.io;
+
+import org.lab.service.ProjectManagementService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Streams projects with their members, milestones, tickets and bug reports
+ * to a channel, one row per entity, without collecting them into lists.
+ * An exporter reuses its encoding buffer across exports and is therefore
+ * not thread-safe.
+ */
+public final class ProjectExporter {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    private final ProjectManagementService service;
+    private final ChannelWriter writer;
+    private final RowWriter rows;
+
+    public ProjectExporter(ProjectManagementService service, ExportFormat format) {
+        this(service, format, DEFAULT_BUFFER_SIZE);
+    }
+
+    public ProjectExporter(ProjectManagementService service, ExportFormat format, int bufferSize) {
+        this.service = service;
+        this.writer = new ChannelWriter(bufferSize);
+        this.rows = new RowWriter(switch (format) {
+            case JSON_LINES -> new JsonLinesEncoder(writer);
+            case CSV -> new CsvEncoder(writer);
+        });
+    }
+
+    /** Writes one project and returns the number of bytes written. */
+    public long export(UUID projectId, WritableByteChannel channel) throws IOException {
+        return export(List.of(projectId), channel);
+    }
+
+    public long export(Collection<UUID> projectIds, WritableByteChannel channel) throws IOException {
+        var projects = projectIds.stream()
+                .map(id -> service.getProject(id).orElseThrow(() ->
+                        new IllegalArgumentException(STR."Project \{id} not found")))
+                .toList();
+
+        writer.open(channel);
+        try {
+            for (var project : projects) {
+                rows.project(project);
+                service.forEachMilestoneInProject(project.id(), m -> unchecked(() -> rows.milestone(m)));
+                service.forEachTicketInProject(project.id(), t -> unchecked(() -> rows.ticket(t)));
+                service.forEachBugReportInProject(project.id(), b -> unchecked(() -> rows.bugReport(b)));
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return writer.finish();
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private static void unchecked(IoAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
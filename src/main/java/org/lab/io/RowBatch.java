@@ -0,0 +1,27 @@
+package org.lab.io;
+
+import org.lab.model.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Entities decoded by {@link RowCodec#decode}, in the order they appeared.
+ * Projects carry the members listed in the same batch; projects and
+ * milestones carry no milestone, bug report or ticket ids. {@code archived}
+ * lists the ids of entities moved to cold storage.
+ */
+public record RowBatch(
+        List<User> users,
+        List<Project> projects,
+        List<Milestone> milestones,
+        List<Ticket> tickets,
+        List<BugReport> bugReports,
+        List<UUID> archived,
+        List<ImportReport.RowError> errors
+) {
+    public boolean isEmpty() {
+        return users.isEmpty() && projects.isEmpty() && milestones.isEmpty()
+                && tickets.isEmpty() && bugReports.isEmpty() && archived.isEmpty();
+    }
+}
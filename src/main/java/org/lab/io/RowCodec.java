@@ -0,0 +1,113 @@
+package org.lab.io;
+
+import org.lab.model.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.MemorySegment;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Encodes single entities as JSON-lines {@link RowType} rows and decodes runs
+ * of such rows, for streaming changes one entity at a time instead of
+ * exporting whole projects. An encoding codec reuses its buffer and is
+ * therefore not thread-safe; decoding keeps no state.
+ */
+public final class RowCodec {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+    private final WritableByteChannel channel = Channels.newChannel(bytes);
+    private final ChannelWriter writer = new ChannelWriter(4096);
+    private final RowWriter rows = new RowWriter(new JsonLinesEncoder(writer));
+
+    public byte[] encode(User user) {
+        return encode(() -> rows.user(user));
+    }
+
+    /** The project row followed by one member row per team member. */
+    public byte[] encode(Project project) {
+        return encode(() -> rows.project(project));
+    }
+
+    public byte[] encode(Milestone milestone) {
+        return encode(() -> rows.milestone(milestone));
+    }
+
+    public byte[] encode(Ticket ticket) {
+        return encode(() -> rows.ticket(ticket));
+    }
+
+    public byte[] encode(BugReport bugReport) {
+        return encode(() -> rows.bugReport(bugReport));
+    }
+
+    /** One archived row per id. */
+    public byte[] encodeArchived(Collection<UUID> ids) {
+        return encode(() -> {
+            for (var id : ids) {
+                rows.archived(id);
+            }
+        });
+    }
+
+    /**
+     * Decodes the first {@code length} bytes, which must hold whole rows.
+     * Member rows belong to the project row they directly follow, as
+     * {@link #encode(Project)} writes them; stray member rows are reported
+     * as errors.
+     */
+    public static RowBatch decode(byte[] data, int length) {
+        var chunk = new ChunkParser(MemorySegment.ofArray(data), ExportFormat.JSON_LINES, 0, length).parse();
+        var errors = new ArrayList<>(chunk.errors);
+
+        var membersByLine = new HashMap<Long, ParsedChunk.Member>();
+        chunk.members.forEach(line -> membersByLine.put(line.line(), line.value()));
+        var projects = new ArrayList<Project>(chunk.projects.size());
+        for (var line : chunk.projects) {
+            var p = line.value();
+            var team = new HashMap<UUID, Role>();
+            for (long next = line.line() + 1; membersByLine.containsKey(next)
+                    && membersByLine.get(next).projectId().equals(p.id()); next++) {
+                var member = membersByLine.remove(next);
+                team.put(member.userId(), member.role());
+            }
+            projects.add(new Project(p.id(), p.name(), p.description(), team,
+                    p.managerId(), p.teamLeaderId(), List.of(), List.of(), p.activeMilestoneId(),
+                    p.createdAt(), p.updatedAt(), p.version()));
+        }
+        membersByLine.forEach((line, member) -> errors.add(new ImportReport.RowError(line,
+                STR."Member of project \{member.projectId()} does not follow its project row")));
+
+        return new RowBatch(values(chunk.users), projects, values(chunk.milestones), values(chunk.tickets),
+                values(chunk.bugs), values(chunk.archived), errors);
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private byte[] encode(IoAction action) {
+        bytes.reset();
+        writer.open(channel);
+        try {
+            action.run();
+            writer.finish();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static <T> List<T> values(List<ParsedChunk.Line<T>> lines) {
+        var values = new ArrayList<T>(lines.size());
+        lines.forEach(line -> values.add(line.value()));
+        return values;
+    }
+}
@@ -0,0 +1,22 @@
+package org.lab.io;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Writes one row at a time: {@link #begin}, then one value per field of the
+ * row type in declaration order, then {@link #end}.
+ */
+sealed interface RowEncoder permits JsonLinesEncoder, CsvEncoder {
+
+    void begin(RowType type) throws IOException;
+
+    void text(String value) throws IOException;
+
+    void uuid(UUID value) throws IOException;
+
+    void uuids(Collection<UUID> values) throws IOException;
+
+    void end() throws IOException;
+}
@@ -0,0 +1,60 @@
+package org.lab.io;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Row layout shared by the exporter and the importer.
+ * JSON-lines rows carry the tag in a {@code "type"} field; CSV rows carry it
+ * in the first column, followed by the fields in the order listed here.
+ * A trailing {@code version} field is optional so that files written before
+ * entities were versioned still load, with version 0.
+ */
+public enum RowType {
+    USER("user", "id", "username", "email", "fullName"),
+    PROJECT("project", "id", "name", "description", "managerId", "teamLeaderId",
+            "activeMilestoneId", "createdAt", "updatedAt", "version"),
+    MEMBER("member", "projectId", "userId", "role"),
+    MILESTONE("milestone", "id", "projectId", "name", "description", "status",
+            "startDate", "endDate", "createdAt", "updatedAt", "version"),
+    TICKET("ticket", "id", "projectId", "milestoneId", "title", "description", "status",
+            "assignedDevelopers", "createdAt", "updatedAt", "version"),
+    BUG("bug", "id", "projectId", "title", "description", "status", "reportedBy",
+            "assignedTo", "severity", "createdAt", "updatedAt", "version"),
+    /** A milestone, ticket or bug report moved to cold storage; only replication streams carry it. */
+    ARCHIVED("archived", "id");
+
+    private final String tag;
+    private final List<String> fields;
+
+    RowType(String tag, String... fields) {
+        this.tag = tag;
+        this.fields = List.of(fields);
+    }
+
+    public String tag() {
+        return tag;
+    }
+
+    public List<String> fields() {
+        return fields;
+    }
+
+    /** Number of leading fields a CSV row must have. */
+    public int requiredFields() {
+        return fields.getLast().equals("version") ? fields.size() - 1 : fields.size();
+    }
+
+    public int fieldIndex(String field) {
+        return fields.indexOf(field);
+    }
+
+    public static Optional<RowType> fromTag(String tag) {
+        for (var type : values()) {
+            if (type.tag.equals(tag)) {
+                return Optional.of(type);
+            }
+        }
+        return Optional.empty();
+    }
+}
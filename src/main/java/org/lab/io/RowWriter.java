@@ -0,0 +1,104 @@
+package org.lab.io;
+
+import org.lab.model.*;
+
+import java.io.IOException;
+import java.time.temporal.Temporal;
+import java.util.UUID;
+
+/** Writes entities as {@link RowType} rows; a project is followed by its member rows. */
+final class RowWriter {
+
+    private final RowEncoder encoder;
+
+    RowWriter(RowEncoder encoder) {
+        this.encoder = encoder;
+    }
+
+    void user(User user) throws IOException {
+        encoder.begin(RowType.USER);
+        encoder.uuid(user.id());
+        encoder.text(user.username());
+        encoder.text(user.email());
+        encoder.text(user.fullName());
+        encoder.end();
+    }
+
+    void project(Project project) throws IOException {
+        encoder.begin(RowType.PROJECT);
+        encoder.uuid(project.id());
+        encoder.text(project.name());
+        encoder.text(project.description());
+        encoder.uuid(project.managerId());
+        encoder.uuid(project.teamLeaderId());
+        encoder.uuid(project.activeMilestoneId());
+        encoder.text(text(project.createdAt()));
+        encoder.text(text(project.updatedAt()));
+        encoder.text(Long.toString(project.version()));
+        encoder.end();
+
+        for (var member : project.teamMembers().entrySet()) {
+            encoder.begin(RowType.MEMBER);
+            encoder.uuid(project.id());
+            encoder.uuid(member.getKey());
+            encoder.text(member.getValue().displayName());
+            encoder.end();
+        }
+    }
+
+    void milestone(Milestone milestone) throws IOException {
+        encoder.begin(RowType.MILESTONE);
+        encoder.uuid(milestone.id());
+        encoder.uuid(milestone.projectId());
+        encoder.text(milestone.name());
+        encoder.text(milestone.description());
+        encoder.text(milestone.status().name());
+        encoder.text(text(milestone.startDate()));
+        encoder.text(text(milestone.endDate()));
+        encoder.text(text(milestone.createdAt()));
+        encoder.text(text(milestone.updatedAt()));
+        encoder.text(Long.toString(milestone.version()));
+        encoder.end();
+    }
+
+    void ticket(Ticket ticket) throws IOException {
+        encoder.begin(RowType.TICKET);
+        encoder.uuid(ticket.id());
+        encoder.uuid(ticket.projectId());
+        encoder.uuid(ticket.milestoneId());
+        encoder.text(ticket.title());
+        encoder.text(ticket.description());
+        encoder.text(ticket.status().name());
+        encoder.uuids(ticket.assignedDevelopers());
+        encoder.text(text(ticket.createdAt()));
+        encoder.text(text(ticket.updatedAt()));
+        encoder.text(Long.toString(ticket.version()));
+        encoder.end();
+    }
+
+    void bugReport(BugReport bug) throws IOException {
+        encoder.begin(RowType.BUG);
+        encoder.uuid(bug.id());
+        encoder.uuid(bug.projectId());
+        encoder.text(bug.title());
+        encoder.text(bug.description());
+        encoder.text(bug.status().name());
+        encoder.uuid(bug.reportedBy());
+        encoder.uuid(bug.assignedTo());
+        encoder.text(bug.severity());
+        encoder.text(text(bug.createdAt()));
+        encoder.text(text(bug.updatedAt()));
+        encoder.text(Long.toString(bug.version()));
+        encoder.end();
+    }
+
+    void archived(UUID id) throws IOException {
+        encoder.begin(RowType.ARCHIVED);
+        encoder.uuid(id);
+        encoder.end();
+    }
+
+    private static String text(Temporal value) {
+        return value == null ? null : value.toString();
+    }
+}
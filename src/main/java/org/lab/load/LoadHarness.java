@@ -0,0 +1,240 @@
+package org.lab.load;
+
+import org.lab.model.BugReportStatus;
+import org.lab.model.TicketStatus;
+import org.lab.service.ProjectAnalyticsService;
+import org.lab.service.ProjectManagementService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives a weighted mix of ticket and bug lifecycle operations and
+ * analytics reads from many virtual threads against one
+ * {@link ProjectManagementService}. Every worker keeps private histograms
+ * that are merged after the run, so measurement adds no shared state.
+ */
+public final class LoadHarness {
+    private final ProjectManagementService service;
+    private final ProjectAnalyticsService analytics;
+    private final WorkloadGenerator generator;
+
+    public LoadHarness(ProjectManagementService service) {
+        this(service, new ProjectAnalyticsService(service));
+    }
+
+    public LoadHarness(ProjectManagementService service, ProjectAnalyticsService analytics) {
+        this.service = service;
+        this.analytics = analytics;
+        this.generator = new WorkloadGenerator(service);
+    }
+
+    public LoadReport run(WorkloadConfig config) throws InterruptedException {
+        var workload = generator.generate(config);
+        if (!config.warmup().isZero()) {
+            drive(workload, config, 0, config.warmup(), config.seed() ^ 0x5DEECE66DL);
+        }
+        long start = System.nanoTime();
+        var stats = drive(workload, config, config.operations(), config.duration(), config.seed());
+        var elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new LoadReport(config, elapsed, stats);
+    }
+
+    private Map<Operation, LoadReport.OperationStats> drive(WorkloadGenerator.Workload workload,
+                                                            WorkloadConfig config, long operations,
+                                                            Duration duration, long seed)
+            throws InterruptedException {
+        var remaining = new AtomicLong(operations);
+        long deadline = operations > 0 ? Long.MAX_VALUE : System.nanoTime() + duration.toNanos();
+        var picker = new OperationPicker(config.mix());
+        var seeds = new SplittableRandom(seed);
+
+        var results = new ArrayList<Future<Worker>>(config.threads());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.threads(); i++) {
+                var worker = new Worker(workload.projects(), picker, seeds.split());
+                results.add(executor.submit(() -> {
+                    while (operations > 0 ? remaining.getAndDecrement() > 0 : System.nanoTime() < deadline) {
+                        worker.step();
+                    }
+                    return worker;
+                }));
+            }
+        }
+
+        var merged = new EnumMap<Operation, LoadReport.OperationStats>(Operation.class);
+        for (var result : results) {
+            Worker worker;
+            try {
+                worker = result.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load worker failed", e.getCause());
+            }
+            for (var op : Operation.values()) {
+                var latency = new LatencyHistogram();
+                var previous = merged.get(op);
+                if (previous != null) {
+                    latency.merge(previous.latency());
+                }
+                latency.merge(worker.latency[op.ordinal()]);
+                long completed = worker.completed[op.ordinal()] + (previous == null ? 0 : previous.completed());
+                long rejected = worker.rejected[op.ordinal()] + (previous == null ? 0 : previous.rejected());
+                merged.put(op, new LoadReport.OperationStats(completed, rejected, latency));
+            }
+        }
+        return merged;
+    }
+
+    private static final class OperationPicker {
+        private final Operation[] operations;
+        private final int[] cumulative;
+
+        OperationPicker(Map<Operation, Integer> mix) {
+            operations = mix.entrySet().stream()
+                    .filter(e -> e.getValue() > 0)
+                    .map(Map.Entry::getKey)
+                    .sorted()
+                    .toArray(Operation[]::new);
+            cumulative = new int[operations.length];
+            int sum = 0;
+            for (int i = 0; i < operations.length; i++) {
+                sum += mix.get(operations[i]);
+                cumulative[i] = sum;
+            }
+        }
+
+        Operation pick(SplittableRandom random) {
+            int ticket = random.nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (ticket < cumulative[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+    }
+
+    private final class Worker {
+        private final List<ProjectFixture> projects;
+        private final OperationPicker picker;
+        private final SplittableRandom random;
+        private final LatencyHistogram[] latency = new LatencyHistogram[Operation.values().length];
+        private final long[] completed = new long[Operation.values().length];
+        private final long[] rejected = new long[Operation.values().length];
+
+        Worker(List<ProjectFixture> projects, OperationPicker picker, SplittableRandom random) {
+            this.projects = projects;
+            this.picker = picker;
+            this.random = random;
+            for (int i = 0; i < latency.length; i++) {
+                latency[i] = new LatencyHistogram();
+            }
+        }
+
+        void step() throws Exception {
+            var op = picker.pick(random);
+            var project = ProjectFixture.pick(projects, random);
+            long start = System.nanoTime();
+            try {
+                execute(op, project);
+                completed[op.ordinal()]++;
+            } catch (SecurityException | IllegalStateException e) {
+                rejected[op.ordinal()]++;
+            }
+            latency[op.ordinal()].record(System.nanoTime() - start);
+        }
+
+        private void execute(Operation op, ProjectFixture project) throws Exception {
+            switch (op) {
+                case CREATE_TICKET -> generator.createTicket(project, random);
+                case ASSIGN_TICKET -> {
+                    var ticketId = project.randomTicket(random);
+                    if (ticketId == null) {
+                        generator.createTicket(project, random);
+                    } else {
+                        service.assignDevelopersToTicket(ticketId,
+                                Set.of(WorkloadGenerator.assignee(project, random)), project.managerId());
+                    }
+                }
+                case ADVANCE_TICKET -> advanceTicket(project);
+                case REPORT_BUG -> generator.reportBug(project, random);
+                case ADVANCE_BUG -> advanceBug(project);
+                case READ_TICKET -> {
+                    var ticketId = project.randomTicket(random);
+                    if (ticketId != null) {
+                        service.getTicket(ticketId);
+                    }
+                }
+                case READ_PROJECT_TICKETS -> service.getTicketsByProject(project.id());
+                case READ_USER_TICKETS -> service.getUserTickets(WorkloadGenerator.assignee(project, random));
+                case ANALYTICS -> analytics.getProjectAnalytics(project.id()).loadAll();
+            }
+        }
+
+        private void advanceTicket(ProjectFixture project) {
+            var ticketId = project.randomTicket(random);
+            if (ticketId == null) {
+                generator.createTicket(project, random);
+                return;
+            }
+            var ticket = service.getTicket(ticketId).orElseThrow();
+            var actor = ticket.assignedDevelopers().isEmpty()
+                    ? project.teamLeaderId()
+                    : ticket.assignedDevelopers().iterator().next();
+            switch (ticket.status()) {
+                case NEW -> service.updateTicketStatus(ticketId, TicketStatus.ACCEPTED, project.managerId());
+                case ACCEPTED -> service.updateTicketStatus(ticketId, TicketStatus.IN_PROGRESS, actor);
+                case IN_PROGRESS -> {
+                    service.updateTicketStatus(ticketId, TicketStatus.COMPLETED, actor);
+                    project.retireTicket(ticketId);
+                }
+                case COMPLETED -> project.retireTicket(ticketId);
+            }
+        }
+
+        private void advanceBug(ProjectFixture project) {
+            var bugId = project.randomBugReport(random);
+            if (bugId == null) {
+                generator.reportBug(project, random);
+                return;
+            }
+            var bug = service.getBugReport(bugId).orElseThrow();
+            switch (bug.status()) {
+                case NEW -> {
+                    var developerId = bug.assignedTo();
+                    if (developerId == null) {
+                        if (project.developers().isEmpty()) {
+                            project.retireBugReport(bugId);
+                            return;
+                        }
+                        developerId = ProjectFixture.pick(project.developers(), random);
+                        service.assignBugReport(bugId, developerId, project.managerId());
+                    }
+                    service.updateBugReportStatus(bugId, BugReportStatus.FIXED, developerId);
+                }
+                case FIXED -> {
+                    if (project.testers().isEmpty()) {
+                        project.retireBugReport(bugId);
+                        return;
+                    }
+                    service.updateBugReportStatus(bugId, BugReportStatus.TESTED,
+                            ProjectFixture.pick(project.testers(), random));
+                }
+                case TESTED -> {
+                    service.updateBugReportStatus(bugId, BugReportStatus.CLOSED, project.managerId());
+                    project.retireBugReport(bugId);
+                }
+                case CLOSED -> project.retireBugReport(bugId);
+            }
+        }
+    }
+}
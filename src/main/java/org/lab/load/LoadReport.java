@@ -0,0 +1,71 @@
+package org.lab.load;
+
+import java.time.Duration;
+import java.util.Map;
+
+/** Outcome of one measured run of the {@link LoadHarness}. */
+public record LoadReport(WorkloadConfig config, Duration elapsed, Map<Operation, OperationStats> operations) {
+
+    /**
+     * Latency and outcome counts of one operation type. Rejected operations
+     * are permission or state-transition failures caused by concurrent
+     * workers racing on the same entity; they are timed like successes.
+     */
+    public record OperationStats(long completed, long rejected, LatencyHistogram latency) {
+        public long total() {
+            return completed + rejected;
+        }
+    }
+
+    public LoadReport {
+        operations = Map.copyOf(operations);
+    }
+
+    public long totalOperations() {
+        return operations.values().stream().mapToLong(OperationStats::total).sum();
+    }
+
+    public long totalRejected() {
+        return operations.values().stream().mapToLong(OperationStats::rejected).sum();
+    }
+
+    public double throughput() {
+        double seconds = elapsed.toNanos() / 1e9;
+        return seconds == 0 ? 0 : totalOperations() / seconds;
+    }
+
+    public LatencyHistogram overallLatency() {
+        var merged = new LatencyHistogram();
+        operations.values().forEach(stats -> merged.merge(stats.latency()));
+        return merged;
+    }
+
+    public String format() {
+        var out = new StringBuilder();
+        out.append(STR."""
+            Workload: \{config.users()} users, \{config.projects()} projects, \{config.threads()} virtual threads
+            Elapsed: \{elapsed.toMillis()} ms, operations: \{totalOperations()}, rejected: \{totalRejected()}
+            Throughput: \{String.format("%.0f", throughput())} ops/s
+
+            """);
+        out.append(String.format("%-22s %10s %9s %10s %10s %10s %10s %10s%n",
+                "operation", "count", "rejected", "p50 us", "p90 us", "p99 us", "p99.9 us", "max us"));
+        for (var op : Operation.values()) {
+            var stats = operations.get(op);
+            if (stats != null && stats.total() > 0) {
+                appendRow(out, op.label(), stats.total(), stats.rejected(), stats.latency());
+            }
+        }
+        appendRow(out, "all", totalOperations(), totalRejected(), overallLatency());
+        return out.toString();
+    }
+
+    private static void appendRow(StringBuilder out, String label, long count, long rejected,
+                                  LatencyHistogram latency) {
+        out.append(String.format("%-22s %10d %9d %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                label, count, rejected,
+                latency.percentileNanos(50) / 1e3, latency.percentileNanos(90) / 1e3,
+                latency.percentileNanos(99) / 1e3, latency.percentileNanos(99.9) / 1e3,
+                latency.maxNanos() / 1e3));
+    }
+}
@@ -0,0 +1,15 @@
+package org.lab.load;
+
+import org.lab.service.ProjectManagementService;
+
+/**
+ * Command line entry point: {@code gradle loadTest --args="--users=5000 --threads=512"}.
+ * See {@link WorkloadConfig#parse(String...)} for the accepted options.
+ */
+public class LoadTest {
+    public static void main(String[] args) throws Exception {
+        var config = WorkloadConfig.parse(args);
+        var report = new LoadHarness(new ProjectManagementService()).run(config);
+        System.out.print(report.format());
+    }
+}
@@ -0,0 +1,32 @@
+package org.lab.load;
+
+/** Operations issued by the load harness, with their default share of the mix. */
+public enum Operation {
+    CREATE_TICKET(15),
+    ASSIGN_TICKET(10),
+    ADVANCE_TICKET(20),
+    REPORT_BUG(8),
+    ADVANCE_BUG(12),
+    READ_TICKET(15),
+    READ_PROJECT_TICKETS(10),
+    READ_USER_TICKETS(5),
+    ANALYTICS(5);
+
+    private final int defaultWeight;
+
+    Operation(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    public int defaultWeight() {
+        return defaultWeight;
+    }
+
+    public String label() {
+        return name().toLowerCase().replace('_', '-');
+    }
+
+    public static Operation fromLabel(String label) {
+        return valueOf(label.trim().toUpperCase().replace('-', '_'));
+    }
+}
@@ -0,0 +1,91 @@
+package org.lab.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * A generated project together with its role mix and the pools of tickets
+ * and bug reports that are still worth acting on. Pools are shared by all
+ * workers, so access is synchronized.
+ */
+public final class ProjectFixture {
+    private final UUID id;
+    private final UUID managerId;
+    private final UUID teamLeaderId;
+    private final List<UUID> developers;
+    private final List<UUID> testers;
+    private final List<UUID> members;
+    private final UUID milestoneId;
+    private final List<UUID> openTickets = new ArrayList<>();
+    private final List<UUID> openBugReports = new ArrayList<>();
+
+    ProjectFixture(UUID id, UUID managerId, UUID teamLeaderId, List<UUID> developers,
+                   List<UUID> testers, UUID milestoneId) {
+        this.id = id;
+        this.managerId = managerId;
+        this.teamLeaderId = teamLeaderId;
+        this.developers = List.copyOf(developers);
+        this.testers = List.copyOf(testers);
+        var members = new ArrayList<UUID>();
+        members.add(managerId);
+        members.add(teamLeaderId);
+        members.addAll(developers);
+        members.addAll(testers);
+        this.members = List.copyOf(members);
+        this.milestoneId = milestoneId;
+    }
+
+    public UUID id() { return id; }
+    public UUID managerId() { return managerId; }
+    public UUID teamLeaderId() { return teamLeaderId; }
+    public List<UUID> developers() { return developers; }
+    public List<UUID> testers() { return testers; }
+    public List<UUID> members() { return members; }
+    public UUID milestoneId() { return milestoneId; }
+
+    public synchronized int openTicketCount() {
+        return openTickets.size();
+    }
+
+    public synchronized int openBugReportCount() {
+        return openBugReports.size();
+    }
+
+    synchronized void addTicket(UUID ticketId) {
+        openTickets.add(ticketId);
+    }
+
+    synchronized void addBugReport(UUID bugReportId) {
+        openBugReports.add(bugReportId);
+    }
+
+    synchronized UUID randomTicket(SplittableRandom random) {
+        return openTickets.isEmpty() ? null : openTickets.get(random.nextInt(openTickets.size()));
+    }
+
+    synchronized UUID randomBugReport(SplittableRandom random) {
+        return openBugReports.isEmpty() ? null : openBugReports.get(random.nextInt(openBugReports.size()));
+    }
+
+    synchronized void retireTicket(UUID ticketId) {
+        removeSwap(openTickets, ticketId);
+    }
+
+    synchronized void retireBugReport(UUID bugReportId) {
+        removeSwap(openBugReports, bugReportId);
+    }
+
+    private static void removeSwap(List<UUID> ids, UUID id) {
+        int index = ids.indexOf(id);
+        if (index >= 0) {
+            ids.set(index, ids.getLast());
+            ids.removeLast();
+        }
+    }
+
+    static <T> T pick(List<T> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
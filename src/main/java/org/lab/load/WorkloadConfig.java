@@ -0,0 +1,109 @@
+package org.lab.load;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Shape of a synthetic workload: population size, role mix, concurrency,
+ * run length and the relative weight of each {@link Operation}.
+ *
+ * @param teamSize         members per project besides the manager
+ * @param testerShare      fraction of team members that are testers
+ * @param operations       total operations to issue, or 0 to run for {@code duration}
+ * @param initialTickets   tickets created per project before measuring
+ */
+public record WorkloadConfig(
+        int users,
+        int projects,
+        int teamSize,
+        double testerShare,
+        int initialTickets,
+        int threads,
+        long operations,
+        Duration duration,
+        Duration warmup,
+        Map<Operation, Integer> mix,
+        long seed
+) {
+    public WorkloadConfig {
+        if (users < 2 || projects < 1 || teamSize < 1) {
+            throw new IllegalArgumentException("Need at least 2 users, 1 project and a team of 1");
+        }
+        if (teamSize >= users) {
+            throw new IllegalArgumentException("Team size must be smaller than the number of users");
+        }
+        if (testerShare < 0 || testerShare >= 1) {
+            throw new IllegalArgumentException("Tester share must be in [0, 1)");
+        }
+        if (initialTickets < 0 || threads < 1 || operations < 0) {
+            throw new IllegalArgumentException("Counts cannot be negative and threads must be positive");
+        }
+        if (operations == 0 && (duration == null || duration.isZero() || duration.isNegative())) {
+            throw new IllegalArgumentException("Either an operation count or a positive duration is required");
+        }
+        if (warmup == null || warmup.isNegative()) {
+            throw new IllegalArgumentException("Warmup cannot be negative");
+        }
+        mix = Map.copyOf(mix);
+        if (mix.values().stream().anyMatch(w -> w < 0) || mix.values().stream().mapToInt(w -> w).sum() == 0) {
+            throw new IllegalArgumentException("Operation weights must be non-negative and not all zero");
+        }
+    }
+
+    public static WorkloadConfig defaults() {
+        var mix = new EnumMap<Operation, Integer>(Operation.class);
+        Arrays.stream(Operation.values()).forEach(op -> mix.put(op, op.defaultWeight()));
+        return new WorkloadConfig(2_000, 100, 12, 0.2, 50, 256, 0,
+                Duration.ofSeconds(10), Duration.ofSeconds(2), mix, 42);
+    }
+
+    /**
+     * Applies {@code --key=value} overrides to the defaults. Keys mirror the
+     * component names; {@code --mix=create-ticket:10,analytics:0} overrides
+     * single weights.
+     */
+    public static WorkloadConfig parse(String... args) {
+        var base = defaults();
+        int users = base.users, projects = base.projects, teamSize = base.teamSize;
+        int initialTickets = base.initialTickets, threads = base.threads;
+        double testerShare = base.testerShare;
+        long operations = base.operations, seed = base.seed;
+        var duration = base.duration;
+        var warmup = base.warmup;
+        var mix = new EnumMap<>(base.mix);
+
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException(STR."Expected --key=value but got \{arg}");
+            }
+            var key = arg.substring(2, arg.indexOf('='));
+            var value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "users" -> users = Integer.parseInt(value);
+                case "projects" -> projects = Integer.parseInt(value);
+                case "teamSize" -> teamSize = Integer.parseInt(value);
+                case "testerShare" -> testerShare = Double.parseDouble(value);
+                case "initialTickets" -> initialTickets = Integer.parseInt(value);
+                case "threads" -> threads = Integer.parseInt(value);
+                case "operations" -> operations = Long.parseLong(value);
+                case "duration" -> duration = Duration.ofSeconds(Long.parseLong(value));
+                case "warmup" -> warmup = Duration.ofSeconds(Long.parseLong(value));
+                case "seed" -> seed = Long.parseLong(value);
+                case "mix" -> {
+                    for (var entry : value.split(",")) {
+                        var parts = entry.split(":");
+                        if (parts.length != 2) {
+                            throw new IllegalArgumentException(STR."Invalid mix entry: \{entry}");
+                        }
+                        mix.put(Operation.fromLabel(parts[0]), Integer.parseInt(parts[1].trim()));
+                    }
+                }
+                default -> throw new IllegalArgumentException(STR."Unknown option: \{key}");
+            }
+        }
+        return new WorkloadConfig(users, projects, teamSize, testerShare, initialTickets,
+                threads, operations, duration, warmup, mix, seed);
+    }
+}
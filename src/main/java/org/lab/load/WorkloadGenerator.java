@@ -0,0 +1,110 @@
+package org.lab.load;
+
+import org.lab.model.MilestoneStatus;
+import org.lab.model.Role;
+import org.lab.model.User;
+import org.lab.service.ProjectManagementService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Populates a {@link ProjectManagementService} with users and projects
+ * through the public API, so the seeded state obeys the same rules as
+ * production data. Each project gets a manager, a team leader, a tester
+ * share of the team, developers for the rest, an active milestone and
+ * {@link WorkloadConfig#initialTickets()} assigned tickets.
+ */
+public final class WorkloadGenerator {
+    private static final String[] SEVERITIES = {"low", "medium", "high", "critical"};
+
+    private final ProjectManagementService service;
+
+    public WorkloadGenerator(ProjectManagementService service) {
+        this.service = service;
+    }
+
+    public record Workload(List<User> users, List<ProjectFixture> projects) {}
+
+    public Workload generate(WorkloadConfig config) {
+        var random = new SplittableRandom(config.seed());
+        var users = new ArrayList<User>(config.users());
+        for (int i = 0; i < config.users(); i++) {
+            users.add(service.registerUser(STR."user\{i}", STR."user\{i}@load.test", STR."Load User \{i}"));
+        }
+
+        var projects = new ArrayList<ProjectFixture>(config.projects());
+        for (int i = 0; i < config.projects(); i++) {
+            var fixture = createProject(i, users, config, random);
+            for (int t = 0; t < config.initialTickets(); t++) {
+                createTicket(fixture, random);
+            }
+            projects.add(fixture);
+        }
+        return new Workload(List.copyOf(users), List.copyOf(projects));
+    }
+
+    private ProjectFixture createProject(int index, List<User> users, WorkloadConfig config,
+                                         SplittableRandom random) {
+        var team = sampleDistinct(users, config.teamSize() + 1, random);
+        var managerId = team.getFirst();
+        var project = service.createProject(STR."Project \{index}", "Generated project", managerId);
+
+        var teamLeaderId = team.get(1);
+        int testerCount = (int) Math.round((config.teamSize() - 1) * config.testerShare());
+        var testers = team.subList(2, 2 + testerCount);
+        var developers = team.subList(2 + testerCount, team.size());
+
+        service.addTeamMember(project.id(), teamLeaderId, new Role.Developer(), managerId);
+        service.assignTeamLeader(project.id(), teamLeaderId, managerId);
+        testers.forEach(id -> service.addTeamMember(project.id(), id, new Role.Tester(), managerId));
+        developers.forEach(id -> service.addTeamMember(project.id(), id, new Role.Developer(), managerId));
+
+        var milestone = service.createMilestone("Sprint 1", "Generated milestone", project.id(),
+                LocalDate.now(), LocalDate.now().plusWeeks(2), managerId);
+        service.changeMilestoneStatus(milestone.id(), MilestoneStatus.ACTIVE, managerId);
+
+        return new ProjectFixture(project.id(), managerId, teamLeaderId, developers, testers, milestone.id());
+    }
+
+    UUID createTicket(ProjectFixture project, SplittableRandom random) {
+        var milestoneId = random.nextBoolean() ? project.milestoneId() : null;
+        var requesterId = random.nextInt(4) == 0 ? project.teamLeaderId() : project.managerId();
+        var ticket = service.createTicket("Generated ticket", "Synthetic workload ticket",
+                project.id(), milestoneId, requesterId);
+        service.assignDevelopersToTicket(ticket.id(), Set.of(assignee(project, random)), project.managerId());
+        project.addTicket(ticket.id());
+        return ticket.id();
+    }
+
+    UUID reportBug(ProjectFixture project, SplittableRandom random) {
+        var reporterId = ProjectFixture.pick(project.members(), random);
+        var bug = service.createBugReport("Generated bug", "Synthetic workload bug", project.id(),
+                reporterId, SEVERITIES[random.nextInt(SEVERITIES.length)]);
+        project.addBugReport(bug.id());
+        return bug.id();
+    }
+
+    static UUID assignee(ProjectFixture project, SplittableRandom random) {
+        return project.developers().isEmpty()
+                ? project.teamLeaderId()
+                : ProjectFixture.pick(project.developers(), random);
+    }
+
+    private static List<UUID> sampleDistinct(List<User> users, int count, SplittableRandom random) {
+        var picked = new ArrayList<UUID>(count);
+        var seen = new HashSet<Integer>();
+        while (picked.size() < count) {
+            int index = random.nextInt(users.size());
+            if (seen.add(index)) {
+                picked.add(users.get(index).id());
+            }
+        }
+        return picked;
+    }
+}
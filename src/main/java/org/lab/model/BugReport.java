@@ -13,7 +13,8 @@ public record BugReport(
         UUID assignedTo,
         String severity,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        long version
 ) {
     public BugReport {
         if (title == null || title.isBlank()) {
@@ -27,6 +28,13 @@ public record BugReport(
         }
     }
 
+    public BugReport(UUID id, String title, String description, BugReportStatus status, UUID projectId,
+                     UUID reportedBy, UUID assignedTo, String severity, LocalDateTime createdAt,
+                     LocalDateTime updatedAt) {
+        this(id, title, description, status, projectId, reportedBy, assignedTo, severity,
+                createdAt, updatedAt, 0);
+    }
+
     public static BugReport create(String title, String description, UUID projectId,
                                    UUID reportedBy, String severity) {
         return new BugReport(
@@ -45,12 +53,17 @@ public record BugReport(
 
     public BugReport withStatus(BugReportStatus newStatus) {
         return new BugReport(id, title, description, newStatus, projectId,
-                reportedBy, assignedTo, severity, createdAt, LocalDateTime.now());
+                reportedBy, assignedTo, severity, createdAt, LocalDateTime.now(), version + 1);
     }
 
     public BugReport assignTo(UUID developerId) {
         return new BugReport(id, title, description, status, projectId,
-                reportedBy, developerId, severity, createdAt, LocalDateTime.now());
+                reportedBy, developerId, severity, createdAt, LocalDateTime.now(), version + 1);
+    }
+
+    public BugReport withDescription(String newDescription) {
+        return new BugReport(id, title, newDescription, status, projectId,
+                reportedBy, assignedTo, severity, createdAt, updatedAt, version);
     }
 
     public String getStatusDescription() {
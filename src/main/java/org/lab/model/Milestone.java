@@ -5,21 +5,29 @@ import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
+/** Mutators are synchronized; {@link #ticketIds()} returns a snapshot. */
 public class Milestone {
     private final UUID id;
     private final String name;
     private final String description;
-    private MilestoneStatus status;
+    private volatile MilestoneStatus status;
     private final UUID projectId;
     private final LocalDate startDate;
     private final LocalDate endDate;
     private final List<UUID> ticketIds;
     private final LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+    private volatile LocalDateTime updatedAt;
+    private volatile long version;
 
     public Milestone(UUID id, String name, String description, MilestoneStatus status,
                     UUID projectId, LocalDate startDate, LocalDate endDate,
                     List<UUID> ticketIds, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, name, description, status, projectId, startDate, endDate, ticketIds, createdAt, updatedAt, 0);
+    }
+
+    public Milestone(UUID id, String name, String description, MilestoneStatus status,
+                    UUID projectId, LocalDate startDate, LocalDate endDate,
+                    List<UUID> ticketIds, LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("Milestone name cannot be null or blank");
         }
@@ -39,6 +47,7 @@ public class Milestone {
         this.ticketIds = new ArrayList<>(ticketIds);
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
 
     public static Milestone create(String name, String description, UUID projectId,
@@ -57,22 +66,45 @@ public class Milestone {
         );
     }
 
-    public void changeStatus(MilestoneStatus newStatus) {
+    /** A detached copy taken under the milestone's lock, so its fields all belong to one version. */
+    public synchronized Milestone snapshot() {
+        return new Milestone(id, name, description, status, projectId, startDate, endDate, ticketIds,
+                createdAt, updatedAt, version);
+    }
+
+    /** Returns the status the milestone had before. */
+    public synchronized MilestoneStatus changeStatus(MilestoneStatus newStatus) {
         if (!status.canTransitionTo(newStatus)) {
             throw new IllegalStateException(STR."Cannot transition from \{status} to \{newStatus}");
         }
+        var previous = status;
         this.status = newStatus;
-        this.updatedAt = LocalDateTime.now();
+        touch();
+        return previous;
     }
 
-    public void addTicket(UUID ticketId) {
+    /** Changes status only if nobody modified the milestone since {@code expectedVersion} was read. */
+    public synchronized MilestoneStatus changeStatus(MilestoneStatus newStatus, long expectedVersion) {
+        if (version != expectedVersion) {
+            throw new StaleVersionException("Milestone", id, expectedVersion, version);
+        }
+        return changeStatus(newStatus);
+    }
+
+    public synchronized void addTicket(UUID ticketId) {
         if (!ticketIds.contains(ticketId)) {
             ticketIds.add(ticketId);
-            this.updatedAt = LocalDateTime.now();
+            touch();
         }
     }
 
+    private void touch() {
+        this.updatedAt = LocalDateTime.now();
+        this.version++;
+    }
+
     public boolean canClose(List<Ticket> tickets) {
+        var ticketIds = Set.copyOf(ticketIds());
         var milestoneTickets = tickets.stream()
                 .filter(t -> ticketIds.contains(t.id()))
                 .collect(Collectors.toList());
@@ -82,6 +114,7 @@ public class Milestone {
     }
 
     public String getProgressSummary(List<Ticket> tickets) {
+        var ticketIds = Set.copyOf(ticketIds());
         var milestoneTickets = tickets.stream()
                 .filter(t -> ticketIds.contains(t.id()))
                 .toList();
@@ -100,7 +133,8 @@ public class Milestone {
     public UUID projectId() { return projectId; }
     public LocalDate startDate() { return startDate; }
     public LocalDate endDate() { return endDate; }
-    public List<UUID> ticketIds() { return Collections.unmodifiableList(ticketIds); }
+    public synchronized List<UUID> ticketIds() { return List.copyOf(ticketIds); }
     public LocalDateTime createdAt() { return createdAt; }
     public LocalDateTime updatedAt() { return updatedAt; }
+    public long version() { return version; }
 }
@@ -2,32 +2,52 @@ package org.lab.model;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Mutators are synchronized; collection accessors return snapshots, so
+ * a project can be shared between threads.
+ */
 public class Project {
+    private static final List<Class<? extends Role>> ROLE_TYPES =
+            List.of(Role.Manager.class, Role.TeamLeader.class, Role.Developer.class, Role.Tester.class);
+
     private final UUID id;
     private final String name;
     private final String description;
     private final Map<UUID, Role> teamMembers;
-    private UUID managerId;
-    private UUID teamLeaderId;
+    private final List<Set<UUID>> membersByRole;
+    private volatile UUID managerId;
+    private volatile UUID teamLeaderId;
     private final List<UUID> milestoneIds;
     private final List<UUID> bugReportIds;
-    private UUID activeMilestoneId;
+    private volatile UUID activeMilestoneId;
     private final LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+    private volatile LocalDateTime updatedAt;
+    private volatile long version;
 
     public Project(UUID id, String name, String description, Map<UUID, Role> teamMembers,
                   UUID managerId, UUID teamLeaderId, List<UUID> milestoneIds,
                   List<UUID> bugReportIds, UUID activeMilestoneId,
                   LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, name, description, teamMembers, managerId, teamLeaderId, milestoneIds, bugReportIds,
+                activeMilestoneId, createdAt, updatedAt, 0);
+    }
+
+    public Project(UUID id, String name, String description, Map<UUID, Role> teamMembers,
+                  UUID managerId, UUID teamLeaderId, List<UUID> milestoneIds,
+                  List<UUID> bugReportIds, UUID activeMilestoneId,
+                  LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("Project name cannot be null or blank");
         }
         this.id = id;
         this.name = name;
         this.description = description;
-        this.teamMembers = new HashMap<>(teamMembers);
+        this.teamMembers = new ConcurrentHashMap<>(teamMembers);
+        this.membersByRole = List.of(ConcurrentHashMap.newKeySet(), ConcurrentHashMap.newKeySet(),
+                ConcurrentHashMap.newKeySet(), ConcurrentHashMap.newKeySet());
+        this.teamMembers.forEach((userId, role) -> membersByRole.get(roleIndex(role)).add(userId));
         this.managerId = managerId;
         this.teamLeaderId = teamLeaderId;
         this.milestoneIds = new ArrayList<>(milestoneIds);
@@ -35,6 +55,7 @@ public class Project {
         this.activeMilestoneId = activeMilestoneId;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
 
     public static Project create(String name, String description, UUID creatorId) {
@@ -56,36 +77,54 @@ public class Project {
         );
     }
 
-    public void addTeamMember(UUID userId, Role role) {
-        teamMembers.put(userId, role);
-        this.updatedAt = LocalDateTime.now();
+    /** A detached copy taken under the project's lock, so its fields all belong to one version. */
+    public synchronized Project snapshot() {
+        return new Project(id, name, description, teamMembers, managerId, teamLeaderId, milestoneIds,
+                bugReportIds, activeMilestoneId, createdAt, updatedAt, version);
+    }
+
+    public synchronized void addTeamMember(UUID userId, Role role) {
+        assignRole(userId, role);
+        touch();
     }
 
-    public void setTeamLeader(UUID userId) {
+    /** Adds the member only if nobody modified the project since {@code expectedVersion} was read. */
+    public synchronized void addTeamMember(UUID userId, Role role, long expectedVersion) {
+        requireVersion(expectedVersion);
+        addTeamMember(userId, role);
+    }
+
+    public synchronized void setTeamLeader(UUID userId) {
         if (!teamMembers.containsKey(userId)) {
             throw new IllegalArgumentException("User is not a team member");
         }
         this.teamLeaderId = userId;
-        teamMembers.put(userId, new Role.TeamLeader());
-        this.updatedAt = LocalDateTime.now();
+        assignRole(userId, new Role.TeamLeader());
+        touch();
+    }
+
+    /** Sets the leader only if nobody modified the project since {@code expectedVersion} was read. */
+    public synchronized void setTeamLeader(UUID userId, long expectedVersion) {
+        requireVersion(expectedVersion);
+        setTeamLeader(userId);
     }
 
-    public void addMilestone(UUID milestoneId) {
+    public synchronized void addMilestone(UUID milestoneId) {
         milestoneIds.add(milestoneId);
-        this.updatedAt = LocalDateTime.now();
+        touch();
     }
 
-    public void setActiveMilestone(UUID milestoneId) {
+    public synchronized void setActiveMilestone(UUID milestoneId) {
         if (!milestoneIds.contains(milestoneId)) {
             throw new IllegalArgumentException("Milestone does not belong to this project");
         }
         this.activeMilestoneId = milestoneId;
-        this.updatedAt = LocalDateTime.now();
+        touch();
     }
 
-    public void addBugReport(UUID bugReportId) {
+    public synchronized void addBugReport(UUID bugReportId) {
         bugReportIds.add(bugReportId);
-        this.updatedAt = LocalDateTime.now();
+        touch();
     }
 
     public boolean hasRole(UUID userId, Class<? extends Role> roleClass) {
@@ -98,23 +137,26 @@ public class Project {
     }
 
     public List<UUID> getUsersByRole(Class<? extends Role> roleClass) {
-        return teamMembers.entrySet().stream()
-                .filter(entry -> roleClass.isInstance(entry.getValue()))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toList());
+        int index = roleIndex(roleClass);
+        return new ArrayList<>(index < 0 ? teamMembers.keySet() : membersByRole.get(index));
+    }
+
+    public int memberCount(Class<? extends Role> roleClass) {
+        int index = roleIndex(roleClass);
+        return index < 0 ? teamMembers.size() : membersByRole.get(index).size();
+    }
+
+    public int teamSize() {
+        return teamMembers.size();
     }
 
-    public String getTeamSummary() {
-        long developers = teamMembers.values().stream()
-                .filter(r -> r instanceof Role.Developer)
-                .count();
-        long testers = teamMembers.values().stream()
-                .filter(r -> r instanceof Role.Tester)
-                .count();
+    public synchronized String getTeamSummary() {
+        int developers = memberCount(Role.Developer.class);
+        int testers = memberCount(Role.Tester.class);
 
         return STR."""
             Project: \{name}
-            Team size: \{teamMembers.size()}
+            Team size: \{teamSize()}
             Developers: \{developers}
             Testers: \{testers}
             Milestones: \{milestoneIds.size()}
@@ -122,15 +164,56 @@ public class Project {
             """;
     }
 
+    private void touch() {
+        this.updatedAt = LocalDateTime.now();
+        this.version++;
+    }
+
+    private void requireVersion(long expectedVersion) {
+        if (version != expectedVersion) {
+            throw new StaleVersionException("Project", id, expectedVersion, version);
+        }
+    }
+
+    private void assignRole(UUID userId, Role role) {
+        var previous = teamMembers.put(userId, role);
+        if (previous != null) {
+            membersByRole.get(roleIndex(previous)).remove(userId);
+        }
+        membersByRole.get(roleIndex(role)).add(userId);
+    }
+
+    private static int roleIndex(Role role) {
+        return switch (role) {
+            case Role.Manager m -> 0;
+            case Role.TeamLeader t -> 1;
+            case Role.Developer d -> 2;
+            case Role.Tester t -> 3;
+        };
+    }
+
+    /** Index of the member set for a concrete role class, or -1 for {@code Role} itself. */
+    private static int roleIndex(Class<? extends Role> roleClass) {
+        if (roleClass == Role.class) {
+            return -1;
+        }
+        int index = ROLE_TYPES.indexOf(roleClass);
+        if (index < 0) {
+            throw new IllegalArgumentException(STR."Unknown role type \{roleClass.getName()}");
+        }
+        return index;
+    }
+
     public UUID id() { return id; }
     public String name() { return name; }
     public String description() { return description; }
     public Map<UUID, Role> teamMembers() { return Collections.unmodifiableMap(teamMembers); }
     public UUID managerId() { return managerId; }
     public UUID teamLeaderId() { return teamLeaderId; }
-    public List<UUID> milestoneIds() { return Collections.unmodifiableList(milestoneIds); }
-    public List<UUID> bugReportIds() { return Collections.unmodifiableList(bugReportIds); }
+    public synchronized List<UUID> milestoneIds() { return List.copyOf(milestoneIds); }
+    public synchronized List<UUID> bugReportIds() { return List.copyOf(bugReportIds); }
     public UUID activeMilestoneId() { return activeMilestoneId; }
     public LocalDateTime createdAt() { return createdAt; }
     public LocalDateTime updatedAt() { return updatedAt; }
+    public long version() { return version; }
 }
@@ -0,0 +1,25 @@
+package org.lab.model;
+
+import java.util.UUID;
+
+/** An update carried an expected version that no longer matches the stored entity. */
+public class StaleVersionException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public StaleVersionException(String entity, UUID id, long expectedVersion, long actualVersion) {
+        super(STR."\{entity} \{id} is at version \{actualVersion}, expected \{expectedVersion}");
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public long expectedVersion() {
+        return expectedVersion;
+    }
+
+    public long actualVersion() {
+        return actualVersion;
+    }
+}
@@ -13,7 +13,8 @@ public record Ticket(
         UUID milestoneId,
         Set<UUID> assignedDevelopers,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt
+        LocalDateTime updatedAt,
+        long version
 ) {
     public Ticket {
         if (title == null || title.isBlank()) {
@@ -22,7 +23,14 @@ public record Ticket(
         if (projectId == null) {
             throw new IllegalArgumentException("Project ID cannot be null");
         }
-        assignedDevelopers = Set.copyOf(assignedDevelopers);
+        assignedDevelopers = UuidSet.copyOf(assignedDevelopers);
+    }
+
+    public Ticket(UUID id, String title, String description, TicketStatus status, UUID projectId,
+                  UUID milestoneId, Set<UUID> assignedDevelopers, LocalDateTime createdAt,
+                  LocalDateTime updatedAt) {
+        this(id, title, description, status, projectId, milestoneId, assignedDevelopers,
+                createdAt, updatedAt, 0);
     }
 
     public static Ticket create(String title, String description, UUID projectId, UUID milestoneId) {
@@ -41,12 +49,17 @@ public record Ticket(
 
     public Ticket withStatus(TicketStatus newStatus) {
         return new Ticket(id, title, description, newStatus, projectId, milestoneId,
-                assignedDevelopers, createdAt, LocalDateTime.now());
+                assignedDevelopers, createdAt, LocalDateTime.now(), version + 1);
     }
 
     public Ticket assignDevelopers(Set<UUID> developers) {
         return new Ticket(id, title, description, status, projectId, milestoneId,
-                developers, createdAt, LocalDateTime.now());
+                developers, createdAt, LocalDateTime.now(), version + 1);
+    }
+
+    public Ticket withDescription(String newDescription) {
+        return new Ticket(id, title, newDescription, status, projectId, milestoneId,
+                assignedDevelopers, createdAt, updatedAt, version);
     }
 
     public String getStatusDescription() {
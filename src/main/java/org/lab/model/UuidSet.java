@@ -0,0 +1,138 @@
+package org.lab.model;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable set of ids kept as one sorted, flat array: no hash table and no
+ * per-entry nodes, which suits the handful of assignees a ticket has.
+ * Membership is a linear scan up to {@value #LINEAR_LIMIT} ids and a binary
+ * search beyond. {@link #copyOf} hands back a {@code UuidSet} unchanged and
+ * every empty set is the same instance, so copying records that carry one
+ * costs nothing.
+ */
+public final class UuidSet extends AbstractSet<UUID> {
+
+    private static final int LINEAR_LIMIT = 8;
+    private static final UuidSet EMPTY = new UuidSet(new UUID[0]);
+
+    private final UUID[] ids;
+    private int hash;
+
+    private UuidSet(UUID[] ids) {
+        this.ids = ids;
+    }
+
+    public static UuidSet of() {
+        return EMPTY;
+    }
+
+    public static UuidSet of(UUID... ids) {
+        return build(ids.clone());
+    }
+
+    public static UuidSet copyOf(Collection<? extends UUID> ids) {
+        if (ids instanceof UuidSet set) {
+            return set;
+        }
+        return build(ids.toArray(new UUID[0]));
+    }
+
+    /** Sorts and de-duplicates {@code ids} in place, trimming only when duplicates were found. */
+    private static UuidSet build(UUID[] ids) {
+        if (ids.length == 0) {
+            return EMPTY;
+        }
+        for (var id : ids) {
+            Objects.requireNonNull(id, "Set elements cannot be null");
+        }
+        Arrays.sort(ids);
+        int distinct = 1;
+        for (int i = 1; i < ids.length; i++) {
+            if (!ids[i].equals(ids[distinct - 1])) {
+                ids[distinct++] = ids[i];
+            }
+        }
+        return new UuidSet(distinct == ids.length ? ids : Arrays.copyOf(ids, distinct));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof UUID id)) {
+            return false;
+        }
+        if (ids.length <= LINEAR_LIMIT) {
+            for (var candidate : ids) {
+                if (candidate.equals(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return ids.length == 0;
+    }
+
+    @Override
+    public Iterator<UUID> iterator() {
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < ids.length;
+            }
+
+            @Override
+            public UUID next() {
+                if (next >= ids.length) {
+                    throw new NoSuchElementException();
+                }
+                return ids[next++];
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        return ids.clone();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (o instanceof UuidSet other) {
+            return Arrays.equals(ids, other.ids);
+        }
+        return o instanceof Set<?> set && set.size() == ids.length && containsAll(set);
+    }
+
+    @Override
+    public int hashCode() {
+        int h = hash;
+        if (h == 0) {
+            for (var id : ids) {
+                h += id.hashCode();
+            }
+            hash = h;
+        }
+        return h;
+    }
+}
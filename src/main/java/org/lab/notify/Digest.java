@@ -0,0 +1,30 @@
+package org.lab.notify;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The notifications one recipient collected since their last digest, oldest
+ * subject first; {@code received} also counts the events that were coalesced
+ * into a later one about the same subject.
+ */
+public record Digest(UUID recipient, List<Notification> notifications, int received, Instant createdAt) {
+
+    public Digest {
+        notifications = List.copyOf(notifications);
+    }
+
+    public int coalesced() {
+        return received - notifications.size();
+    }
+
+    public String format() {
+        var text = new StringBuilder()
+                .append(STR."To: \{recipient}\n")
+                .append(STR."Date: \{createdAt}\n")
+                .append(STR."\{notifications.size()} update(s)\n");
+        notifications.forEach(n -> text.append("- ").append(n.describe()).append('\n'));
+        return text.append('\n').toString();
+    }
+}
@@ -0,0 +1,26 @@
+package org.lab.notify;
+
+import java.time.Duration;
+
+/**
+ * When buffered notifications turn into digests: a recipient's buffer is
+ * flushed once it holds {@code maxPerDigest} distinct notifications or its
+ * oldest one has waited {@code maxDelay}. {@code maxPending} caps the
+ * notifications buffered across all recipients (the longest-waiting buffer
+ * is flushed early when it is exceeded) and {@code queueCapacity} the
+ * digests waiting for the sink, beyond which producers block.
+ */
+public record DigestPolicy(int maxPerDigest, Duration maxDelay, int maxPending, int queueCapacity) {
+
+    public static final DigestPolicy DEFAULT = new DigestPolicy(20, Duration.ofMinutes(5), 10_000, 256);
+
+    public DigestPolicy {
+        if (maxPerDigest < 1 || maxPending < maxPerDigest || queueCapacity < 1) {
+            throw new IllegalArgumentException(
+                    STR."Invalid digest limits: \{maxPerDigest} per digest, \{maxPending} pending, queue \{queueCapacity}");
+        }
+        if (maxDelay.isNegative() || maxDelay.isZero()) {
+            throw new IllegalArgumentException(STR."Digest delay must be positive: \{maxDelay}");
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.lab.notify;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/** Appends each digest, formatted as plain text, to a file that stays open until {@link #close()}. */
+public final class FileSink implements NotificationSink, Closeable {
+
+    private final Writer writer;
+
+    public FileSink(Path file) throws IOException {
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void deliver(Digest digest) throws IOException {
+        writer.write(digest.format());
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
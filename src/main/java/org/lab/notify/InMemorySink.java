@@ -0,0 +1,28 @@
+package org.lab.notify;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/** Keeps every delivered digest; meant for tests and local runs. */
+public final class InMemorySink implements NotificationSink {
+
+    private final List<Digest> digests = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void deliver(Digest digest) {
+        digests.add(digest);
+    }
+
+    public List<Digest> digests() {
+        return List.copyOf(digests);
+    }
+
+    public List<Digest> digestsFor(UUID recipient) {
+        return digests.stream().filter(d -> d.recipient().equals(recipient)).toList();
+    }
+
+    public void clear() {
+        digests.clear();
+    }
+}
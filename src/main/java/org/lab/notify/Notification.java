@@ -0,0 +1,31 @@
+package org.lab.notify;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/** One thing a user should hear about, before it is folded into a {@link Digest}. */
+public record Notification(UUID recipient, Kind kind, UUID subjectId, String subject, String detail, Instant at) {
+
+    public enum Kind {
+        TICKET_ASSIGNED,
+        TICKET_STATUS,
+        BUG_ASSIGNED,
+        BUG_STATUS
+    }
+
+    /** Notifications sharing a key supersede each other while they wait in a recipient's buffer. */
+    record Key(Kind kind, UUID subjectId) {}
+
+    Key key() {
+        return new Key(kind, subjectId);
+    }
+
+    public String describe() {
+        return switch (kind) {
+            case TICKET_ASSIGNED -> STR."Ticket '\{subject}' was assigned to you";
+            case TICKET_STATUS -> STR."Ticket '\{subject}' is now \{detail}";
+            case BUG_ASSIGNED -> STR."Bug '\{subject}' was assigned to you";
+            case BUG_STATUS -> STR."Bug '\{subject}' is now \{detail}";
+        };
+    }
+}
@@ -0,0 +1,332 @@
+package org.lab.notify;
+
+import org.lab.model.BugReport;
+import org.lab.model.Ticket;
+import org.lab.service.ChangeListener;
+import org.lab.service.ProjectManagementService;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Turns ticket and bug report updates into per-recipient digests. Newly
+ * assigned developers hear about the assignment; assignees (and, for bugs,
+ * the reporter) hear about status changes. Notifications wait in a buffer
+ * per recipient where a newer one about the same subject and of the same
+ * kind replaces the older, and the buffer is handed to the
+ * {@link NotificationSink} as one {@link Digest} according to the
+ * {@link DigestPolicy}.
+ *
+ * <p>Created with {@link #start}, the hub delivers from its own thread
+ * through a bounded queue, so a slow sink throttles the writers instead of
+ * letting digests pile up, and flushes aged buffers from a second thread.
+ * A {@link #manual} hub delivers on the calling thread and only flushes by
+ * age when {@link #flushDue()} is called. Creates and bulk loads are not
+ * notified.
+ */
+public final class NotificationHub implements ChangeListener, AutoCloseable {
+
+    /** A recipient's waiting notifications; buffers sit in {@code pending} oldest first. */
+    private static final class Buffer {
+        final long firstAt;
+        final Map<Notification.Key, Notification> notifications = new LinkedHashMap<>();
+        int received;
+
+        Buffer(long firstAt) {
+            this.firstAt = firstAt;
+        }
+    }
+
+    private static final Digest STOP = new Digest(new UUID(0, 0), List.of(), 0, Instant.EPOCH);
+
+    private final ProjectManagementService service;
+    private final NotificationSink sink;
+    private final DigestPolicy policy;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition buffered = lock.newCondition();
+    private final LinkedHashMap<UUID, Buffer> pending = new LinkedHashMap<>();
+    private int pendingNotifications;
+    private final BlockingQueue<Digest> queue;
+    private final Thread flusher;
+    private final Thread deliverer;
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile boolean closed;
+
+    private NotificationHub(ProjectManagementService service, NotificationSink sink, DigestPolicy policy,
+                            Clock clock, boolean threaded) {
+        this.service = service;
+        this.sink = sink;
+        this.policy = policy;
+        this.clock = clock;
+        this.queue = threaded ? new ArrayBlockingQueue<>(policy.queueCapacity()) : null;
+        this.flusher = threaded
+                ? Thread.ofPlatform().daemon().name("notification-flusher").unstarted(this::flushLoop) : null;
+        this.deliverer = threaded
+                ? Thread.ofPlatform().daemon().name("notification-delivery").unstarted(this::deliveryLoop) : null;
+    }
+
+    /** Notifies about the service's future updates, flushing and delivering on background threads. */
+    public static NotificationHub start(ProjectManagementService service, NotificationSink sink, DigestPolicy policy) {
+        var hub = new NotificationHub(service, sink, policy, Clock.systemUTC(), true);
+        hub.flusher.start();
+        hub.deliverer.start();
+        service.addChangeListener(hub);
+        return hub;
+    }
+
+    /** A hub that delivers on the updating thread and flushes aged buffers only in {@link #flushDue()}. */
+    public static NotificationHub manual(ProjectManagementService service, NotificationSink sink, DigestPolicy policy,
+                                         Clock clock) {
+        var hub = new NotificationHub(service, sink, policy, clock, false);
+        service.addChangeListener(hub);
+        return hub;
+    }
+
+    @Override
+    public void ticketUpdated(Ticket previous, Ticket current) {
+        for (var developer : current.assignedDevelopers()) {
+            if (!previous.assignedDevelopers().contains(developer)) {
+                offer(developer, Notification.Kind.TICKET_ASSIGNED, current.id(), current.title(), null);
+            }
+        }
+        if (previous.status() != current.status()) {
+            for (var developer : current.assignedDevelopers()) {
+                offer(developer, Notification.Kind.TICKET_STATUS, current.id(), current.title(),
+                        current.status().name());
+            }
+        }
+    }
+
+    @Override
+    public void bugReportUpdated(BugReport previous, BugReport current) {
+        if (current.assignedTo() != null && !current.assignedTo().equals(previous.assignedTo())) {
+            offer(current.assignedTo(), Notification.Kind.BUG_ASSIGNED, current.id(), current.title(), null);
+        }
+        if (previous.status() != current.status()) {
+            var status = current.status().name();
+            offer(current.reportedBy(), Notification.Kind.BUG_STATUS, current.id(), current.title(), status);
+            if (current.assignedTo() != null && !current.assignedTo().equals(current.reportedBy())) {
+                offer(current.assignedTo(), Notification.Kind.BUG_STATUS, current.id(), current.title(), status);
+            }
+        }
+    }
+
+    private void offer(UUID recipient, Notification.Kind kind, UUID subjectId, String subject, String detail) {
+        var notification = new Notification(recipient, kind, subjectId, subject, detail, clock.instant());
+        Digest full;
+        Digest overflow = null;
+        lock.lock();
+        try {
+            var buffer = pending.get(recipient);
+            if (buffer == null) {
+                buffer = new Buffer(clock.millis());
+                pending.put(recipient, buffer);
+                buffered.signal();
+            }
+            buffer.received++;
+            if (buffer.notifications.put(notification.key(), notification) == null) {
+                pendingNotifications++;
+            } else {
+                coalesced.increment();
+            }
+            full = buffer.notifications.size() >= policy.maxPerDigest() ? take(recipient) : null;
+            if (pendingNotifications > policy.maxPending()) {
+                overflow = take(pending.firstEntry().getKey());
+            }
+        } finally {
+            lock.unlock();
+        }
+        dispatch(full);
+        dispatch(overflow);
+    }
+
+    /** Flushes the buffers whose oldest notification has waited the policy's delay; returns how many. */
+    public int flushDue() {
+        var due = new ArrayList<Digest>();
+        long cutoff = clock.millis() - policy.maxDelay().toMillis();
+        lock.lock();
+        try {
+            for (Iterator<Map.Entry<UUID, Buffer>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+                var entry = it.next();
+                if (entry.getValue().firstAt > cutoff) {
+                    break;
+                }
+                due.add(digest(entry.getKey(), entry.getValue()));
+                it.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+        due.forEach(this::dispatch);
+        return due.size();
+    }
+
+    /** Flushes every buffer regardless of age; returns how many digests were produced. */
+    public int flushAll() {
+        List<Digest> all;
+        lock.lock();
+        try {
+            all = new ArrayList<>(pending.size());
+            for (var entry : pending.entrySet()) {
+                all.add(digest(entry.getKey(), entry.getValue()));
+            }
+            pending.clear();
+            pendingNotifications = 0;
+        } finally {
+            lock.unlock();
+        }
+        all.forEach(this::dispatch);
+        return all.size();
+    }
+
+    /** Notifications waiting in recipient buffers, after coalescing. */
+    public int pendingNotifications() {
+        lock.lock();
+        try {
+            return pendingNotifications;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long deliveredDigests() {
+        return delivered.sum();
+    }
+
+    /** Notifications that replaced an earlier one about the same subject. */
+    public long coalescedNotifications() {
+        return coalesced.sum();
+    }
+
+    /** Digests the sink rejected with an {@link IOException}; they are not retried. */
+    public long failedDeliveries() {
+        return failed.sum();
+    }
+
+    /** Stops listening, flushes what is buffered and waits until the sink has received it. */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        service.removeChangeListener(this);
+        closed = true;
+        if (flusher != null) {
+            flusher.interrupt();
+            join(flusher);
+        }
+        flushAll();
+        if (deliverer != null) {
+            dispatch(STOP);
+            join(deliverer);
+        }
+    }
+
+    private Digest take(UUID recipient) {
+        var buffer = pending.remove(recipient);
+        return digest(recipient, buffer);
+    }
+
+    private Digest digest(UUID recipient, Buffer buffer) {
+        pendingNotifications -= buffer.notifications.size();
+        return new Digest(recipient, List.copyOf(buffer.notifications.values()), buffer.received, clock.instant());
+    }
+
+    private void dispatch(Digest digest) {
+        if (digest == null) {
+            return;
+        }
+        if (queue == null) {
+            deliver(digest);
+            return;
+        }
+        try {
+            queue.put(digest);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while queueing a digest", e);
+        }
+    }
+
+    private void deliver(Digest digest) {
+        try {
+            sink.deliver(digest);
+            delivered.increment();
+        } catch (IOException e) {
+            failed.increment();
+        }
+    }
+
+    private void deliveryLoop() {
+        while (true) {
+            Digest digest;
+            try {
+                digest = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (digest == STOP) {
+                return;
+            }
+            deliver(digest);
+        }
+    }
+
+    private void flushLoop() {
+        long delay = policy.maxDelay().toMillis();
+        while (!closed) {
+            Digest due = null;
+            lock.lock();
+            try {
+                var oldest = pending.firstEntry();
+                if (oldest == null) {
+                    buffered.await();
+                } else {
+                    long wait = oldest.getValue().firstAt + delay - clock.millis();
+                    if (wait > 0) {
+                        buffered.await(wait, TimeUnit.MILLISECONDS);
+                    } else {
+                        due = take(oldest.getKey());
+                    }
+                }
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+            if (due != null) {
+                try {
+                    dispatch(due);
+                } catch (IllegalStateException e) {
+                    // Interrupted by close() while the queue was full: hand this one over directly.
+                    deliver(due);
+                    return;
+                }
+            }
+        }
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package org.lab.notify;
+
+import java.io.IOException;
+
+/** Where digests go once a recipient's buffer is flushed: mail, a chat hook, a file. */
+@FunctionalInterface
+public interface NotificationSink {
+
+    void deliver(Digest digest) throws IOException;
+}
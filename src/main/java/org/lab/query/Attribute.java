@@ -0,0 +1,47 @@
+package org.lab.query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A named field of {@code T} that criteria compare against. A multi-valued
+ * attribute, such as a ticket's assignees, yields every value it holds; an
+ * unset single value yields none. Single-valued attributes also keep the
+ * plain accessor ({@code value}, null for multi-valued ones) so values can
+ * be compared without wrapping them in a collection.
+ */
+public record Attribute<T, K>(String name, Function<T, Collection<K>> values, Function<T, K> value) {
+
+    public static <T, K> Attribute<T, K> single(String name, Function<T, K> value) {
+        return new Attribute<>(name, entity -> {
+            var v = value.apply(entity);
+            return v == null ? List.of() : List.of(v);
+        }, value);
+    }
+
+    public static <T, K> Attribute<T, K> multi(String name, Function<T, Set<K>> values) {
+        return new Attribute<>(name, values::apply, null);
+    }
+
+    public Collection<K> valuesOf(T entity) {
+        return values.apply(entity);
+    }
+
+    /** Whether both entities hold the same values; multi-valued ones shared between versions compare by identity. */
+    public boolean sameValues(T a, T b) {
+        if (value != null) {
+            return Objects.equals(value.apply(a), value.apply(b));
+        }
+        var left = values.apply(a);
+        var right = values.apply(b);
+        return left == right || left.equals(right);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
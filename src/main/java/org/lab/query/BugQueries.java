@@ -0,0 +1,65 @@
+package org.lab.query;
+
+import org.lab.model.BugReport;
+import org.lab.model.BugReportStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/** Bug report attributes and criteria; see {@link TicketQueries}. */
+public final class BugQueries {
+
+    public static final Attribute<BugReport, UUID> PROJECT = Attribute.single("project", BugReport::projectId);
+    public static final Attribute<BugReport, UUID> ASSIGNEE = Attribute.single("assignee", BugReport::assignedTo);
+    public static final Attribute<BugReport, UUID> REPORTER = Attribute.single("reporter", BugReport::reportedBy);
+    public static final Attribute<BugReport, BugReportStatus> STATUS = Attribute.single("status", BugReport::status);
+    public static final Attribute<BugReport, String> SEVERITY = Attribute.single("severity", BugReport::severity);
+    public static final Attribute<BugReport, LocalDateTime> UPDATED_AT =
+            Attribute.single("updatedAt", BugReport::updatedAt);
+
+    /** Attributes a service keeps hash indexes for; {@link #UPDATED_AT} is kept sorted. */
+    public static final List<Attribute<BugReport, ?>> INDEXED = List.of(PROJECT, ASSIGNEE, STATUS);
+
+    private BugQueries() {
+    }
+
+    public static Criterion<BugReport> inProject(UUID projectId) {
+        return new Criterion.Equals<>(PROJECT, Set.of(projectId));
+    }
+
+    public static Criterion<BugReport> assignedTo(UUID userId) {
+        return new Criterion.Equals<>(ASSIGNEE, Set.of(userId));
+    }
+
+    public static Criterion<BugReport> reportedBy(UUID userId) {
+        return new Criterion.Equals<>(REPORTER, Set.of(userId));
+    }
+
+    public static Criterion<BugReport> status(BugReportStatus... statuses) {
+        return new Criterion.Equals<>(STATUS, Set.of(statuses));
+    }
+
+    public static Criterion<BugReport> severity(String... severities) {
+        return new Criterion.Equals<>(SEVERITY, Set.of(severities));
+    }
+
+    public static Criterion<BugReport> updatedSince(LocalDateTime from) {
+        return new Criterion.Range<>(UPDATED_AT, from, null);
+    }
+
+    public static Criterion<BugReport> updatedWithin(Duration duration) {
+        return updatedSince(LocalDateTime.now().minus(duration));
+    }
+
+    public static Criterion<BugReport> updatedBetween(LocalDateTime from, LocalDateTime to) {
+        return new Criterion.Range<>(UPDATED_AT, from, to);
+    }
+
+    public static Criterion<BugReport> matching(String description, Predicate<BugReport> predicate) {
+        return new Criterion.Matches<>(description, predicate);
+    }
+}
@@ -0,0 +1,167 @@
+package org.lab.query;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * A composable condition on an entity. {@link Equals} and {@link Range} on
+ * an indexed attribute can be answered from a {@link QueryPlanner}; the
+ * other forms are only ever evaluated against candidate entities.
+ */
+public sealed interface Criterion<T> {
+
+    boolean test(T entity);
+
+    default Criterion<T> and(Criterion<T> other) {
+        var all = new ArrayList<Criterion<T>>(conjuncts());
+        all.addAll(other.conjuncts());
+        return new AllOf<>(all);
+    }
+
+    default Criterion<T> or(Criterion<T> other) {
+        return new AnyOf<>(List.of(this, other));
+    }
+
+    default Criterion<T> negate() {
+        return new Not<>(this);
+    }
+
+    /** The criteria that must all hold; a single criterion unless this is an {@link AllOf}. */
+    default List<Criterion<T>> conjuncts() {
+        return List.of(this);
+    }
+
+    /** Holds if the attribute has any of the values. */
+    record Equals<T, K>(Attribute<T, K> attribute, Set<K> values) implements Criterion<T> {
+        public Equals {
+            if (values.isEmpty()) {
+                throw new IllegalArgumentException(STR."No values given for \{attribute}");
+            }
+            values = Set.copyOf(values);
+        }
+
+        @Override
+        public boolean test(T entity) {
+            for (var value : attribute.valuesOf(entity)) {
+                if (values.contains(value)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return values.size() == 1
+                    ? STR."\{attribute} = \{values.iterator().next()}"
+                    : STR."\{attribute} in \{values}";
+        }
+    }
+
+    /** Holds if the time lies in {@code [from, to)}; a null bound is open. */
+    record Range<T>(Attribute<T, LocalDateTime> attribute, LocalDateTime from, LocalDateTime to)
+            implements Criterion<T> {
+        public Range {
+            if (from == null && to == null) {
+                throw new IllegalArgumentException(STR."Range on \{attribute} needs at least one bound");
+            }
+            if (from != null && to != null && !from.isBefore(to)) {
+                throw new IllegalArgumentException(STR."Empty range on \{attribute}: \{from} to \{to}");
+            }
+        }
+
+        @Override
+        public boolean test(T entity) {
+            for (var value : attribute.valuesOf(entity)) {
+                if ((from == null || !value.isBefore(from)) && (to == null || value.isBefore(to))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            if (to == null) {
+                return STR."\{attribute} >= \{from}";
+            }
+            return from == null ? STR."\{attribute} < \{to}" : STR."\{attribute} in [\{from}, \{to})";
+        }
+    }
+
+    record AllOf<T>(List<Criterion<T>> criteria) implements Criterion<T> {
+        public AllOf {
+            criteria = List.copyOf(criteria);
+        }
+
+        @Override
+        public boolean test(T entity) {
+            for (var criterion : criteria) {
+                if (!criterion.test(entity)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public List<Criterion<T>> conjuncts() {
+            return criteria;
+        }
+
+        @Override
+        public String toString() {
+            return criteria.stream().map(Object::toString).collect(Collectors.joining(" and "));
+        }
+    }
+
+    record AnyOf<T>(List<Criterion<T>> criteria) implements Criterion<T> {
+        public AnyOf {
+            criteria = List.copyOf(criteria);
+        }
+
+        @Override
+        public boolean test(T entity) {
+            for (var criterion : criteria) {
+                if (criterion.test(entity)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return criteria.stream().map(Object::toString).collect(Collectors.joining(" or ", "(", ")"));
+        }
+    }
+
+    record Not<T>(Criterion<T> criterion) implements Criterion<T> {
+        @Override
+        public boolean test(T entity) {
+            return !criterion.test(entity);
+        }
+
+        @Override
+        public String toString() {
+            return STR."not (\{criterion})";
+        }
+    }
+
+    /** An arbitrary condition; never served by an index. */
+    record Matches<T>(String description, Predicate<T> predicate) implements Criterion<T> {
+        @Override
+        public boolean test(T entity) {
+            return predicate.test(entity);
+        }
+
+        @Override
+        public String toString() {
+            return description;
+        }
+    }
+}
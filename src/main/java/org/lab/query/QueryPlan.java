@@ -0,0 +1,38 @@
+package org.lab.query;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * How a {@link QueryPlanner} answers a criterion: the index lookups whose
+ * union it starts from (none for a full scan), how many entities they are
+ * estimated to yield, and the criteria checked on each candidate afterwards.
+ */
+public record QueryPlan(List<Criterion<?>> indexLookups, long estimatedRows, long totalRows,
+                        List<Criterion<?>> filters) {
+
+    public QueryPlan {
+        indexLookups = List.copyOf(indexLookups);
+        filters = List.copyOf(filters);
+    }
+
+    public boolean fullScan() {
+        return indexLookups.isEmpty();
+    }
+
+    public String explain() {
+        var access = fullScan()
+                ? STR."Full scan (\{totalRows} rows)"
+                : STR."Index lookup on \{join(indexLookups, " | ")} (~\{estimatedRows} of \{totalRows} rows)";
+        return filters.isEmpty() ? access : STR."\{access}\n  Filter: \{join(filters, " and ")}";
+    }
+
+    @Override
+    public String toString() {
+        return explain();
+    }
+
+    private static String join(List<Criterion<?>> criteria, String separator) {
+        return criteria.stream().map(Object::toString).collect(Collectors.joining(separator));
+    }
+}
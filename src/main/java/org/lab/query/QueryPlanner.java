@@ -0,0 +1,287 @@
+package org.lab.query;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Secondary indexes over a map of entities plus a planner that answers a
+ * {@link Criterion} from the most selective of them. Each indexed attribute
+ * maps its values to entity ids; one time attribute is kept sorted for range
+ * lookups. The planner sizes the index lookup each conjunct allows, starts
+ * from the smallest (or scans everything if none is smaller), and checks the
+ * whole criterion on every candidate, so a candidate the index still lists
+ * after a concurrent update is filtered out rather than returned.
+ *
+ * <p>The owner calls {@link #reindex} after every change to the map.
+ * Stored entities pass through {@code reader} before they are tested and
+ * returned, e.g. to load text kept outside the map.
+ */
+public final class QueryPlanner<T> {
+
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+
+    private record Stamp(LocalDateTime at, UUID id) implements Comparable<Stamp> {
+        @Override
+        public int compareTo(Stamp other) {
+            int byTime = at.compareTo(other.at);
+            return byTime != 0 ? byTime : id.compareTo(other.id);
+        }
+    }
+
+    /**
+     * Index lookups whose union the planner may start from, with their
+     * estimated size; {@code exact} if the union is precisely the matches,
+     * not just a superset of them.
+     */
+    private record Access(List<Criterion<?>> lookups, long estimate, boolean exact) {}
+
+    private final Map<UUID, T> store;
+    private final UnaryOperator<T> reader;
+    private final Map<Attribute<T, ?>, Map<Object, Set<UUID>>> buckets = new HashMap<>();
+    private final Attribute<T, LocalDateTime> timeAttribute;
+    private final NavigableSet<Stamp> timeline = new ConcurrentSkipListSet<>();
+    private final Object[] stripes = new Object[64];
+
+    public QueryPlanner(Map<UUID, T> store, UnaryOperator<T> reader, List<Attribute<T, ?>> indexed,
+                        Attribute<T, LocalDateTime> timeAttribute) {
+        this.store = store;
+        this.reader = reader;
+        this.timeAttribute = timeAttribute;
+        indexed.forEach(attribute -> buckets.put(attribute, new ConcurrentHashMap<>()));
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    /**
+     * Brings the indexes in line with the entity now stored under {@code id},
+     * dropping the entries of {@code previous}, the value it replaced (null if
+     * none). Updates of one entity are serialized and each reads the stored
+     * value afresh, so the last of several racing updates leaves the indexes
+     * matching the final value whatever order they ran in. Attributes whose
+     * values did not change are skipped.
+     */
+    public void reindex(UUID id, T previous) {
+        synchronized (stripes[id.hashCode() & (stripes.length - 1)]) {
+            var current = store.get(id);
+            boolean replaced = previous != null && current != null;
+            for (var entry : buckets.entrySet()) {
+                var attribute = entry.getKey();
+                if (replaced && attribute.sameValues(previous, current)) {
+                    continue;
+                }
+                var index = entry.getValue();
+                Collection<?> now = current == null ? List.of() : attribute.valuesOf(current);
+                if (previous != null) {
+                    for (var value : attribute.valuesOf(previous)) {
+                        if (!now.contains(value)) {
+                            index.computeIfPresent(value, (v, ids) -> {
+                                ids.remove(id);
+                                return ids.isEmpty() ? null : ids;
+                            });
+                        }
+                    }
+                }
+                for (var value : now) {
+                    index.compute(value, (v, ids) -> {
+                        var bucket = ids == null ? ConcurrentHashMap.<UUID>newKeySet() : ids;
+                        bucket.add(id);
+                        return bucket;
+                    });
+                }
+            }
+            if (replaced && timeAttribute.sameValues(previous, current)) {
+                return;
+            }
+            Collection<LocalDateTime> now = current == null ? List.of() : timeAttribute.valuesOf(current);
+            if (previous != null) {
+                for (var at : timeAttribute.valuesOf(previous)) {
+                    if (!now.contains(at)) {
+                        timeline.remove(new Stamp(at, id));
+                    }
+                }
+            }
+            now.forEach(at -> timeline.add(new Stamp(at, id)));
+        }
+    }
+
+    public QueryPlan plan(Criterion<T> criterion) {
+        long total = store.size();
+        Criterion<?> chosen = null;
+        Access best = null;
+        for (var conjunct : criterion.conjuncts()) {
+            var access = access(conjunct, best == null ? total : best.estimate());
+            if (access != null && (best == null || access.estimate() < best.estimate())) {
+                chosen = conjunct;
+                best = access;
+            }
+        }
+        var filters = new ArrayList<Criterion<?>>(criterion.conjuncts());
+        if (best == null || best.estimate() >= total) {
+            return new QueryPlan(List.of(), total, total, filters);
+        }
+        if (best.exact()) {
+            filters.remove(chosen);
+        }
+        return new QueryPlan(best.lookups(), best.estimate(), total, filters);
+    }
+
+    public List<T> execute(Criterion<T> criterion) {
+        return execute(criterion, plan(criterion));
+    }
+
+    /** Runs a plan made by {@link #plan} for the same criterion. */
+    public List<T> execute(Criterion<T> criterion, QueryPlan plan) {
+        var result = new ArrayList<T>();
+        forEach(criterion, plan, result::add);
+        return result;
+    }
+
+    /** Hands each match to {@code action} as it is read, for callers that stream rather than collect. */
+    public void forEach(Criterion<T> criterion, Consumer<? super T> action) {
+        forEach(criterion, plan(criterion), action);
+    }
+
+    private void forEach(Criterion<T> criterion, QueryPlan plan, Consumer<? super T> action) {
+        if (plan.fullScan()) {
+            for (var stored : store.values()) {
+                var entity = reader.apply(stored);
+                if (criterion.test(entity)) {
+                    action.accept(entity);
+                }
+            }
+            return;
+        }
+        var ids = new HashSet<UUID>();
+        for (var lookup : plan.indexLookups()) {
+            collect(lookup, ids);
+        }
+        for (var id : ids) {
+            var stored = store.get(id);
+            if (stored != null) {
+                var entity = reader.apply(stored);
+                if (criterion.test(entity)) {
+                    action.accept(entity);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ids of the matching entities. When the index lookups answer the whole
+     * criterion exactly, so that the plan keeps no filter, no entity is read
+     * or tested, only checked to be still stored.
+     */
+    public List<UUID> executeIds(Criterion<T> criterion) {
+        var plan = plan(criterion);
+        if (plan.fullScan()) {
+            var result = new ArrayList<UUID>();
+            store.forEach((id, stored) -> {
+                if (criterion.test(reader.apply(stored))) {
+                    result.add(id);
+                }
+            });
+            return result;
+        }
+        var ids = new HashSet<UUID>();
+        for (var lookup : plan.indexLookups()) {
+            collect(lookup, ids);
+        }
+        var result = new ArrayList<UUID>(ids.size());
+        for (var id : ids) {
+            var stored = store.get(id);
+            if (stored != null && (plan.filters().isEmpty() || criterion.test(reader.apply(stored)))) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * The lookups a criterion allows, or null. Range sizes are counted, so
+     * counting stops once it passes {@code limit}, the size to beat.
+     */
+    private Access access(Criterion<?> criterion, long limit) {
+        return switch (criterion) {
+            case Criterion.Equals<?, ?> equals -> {
+                var index = buckets.get(equals.attribute());
+                if (index == null) {
+                    yield null;
+                }
+                long size = 0;
+                for (var value : equals.values()) {
+                    var ids = index.get(value);
+                    size += ids == null ? 0 : ids.size();
+                }
+                yield new Access(List.of(criterion), size, true);
+            }
+            case Criterion.Range<?> range when range.attribute().equals(timeAttribute) -> {
+                long size = 0;
+                var iterator = stamps(range).iterator();
+                while (iterator.hasNext() && size <= Math.max(limit, 0)) {
+                    iterator.next();
+                    size++;
+                }
+                yield new Access(List.of(criterion), size, true);
+            }
+            case Criterion.AnyOf<?> anyOf -> {
+                var lookups = new ArrayList<Criterion<?>>();
+                long size = 0;
+                boolean exact = true;
+                for (var alternative : anyOf.criteria()) {
+                    var access = access(alternative, limit - size);
+                    if (access == null) {
+                        yield null;
+                    }
+                    lookups.addAll(access.lookups());
+                    size += access.estimate();
+                    exact &= access.exact();
+                }
+                yield new Access(lookups, size, exact);
+            }
+            case Criterion.AllOf<?> allOf -> {
+                Access best = null;
+                for (var part : allOf.criteria()) {
+                    var access = access(part, best == null ? limit : best.estimate());
+                    if (access != null && (best == null || access.estimate() < best.estimate())) {
+                        best = access;
+                    }
+                }
+                // Only the best part is looked up; the others still have to be tested.
+                yield best == null || allOf.criteria().size() == 1 ? best
+                        : new Access(best.lookups(), best.estimate(), false);
+            }
+            default -> null;
+        };
+    }
+
+    private void collect(Criterion<?> lookup, Set<UUID> ids) {
+        switch (lookup) {
+            case Criterion.Equals<?, ?> equals -> {
+                var index = buckets.get(equals.attribute());
+                for (var value : equals.values()) {
+                    var bucket = index.get(value);
+                    if (bucket != null) {
+                        ids.addAll(bucket);
+                    }
+                }
+            }
+            case Criterion.Range<?> range -> stamps(range).forEach(stamp -> ids.add(stamp.id()));
+            default -> throw new IllegalArgumentException(STR."No index serves \{lookup}");
+        }
+    }
+
+    private NavigableSet<Stamp> stamps(Criterion.Range<?> range) {
+        if (range.from() == null) {
+            return timeline.headSet(new Stamp(range.to(), MIN_ID), false);
+        }
+        if (range.to() == null) {
+            return timeline.tailSet(new Stamp(range.from(), MIN_ID), true);
+        }
+        return timeline.subSet(new Stamp(range.from(), MIN_ID), true, new Stamp(range.to(), MIN_ID), false);
+    }
+}
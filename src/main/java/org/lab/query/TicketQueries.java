@@ -0,0 +1,70 @@
+package org.lab.query;
+
+import org.lab.model.Ticket;
+import org.lab.model.TicketStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+/**
+ * Ticket attributes and criteria, e.g. the in-progress tickets of one
+ * developer in a milestone touched in the last three days:
+ * <pre>
+ * assignedTo(dev).and(status(IN_PROGRESS)).and(inMilestone(m)).and(updatedWithin(Duration.ofDays(3)))
+ * </pre>
+ */
+public final class TicketQueries {
+
+    public static final Attribute<Ticket, UUID> PROJECT = Attribute.single("project", Ticket::projectId);
+    public static final Attribute<Ticket, UUID> MILESTONE = Attribute.single("milestone", Ticket::milestoneId);
+    public static final Attribute<Ticket, UUID> ASSIGNEE = Attribute.multi("assignee", Ticket::assignedDevelopers);
+    public static final Attribute<Ticket, TicketStatus> STATUS = Attribute.single("status", Ticket::status);
+    public static final Attribute<Ticket, LocalDateTime> UPDATED_AT = Attribute.single("updatedAt", Ticket::updatedAt);
+    public static final Attribute<Ticket, LocalDateTime> CREATED_AT = Attribute.single("createdAt", Ticket::createdAt);
+
+    /** Attributes a service keeps hash indexes for; {@link #UPDATED_AT} is kept sorted. */
+    public static final List<Attribute<Ticket, ?>> INDEXED = List.of(PROJECT, MILESTONE, ASSIGNEE, STATUS);
+
+    private TicketQueries() {
+    }
+
+    public static Criterion<Ticket> inProject(UUID projectId) {
+        return new Criterion.Equals<>(PROJECT, Set.of(projectId));
+    }
+
+    public static Criterion<Ticket> inMilestone(UUID milestoneId) {
+        return new Criterion.Equals<>(MILESTONE, Set.of(milestoneId));
+    }
+
+    public static Criterion<Ticket> assignedTo(UUID userId) {
+        return new Criterion.Equals<>(ASSIGNEE, Set.of(userId));
+    }
+
+    public static Criterion<Ticket> status(TicketStatus... statuses) {
+        return new Criterion.Equals<>(STATUS, Set.of(statuses));
+    }
+
+    public static Criterion<Ticket> updatedSince(LocalDateTime from) {
+        return new Criterion.Range<>(UPDATED_AT, from, null);
+    }
+
+    public static Criterion<Ticket> updatedWithin(Duration duration) {
+        return updatedSince(LocalDateTime.now().minus(duration));
+    }
+
+    public static Criterion<Ticket> updatedBetween(LocalDateTime from, LocalDateTime to) {
+        return new Criterion.Range<>(UPDATED_AT, from, to);
+    }
+
+    public static Criterion<Ticket> createdBetween(LocalDateTime from, LocalDateTime to) {
+        return new Criterion.Range<>(CREATED_AT, from, to);
+    }
+
+    public static Criterion<Ticket> matching(String description, Predicate<Ticket> predicate) {
+        return new Criterion.Matches<>(description, predicate);
+    }
+}
@@ -0,0 +1,183 @@
+package org.lab.replication;
+
+import org.lab.io.RowCodec;
+import org.lab.service.ProjectManagementService;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A read replica: streams a leader's log into a local
+ * {@link ProjectManagementService} and serves reads from it. Frames that are
+ * already buffered are applied together as one batch. The service must not
+ * be written to directly, or the next update from the leader may overwrite
+ * the change.
+ */
+public final class FollowerReplica implements AutoCloseable {
+
+    static final int MAX_BATCH_BYTES = 1 << 20;
+
+    private final ProjectManagementService service;
+    private final Socket socket;
+    private final ReplicaApplier applier;
+    private final Thread reader;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition advanced = lock.newCondition();
+    private long appliedSequence;
+    private long leaderSequence;
+    private long delayMillis;
+    private volatile boolean closed;
+    private volatile Exception failure;
+
+    private FollowerReplica(ProjectManagementService service, Socket socket) {
+        this.service = service;
+        this.socket = socket;
+        this.applier = new ReplicaApplier(service);
+        this.reader = Thread.ofVirtual().name("replica-reader").unstarted(this::read);
+    }
+
+    /** Connects to a leader and starts applying its log to a fresh in-memory service. */
+    public static FollowerReplica connect(InetSocketAddress leader) throws IOException {
+        return connect(leader, new ProjectManagementService());
+    }
+
+    public static FollowerReplica connect(InetSocketAddress leader, ProjectManagementService service)
+            throws IOException {
+        var socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(leader);
+        var follower = new FollowerReplica(service, socket);
+        follower.reader.start();
+        return follower;
+    }
+
+    public ProjectManagementService service() {
+        return service;
+    }
+
+    public ReplicaLag lag() {
+        lock.lock();
+        try {
+            return new ReplicaLag(appliedSequence, leaderSequence, leaderSequence - appliedSequence,
+                    Duration.ofMillis(delayMillis));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** False once the stream broke or the replica was closed; {@link #failure()} tells why. */
+    public boolean isConnected() {
+        return !closed && failure == null;
+    }
+
+    public Exception failure() {
+        return failure;
+    }
+
+    /** Waits until the leader's entry {@code sequence} has been applied; false on timeout or disconnect. */
+    public boolean awaitSequence(long sequence, Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = timeout.toNanos();
+            while (appliedSequence < sequence && isConnected() && nanos > 0) {
+                nanos = advanced.awaitNanos(nanos);
+            }
+            return appliedSequence >= sequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Disconnects and waits for the reader to stop; an interrupt is kept for the caller. */
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // Closing only serves to unblock the reader.
+        }
+        boolean interrupted = false;
+        while (true) {
+            try {
+                reader.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void read() {
+        var buffer = new byte[64 * 1024];
+        try (var in = new BufferedInputStream(socket.getInputStream(), 64 * 1024)) {
+            while (!closed) {
+                var header = Frames.readHeader(in);
+                if (header == null) {
+                    break;
+                }
+                int length = 0;
+                while (true) {
+                    if (length + header.length() > buffer.length) {
+                        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + header.length()));
+                    }
+                    Frames.readFully(in, buffer, length, header.length());
+                    length += header.length();
+                    if (length >= MAX_BATCH_BYTES || in.available() == 0) {
+                        break;
+                    }
+                    var next = Frames.readHeader(in);
+                    if (next == null) {
+                        break;
+                    }
+                    header = next;
+                }
+                if (length > 0) {
+                    var batch = RowCodec.decode(buffer, length);
+                    if (!batch.errors().isEmpty()) {
+                        throw new IOException(STR."Undecodable replication rows: \{batch.errors().getFirst()}");
+                    }
+                    applier.apply(batch);
+                }
+                advance(header);
+            }
+        } catch (SocketException e) {
+            if (!closed) {
+                failure = e;
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+        } finally {
+            lock.lock();
+            try {
+                advanced.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private void advance(Frames.Header header) {
+        lock.lock();
+        try {
+            if (header.length() > 0) {
+                delayMillis = Math.max(0, System.currentTimeMillis() - header.timestampMillis());
+            }
+            appliedSequence = Math.max(appliedSequence, header.sequence());
+            leaderSequence = Math.max(leaderSequence, header.leaderSequence());
+            advanced.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
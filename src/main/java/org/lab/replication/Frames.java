@@ -0,0 +1,58 @@
+package org.lab.replication;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Wire format of the replication stream: a header line
+ * {@code <sequence> <leaderSequence> <timestampMillis> <length>} followed by
+ * {@code length} bytes of rows. A frame without rows is a heartbeat that
+ * only advances the follower's view of the leader's position. Snapshot
+ * frames have sequence 0.
+ */
+final class Frames {
+
+    record Header(long sequence, long leaderSequence, long timestampMillis, int length) {}
+
+    private Frames() {
+    }
+
+    static void write(OutputStream out, long sequence, long leaderSequence, long timestampMillis,
+                      byte[] rows) throws IOException {
+        var header = STR."\{sequence} \{leaderSequence} \{timestampMillis} \{rows.length}\n";
+        out.write(header.getBytes(StandardCharsets.US_ASCII));
+        out.write(rows);
+    }
+
+    /** Reads the next header, or returns {@code null} if the stream ended between frames. */
+    static Header readHeader(InputStream in) throws IOException {
+        var line = new ByteArrayOutputStream(48);
+        int b;
+        while ((b = in.read()) != '\n') {
+            if (b < 0) {
+                if (line.size() == 0) {
+                    return null;
+                }
+                throw new EOFException("Stream ended inside a frame header");
+            }
+            line.write(b);
+        }
+        var parts = line.toString(StandardCharsets.US_ASCII).split(" ");
+        if (parts.length != 4) {
+            throw new IOException(STR."Malformed frame header: \{line}");
+        }
+        return new Header(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                Integer.parseInt(parts[3]));
+    }
+
+    static void readFully(InputStream in, byte[] buffer, int offset, int length) throws IOException {
+        int read = in.readNBytes(buffer, offset, length);
+        if (read < length) {
+            throw new EOFException("Stream ended inside a frame");
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package org.lab.replication;
+
+import org.lab.io.RowCodec;
+import org.lab.model.*;
+import org.lab.service.ChangeListener;
+import org.lab.service.ProjectManagementService;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Ships a leader service's {@link ReplicationLog} to followers over TCP.
+ * Each follower gets a snapshot of the current state first, then every
+ * logged change after the position the snapshot started from; changes made
+ * while the snapshot is taken are sent twice and followers keep the higher
+ * version. A follower that falls out of the log's retention is sent a new
+ * snapshot. Followers never write back.
+ */
+public final class LeaderServer implements AutoCloseable {
+
+    private static final System.Logger LOG = System.getLogger(LeaderServer.class.getName());
+    static final int MAX_ENTRIES_PER_READ = 512;
+    static final Duration HEARTBEAT_INTERVAL = Duration.ofMillis(500);
+
+    private final ProjectManagementService service;
+    private final ReplicationLog log;
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<Socket> followers = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    private LeaderServer(ProjectManagementService service, ReplicationLog log, ServerSocket serverSocket) {
+        this.service = service;
+        this.log = log;
+        this.serverSocket = serverSocket;
+    }
+
+    /** Starts logging the service's changes and accepting followers; port 0 picks a free port. */
+    public static LeaderServer start(ProjectManagementService service, InetSocketAddress address,
+                                     int retention) throws IOException {
+        var log = new ReplicationLog(retention);
+        service.addChangeListener(log);
+        var serverSocket = new ServerSocket();
+        try {
+            serverSocket.bind(address);
+        } catch (IOException e) {
+            service.removeChangeListener(log);
+            serverSocket.close();
+            throw e;
+        }
+        var leader = new LeaderServer(service, log, serverSocket);
+        leader.executor.submit(leader::accept);
+        return leader;
+    }
+
+    public static LeaderServer start(ProjectManagementService service, int port) throws IOException {
+        return start(service, new InetSocketAddress(port), ReplicationLog.DEFAULT_RETENTION);
+    }
+
+    public int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    public ReplicationLog log() {
+        return log;
+    }
+
+    public int followerCount() {
+        return followers.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        service.removeChangeListener(log);
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // Nothing left to release.
+        }
+        for (var follower : followers) {
+            try {
+                follower.close();
+            } catch (IOException ignored) {
+                // The shipping thread ends on its next write.
+            }
+        }
+        executor.close();
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                var socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                followers.add(socket);
+                executor.submit(() -> ship(socket));
+            } catch (IOException e) {
+                if (!closed) {
+                    LOG.log(System.Logger.Level.ERROR, "Replication accept failed", e);
+                }
+            }
+        }
+    }
+
+    private void ship(Socket socket) {
+        try (socket) {
+            var out = new BufferedOutputStream(socket.getOutputStream(), 64 * 1024);
+            long position = sendSnapshot(out);
+            while (!closed) {
+                var entries = log.read(position, MAX_ENTRIES_PER_READ, HEARTBEAT_INTERVAL);
+                if (entries == null) {
+                    position = sendSnapshot(out);
+                    continue;
+                }
+                long leaderSequence = log.lastSequence();
+                if (entries.isEmpty()) {
+                    Frames.write(out, position, leaderSequence, System.currentTimeMillis(), new byte[0]);
+                }
+                for (var entry : entries) {
+                    Frames.write(out, entry.sequence(), leaderSequence, entry.timestampMillis(), entry.rows());
+                    position = entry.sequence();
+                }
+                out.flush();
+            }
+        } catch (SocketException e) {
+            // Follower went away or the leader is closing.
+        } catch (IOException | UncheckedIOException e) {
+            if (!closed) {
+                LOG.log(System.Logger.Level.ERROR, STR."Replication to \{socket.getRemoteSocketAddress()} failed", e);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            followers.remove(socket);
+        }
+    }
+
+    /**
+     * Streams the whole current state, then a heartbeat at the log position
+     * the state is at least as new as. Snapshot frames carry sequence 0 so the
+     * follower does not count itself caught up before the last one.
+     */
+    private long sendSnapshot(OutputStream out) throws IOException {
+        long position = log.lastSequence();
+        long timestamp = System.currentTimeMillis();
+        var codec = new RowCodec();
+        try {
+            service.replayTo(new ChangeListener() {
+                @Override
+                public void userChanged(User user) {
+                    send(codec.encode(user));
+                }
+
+                @Override
+                public void projectChanged(Project project) {
+                    send(codec.encode(project));
+                }
+
+                @Override
+                public void milestoneChanged(Milestone milestone) {
+                    send(codec.encode(milestone));
+                }
+
+                @Override
+                public void ticketChanged(Ticket ticket) {
+                    send(codec.encode(ticket));
+                }
+
+                @Override
+                public void bugReportChanged(BugReport bugReport) {
+                    send(codec.encode(bugReport));
+                }
+
+                private void send(byte[] rows) {
+                    try {
+                        Frames.write(out, 0, position, timestamp, rows);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        Frames.write(out, position, position, System.currentTimeMillis(), new byte[0]);
+        out.flush();
+        return position;
+    }
+}
@@ -0,0 +1,168 @@
+package org.lab.replication;
+
+import org.lab.io.RowBatch;
+import org.lab.model.*;
+import org.lab.service.ProjectManagementService;
+
+import java.util.*;
+
+/**
+ * Upserts decoded rows into a follower's service. An incoming project,
+ * milestone, ticket or bug report replaces the stored one unless the stored
+ * version is higher, so entries that arrive out of order or twice are
+ * harmless. Rows do not carry child id lists; they are rebuilt from the
+ * stored entity plus the children arriving in the batch. Children whose
+ * parents have not arrived yet are held back until they do. Archived ids
+ * are evicted from the service once the batch's upserts are in, and rows
+ * for them arriving later, e.g. from an update logged after the archival,
+ * are ignored. Single-threaded.
+ */
+final class ReplicaApplier {
+
+    private final ProjectManagementService service;
+    private final List<Milestone> pendingMilestones = new ArrayList<>();
+    private final List<Ticket> pendingTickets = new ArrayList<>();
+    private final List<BugReport> pendingBugReports = new ArrayList<>();
+    private final Set<UUID> archived = new HashSet<>();
+
+    ReplicaApplier(ProjectManagementService service) {
+        this.service = service;
+    }
+
+    int pending() {
+        return pendingMilestones.size() + pendingTickets.size() + pendingBugReports.size();
+    }
+
+    void apply(RowBatch batch) {
+        var projects = new LinkedHashMap<UUID, Project>();
+        for (var project : batch.projects()) {
+            var stored = projects.containsKey(project.id()) ? projects.get(project.id())
+                    : service.getProject(project.id()).orElse(null);
+            if (stored == null || stored.version() <= project.version()) {
+                projects.put(project.id(), project);
+            }
+        }
+        var milestones = new LinkedHashMap<UUID, Milestone>();
+        for (var milestone : drain(pendingMilestones, batch.milestones())) {
+            if (archived.contains(milestone.id())) {
+                continue;
+            }
+            if (!projectKnown(milestone.projectId(), projects)) {
+                pendingMilestones.add(milestone);
+                continue;
+            }
+            var stored = milestones.containsKey(milestone.id()) ? milestones.get(milestone.id())
+                    : service.getMilestone(milestone.id()).orElse(null);
+            if (stored == null || stored.version() <= milestone.version()) {
+                milestones.put(milestone.id(), milestone);
+            }
+        }
+        var tickets = new LinkedHashMap<UUID, Ticket>();
+        for (var ticket : drain(pendingTickets, batch.tickets())) {
+            if (archived.contains(ticket.id())) {
+                continue;
+            }
+            if (!projectKnown(ticket.projectId(), projects) || ticket.milestoneId() != null
+                    && !milestones.containsKey(ticket.milestoneId())
+                    && service.getMilestone(ticket.milestoneId()).isEmpty()) {
+                pendingTickets.add(ticket);
+                continue;
+            }
+            var stored = tickets.containsKey(ticket.id()) ? tickets.get(ticket.id())
+                    : service.getTicket(ticket.id()).orElse(null);
+            if (stored == null || stored.version() <= ticket.version()) {
+                tickets.put(ticket.id(), ticket);
+            }
+        }
+        var bugReports = new LinkedHashMap<UUID, BugReport>();
+        for (var bug : drain(pendingBugReports, batch.bugReports())) {
+            if (archived.contains(bug.id())) {
+                continue;
+            }
+            if (!projectKnown(bug.projectId(), projects)) {
+                pendingBugReports.add(bug);
+                continue;
+            }
+            var stored = bugReports.containsKey(bug.id()) ? bugReports.get(bug.id())
+                    : service.getBugReport(bug.id()).orElse(null);
+            if (stored == null || stored.version() <= bug.version()) {
+                bugReports.put(bug.id(), bug);
+            }
+        }
+
+        var newMilestonesByProject = new HashMap<UUID, List<UUID>>();
+        milestones.values().forEach(m ->
+                newMilestonesByProject.computeIfAbsent(m.projectId(), id -> new ArrayList<>()).add(m.id()));
+        var newBugsByProject = new HashMap<UUID, List<UUID>>();
+        bugReports.values().forEach(b ->
+                newBugsByProject.computeIfAbsent(b.projectId(), id -> new ArrayList<>()).add(b.id()));
+        var newTicketsByMilestone = new HashMap<UUID, List<UUID>>();
+        tickets.values().stream().filter(t -> t.milestoneId() != null).forEach(t ->
+                newTicketsByMilestone.computeIfAbsent(t.milestoneId(), id -> new ArrayList<>()).add(t.id()));
+
+        var touchedProjects = new LinkedHashSet<>(projects.keySet());
+        touchedProjects.addAll(newMilestonesByProject.keySet());
+        touchedProjects.addAll(newBugsByProject.keySet());
+        var loadedProjects = new ArrayList<Project>(touchedProjects.size());
+        for (var id : touchedProjects) {
+            var stored = service.getProject(id).orElse(null);
+            var base = projects.getOrDefault(id, stored);
+            loadedProjects.add(new Project(base.id(), base.name(), base.description(), base.teamMembers(),
+                    base.managerId(), base.teamLeaderId(),
+                    union(stored == null ? List.of() : stored.milestoneIds(), newMilestonesByProject.get(id)),
+                    union(stored == null ? List.of() : stored.bugReportIds(), newBugsByProject.get(id)),
+                    base.activeMilestoneId(), base.createdAt(), base.updatedAt(), base.version()));
+        }
+
+        var touchedMilestones = new LinkedHashSet<>(milestones.keySet());
+        touchedMilestones.addAll(newTicketsByMilestone.keySet());
+        var loadedMilestones = new ArrayList<Milestone>(touchedMilestones.size());
+        for (var id : touchedMilestones) {
+            var stored = service.getMilestone(id).orElse(null);
+            var base = milestones.getOrDefault(id, stored);
+            loadedMilestones.add(new Milestone(base.id(), base.name(), base.description(), base.status(),
+                    base.projectId(), base.startDate(), base.endDate(),
+                    union(stored == null ? List.of() : stored.ticketIds(), newTicketsByMilestone.get(id)),
+                    base.createdAt(), base.updatedAt(), base.version()));
+        }
+
+        service.bulkLoad(batch.users(), loadedProjects, loadedMilestones, tickets.values(), bugReports.values());
+
+        if (!batch.archived().isEmpty()) {
+            service.evict(batch.archived());
+            archived.addAll(batch.archived());
+            pendingMilestones.removeIf(m -> archived.contains(m.id()));
+            pendingTickets.removeIf(t -> archived.contains(t.id()));
+            pendingBugReports.removeIf(b -> archived.contains(b.id()));
+        }
+    }
+
+    private boolean projectKnown(UUID projectId, Map<UUID, Project> arriving) {
+        return arriving.containsKey(projectId) || service.getProject(projectId).isPresent();
+    }
+
+    private static <T> List<T> drain(List<T> pending, List<T> arriving) {
+        if (pending.isEmpty()) {
+            return arriving;
+        }
+        var all = new ArrayList<T>(pending.size() + arriving.size());
+        all.addAll(pending);
+        all.addAll(arriving);
+        pending.clear();
+        return all;
+    }
+
+    private static List<UUID> union(List<UUID> stored, List<UUID> arriving) {
+        if (arriving == null) {
+            return stored;
+        }
+        var ids = new ArrayList<>(stored);
+        var known = new HashSet<>(stored);
+        for (var id : arriving) {
+            if (known.add(id)) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+}
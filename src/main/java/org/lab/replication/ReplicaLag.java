@@ -0,0 +1,12 @@
+package org.lab.replication;
+
+import java.time.Duration;
+
+/**
+ * How far a follower trails its leader: {@code entries} is the leader's last
+ * known sequence minus the last applied one, {@code delay} the time between
+ * the leader logging the last applied entry and the follower applying it.
+ * Timestamps come from both machines' clocks, so the delay is only
+ * meaningful when they agree.
+ */
+public record ReplicaLag(long appliedSequence, long leaderSequence, long entries, Duration delay) {}
@@ -0,0 +1,75 @@
+package org.lab.replication;
+
+import org.lab.http.ApiServer;
+import org.lab.http.ApiTokens;
+import org.lab.service.ProjectAnalyticsService;
+import org.lab.service.ProjectManagementService;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Runs one node of a local replicated setup, each node in its own JVM:
+ * <pre>
+ * gradle replicaNode --args="--role=leader --replication=7000 --http=8080 --token-secret=..."
+ * gradle replicaNode --args="--role=follower --leader=localhost:7000 --http=8081 --token-secret=..."
+ * </pre>
+ * The leader serves the full HTTP API; followers serve its {@code GET}
+ * routes from their replica and print their lag every few seconds. Reads
+ * need a bearer token too: followers accept the leader's tokens when every
+ * node gets the same {@code --token-secret} (at least 16 bytes); without
+ * one a node signs with a random secret of its own.
+ */
+public class ReplicaNode {
+
+    public static void main(String[] args) throws Exception {
+        String role = null, leader = "localhost:7000", tokenSecret = null;
+        int replicationPort = 7000, httpPort = 8080;
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException(STR."Expected --key=value but got \{arg}");
+            }
+            var key = arg.substring(2, arg.indexOf('='));
+            var value = arg.substring(arg.indexOf('=') + 1);
+            switch (key) {
+                case "role" -> role = value;
+                case "leader" -> leader = value;
+                case "replication" -> replicationPort = Integer.parseInt(value);
+                case "http" -> httpPort = Integer.parseInt(value);
+                case "token-secret" -> tokenSecret = value;
+                default -> throw new IllegalArgumentException(STR."Unknown option: \{key}");
+            }
+        }
+
+        var tokens = tokenSecret == null ? ApiTokens.random()
+                : new ApiTokens(tokenSecret.getBytes(StandardCharsets.UTF_8));
+        switch (role) {
+            case "leader" -> {
+                var service = new ProjectManagementService();
+                var replication = LeaderServer.start(service, replicationPort);
+                var api = ApiServer.start(service, new ProjectAnalyticsService(service),
+                        new InetSocketAddress(httpPort), tokens);
+                System.out.println(STR."Leader: replication on port \{replication.port()}, http://localhost:\{api.port()}");
+            }
+            case "follower" -> {
+                int colon = leader.lastIndexOf(':');
+                var address = new InetSocketAddress(leader.substring(0, colon),
+                        Integer.parseInt(leader.substring(colon + 1)));
+                var replica = FollowerReplica.connect(address);
+                var api = ApiServer.startReadOnly(replica.service(), new ProjectAnalyticsService(replica.service()),
+                        new InetSocketAddress(httpPort), tokens);
+                System.out.println(STR."Follower of \{leader}: http://localhost:\{api.port()}");
+                while (replica.isConnected()) {
+                    Thread.sleep(Duration.ofSeconds(5));
+                    var lag = replica.lag();
+                    System.out.println(STR."Applied \{lag.appliedSequence()}/\{lag.leaderSequence()}, lag \{lag.entries()} entries, \{lag.delay().toMillis()} ms");
+                }
+                System.err.println(STR."Lost the leader: \{replica.failure()}");
+                api.close();
+                System.exit(1);
+            }
+            case null, default -> throw new IllegalArgumentException("--role must be leader or follower");
+        }
+    }
+}
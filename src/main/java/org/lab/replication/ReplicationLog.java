@@ -0,0 +1,144 @@
+package org.lab.replication;
+
+import org.lab.io.RowCodec;
+import org.lab.model.*;
+import org.lab.service.ChangeListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The leader's mutation log: every change reported by the service becomes
+ * one entry holding the entity's rows, numbered from 1. Only the most recent
+ * {@code retention} entries are kept; a follower that falls further behind
+ * has to start over from a snapshot.
+ *
+ * <p>Writers encode their rows outside the log's lock, each with a codec
+ * borrowed from a small pool, and take the lock only to number and publish
+ * the entry. Entries for one entity may therefore be numbered out of
+ * version order; the follower's {@link ReplicaApplier} keeps the newest
+ * version regardless.
+ */
+public final class ReplicationLog implements ChangeListener {
+
+    public static final int DEFAULT_RETENTION = 1 << 16;
+
+    /** One logged change; {@code rows} are JSON-lines {@link org.lab.io.RowType} rows. */
+    public record Entry(long sequence, long timestampMillis, byte[] rows) {}
+
+    private final Entry[] entries;
+    /** Idle encoders; a codec reuses its buffer and is not thread-safe. */
+    private final ConcurrentLinkedQueue<RowCodec> codecs = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+    private long lastSequence;
+
+    public ReplicationLog(int retention) {
+        if (retention <= 0) {
+            throw new IllegalArgumentException("Retention must be positive");
+        }
+        this.entries = new Entry[retention];
+    }
+
+    @Override
+    public void userChanged(User user) {
+        append(codec -> codec.encode(user));
+    }
+
+    @Override
+    public void projectChanged(Project project) {
+        append(codec -> codec.encode(project));
+    }
+
+    @Override
+    public void milestoneChanged(Milestone milestone) {
+        append(codec -> codec.encode(milestone));
+    }
+
+    @Override
+    public void ticketChanged(Ticket ticket) {
+        append(codec -> codec.encode(ticket));
+    }
+
+    @Override
+    public void bugReportChanged(BugReport bugReport) {
+        append(codec -> codec.encode(bugReport));
+    }
+
+    /** Logged as one archived row for the milestone followed by one per ticket. */
+    @Override
+    public void milestoneArchived(Milestone milestone) {
+        var ids = new ArrayList<UUID>(milestone.ticketIds().size() + 1);
+        ids.add(milestone.id());
+        ids.addAll(milestone.ticketIds());
+        append(codec -> codec.encodeArchived(ids));
+    }
+
+    @Override
+    public void bugReportArchived(BugReport bugReport) {
+        append(codec -> codec.encodeArchived(List.of(bugReport.id())));
+    }
+
+    public long lastSequence() {
+        lock.lock();
+        try {
+            return lastSequence;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Up to {@code max} entries following {@code after}, waiting at most
+     * {@code timeout} for the first one. Returns an empty list on timeout and
+     * {@code null} if entries following {@code after} were already discarded.
+     */
+    public List<Entry> read(long after, int max, Duration timeout) throws InterruptedException {
+        lock.lock();
+        try {
+            long nanos = timeout.toNanos();
+            while (lastSequence <= after && nanos > 0) {
+                nanos = appended.awaitNanos(nanos);
+            }
+            if (after < lastSequence - entries.length) {
+                return null;
+            }
+            int count = (int) Math.min(max, lastSequence - after);
+            var result = new ArrayList<Entry>(count);
+            for (long sequence = after + 1; sequence <= after + count; sequence++) {
+                result.add(entries[(int) (sequence % entries.length)]);
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void append(Function<RowCodec, byte[]> rows) {
+        var codec = codecs.poll();
+        if (codec == null) {
+            codec = new RowCodec();
+        }
+        byte[] encoded;
+        try {
+            encoded = rows.apply(codec);
+        } finally {
+            codecs.offer(codec);
+        }
+        long timestamp = System.currentTimeMillis();
+        lock.lock();
+        try {
+            long sequence = ++lastSequence;
+            entries[(int) (sequence % entries.length)] = new Entry(sequence, timestamp, encoded);
+            appended.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+}
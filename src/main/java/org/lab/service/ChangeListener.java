@@ -0,0 +1,39 @@
+package org.lab.service;
+
+import org.lab.model.*;
+
+/**
+ * Told about every entity a {@link ProjectManagementService} creates or
+ * changes, on the thread that made the change, once the change is visible.
+ * Projects and milestones arrive as snapshots. Two concurrent changes to the
+ * same entity may be reported in either order; the higher version is the
+ * newer state.
+ */
+public interface ChangeListener {
+
+    default void userChanged(User user) {}
+
+    default void projectChanged(Project project) {}
+
+    default void milestoneChanged(Milestone milestone) {}
+
+    default void ticketChanged(Ticket ticket) {}
+
+    /** An update of a stored ticket; by default reported as {@link #ticketChanged}. */
+    default void ticketUpdated(Ticket previous, Ticket current) {
+        ticketChanged(current);
+    }
+
+    default void bugReportChanged(BugReport bugReport) {}
+
+    /** An update of a stored bug report; by default reported as {@link #bugReportChanged}. */
+    default void bugReportUpdated(BugReport previous, BugReport current) {
+        bugReportChanged(current);
+    }
+
+    /** A milestone left the active set for cold storage, together with its tickets. */
+    default void milestoneArchived(Milestone milestone) {}
+
+    /** A closed bug report left the active set for cold storage. */
+    default void bugReportArchived(BugReport bugReport) {}
+}
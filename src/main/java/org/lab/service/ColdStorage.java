@@ -0,0 +1,256 @@
+package org.lab.service;
+
+import org.lab.io.RowBatch;
+import org.lab.io.RowCodec;
+import org.lab.model.BugReport;
+import org.lab.model.Milestone;
+import org.lab.model.Ticket;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Archive tier for finished work. A closed milestone together with its
+ * tickets, or a closed bug report on its own, is written as one block:
+ * the {@link RowCodec} rows of the aggregate, deflated, appended to the
+ * current segment file under {@code directory}. A {@link SlotTable} maps
+ * every archived id to its block, so the heap keeps a few dozen bytes per
+ * archived entity instead of the entity; reads decode the block again,
+ * with a small LRU cache of decoded blocks in front.
+ *
+ * <p>The index lives only in memory, like the service it backs, so the
+ * segment files are scratch space for one process: they are created afresh
+ * and deleted on {@link #close()}. Re-archiving an id points it at the new
+ * block; space of superseded blocks is not reclaimed.
+ */
+public final class ColdStorage implements AutoCloseable {
+
+    public static final long DEFAULT_SEGMENT_SIZE = 64L << 20;
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private final Path directory;
+    private final long segmentSize;
+    private final int cacheSize;
+    private final List<FileChannel> segments = new ArrayList<>();
+    private final List<Path> segmentFiles = new ArrayList<>();
+    private final SlotTable slots = new SlotTable();
+    private final Map<Long, RowBatch> cache;
+    private final RowCodec codec = new RowCodec();
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final Inflater inflater = new Inflater();
+    private long writeOffset;
+    private long diskBytes;
+    private long blockReads;
+    private long cacheHits;
+    private boolean closed;
+
+    public ColdStorage(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_CACHE_SIZE);
+    }
+
+    public ColdStorage(Path directory, long segmentSize, int cacheSize) throws IOException {
+        if (segmentSize <= 0 || segmentSize > 0xFFFF_FFFFL) {
+            throw new IllegalArgumentException(STR."Segment size must be in (0, 4 GiB]: \{segmentSize}");
+        }
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentSize = segmentSize;
+        this.cacheSize = cacheSize;
+        this.cache = new LinkedHashMap<>(cacheSize * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RowBatch> eldest) {
+                return size() > ColdStorage.this.cacheSize;
+            }
+        };
+    }
+
+    /** Archives a milestone with its tickets; tickets must carry their full descriptions. */
+    public synchronized void archive(Milestone milestone, List<Ticket> tickets) {
+        var rows = new ByteArrayOutputStream();
+        rows.writeBytes(codec.encode(milestone));
+        tickets.forEach(ticket -> rows.writeBytes(codec.encode(ticket)));
+        long location = append(rows.toByteArray());
+        int length = (int) (writeOffset - SlotTable.offsetOf(location));
+        put(milestone.id(), location, length);
+        tickets.forEach(ticket -> put(ticket.id(), location, length));
+    }
+
+    public synchronized void archive(BugReport bugReport) {
+        long location = append(codec.encode(bugReport));
+        put(bugReport.id(), location, (int) (writeOffset - SlotTable.offsetOf(location)));
+    }
+
+    public synchronized boolean contains(UUID id) {
+        return slots.indexOf(id.getMostSignificantBits(), id.getLeastSignificantBits()) >= 0;
+    }
+
+    /** The archived milestone, its ticket ids rebuilt from the tickets archived with it. */
+    public synchronized Optional<Milestone> milestone(UUID id) {
+        return block(id).flatMap(batch -> batch.milestones().stream()
+                .filter(m -> m.id().equals(id))
+                .findFirst()
+                .map(m -> new Milestone(m.id(), m.name(), m.description(), m.status(), m.projectId(),
+                        m.startDate(), m.endDate(), batch.tickets().stream().map(Ticket::id).toList(),
+                        m.createdAt(), m.updatedAt(), m.version())));
+    }
+
+    public synchronized Optional<Ticket> ticket(UUID id) {
+        return block(id).flatMap(batch -> batch.tickets().stream().filter(t -> t.id().equals(id)).findFirst());
+    }
+
+    /** Tickets archived together with the milestone, or none if it is not archived. */
+    public synchronized List<Ticket> ticketsOf(UUID milestoneId) {
+        return block(milestoneId)
+                .filter(batch -> batch.milestones().stream().anyMatch(m -> m.id().equals(milestoneId)))
+                .map(RowBatch::tickets)
+                .orElse(List.of());
+    }
+
+    public synchronized Optional<BugReport> bugReport(UUID id) {
+        return block(id).flatMap(batch -> batch.bugReports().stream().filter(b -> b.id().equals(id)).findFirst());
+    }
+
+    /** Archived entities, counting a milestone and each of its tickets separately. */
+    public synchronized int size() {
+        return slots.size();
+    }
+
+    /** Bytes written to segment files, including superseded blocks. */
+    public synchronized long diskBytes() {
+        return diskBytes;
+    }
+
+    /** Lookups that found an archived id. */
+    public synchronized long blockReads() {
+        return blockReads;
+    }
+
+    /** Lookups served from the block cache without touching the disk. */
+    public synchronized long cacheHits() {
+        return cacheHits;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        cache.clear();
+        deflater.end();
+        inflater.end();
+        for (int i = 0; i < segments.size(); i++) {
+            segments.get(i).close();
+            Files.deleteIfExists(segmentFiles.get(i));
+        }
+    }
+
+    private void put(UUID id, long location, int length) {
+        slots.put(id.getMostSignificantBits(), id.getLeastSignificantBits(), location, length);
+    }
+
+    /** Writes {@code raw} as a block of its length followed by the deflated bytes; returns its location. */
+    private long append(byte[] raw) {
+        ensureOpen();
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        var compressed = new ByteArrayOutputStream(raw.length / 2 + 16);
+        var buffer = new byte[4096];
+        while (!deflater.finished()) {
+            compressed.write(buffer, 0, deflater.deflate(buffer));
+        }
+        var block = ByteBuffer.allocate(Integer.BYTES + compressed.size());
+        block.putInt(raw.length).put(compressed.toByteArray()).flip();
+
+        try {
+            if (segments.isEmpty() || writeOffset + block.remaining() > segmentSize) {
+                var file = directory.resolve(String.format("segment-%05d.cold", segments.size()));
+                segments.add(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.READ, StandardOpenOption.WRITE));
+                segmentFiles.add(file);
+                writeOffset = 0;
+            }
+            long location = SlotTable.location(segments.size() - 1, writeOffset);
+            int length = block.remaining();
+            var channel = segments.getLast();
+            while (block.hasRemaining()) {
+                channel.write(block, writeOffset + block.position());
+            }
+            writeOffset += length;
+            diskBytes += length;
+            return location;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Optional<RowBatch> block(UUID id) {
+        ensureOpen();
+        int index = slots.indexOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (index < 0) {
+            return Optional.empty();
+        }
+        blockReads++;
+        long location = SlotTable.location(slots.chunk(index), slots.offset(index));
+        var cached = cache.get(location);
+        if (cached != null) {
+            cacheHits++;
+            return Optional.of(cached);
+        }
+        var batch = read(slots.chunk(index), slots.offset(index), slots.length(index));
+        cache.put(location, batch);
+        return Optional.of(batch);
+    }
+
+    private RowBatch read(int segment, long offset, int length) {
+        var block = ByteBuffer.allocate(length);
+        try {
+            var channel = segments.get(segment);
+            while (block.hasRemaining()) {
+                if (channel.read(block, offset + block.position()) < 0) {
+                    throw new IOException(STR."Archive block at \{segment}:\{offset} is truncated");
+                }
+            }
+            var raw = new byte[block.flip().getInt()];
+            inflater.reset();
+            inflater.setInput(block);
+            int filled = 0;
+            while (filled < raw.length && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, filled, raw.length - filled);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new DataFormatException("Block ends early");
+                }
+                filled += inflated;
+            }
+            return RowCodec.decode(raw, filled);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException(STR."Archive block at \{segment}:\{offset} is corrupt", e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Cold storage is closed");
+        }
+    }
+}
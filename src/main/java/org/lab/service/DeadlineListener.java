@@ -0,0 +1,14 @@
+package org.lab.service;
+
+import org.lab.model.Milestone;
+import org.lab.model.Ticket;
+
+/** Told by a {@link DeadlineMonitor} when a deadline passes, on the monitor's timer thread. */
+public interface DeadlineListener {
+
+    /** The ticket has been in progress without any change for longer than the monitor allows. */
+    default void ticketStuck(Ticket ticket) {}
+
+    /** The milestone is still active after its end date. */
+    default void milestoneOverdue(Milestone milestone) {}
+}
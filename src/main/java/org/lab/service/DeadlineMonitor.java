@@ -0,0 +1,202 @@
+package org.lab.service;
+
+import org.lab.model.*;
+import org.lab.timer.TimingWheel;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps a deadline per in-progress ticket and active milestone on a
+ * {@link TimingWheel}, driven by the service's change notifications: a
+ * ticket entering or changing while {@code IN_PROGRESS} is (re)scheduled
+ * to go stuck {@code stuckAfter} after its last update, an {@code ACTIVE}
+ * milestone to go overdue once its end date has passed, and any other
+ * transition cancels the deadline. Expired deadlines mark the entity and
+ * are reported to the {@link DeadlineListener}s, so asking for a project's
+ * stuck tickets or overdue milestones costs a map lookup instead of a scan.
+ *
+ * <p>The wheel advances on a daemon thread every tick unless the monitor
+ * was created with {@link #manual}, in which case the owner calls
+ * {@link #advance()}.
+ */
+public final class DeadlineMonitor implements ChangeListener, AutoCloseable {
+
+    public static final Duration DEFAULT_STUCK_AFTER = Duration.ofDays(7);
+    public static final Duration DEFAULT_TICK = Duration.ofSeconds(1);
+
+    /** What a deadline belongs to; the version tells a stale expiry from a live one. */
+    private record Deadline(UUID id, UUID projectId, boolean milestone, long version) {}
+
+    private record Scheduled(long version, TimingWheel.Timeout<Deadline> timeout) {}
+
+    private final ProjectManagementService service;
+    private final Clock clock;
+    private final Duration stuckAfter;
+    private final TimingWheel<Deadline> wheel;
+    private final Map<UUID, Scheduled> scheduled = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> stuckTickets = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> overdueMilestones = new ConcurrentHashMap<>();
+    private final List<DeadlineListener> listeners = new CopyOnWriteArrayList<>();
+    private final Thread ticker;
+    private volatile boolean closed;
+
+    private DeadlineMonitor(ProjectManagementService service, Clock clock, Duration stuckAfter, Duration tick,
+                            boolean ticking) {
+        this.service = service;
+        this.clock = clock;
+        this.stuckAfter = stuckAfter;
+        this.wheel = new TimingWheel<>(tick.toMillis(), clock.millis());
+        this.ticker = ticking ? Thread.ofPlatform().daemon().name("deadline-monitor").unstarted(() -> {
+            while (!closed) {
+                try {
+                    Thread.sleep(tick);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                advance();
+            }
+        }) : null;
+    }
+
+    /** Watches the service's current and future tickets and milestones, ticking on its own thread. */
+    public static DeadlineMonitor start(ProjectManagementService service, Duration stuckAfter) {
+        var monitor = attach(new DeadlineMonitor(service, Clock.systemDefaultZone(), stuckAfter, DEFAULT_TICK, true));
+        monitor.ticker.start();
+        return monitor;
+    }
+
+    /** A monitor that only moves when {@link #advance()} is called, reading time from {@code clock}. */
+    public static DeadlineMonitor manual(ProjectManagementService service, Clock clock, Duration stuckAfter,
+                                         Duration tick) {
+        return attach(new DeadlineMonitor(service, clock, stuckAfter, tick, false));
+    }
+
+    private static DeadlineMonitor attach(DeadlineMonitor monitor) {
+        // Listen before replaying so nothing changed in between is missed; versions sort out the overlap.
+        monitor.service.addChangeListener(monitor);
+        monitor.service.replayTo(monitor);
+        return monitor;
+    }
+
+    public void addListener(DeadlineListener listener) {
+        listeners.add(listener);
+    }
+
+    /** Fires every deadline that has passed by the clock's current time; returns how many fired. */
+    public int advance() {
+        return wheel.advance(clock.millis(), this::expire);
+    }
+
+    public Set<UUID> stuckTickets(UUID projectId) {
+        return Set.copyOf(stuckTickets.getOrDefault(projectId, Set.of()));
+    }
+
+    public Set<UUID> overdueMilestones(UUID projectId) {
+        return Set.copyOf(overdueMilestones.getOrDefault(projectId, Set.of()));
+    }
+
+    public int stuckTicketCount(UUID projectId) {
+        return stuckTickets.getOrDefault(projectId, Set.of()).size();
+    }
+
+    public int overdueMilestoneCount(UUID projectId) {
+        return overdueMilestones.getOrDefault(projectId, Set.of()).size();
+    }
+
+    /** Deadlines currently waiting on the wheel. */
+    public int pendingDeadlines() {
+        return wheel.size();
+    }
+
+    @Override
+    public void ticketChanged(Ticket ticket) {
+        LocalDateTime deadline = ticket.status() == TicketStatus.IN_PROGRESS
+                ? ticket.updatedAt().plus(stuckAfter)
+                : null;
+        track(new Deadline(ticket.id(), ticket.projectId(), false, ticket.version()), deadline);
+    }
+
+    @Override
+    public void milestoneChanged(Milestone milestone) {
+        LocalDateTime deadline = milestone.status() == MilestoneStatus.ACTIVE && milestone.endDate() != null
+                ? milestone.endDate().plusDays(1).atStartOfDay()
+                : null;
+        track(new Deadline(milestone.id(), milestone.projectId(), true, milestone.version()), deadline);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        service.removeChangeListener(this);
+        if (ticker != null) {
+            ticker.interrupt();
+        }
+    }
+
+    /**
+     * Replaces the entity's deadline unless a newer version is already
+     * scheduled; a null deadline cancels. Only pending deadlines are
+     * remembered, so a late notification about an older version can still
+     * schedule one; {@link #expire} drops it by checking the stored entity.
+     */
+    private void track(Deadline key, LocalDateTime deadline) {
+        scheduled.compute(key.id(), (id, current) -> {
+            if (current != null) {
+                if (current.version() > key.version()) {
+                    return current;
+                }
+                current.timeout().cancel();
+            }
+            unmark(key);
+            if (deadline == null) {
+                return null;
+            }
+            long millis = deadline.atZone(clock.getZone()).toInstant().toEpochMilli();
+            return new Scheduled(key.version(), wheel.schedule(millis, key));
+        });
+    }
+
+    private void expire(Deadline deadline) {
+        var fired = new boolean[1];
+        scheduled.computeIfPresent(deadline.id(), (id, current) -> {
+            if (current.version() != deadline.version()) {
+                return current;
+            }
+            long stored = deadline.milestone()
+                    ? service.getMilestone(id).map(Milestone::version).orElse(-1L)
+                    : service.getTicket(id).map(Ticket::version).orElse(-1L);
+            if (stored == deadline.version()) {
+                marks(deadline).computeIfAbsent(deadline.projectId(), p -> ConcurrentHashMap.newKeySet()).add(id);
+                fired[0] = true;
+            }
+            return null;
+        });
+        if (!fired[0] || listeners.isEmpty()) {
+            return;
+        }
+        if (deadline.milestone()) {
+            service.getMilestone(deadline.id()).ifPresent(m -> listeners.forEach(l -> l.milestoneOverdue(m)));
+        } else {
+            service.getTicket(deadline.id()).ifPresent(t -> listeners.forEach(l -> l.ticketStuck(t)));
+        }
+    }
+
+    private void unmark(Deadline key) {
+        marks(key).computeIfPresent(key.projectId(), (projectId, ids) -> {
+            ids.remove(key.id());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    private Map<UUID, Set<UUID>> marks(Deadline deadline) {
+        return deadline.milestone() ? overdueMilestones : stuckTickets;
+    }
+}
@@ -0,0 +1,6 @@
+package org.lab.service;
+
+import java.util.UUID;
+
+/** A developer of a project with the number of open tickets assigned to them there. */
+public record DeveloperLoad(UUID userId, int openTickets) {}
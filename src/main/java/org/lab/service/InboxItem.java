@@ -0,0 +1,57 @@
+package org.lab.service;
+
+import org.lab.model.BugReport;
+import org.lab.model.Ticket;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * One open ticket or bug report on a user's plate, as listed by
+ * {@link ProjectManagementService#getInbox}. Lower {@code priority} comes
+ * first: bug reports rank by severity (critical 0, high 1, medium 2, low 3,
+ * anything else 4), tickets by how far along they are (in progress 1,
+ * accepted 2, new 3). Within a priority the item waiting longest since its
+ * last update comes first.
+ */
+public record InboxItem(
+        Kind kind,
+        UUID id,
+        UUID projectId,
+        String title,
+        String status,
+        int priority,
+        LocalDateTime updatedAt,
+        long version
+) {
+    public enum Kind { TICKET, BUG_REPORT }
+
+    static final Comparator<InboxItem> ORDER = Comparator.comparingInt(InboxItem::priority)
+            .thenComparing(InboxItem::updatedAt)
+            .thenComparing(InboxItem::id)
+            .thenComparingLong(InboxItem::version);
+
+    static InboxItem of(Ticket ticket) {
+        int priority = switch (ticket.status()) {
+            case IN_PROGRESS -> 1;
+            case ACCEPTED -> 2;
+            case NEW, COMPLETED -> 3;
+        };
+        return new InboxItem(Kind.TICKET, ticket.id(), ticket.projectId(), ticket.title(), ticket.status().name(),
+                priority, ticket.updatedAt(), ticket.version());
+    }
+
+    static InboxItem of(BugReport bugReport) {
+        int priority = switch (bugReport.severity().toLowerCase(Locale.ROOT)) {
+            case "critical" -> 0;
+            case "high" -> 1;
+            case "medium" -> 2;
+            case "low" -> 3;
+            default -> 4;
+        };
+        return new InboxItem(Kind.BUG_REPORT, bugReport.id(), bugReport.projectId(), bugReport.title(),
+                bugReport.status().name(), priority, bugReport.updatedAt(), bugReport.version());
+    }
+}
@@ -0,0 +1,76 @@
+package org.lab.service;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-only list of entities that are fetched only when asked for. The ids
+ * are resolved on first use and fixed from then on; {@link #page} fetches
+ * just the entities of one slice of them, while any other list access
+ * fetches them all once and keeps the result. Entities that disappeared
+ * after their ids were resolved are skipped, so a page may come back short.
+ */
+public final class LazyView<T> extends AbstractList<T> {
+
+    private final Supplier<List<UUID>> idSource;
+    private final Function<UUID, Optional<T>> fetch;
+    private List<UUID> ids;
+    private List<T> loaded;
+
+    public LazyView(Supplier<List<UUID>> idSource, Function<UUID, Optional<T>> fetch) {
+        this.idSource = idSource;
+        this.fetch = fetch;
+    }
+
+    /** The ids of the view, in the order pages are cut from. */
+    public synchronized List<UUID> ids() {
+        if (ids == null) {
+            ids = List.copyOf(idSource.get());
+        }
+        return ids;
+    }
+
+    /** Up to {@code limit} entities starting at the {@code offset}-th id. */
+    public List<T> page(int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException(STR."Invalid page: offset \{offset}, limit \{limit}");
+        }
+        var all = ids();
+        int to = (int) Math.min(all.size(), (long) offset + limit);
+        if (offset >= to) {
+            return List.of();
+        }
+        var page = new ArrayList<T>(to - offset);
+        for (var id : all.subList(offset, to)) {
+            fetch.apply(id).ifPresent(page::add);
+        }
+        return page;
+    }
+
+    /** Whether every entity has been fetched already. */
+    public synchronized boolean isLoaded() {
+        return loaded != null;
+    }
+
+    @Override
+    public T get(int index) {
+        return load().get(index);
+    }
+
+    @Override
+    public int size() {
+        return load().size();
+    }
+
+    private synchronized List<T> load() {
+        if (loaded == null) {
+            loaded = List.copyOf(page(0, ids().size()));
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,227 @@
+package org.lab.service;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps texts as UTF-8 bytes in chunks allocated from a shared {@link Arena}.
+ * Records stored in the service carry {@code null} instead of the text, which
+ * is decoded again on each {@link #load}. Space of released or replaced
+ * texts is reclaimed by {@link #compact()}, which runs automatically once the
+ * dead share of the arena exceeds the configured ratio.
+ * <p>
+ * Slot locations are kept in primitive arrays rather than a map of objects,
+ * so a million stored texts add no per-entry objects for the GC to trace.
+ * <p>
+ * Reads share a read lock, so descriptions are decoded concurrently; only
+ * stores, releases and compaction take the write lock.
+ */
+public final class OffHeapTextStorage implements TextStorage, AutoCloseable {
+
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+    public static final double DEFAULT_COMPACTION_RATIO = 0.5;
+
+    private final int chunkSize;
+    private final double compactionRatio;
+    private final SlotTable slots = new SlotTable();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Arena arena;
+    private List<MemorySegment> chunks;
+    private long writeOffset;
+    private long usedBytes;
+    private long deadBytes;
+    private boolean closed;
+
+    public OffHeapTextStorage() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_COMPACTION_RATIO);
+    }
+
+    public OffHeapTextStorage(int chunkSize, double compactionRatio) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        if (compactionRatio <= 0 || compactionRatio > 1) {
+            throw new IllegalArgumentException("Compaction ratio must be in (0, 1]");
+        }
+        this.chunkSize = chunkSize;
+        this.compactionRatio = compactionRatio;
+        this.arena = Arena.ofShared();
+        this.chunks = new ArrayList<>();
+    }
+
+    @Override
+    public String store(UUID ownerId, String text) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            int previousLength = text == null
+                    ? slots.remove(ownerId.getMostSignificantBits(), ownerId.getLeastSignificantBits())
+                    : append(ownerId, text);
+            if (previousLength >= 0) {
+                deadBytes += previousLength;
+                compactIfNeeded();
+            }
+            return null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public String load(UUID ownerId, String stored) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            int index = slots.indexOf(ownerId.getMostSignificantBits(), ownerId.getLeastSignificantBits());
+            if (index < 0) {
+                return stored;
+            }
+            var bytes = chunks.get(slots.chunk(index))
+                    .asSlice(slots.offset(index), slots.length(index))
+                    .toArray(ValueLayout.JAVA_BYTE);
+            return new String(bytes, StandardCharsets.UTF_8);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void release(UUID ownerId) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            int length = slots.remove(ownerId.getMostSignificantBits(), ownerId.getLeastSignificantBits());
+            if (length >= 0) {
+                deadBytes += length;
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Copies live texts into a fresh arena and frees the old one. */
+    public void compact() {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            relocateAll();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void relocateAll() {
+        var oldChunks = chunks;
+        var oldArena = arena;
+
+        arena = Arena.ofShared();
+        chunks = new ArrayList<>();
+        writeOffset = 0;
+        usedBytes = 0;
+        deadBytes = 0;
+
+        for (int index = 0; index < slots.capacity(); index++) {
+            int length = slots.length(index);
+            if (length < 0) {
+                continue;
+            }
+            long location = reserve(length);
+            MemorySegment.copy(oldChunks.get(slots.chunk(index)), slots.offset(index),
+                    chunks.get(SlotTable.chunkOf(location)), SlotTable.offsetOf(location), length);
+            slots.relocate(index, location);
+        }
+        oldArena.close();
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Bytes written to the arena, including texts that are no longer referenced. */
+    public long usedBytes() {
+        lock.readLock().lock();
+        try {
+            return usedBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long liveBytes() {
+        lock.readLock().lock();
+        try {
+            return usedBytes - deadBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long reservedBytes() {
+        lock.readLock().lock();
+        try {
+            return chunks.stream().mapToLong(MemorySegment::byteSize).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (!closed) {
+                closed = true;
+                chunks = List.of();
+                arena.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Writes the text and records its slot, returning the length of the replaced text or -1. */
+    private int append(UUID ownerId, String text) {
+        var bytes = text.getBytes(StandardCharsets.UTF_8);
+        long location = reserve(bytes.length);
+        MemorySegment.copy(bytes, 0, chunks.get(SlotTable.chunkOf(location)), ValueLayout.JAVA_BYTE,
+                SlotTable.offsetOf(location), bytes.length);
+        return slots.put(ownerId.getMostSignificantBits(), ownerId.getLeastSignificantBits(),
+                location, bytes.length);
+    }
+
+    private long reserve(int length) {
+        if (chunks.isEmpty() || writeOffset + length > chunks.getLast().byteSize()) {
+            chunks.add(arena.allocate(Math.max(chunkSize, length)));
+            writeOffset = 0;
+        }
+        long location = SlotTable.location(chunks.size() - 1, writeOffset);
+        writeOffset += length;
+        usedBytes += length;
+        return location;
+    }
+
+    private void compactIfNeeded() {
+        if (usedBytes > chunkSize && deadBytes > usedBytes * compactionRatio) {
+            relocateAll();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Text storage is closed");
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package org.lab.service;
+
+import org.lab.model.Role;
+import org.lab.service.PermissionChecker.Permission;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * What one user may do in each of their projects, as decided by
+ * {@link PermissionChecker#hasPermission} for their role there. Immutable:
+ * the service builds it once and hands out the same instance until one of
+ * the user's memberships changes.
+ */
+public final class PermissionMatrix {
+
+    /** Every permission, in bit order. */
+    public static final List<Permission> PERMISSIONS = List.of(
+            new Permission.CanManageUsers(),
+            new Permission.CanManageMilestones(),
+            new Permission.CanManageTickets(),
+            new Permission.CanCreateTickets(),
+            new Permission.CanWorkOnTickets(),
+            new Permission.CanCreateBugReports(),
+            new Permission.CanFixBugReports(),
+            new Permission.CanTestBugReports());
+
+    private static final int MANAGER = mask(new Role.Manager());
+    private static final int TEAM_LEADER = mask(new Role.TeamLeader());
+    private static final int DEVELOPER = mask(new Role.Developer());
+    private static final int TESTER = mask(new Role.Tester());
+
+    private final UUID userId;
+    private final Map<UUID, Role> roles;
+
+    PermissionMatrix(UUID userId, Map<UUID, Role> roles) {
+        this.userId = userId;
+        this.roles = Map.copyOf(roles);
+    }
+
+    public UUID userId() {
+        return userId;
+    }
+
+    /** The projects the user has a role in. */
+    public Set<UUID> projects() {
+        return roles.keySet();
+    }
+
+    public Optional<Role> role(UUID projectId) {
+        return Optional.ofNullable(roles.get(projectId));
+    }
+
+    public boolean has(UUID projectId, Permission permission) {
+        var role = roles.get(projectId);
+        return role != null && (maskOf(role) & 1 << PERMISSIONS.indexOf(permission)) != 0;
+    }
+
+    /** The user's permissions in the project, none if they are not a member. */
+    public Set<Permission> permissions(UUID projectId) {
+        var role = roles.get(projectId);
+        if (role == null) {
+            return Set.of();
+        }
+        int mask = maskOf(role);
+        var granted = new LinkedHashSet<Permission>();
+        for (int bit = 0; bit < PERMISSIONS.size(); bit++) {
+            if ((mask & 1 << bit) != 0) {
+                granted.add(PERMISSIONS.get(bit));
+            }
+        }
+        return granted;
+    }
+
+    Map<UUID, Role> roles() {
+        return roles;
+    }
+
+    private static int maskOf(Role role) {
+        return switch (role) {
+            case Role.Manager m -> MANAGER;
+            case Role.TeamLeader t -> TEAM_LEADER;
+            case Role.Developer d -> DEVELOPER;
+            case Role.Tester t -> TESTER;
+        };
+    }
+
+    private static int mask(Role role) {
+        int mask = 0;
+        for (int bit = 0; bit < PERMISSIONS.size(); bit++) {
+            if (PermissionChecker.hasPermission(role, PERMISSIONS.get(bit))) {
+                mask |= 1 << bit;
+            }
+        }
+        return mask;
+    }
+}
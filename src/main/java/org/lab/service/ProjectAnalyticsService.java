@@ -1,7 +1,10 @@
 package org.lab.service;
 
 import org.lab.model.*;
+import org.lab.query.BugQueries;
+import org.lab.query.TicketQueries;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.StructuredTaskScope;
@@ -9,18 +12,55 @@ import java.util.concurrent.StructuredTaskScope;
 public class ProjectAnalyticsService {
 
     private final ProjectManagementService projectService;
+    private final StatusKernel kernel;
+    private final DeadlineMonitor deadlines;
+    private final ProjectStatsCalculator calculator;
 
     public ProjectAnalyticsService(ProjectManagementService projectService) {
+        this(projectService, StatusKernels.preferred());
+    }
+
+    public ProjectAnalyticsService(ProjectManagementService projectService, StatusKernel kernel) {
+        this(projectService, kernel, null);
+    }
+
+    /**
+     * With a {@link DeadlineMonitor}, the health check reads stuck tickets and
+     * overdue milestones from it instead of scanning the project; the monitor
+     * decides how long a ticket may sit in progress.
+     */
+    public ProjectAnalyticsService(ProjectManagementService projectService, StatusKernel kernel,
+                                   DeadlineMonitor deadlines) {
         this.projectService = projectService;
+        this.kernel = kernel;
+        this.deadlines = deadlines;
+        this.calculator = new ProjectStatsCalculator(kernel, ProjectStatsCalculator.DEFAULT_PARALLEL_THRESHOLD);
     }
 
+    /**
+     * Analytics of one project. The stats are taken when the record is
+     * created; the entity lists are {@link LazyView}s that load on first
+     * access, so a caller reading only the stats never touches the tickets,
+     * bug reports or milestones.
+     */
     public record ProjectAnalytics(
             Project project,
-            List<Ticket> tickets,
-            List<BugReport> bugReports,
-            List<Milestone> milestones,
+            LazyView<Ticket> tickets,
+            LazyView<BugReport> bugReports,
+            LazyView<Milestone> milestones,
             ProjectStats stats
-    ) {}
+    ) {
+        /** Loads all three lists at once, for callers that are going to read them all. */
+        public ProjectAnalytics loadAll() throws Exception {
+            try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
+                scope.fork(tickets::size);
+                scope.fork(bugReports::size);
+                scope.fork(milestones::size);
+                scope.join().throwIfFailed();
+            }
+            return this;
+        }
+    }
 
     public record ProjectStats(
             int totalTickets,
@@ -29,43 +69,64 @@ public class ProjectAnalyticsService {
             int criticalBugs,
             int activeMilestones,
             double completionPercentage
-    ) {}
+    ) {
+        public static ProjectStats of(int totalTickets, int completedTickets, int openBugs,
+                                      int criticalBugs, int activeMilestones) {
+            double completionPercentage = totalTickets > 0
+                    ? (double) completedTickets / totalTickets * 100
+                    : 0.0;
+
+            return new ProjectStats(totalTickets, completedTickets, openBugs,
+                    criticalBugs, activeMilestones, completionPercentage);
+        }
+    }
 
     public record HealthCheckResult(boolean healthy, String issue) {}
 
-    public ProjectAnalytics getProjectAnalytics(UUID projectId) throws Exception {
+    /** Stats come from the service's running totals; nothing is loaded until a list is read. */
+    public ProjectAnalytics getProjectAnalytics(UUID projectId) {
         var project = projectService.getProject(projectId)
                 .orElseThrow(() -> new IllegalArgumentException(
                         STR."Project \{projectId} not found"));
 
-        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
-            var ticketsFuture = scope.fork(() -> loadTicketsForProject(project));
-            var bugsFuture = scope.fork(() -> loadBugReportsForProject(project));
-            var milestonesFuture = scope.fork(() -> loadMilestonesForProject(project));
-
-            scope.join().throwIfFailed();
-
-            var tickets = ticketsFuture.get();
-            var bugs = bugsFuture.get();
-            var milestones = milestonesFuture.get();
-            var stats = calculateStats(tickets, bugs, milestones);
-
-            return new ProjectAnalytics(project, tickets, bugs, milestones, stats);
-        }
+        return new ProjectAnalytics(project,
+                new LazyView<>(() -> loadTicketIds(project), projectService::getTicket),
+                new LazyView<>(() -> loadBugReportIds(project), projectService::getBugReport),
+                new LazyView<>(() -> loadMilestoneIds(project), projectService::getMilestone),
+                projectService.getProjectStats(projectId));
     }
 
-    public List<ProjectAnalytics> getMultipleProjectsAnalytics(List<UUID> projectIds) throws Exception {
-        try (var scope = new StructuredTaskScope.ShutdownOnFailure()) {
-            var futures = projectIds.stream()
-                    .map(id -> scope.fork(() -> getProjectAnalytics(id)))
-                    .toList();
+    /**
+     * Recounts the project's stats from its stored tickets, bug reports and
+     * milestones with {@link ProjectStatsCalculator}, bypassing the running
+     * totals; for auditing those totals, e.g. after a bulk load.
+     */
+    public ProjectStats recountProjectStats(UUID projectId) {
+        projectService.getProject(projectId)
+                .orElseThrow(() -> new IllegalArgumentException(
+                        STR."Project \{projectId} not found"));
+        return calculator.calculate(projectService.getTicketsByProject(projectId),
+                projectService.getBugReportsByProject(projectId),
+                projectService.getMilestonesByProject(projectId));
+    }
 
-            scope.join().throwIfFailed();
+    /** True if the running totals agree with a full {@link #recountProjectStats recount}. */
+    public boolean verifyProjectStats(UUID projectId) {
+        return recountProjectStats(projectId).equals(projectService.getProjectStats(projectId));
+    }
 
-            return futures.stream()
-                    .map(StructuredTaskScope.Subtask::get)
-                    .toList();
+    /**
+     * Handles for several projects, built one after another: each is a map
+     * lookup plus a read of the running totals, cheaper than forking a
+     * thread for it. The slow part, loading the lists, happens later and
+     * concurrently through {@link ProjectAnalytics#loadAll()}.
+     */
+    public List<ProjectAnalytics> getMultipleProjectsAnalytics(List<UUID> projectIds) {
+        var result = new ArrayList<ProjectAnalytics>(projectIds.size());
+        for (var projectId : projectIds) {
+            result.add(getProjectAnalytics(projectId));
         }
+        return result;
     }
 
     public HealthCheckResult quickHealthCheck(UUID projectId) throws Exception {
@@ -88,19 +149,19 @@ public class ProjectAnalyticsService {
         }
     }
 
-    private List<Ticket> loadTicketsForProject(Project project) {
+    private List<UUID> loadTicketIds(Project project) {
         simulateLatency();
-        return projectService.getTicketsByProject(project.id());
+        return projectService.findTicketIds(TicketQueries.inProject(project.id()));
     }
 
-    private List<BugReport> loadBugReportsForProject(Project project) {
+    private List<UUID> loadBugReportIds(Project project) {
         simulateLatency();
-        return projectService.getBugReportsByProject(project.id());
+        return projectService.findBugReportIds(BugQueries.inProject(project.id()));
     }
 
-    private List<Milestone> loadMilestonesForProject(Project project) {
+    private List<UUID> loadMilestoneIds(Project project) {
         simulateLatency();
-        return projectService.getMilestonesByProject(project.id());
+        return projectService.getMilestonesByProject(project.id()).stream().map(Milestone::id).toList();
     }
 
     private HealthCheckResult checkForCriticalBugs(Project project) throws InterruptedException {
@@ -119,11 +180,7 @@ public class ProjectAnalyticsService {
     }
 
     private HealthCheckResult checkForOverdueTickets(Project project) throws InterruptedException {
-        var tickets = projectService.getTicketsByProject(project.id());
-        var stuckTickets = tickets.stream()
-                .filter(t -> t.status() == TicketStatus.IN_PROGRESS)
-                .filter(t -> t.updatedAt().isBefore(java.time.LocalDateTime.now().minusDays(7)))
-                .count();
+        long stuckTickets = deadlines != null ? deadlines.stuckTicketCount(project.id()) : scanStuckTickets(project);
 
         if (stuckTickets > 0) {
             return new HealthCheckResult(false,
@@ -133,12 +190,18 @@ public class ProjectAnalyticsService {
         throw new RuntimeException("No overdue tickets");
     }
 
+    private long scanStuckTickets(Project project) {
+        return projectService.countTicketsBefore(project.id(), TicketStatus.IN_PROGRESS,
+                java.time.LocalDateTime.now().minusDays(7), kernel);
+    }
+
     private HealthCheckResult checkForStuckMilestones(Project project) throws InterruptedException {
-        var milestones = projectService.getMilestonesByProject(project.id());
-        var overdue = milestones.stream()
-                .filter(m -> m.status() == MilestoneStatus.ACTIVE)
-                .filter(m -> m.endDate().isBefore(java.time.LocalDate.now()))
-                .findFirst();
+        var overdue = deadlines != null
+                ? deadlines.overdueMilestones(project.id()).stream().findFirst().flatMap(projectService::getMilestone)
+                : projectService.getMilestonesByProject(project.id()).stream()
+                        .filter(m -> m.status() == MilestoneStatus.ACTIVE)
+                        .filter(m -> m.endDate().isBefore(java.time.LocalDate.now()))
+                        .findFirst();
 
         if (overdue.isPresent()) {
             return new HealthCheckResult(false,
@@ -148,33 +211,6 @@ public class ProjectAnalyticsService {
         throw new RuntimeException("No stuck milestones");
     }
 
-    private ProjectStats calculateStats(List<Ticket> tickets, List<BugReport> bugs, List<Milestone> milestones) {
-        int totalTickets = tickets.size();
-        int completedTickets = (int) tickets.stream()
-                .filter(t -> t.status() == TicketStatus.COMPLETED)
-                .count();
-
-        int openBugs = (int) bugs.stream()
-                .filter(b -> b.status() == BugReportStatus.NEW)
-                .count();
-
-        int criticalBugs = (int) bugs.stream()
-                .filter(b -> "critical".equalsIgnoreCase(b.severity()))
-                .filter(b -> b.status() != BugReportStatus.CLOSED)
-                .count();
-
-        int activeMilestones = (int) milestones.stream()
-                .filter(m -> m.status() == MilestoneStatus.ACTIVE)
-                .count();
-
-        double completionPercentage = totalTickets > 0
-                ? (double) completedTickets / totalTickets * 100
-                : 0.0;
-
-        return new ProjectStats(totalTickets, completedTickets, openBugs,
-                criticalBugs, activeMilestones, completionPercentage);
-    }
-
     private void simulateLatency() {
         try {
             Thread.sleep(50);
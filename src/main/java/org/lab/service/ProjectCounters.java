@@ -0,0 +1,76 @@
+package org.lab.service;
+
+import org.lab.model.*;
+import org.lab.service.ProjectAnalyticsService.ProjectStats;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Running per-project totals behind {@link ProjectStats}. The service
+ * reports every stored entity it replaces as (previous, current), null on
+ * either side for an insert or an eviction, and each report adds the
+ * difference of the two contributions; since those differences telescope,
+ * racing updates leave the totals right whatever order they are reported
+ * in. Reading stats is then a map lookup. Archived tickets are not
+ * reported as evicted, so they stay in the totals.
+ */
+final class ProjectCounters {
+    private static final int TICKETS = 0;
+    private static final int COMPLETED_TICKETS = 1;
+    private static final int OPEN_BUGS = 2;
+    private static final int CRITICAL_BUGS = 3;
+    private static final int ACTIVE_MILESTONES = 4;
+
+    private final Map<UUID, AtomicIntegerArray> byProject = new ConcurrentHashMap<>();
+
+    void ticketReplaced(Ticket previous, Ticket current) {
+        if (previous != null) {
+            add(previous.projectId(), TICKETS, -1);
+            add(previous.projectId(), COMPLETED_TICKETS, previous.status().isCompleted() ? -1 : 0);
+        }
+        if (current != null) {
+            add(current.projectId(), TICKETS, 1);
+            add(current.projectId(), COMPLETED_TICKETS, current.status().isCompleted() ? 1 : 0);
+        }
+    }
+
+    void bugReportReplaced(BugReport previous, BugReport current) {
+        if (previous != null) {
+            add(previous.projectId(), OPEN_BUGS, previous.status() == BugReportStatus.NEW ? -1 : 0);
+            add(previous.projectId(), CRITICAL_BUGS, critical(previous) ? -1 : 0);
+        }
+        if (current != null) {
+            add(current.projectId(), OPEN_BUGS, current.status() == BugReportStatus.NEW ? 1 : 0);
+            add(current.projectId(), CRITICAL_BUGS, critical(current) ? 1 : 0);
+        }
+    }
+
+    /** A milestone of the project went from {@code previous} to {@code current} status; null if absent. */
+    void milestoneChanged(UUID projectId, MilestoneStatus previous, MilestoneStatus current) {
+        int delta = (current == MilestoneStatus.ACTIVE ? 1 : 0) - (previous == MilestoneStatus.ACTIVE ? 1 : 0);
+        add(projectId, ACTIVE_MILESTONES, delta);
+    }
+
+    ProjectStats stats(UUID projectId) {
+        var counts = byProject.get(projectId);
+        if (counts == null) {
+            return ProjectStats.of(0, 0, 0, 0, 0);
+        }
+        return ProjectStats.of(counts.get(TICKETS), counts.get(COMPLETED_TICKETS), counts.get(OPEN_BUGS),
+                counts.get(CRITICAL_BUGS), counts.get(ACTIVE_MILESTONES));
+    }
+
+    private void add(UUID projectId, int counter, int delta) {
+        if (delta != 0) {
+            byProject.computeIfAbsent(projectId, id -> new AtomicIntegerArray(ACTIVE_MILESTONES + 1))
+                    .addAndGet(counter, delta);
+        }
+    }
+
+    private static boolean critical(BugReport bugReport) {
+        return bugReport.status() != BugReportStatus.CLOSED && "critical".equalsIgnoreCase(bugReport.severity());
+    }
+}
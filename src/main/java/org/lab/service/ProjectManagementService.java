@@ -1,22 +1,109 @@
 package org.lab.service;
 
+import org.lab.graph.DependencyGraph;
 import org.lab.model.*;
+import org.lab.query.BugQueries;
+import org.lab.query.Criterion;
+import org.lab.query.QueryPlan;
+import org.lab.query.QueryPlanner;
+import org.lab.query.TicketQueries;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+/**
+ * Safe for concurrent use: ticket and bug report updates are
+ * compare-and-set on their version, projects and milestones guard their
+ * own mutable state. Ticket, bug report and milestone updates have a
+ * variant taking the version the caller last saw, failing with
+ * {@link StaleVersionException} if it moved on. Every change is reported to
+ * the registered {@link ChangeListener}s.
+ *
+ * <p>With a {@link ColdStorage}, a milestone is moved there with its
+ * tickets once it closes, and a bug report once it is closed. Archived
+ * entities are read-only, stay reachable through {@link #getMilestone},
+ * {@link #getTicket}, {@link #getBugReport} and
+ * {@link #getTicketsByMilestone}, and drop out of queries, listings and
+ * replays, which cover active work only. {@link #getProjectStats} keeps
+ * counting archived tickets, so archiving does not change a project's
+ * progress.
+ */
 public class ProjectManagementService {
-    private final Map<UUID, User> users = new HashMap<>();
-    private final Map<UUID, Project> projects = new HashMap<>();
-    private final Map<UUID, Milestone> milestones = new HashMap<>();
-    private final Map<UUID, Ticket> tickets = new HashMap<>();
-    private final Map<UUID, BugReport> bugReports = new HashMap<>();
+    /** Passed as expected version to apply an update whatever the current version is. */
+    public static final long ANY_VERSION = -1;
+    private static final System.Logger LOG = System.getLogger(ProjectManagementService.class.getName());
+    static final int MAX_UPDATE_ATTEMPTS = 16;
 
+    private final Map<UUID, User> users = new ConcurrentHashMap<>();
+    private final UserIndex userIndex = new UserIndex();
+    private final Map<UUID, Project> projects = new ConcurrentHashMap<>();
+    private final Map<UUID, Milestone> milestones = new ConcurrentHashMap<>();
+    private final Map<UUID, Ticket> tickets = new ConcurrentHashMap<>();
+    private final Map<UUID, BugReport> bugReports = new ConcurrentHashMap<>();
+    private final Map<UUID, Set<UUID>> projectsByMember = new ConcurrentHashMap<>();
+    private final Map<UUID, PermissionMatrix> permissionMatrices = new ConcurrentHashMap<>();
+    private final TextStorage textStorage;
+    private final ColdStorage archive;
+    private final QueryPlanner<Ticket> ticketQueries =
+            new QueryPlanner<>(tickets, this::materialize, TicketQueries.INDEXED, TicketQueries.UPDATED_AT);
+    private final QueryPlanner<BugReport> bugQueries =
+            new QueryPlanner<>(bugReports, this::materialize, BugQueries.INDEXED, BugQueries.UPDATED_AT);
+    private final ProjectCounters counters = new ProjectCounters();
+    private final TicketColumnIndex ticketColumns = new TicketColumnIndex();
+    private final UserInbox inbox = new UserInbox();
+    private final WorkloadIndex workload = new WorkloadIndex();
+    private final Map<UUID, DependencyGraph> dependencies = new ConcurrentHashMap<>();
+    private final List<ChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    public ProjectManagementService() {
+        this(TextStorage.onHeap());
+    }
+
+    public ProjectManagementService(TextStorage textStorage) {
+        this(textStorage, null);
+    }
+
+    /** A service moving closed aggregates to {@code archive}, or keeping everything on-heap if it is null. */
+    public ProjectManagementService(TextStorage textStorage, ColdStorage archive) {
+        this.textStorage = textStorage;
+        this.archive = archive;
+    }
+
+    public void addChangeListener(ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Reports every stored entity to {@code listener} as if it had just
+     * changed, users first, then projects, milestones, tickets and bug
+     * reports. Entities changed while the replay runs may be reported again
+     * by the regular notifications.
+     */
+    public void replayTo(ChangeListener listener) {
+        users.values().forEach(listener::userChanged);
+        projects.values().forEach(p -> listener.projectChanged(p.snapshot()));
+        milestones.values().forEach(m -> listener.milestoneChanged(m.snapshot()));
+        tickets.values().forEach(t -> listener.ticketChanged(materialize(t)));
+        bugReports.values().forEach(b -> listener.bugReportChanged(materialize(b)));
+    }
+
+    /** Registers a user; usernames and emails are unique ignoring case, else {@link IllegalStateException}. */
     public User registerUser(String username, String email, String fullName) {
         var user = User.create(username, email, fullName);
+        userIndex.claim(user);
         users.put(user.id(), user);
+        publish(user);
         return user;
     }
 
@@ -24,211 +111,576 @@ public class ProjectManagementService {
         validateUserExists(creatorId);
         var project = Project.create(name, description, creatorId);
         projects.put(project.id(), project);
+        indexMember(creatorId, project.id());
+        publish(project);
         return project;
     }
 
     public void addTeamMember(UUID projectId, UUID userId, Role role, UUID requesterId) {
-        var project = getProjectOrThrow(projectId);
-        validateUserExists(userId);
-        validateManagerPermission(project, requesterId);
+        addTeamMember(projectId, userId, role, requesterId, ANY_VERSION);
+    }
 
-        project.addTeamMember(userId, role);
+    public void addTeamMember(UUID projectId, UUID userId, Role role, UUID requesterId, long expectedVersion) {
+        scope(projectId, requesterId).addTeamMember(userId, role, expectedVersion);
     }
 
     public void assignTeamLeader(UUID projectId, UUID userId, UUID requesterId) {
-        var project = getProjectOrThrow(projectId);
-        validateUserExists(userId);
-        validateManagerPermission(project, requesterId);
+        assignTeamLeader(projectId, userId, requesterId, ANY_VERSION);
+    }
 
-        project.setTeamLeader(userId);
+    public void assignTeamLeader(UUID projectId, UUID userId, UUID requesterId, long expectedVersion) {
+        scope(projectId, requesterId).assignTeamLeader(userId, expectedVersion);
     }
 
     public Milestone createMilestone(String name, String description, UUID projectId,
                                     LocalDate startDate, LocalDate endDate, UUID requesterId) {
-        var project = getProjectOrThrow(projectId);
-        validateManagerPermission(project, requesterId);
-
-        var milestone = Milestone.create(name, description, projectId, startDate, endDate);
-        milestones.put(milestone.id(), milestone);
-        project.addMilestone(milestone.id());
-
-        return milestone;
+        return scope(projectId, requesterId).createMilestone(name, description, startDate, endDate);
     }
 
     public void changeMilestoneStatus(UUID milestoneId, MilestoneStatus newStatus, UUID requesterId) {
+        changeMilestoneStatus(milestoneId, newStatus, requesterId, ANY_VERSION);
+    }
+
+    public void changeMilestoneStatus(UUID milestoneId, MilestoneStatus newStatus, UUID requesterId,
+                                      long expectedVersion) {
         var milestone = getMilestoneOrThrow(milestoneId);
-        var project = getProjectOrThrow(milestone.projectId());
-        validateManagerPermission(project, requesterId);
+        scope(milestone.projectId(), requesterId).changeMilestoneStatus(milestoneId, newStatus, expectedVersion);
+    }
+
+    public Ticket createTicket(String title, String description, UUID projectId,
+                              UUID milestoneId, UUID requesterId) {
+        return scope(projectId, requesterId).createTicket(title, description, milestoneId);
+    }
+
+    public void assignDevelopersToTicket(UUID ticketId, Set<UUID> developerIds, UUID requesterId) {
+        assignDevelopersToTicket(ticketId, developerIds, requesterId, ANY_VERSION);
+    }
+
+    public void assignDevelopersToTicket(UUID ticketId, Set<UUID> developerIds, UUID requesterId,
+                                         long expectedVersion) {
+        var ticket = getStoredTicketOrThrow(ticketId);
+        scope(ticket.projectId(), requesterId).assignDevelopersToTicket(ticketId, developerIds, expectedVersion);
+    }
+
+    public void updateTicketStatus(UUID ticketId, TicketStatus newStatus, UUID requesterId) {
+        updateTicketStatus(ticketId, newStatus, requesterId, ANY_VERSION);
+    }
 
-        if (newStatus == MilestoneStatus.CLOSED) {
-            var milestoneTickets = getTicketsByMilestone(milestoneId);
-            if (!milestone.canClose(milestoneTickets)) {
-                throw new IllegalStateException("Cannot close milestone - not all tickets are completed");
+    public void updateTicketStatus(UUID ticketId, TicketStatus newStatus, UUID requesterId,
+                                   long expectedVersion) {
+        var ticket = getStoredTicketOrThrow(ticketId);
+        scope(ticket.projectId(), requesterId).updateTicketStatus(ticketId, newStatus, expectedVersion);
+    }
+
+    public BugReport createBugReport(String title, String description, UUID projectId,
+                                    UUID reporterId, String severity) {
+        return scope(projectId, reporterId).createBugReport(title, description, severity);
+    }
+
+    public void assignBugReport(UUID bugReportId, UUID developerId, UUID requesterId) {
+        assignBugReport(bugReportId, developerId, requesterId, ANY_VERSION);
+    }
+
+    public void assignBugReport(UUID bugReportId, UUID developerId, UUID requesterId, long expectedVersion) {
+        var bugReport = getStoredBugReportOrThrow(bugReportId);
+        scope(bugReport.projectId(), requesterId).assignBugReport(bugReportId, developerId, expectedVersion);
+    }
+
+    public void updateBugReportStatus(UUID bugReportId, BugReportStatus newStatus, UUID requesterId) {
+        updateBugReportStatus(bugReportId, newStatus, requesterId, ANY_VERSION);
+    }
+
+    public void updateBugReportStatus(UUID bugReportId, BugReportStatus newStatus, UUID requesterId,
+                                      long expectedVersion) {
+        var bugReport = getStoredBugReportOrThrow(bugReportId);
+        scope(bugReport.projectId(), requesterId).updateBugReportStatus(bugReportId, newStatus, expectedVersion);
+    }
+
+    /**
+     * The project and the requester's role in it, looked up once for a run
+     * of changes instead of once per change; the service methods above each
+     * go through a fresh scope.
+     */
+    public ProjectScope scope(UUID projectId, UUID requesterId) {
+        return new ProjectScope(getProjectOrThrow(projectId), requesterId);
+    }
+
+    /**
+     * One requester acting on one project. Checks and effects are those of
+     * the equivalent service methods. The requester's role is re-read only
+     * after the scope changes that requester's own membership, so a role
+     * changed concurrently through another scope is seen by the next scope.
+     * Not safe for concurrent use. Entities of other projects are rejected
+     * with {@link IllegalArgumentException}.
+     */
+    public final class ProjectScope {
+        private final Project project;
+        private final UUID requesterId;
+        private Role role;
+
+        private ProjectScope(Project project, UUID requesterId) {
+            this.project = project;
+            this.requesterId = requesterId;
+            this.role = roleOf(project, requesterId);
+        }
+
+        public UUID projectId() {
+            return project.id();
+        }
+
+        public UUID requesterId() {
+            return requesterId;
+        }
+
+        public void addTeamMember(UUID userId, Role role) {
+            addTeamMember(userId, role, ANY_VERSION);
+        }
+
+        public void addTeamMember(UUID userId, Role role, long expectedVersion) {
+            validateUserExists(userId);
+            validateManagerPermission(this.role);
+
+            if (expectedVersion == ANY_VERSION) {
+                project.addTeamMember(userId, role);
+            } else {
+                project.addTeamMember(userId, role, expectedVersion);
             }
+            memberChanged(userId);
+        }
+
+        public void assignTeamLeader(UUID userId) {
+            assignTeamLeader(userId, ANY_VERSION);
         }
 
-        milestone.changeStatus(newStatus);
+        public void assignTeamLeader(UUID userId, long expectedVersion) {
+            validateUserExists(userId);
+            validateManagerPermission(role);
 
-        if (newStatus == MilestoneStatus.ACTIVE) {
-            project.setActiveMilestone(milestoneId);
+            if (expectedVersion == ANY_VERSION) {
+                project.setTeamLeader(userId);
+            } else {
+                project.setTeamLeader(userId, expectedVersion);
+            }
+            memberChanged(userId);
         }
-    }
 
-    public Ticket createTicket(String title, String description, UUID projectId,
-                              UUID milestoneId, UUID requesterId) {
-        var project = getProjectOrThrow(projectId);
-        validateTicketCreationPermission(project, requesterId);
+        public Milestone createMilestone(String name, String description, LocalDate startDate, LocalDate endDate) {
+            validateManagerPermission(role);
 
-        if (milestoneId != null) {
+            var milestone = Milestone.create(name, description, project.id(), startDate, endDate);
+            milestones.put(milestone.id(), milestone);
+            counters.milestoneChanged(project.id(), null, milestone.status());
+            project.addMilestone(milestone.id());
+            publish(milestone);
+            publish(project);
+
+            return milestone;
+        }
+
+        public void changeMilestoneStatus(UUID milestoneId, MilestoneStatus newStatus, long expectedVersion) {
             var milestone = getMilestoneOrThrow(milestoneId);
-            if (!milestone.projectId().equals(projectId)) {
-                throw new IllegalArgumentException("Milestone does not belong to the project");
+            requireInProject("Milestone", milestoneId, milestone.projectId());
+            validateManagerPermission(role);
+
+            if (newStatus == MilestoneStatus.CLOSED) {
+                if (!milestone.canClose(getTicketsByMilestone(milestoneId))) {
+                    throw new IllegalStateException("Cannot close milestone - not all tickets are completed");
+                }
+            }
+
+            var previous = expectedVersion == ANY_VERSION
+                    ? milestone.changeStatus(newStatus)
+                    : milestone.changeStatus(newStatus, expectedVersion);
+            counters.milestoneChanged(milestone.projectId(), previous, newStatus);
+
+            publish(milestone);
+            if (newStatus == MilestoneStatus.ACTIVE) {
+                project.setActiveMilestone(milestoneId);
+                publish(project);
+            }
+            if (newStatus == MilestoneStatus.CLOSED && archive != null) {
+                archiveMilestone(milestone);
             }
         }
 
-        var ticket = Ticket.create(title, description, projectId, milestoneId);
-        tickets.put(ticket.id(), ticket);
+        public Ticket createTicket(String title, String description, UUID milestoneId) {
+            validateTicketCreationPermission(role);
+
+            if (milestoneId != null) {
+                var milestone = getMilestoneOrThrow(milestoneId);
+                if (!milestone.projectId().equals(project.id())) {
+                    throw new IllegalArgumentException("Milestone does not belong to the project");
+                }
+                if (milestone.status().isClosed()) {
+                    throw new IllegalStateException("Cannot add tickets to a closed milestone");
+                }
+            }
+
+            var ticket = Ticket.create(title, description, project.id(), milestoneId);
+            tickets.put(ticket.id(), detach(ticket));
+            ticketQueries.reindex(ticket.id(), null);
+            ticketReplaced(null, ticket);
+            publish(ticket);
 
-        if (milestoneId != null) {
-            var milestone = milestones.get(milestoneId);
-            milestone.addTicket(ticket.id());
+            var milestone = milestoneId == null ? null : milestones.get(milestoneId);
+            if (milestone != null) {
+                milestone.addTicket(ticket.id());
+                publish(milestone);
+            }
+
+            return ticket;
         }
 
-        return ticket;
-    }
+        public void assignDevelopersToTicket(UUID ticketId, Set<UUID> developerIds, long expectedVersion) {
+            updateTicket(ticketId, expectedVersion, ticket -> {
+                requireInProject("Ticket", ticketId, ticket.projectId());
+                validateTicketManagementPermission(role);
 
-    public void assignDevelopersToTicket(UUID ticketId, Set<UUID> developerIds, UUID requesterId) {
-        var ticket = getTicketOrThrow(ticketId);
-        var project = getProjectOrThrow(ticket.projectId());
-        validateTicketManagementPermission(project, requesterId);
-
-        developerIds.forEach(this::validateUserExists);
-        developerIds.forEach(devId -> {
-            if (!project.hasRole(devId, Role.Developer.class) &&
-                !project.hasRole(devId, Role.TeamLeader.class)) {
-                throw new IllegalArgumentException(STR."User \{devId} is not a developer in this project");
+                developerIds.forEach(ProjectManagementService.this::validateUserExists);
+                developerIds.forEach(devId -> {
+                    if (!project.hasRole(devId, Role.Developer.class) &&
+                        !project.hasRole(devId, Role.TeamLeader.class)) {
+                        throw new IllegalArgumentException(STR."User \{devId} is not a developer in this project");
+                    }
+                });
+
+                return ticket.assignDevelopers(developerIds);
+            });
+        }
+
+        public void updateTicketStatus(UUID ticketId, TicketStatus newStatus, long expectedVersion) {
+            updateTicket(ticketId, expectedVersion, ticket -> {
+                requireInProject("Ticket", ticketId, ticket.projectId());
+
+                var canUpdate = switch (newStatus) {
+                    case ACCEPTED -> role instanceof Role.Manager || role instanceof Role.TeamLeader;
+                    case IN_PROGRESS, COMPLETED -> ticket.assignedDevelopers().contains(requesterId) ||
+                                                  role instanceof Role.TeamLeader;
+                    case NEW -> false;
+                };
+
+                if (!canUpdate) {
+                    throw new SecurityException("User does not have permission to update ticket status");
+                }
+
+                if (!ticket.status().canTransitionTo(newStatus)) {
+                    throw new IllegalStateException(
+                            STR."Cannot transition ticket from \{ticket.status()} to \{newStatus}");
+                }
+
+                return ticket.withStatus(newStatus);
+            });
+        }
+
+        /** Reports a bug as the scope's requester. */
+        public BugReport createBugReport(String title, String description, String severity) {
+            validateUserExists(requesterId);
+
+            if (role == null) {
+                throw new IllegalArgumentException("User is not a member of this project");
             }
-        });
 
-        var updatedTicket = ticket.assignDevelopers(developerIds);
-        tickets.put(ticketId, updatedTicket);
-    }
+            var bugReport = BugReport.create(title, description, project.id(), requesterId, severity);
+            bugReports.put(bugReport.id(), detach(bugReport));
+            bugQueries.reindex(bugReport.id(), null);
+            bugReportReplaced(null, bugReport);
+            project.addBugReport(bugReport.id());
+            publish(bugReport);
+            publish(project);
 
-    public void updateTicketStatus(UUID ticketId, TicketStatus newStatus, UUID requesterId) {
-        var ticket = getTicketOrThrow(ticketId);
-        var project = getProjectOrThrow(ticket.projectId());
+            return bugReport;
+        }
+
+        public void assignBugReport(UUID bugReportId, UUID developerId, long expectedVersion) {
+            updateBugReport(bugReportId, expectedVersion, bugReport -> {
+                requireInProject("Bug report", bugReportId, bugReport.projectId());
+                validateManagerOrTeamLeaderPermission(role);
+                validateUserExists(developerId);
 
-        var canUpdate = switch (newStatus) {
-            case ACCEPTED -> project.hasRole(requesterId, Role.Manager.class) ||
-                           project.hasRole(requesterId, Role.TeamLeader.class);
-            case IN_PROGRESS, COMPLETED -> ticket.assignedDevelopers().contains(requesterId) ||
-                                          project.hasRole(requesterId, Role.TeamLeader.class);
-            case NEW -> false;
-        };
+                if (!project.hasRole(developerId, Role.Developer.class)) {
+                    throw new IllegalArgumentException("Assigned user must be a developer");
+                }
 
-        if (!canUpdate) {
-            throw new SecurityException("User does not have permission to update ticket status");
+                return bugReport.assignTo(developerId);
+            });
         }
 
-        if (!ticket.status().canTransitionTo(newStatus)) {
-            throw new IllegalStateException(
-                    STR."Cannot transition ticket from \{ticket.status()} to \{newStatus}");
+        public void updateBugReportStatus(UUID bugReportId, BugReportStatus newStatus, long expectedVersion) {
+            updateBugReport(bugReportId, expectedVersion, bugReport -> {
+                requireInProject("Bug report", bugReportId, bugReport.projectId());
+
+                var canUpdate = switch (newStatus) {
+                    case FIXED -> bugReport.assignedTo() != null &&
+                                 bugReport.assignedTo().equals(requesterId);
+                    case TESTED -> role instanceof Role.Tester;
+                    case CLOSED -> role instanceof Role.Manager || role instanceof Role.TeamLeader;
+                    case NEW -> false;
+                };
+
+                if (!canUpdate) {
+                    throw new SecurityException("User does not have permission to update bug report status");
+                }
+
+                if (!bugReport.status().canTransitionTo(newStatus)) {
+                    throw new IllegalStateException(
+                            STR."Cannot transition bug report from \{bugReport.status()} to \{newStatus}");
+                }
+
+                return bugReport.withStatus(newStatus);
+            });
         }
 
-        var updatedTicket = ticket.withStatus(newStatus);
-        tickets.put(ticketId, updatedTicket);
-    }
+        private void memberChanged(UUID userId) {
+            indexMember(userId, project.id());
+            workload.memberChanged(project, userId);
+            if (userId.equals(requesterId)) {
+                role = roleOf(project, requesterId);
+            }
+            publish(project);
+        }
 
-    public BugReport createBugReport(String title, String description, UUID projectId,
-                                    UUID reporterId, String severity) {
-        var project = getProjectOrThrow(projectId);
-        validateUserExists(reporterId);
+        private void requireInProject(String kind, UUID id, UUID projectId) {
+            if (!project.id().equals(projectId)) {
+                throw new IllegalArgumentException(STR."\{kind} \{id} does not belong to project \{project.id()}");
+            }
+        }
+    }
 
-        if (!project.getUserRole(reporterId).isPresent()) {
-            throw new IllegalArgumentException("User is not a member of this project");
+    /**
+     * Records that {@code blockerId} has to be completed before work on
+     * {@code blockedId} can start. Both tickets must belong to the same
+     * project; an edge that would close a cycle of blocking tickets is
+     * rejected with {@link IllegalStateException}. Adding an existing edge
+     * is a no-op.
+     */
+    public void addDependency(UUID blockerId, UUID blockedId, UUID requesterId) {
+        var blocker = getStoredTicketOrThrow(blockerId);
+        var blocked = getStoredTicketOrThrow(blockedId);
+        if (!blocker.projectId().equals(blocked.projectId())) {
+            throw new IllegalArgumentException("Dependent tickets must belong to the same project");
         }
+        validateManagerOrTeamLeaderPermission(roleOf(getProjectOrThrow(blocker.projectId()), requesterId));
+        dependencyGraph(blocker.projectId()).addEdge(blockerId, blockedId);
+    }
 
-        var bugReport = BugReport.create(title, description, projectId, reporterId, severity);
-        bugReports.put(bugReport.id(), bugReport);
-        project.addBugReport(bugReport.id());
+    public void removeDependency(UUID blockerId, UUID blockedId, UUID requesterId) {
+        var blocker = getStoredTicketOrThrow(blockerId);
+        validateManagerOrTeamLeaderPermission(roleOf(getProjectOrThrow(blocker.projectId()), requesterId));
+        dependencyGraph(blocker.projectId()).removeEdge(blockerId, blockedId);
+    }
 
-        return bugReport;
+    /**
+     * Inserts already validated entities in one go, bypassing per-operation
+     * permission checks. Cross references between the entities (members,
+     * milestone and bug report ids, milestone ticket ids) must already be set.
+     * Users still have to be unique by username and email: a batch that
+     * clashes with a stored user is rejected before anything is inserted.
+     */
+    public void bulkLoad(Collection<User> newUsers, Collection<Project> newProjects,
+                         Collection<Milestone> newMilestones, Collection<Ticket> newTickets,
+                         Collection<BugReport> newBugReports) {
+        userIndex.claimAll(newUsers);
+        newUsers.forEach(u -> users.put(u.id(), u));
+        newProjects.forEach(p -> {
+            var previous = projects.put(p.id(), p);
+            if (previous != null) {
+                previous.teamMembers().keySet().forEach(permissionMatrices::remove);
+            }
+            p.teamMembers().keySet().forEach(userId -> indexMember(userId, p.id()));
+            workload.membersLoaded(p);
+        });
+        newMilestones.forEach(m -> {
+            var previous = milestones.put(m.id(), m);
+            counters.milestoneChanged(m.projectId(), previous == null ? null : previous.status(), m.status());
+        });
+        newTickets.forEach(t -> {
+            var previous = tickets.put(t.id(), detach(t));
+            ticketQueries.reindex(t.id(), previous);
+            ticketReplaced(previous, t);
+        });
+        newBugReports.forEach(b -> {
+            var previous = bugReports.put(b.id(), detach(b));
+            bugQueries.reindex(b.id(), previous);
+            bugReportReplaced(previous, b);
+        });
+
+        if (!listeners.isEmpty()) {
+            newUsers.forEach(this::publish);
+            newProjects.forEach(this::publish);
+            newMilestones.forEach(this::publish);
+            newTickets.forEach(this::publish);
+            newBugReports.forEach(this::publish);
+        }
     }
 
-    public void assignBugReport(UUID bugReportId, UUID developerId, UUID requesterId) {
-        var bugReport = getBugReportOrThrow(bugReportId);
-        var project = getProjectOrThrow(bugReport.projectId());
-        validateManagerOrTeamLeaderPermission(project, requesterId);
-        validateUserExists(developerId);
+    public List<Project> getUserProjects(UUID userId) {
+        var projectIds = projectsByMember.getOrDefault(userId, Set.of());
+        var result = new ArrayList<Project>(projectIds.size());
+        for (var projectId : projectIds) {
+            var project = projects.get(projectId);
+            if (project != null) {
+                result.add(project);
+            }
+        }
+        return result;
+    }
 
-        if (!project.hasRole(developerId, Role.Developer.class)) {
-            throw new IllegalArgumentException("Assigned user must be a developer");
+    /**
+     * The user's permissions in every project they belong to. Built on first
+     * request and cached until the user's role in some project changes, so
+     * repeated requests are a single map lookup.
+     */
+    public PermissionMatrix getPermissionMatrix(UUID userId) {
+        var cached = permissionMatrices.get(userId);
+        if (cached != null) {
+            return cached;
         }
+        validateUserExists(userId);
+        // Invalidation removes the key after changing the role; computing under the key lock means a matrix
+        // built from the old role is either not stored yet or removed right after.
+        return permissionMatrices.computeIfAbsent(userId, this::buildPermissionMatrix);
+    }
 
-        var updatedBugReport = bugReport.assignTo(developerId);
-        bugReports.put(bugReportId, updatedBugReport);
+    private PermissionMatrix buildPermissionMatrix(UUID userId) {
+        var roles = new HashMap<UUID, Role>();
+        for (var projectId : projectsByMember.getOrDefault(userId, Set.of())) {
+            var project = projects.get(projectId);
+            if (project != null) {
+                project.getUserRole(userId).ifPresent(role -> roles.put(projectId, role));
+            }
+        }
+        return new PermissionMatrix(userId, roles);
     }
 
-    public void updateBugReportStatus(UUID bugReportId, BugReportStatus newStatus, UUID requesterId) {
-        var bugReport = getBugReportOrThrow(bugReportId);
-        var project = getProjectOrThrow(bugReport.projectId());
+    /** Tickets matching the criterion, looked up through the most selective index; see {@link QueryPlanner}. */
+    public List<Ticket> findTickets(Criterion<Ticket> criterion) {
+        return ticketQueries.execute(criterion);
+    }
+
+    /** Ids of the matching tickets, without reading a ticket when the indexes answer the criterion. */
+    public List<UUID> findTicketIds(Criterion<Ticket> criterion) {
+        return ticketQueries.executeIds(criterion);
+    }
+
+    public QueryPlan explainTickets(Criterion<Ticket> criterion) {
+        return ticketQueries.plan(criterion);
+    }
 
-        var canUpdate = switch (newStatus) {
-            case FIXED -> bugReport.assignedTo() != null &&
-                         bugReport.assignedTo().equals(requesterId);
-            case TESTED -> project.hasRole(requesterId, Role.Tester.class);
-            case CLOSED -> project.hasRole(requesterId, Role.Manager.class) ||
-                          project.hasRole(requesterId, Role.TeamLeader.class);
-            case NEW -> false;
-        };
+    public List<BugReport> findBugReports(Criterion<BugReport> criterion) {
+        return bugQueries.execute(criterion);
+    }
 
-        if (!canUpdate) {
-            throw new SecurityException("User does not have permission to update bug report status");
+    public List<UUID> findBugReportIds(Criterion<BugReport> criterion) {
+        return bugQueries.executeIds(criterion);
+    }
+
+    public QueryPlan explainBugReports(Criterion<BugReport> criterion) {
+        return bugQueries.plan(criterion);
+    }
+
+    /**
+     * A page of the user's open assigned tickets and bug reports, most
+     * urgent first; see {@link InboxItem} for the order. Kept up to date on
+     * every write, so a page costs its size plus the offset.
+     */
+    public List<InboxItem> getInbox(UUID userId, int offset, int limit) {
+        return inbox.page(userId, offset, limit);
+    }
+
+    /**
+     * Up to {@code count} developers and team leaders of the project with
+     * the fewest open tickets there, least loaded first; ties go by id.
+     */
+    public List<DeveloperLoad> recommendDevelopers(UUID projectId, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
         }
+        getProjectOrThrow(projectId);
+        return workload.leastLoaded(projectId, count);
+    }
+
+    /** Tickets that directly block the ticket. */
+    public List<UUID> getBlockers(UUID ticketId) {
+        var ticket = tickets.get(ticketId);
+        return ticket == null ? List.of() : dependencyGraph(ticket.projectId()).blockers(ticketId);
+    }
 
-        if (!bugReport.status().canTransitionTo(newStatus)) {
-            throw new IllegalStateException(
-                    STR."Cannot transition bug report from \{bugReport.status()} to \{newStatus}");
+    /** Tickets the ticket directly blocks. */
+    public List<UUID> getBlockedTickets(UUID ticketId) {
+        var ticket = tickets.get(ticketId);
+        return ticket == null ? List.of() : dependencyGraph(ticket.projectId()).blocked(ticketId);
+    }
+
+    /** Up to {@code limit} open tickets of the project none of whose blockers is still open. */
+    public List<Ticket> getNextUnblockedTickets(UUID projectId, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit cannot be negative");
         }
+        getProjectOrThrow(projectId);
+        return resolveTickets(dependencyGraph(projectId).unblocked(limit));
+    }
 
-        var updatedBugReport = bugReport.withStatus(newStatus);
-        bugReports.put(bugReportId, updatedBugReport);
+    /**
+     * The longest chain of open tickets that has to be worked through, one
+     * after another, before the milestone can close: first blocker first,
+     * ending in one of the milestone's tickets. Empty once all of its
+     * tickets are completed.
+     */
+    public List<Ticket> getCriticalPath(UUID milestoneId) {
+        var milestone = getMilestone(milestoneId).orElseThrow(() ->
+                new IllegalArgumentException(STR."Milestone with id \{milestoneId} does not exist"));
+        return resolveTickets(dependencyGraph(milestone.projectId()).criticalPath(milestoneId));
     }
 
-    public List<Project> getUserProjects(UUID userId) {
-        return projects.values().stream()
-                .filter(p -> p.teamMembers().containsKey(userId))
-                .collect(Collectors.toList());
+    private List<Ticket> resolveTickets(List<UUID> ticketIds) {
+        var result = new ArrayList<Ticket>(ticketIds.size());
+        for (var ticketId : ticketIds) {
+            var ticket = tickets.get(ticketId);
+            if (ticket != null) {
+                result.add(materialize(ticket));
+            }
+        }
+        return result;
+    }
+
+    private DependencyGraph dependencyGraph(UUID projectId) {
+        return dependencies.computeIfAbsent(projectId, id -> new DependencyGraph());
     }
 
     public List<Ticket> getUserTickets(UUID userId) {
-        return tickets.values().stream()
-                .filter(t -> t.assignedDevelopers().contains(userId))
-                .collect(Collectors.toList());
+        return findTickets(TicketQueries.assignedTo(userId));
     }
 
     public List<BugReport> getUserBugReports(UUID userId) {
-        return bugReports.values().stream()
-                .filter(b -> userId.equals(b.assignedTo()))
-                .collect(Collectors.toList());
+        return findBugReports(BugQueries.assignedTo(userId));
     }
 
     public List<Ticket> getTicketsByMilestone(UUID milestoneId) {
-        return tickets.values().stream()
-                .filter(t -> milestoneId.equals(t.milestoneId()))
-                .collect(Collectors.toList());
+        if (archive != null && !milestones.containsKey(milestoneId) && archive.contains(milestoneId)) {
+            return archive.ticketsOf(milestoneId);
+        }
+        return findTickets(TicketQueries.inMilestone(milestoneId));
     }
 
     public List<Ticket> getTicketsByProject(UUID projectId) {
-        return tickets.values().stream()
-                .filter(t -> projectId.equals(t.projectId()))
-                .collect(Collectors.toList());
+        return findTickets(TicketQueries.inProject(projectId));
     }
 
     public List<BugReport> getBugReportsByProject(UUID projectId) {
-        return bugReports.values().stream()
-                .filter(b -> projectId.equals(b.projectId()))
-                .collect(Collectors.toList());
+        return findBugReports(BugQueries.inProject(projectId));
+    }
+
+    /**
+     * Stats of the project's active work, read from totals kept up to date
+     * on every write, so the cost does not grow with the project.
+     */
+    public ProjectAnalyticsService.ProjectStats getProjectStats(UUID projectId) {
+        return counters.stats(projectId);
+    }
+
+    /** Tickets of the project in {@code status} that were last updated before {@code threshold}. */
+    int countTicketsBefore(UUID projectId, TicketStatus status, LocalDateTime threshold, StatusKernel kernel) {
+        return ticketColumns.countBefore(projectId, kernel, status, StatusColumns.epochMicros(threshold));
     }
 
     public List<Milestone> getMilestonesByProject(UUID projectId) {
@@ -237,35 +689,355 @@ public class ProjectManagementService {
                 .collect(Collectors.toList());
     }
 
+    public void forEachMilestoneInProject(UUID projectId, Consumer<Milestone> action) {
+        milestones.values().forEach(m -> {
+            if (projectId.equals(m.projectId())) {
+                action.accept(m);
+            }
+        });
+    }
+
+    public void forEachTicketInProject(UUID projectId, Consumer<Ticket> action) {
+        ticketQueries.forEach(TicketQueries.inProject(projectId), action);
+    }
+
+    public void forEachBugReportInProject(UUID projectId, Consumer<BugReport> action) {
+        bugQueries.forEach(BugQueries.inProject(projectId), action);
+    }
+
+    /**
+     * Moves every closed milestone (with its tickets) and closed bug report
+     * still on-heap to the archive, e.g. after a bulk load; returns how many
+     * aggregates were archived.
+     */
+    public int archiveClosed() {
+        if (archive == null) {
+            throw new IllegalStateException("No cold storage configured");
+        }
+        int archived = 0;
+        for (var milestone : milestones.values()) {
+            if (milestone.status().isClosed()) {
+                archiveMilestone(milestone);
+                archived++;
+            }
+        }
+        for (var bugReport : bugReports.values()) {
+            if (bugReport.status().isClosed()) {
+                archiveBugReport(bugReport.id());
+                archived++;
+            }
+        }
+        return archived;
+    }
+
+    /**
+     * Writes the milestone and its tickets to the archive before evicting
+     * them, so a reader always finds them in one place or the other. A
+     * ticket that changed in between is evicted at its new value and the
+     * aggregate written again.
+     */
+    private void archiveMilestone(Milestone milestone) {
+        var stored = new LinkedHashMap<UUID, Ticket>();
+        var full = new LinkedHashMap<UUID, Ticket>();
+        for (var ticketId : milestone.ticketIds()) {
+            var ticket = tickets.get(ticketId);
+            if (ticket != null) {
+                stored.put(ticketId, ticket);
+                full.put(ticketId, materialize(ticket));
+            }
+        }
+        boolean settled;
+        do {
+            archive.archive(milestone.snapshot(), List.copyOf(full.values()));
+            settled = true;
+            for (var entry : stored.entrySet()) {
+                var ticketId = entry.getKey();
+                var ticket = entry.getValue();
+                if (tickets.remove(ticketId, ticket)) {
+                    ticketQueries.reindex(ticketId, ticket);
+                    ticketArchived(ticket);
+                    continue;
+                }
+                var latest = tickets.get(ticketId);
+                if (latest != null) {
+                    entry.setValue(latest);
+                    full.put(ticketId, materialize(latest));
+                    settled = false;
+                }
+            }
+        } while (!settled);
+        if (milestones.remove(milestone.id()) != null) {
+            counters.milestoneChanged(milestone.projectId(), milestone.status(), null);
+        }
+        stored.keySet().forEach(textStorage::release);
+        publishArchived(milestone);
+    }
+
+    private void archiveBugReport(UUID bugReportId) {
+        while (true) {
+            var bugReport = bugReports.get(bugReportId);
+            if (bugReport == null || !bugReport.status().isClosed()) {
+                return;
+            }
+            var full = materialize(bugReport);
+            archive.archive(full);
+            if (bugReports.remove(bugReportId, bugReport)) {
+                bugQueries.reindex(bugReportId, bugReport);
+                bugReportReplaced(bugReport, null);
+                textStorage.release(bugReportId);
+                notifyListeners(l -> l.bugReportArchived(full));
+                return;
+            }
+        }
+    }
+
+    /**
+     * Applies an archival made by another service, e.g. a replication
+     * leader: each id that is a stored milestone (with its tickets), ticket
+     * or bug report leaves the active set, moved to this service's archive
+     * if it has one and dropped otherwise; either way dropped tickets still
+     * count towards the project's stats, as they do on the leader. Unknown
+     * ids are ignored.
+     */
+    public void evict(Collection<UUID> ids) {
+        for (var id : ids) {
+            var milestone = milestones.get(id);
+            if (milestone != null) {
+                if (archive != null) {
+                    archiveMilestone(milestone);
+                } else {
+                    milestone.ticketIds().forEach(this::dropTicket);
+                    if (milestones.remove(id) != null) {
+                        counters.milestoneChanged(milestone.projectId(), milestone.status(), null);
+                        publishArchived(milestone);
+                    }
+                }
+                continue;
+            }
+            dropTicket(id);
+            var bugReport = bugReports.get(id);
+            if (bugReport != null && archive != null && bugReport.status().isClosed()) {
+                archiveBugReport(id);
+            } else if (bugReport != null && bugReports.remove(id, bugReport)) {
+                bugQueries.reindex(id, bugReport);
+                bugReportReplaced(bugReport, null);
+                var full = materialize(bugReport);
+                textStorage.release(id);
+                notifyListeners(l -> l.bugReportArchived(full));
+            }
+        }
+    }
+
+    private void dropTicket(UUID ticketId) {
+        var ticket = tickets.remove(ticketId);
+        if (ticket != null) {
+            ticketQueries.reindex(ticketId, ticket);
+            ticketArchived(ticket);
+            textStorage.release(ticketId);
+        }
+    }
+
+    /** Called after the user's role in the project was set; drops the user's now stale permission matrix. */
+    private void indexMember(UUID userId, UUID projectId) {
+        projectsByMember.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(projectId);
+        permissionMatrices.remove(userId);
+    }
+
+    /**
+     * Optimistic read-validate-swap: the update runs without holding any
+     * lock and is installed only if the stored ticket is still the one it
+     * read. A lost race re-reads and re-validates, so a transition that
+     * another caller already made fails its check instead of being
+     * overwritten.
+     */
+    private void updateTicket(UUID ticketId, long expectedVersion, UnaryOperator<Ticket> update) {
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            var current = tickets.get(ticketId);
+            if (current == null) {
+                rejectIfArchived("Ticket", ticketId);
+                throw new IllegalArgumentException(STR."Ticket with id \{ticketId} does not exist");
+            }
+            if (expectedVersion != ANY_VERSION && current.version() != expectedVersion) {
+                throw new StaleVersionException("Ticket", ticketId, expectedVersion, current.version());
+            }
+            var updated = update.apply(current);
+            if (tickets.replace(ticketId, current, updated)) {
+                ticketQueries.reindex(ticketId, current);
+                ticketReplaced(current, updated);
+                if (!listeners.isEmpty()) {
+                    var previous = materialize(current);
+                    var now = materialize(updated);
+                    notifyListeners(l -> l.ticketUpdated(previous, now));
+                }
+                return;
+            }
+            Thread.onSpinWait();
+        }
+        throw new IllegalStateException(STR."Ticket \{ticketId} is too contended, gave up after \{MAX_UPDATE_ATTEMPTS} attempts");
+    }
+
+    private void updateBugReport(UUID bugReportId, long expectedVersion, UnaryOperator<BugReport> update) {
+        for (int attempt = 0; attempt < MAX_UPDATE_ATTEMPTS; attempt++) {
+            var current = bugReports.get(bugReportId);
+            if (current == null) {
+                rejectIfArchived("Bug report", bugReportId);
+                throw new IllegalArgumentException(STR."Bug report with id \{bugReportId} does not exist");
+            }
+            if (expectedVersion != ANY_VERSION && current.version() != expectedVersion) {
+                throw new StaleVersionException("Bug report", bugReportId, expectedVersion, current.version());
+            }
+            var updated = update.apply(current);
+            if (bugReports.replace(bugReportId, current, updated)) {
+                bugQueries.reindex(bugReportId, current);
+                bugReportReplaced(current, updated);
+                if (!listeners.isEmpty()) {
+                    var previous = materialize(current);
+                    var now = materialize(updated);
+                    notifyListeners(l -> l.bugReportUpdated(previous, now));
+                }
+                if (archive != null && updated.status().isClosed()) {
+                    archiveBugReport(bugReportId);
+                }
+                return;
+            }
+            Thread.onSpinWait();
+        }
+        throw new IllegalStateException(STR."Bug report \{bugReportId} is too contended, gave up after \{MAX_UPDATE_ATTEMPTS} attempts");
+    }
+
+    /** Keeps the derived per-project totals, inboxes, workloads and dependency graphs in step with the ticket store; null for absent. */
+    private void ticketReplaced(Ticket previous, Ticket current) {
+        counters.ticketReplaced(previous, current);
+        ticketIndexesReplaced(previous, current);
+    }
+
+    /** Evicts an archived ticket from everything but the project totals, which keep counting it. */
+    private void ticketArchived(Ticket ticket) {
+        ticketIndexesReplaced(ticket, null);
+    }
+
+    private void ticketIndexesReplaced(Ticket previous, Ticket current) {
+        var ticketId = current != null ? current.id() : previous.id();
+        if (previous != null && (current == null || !previous.projectId().equals(current.projectId()))) {
+            ticketColumns.refresh(previous.projectId(), ticketId, tickets::get);
+        }
+        if (current != null) {
+            ticketColumns.refresh(current.projectId(), ticketId, tickets::get);
+        }
+        inbox.ticketReplaced(previous, current);
+        workload.ticketReplaced(previous, current);
+        if (current != null) {
+            dependencyGraph(current.projectId()).put(current.id(), current.milestoneId(),
+                    !current.status().isCompleted(), current.version());
+        } else {
+            dependencyGraph(previous.projectId()).remove(previous.id());
+        }
+    }
+
+    private void bugReportReplaced(BugReport previous, BugReport current) {
+        counters.bugReportReplaced(previous, current);
+        inbox.bugReportReplaced(previous, current);
+    }
+
+    /**
+     * Tells every listener about a change that is already applied. A failing
+     * listener is logged and skipped, so the caller still sees its write
+     * succeed and the listeners after it are still told.
+     */
+    private void notifyListeners(Consumer<ChangeListener> notification) {
+        for (var listener : listeners) {
+            try {
+                notification.accept(listener);
+            } catch (RuntimeException e) {
+                LOG.log(System.Logger.Level.ERROR, STR."Change listener \{listener} failed", e);
+            }
+        }
+    }
+
+    private void publish(User user) {
+        notifyListeners(l -> l.userChanged(user));
+    }
+
+    private void publish(Project project) {
+        if (!listeners.isEmpty()) {
+            var snapshot = project.snapshot();
+            notifyListeners(l -> l.projectChanged(snapshot));
+        }
+    }
+
+    private void publish(Milestone milestone) {
+        if (!listeners.isEmpty()) {
+            var snapshot = milestone.snapshot();
+            notifyListeners(l -> l.milestoneChanged(snapshot));
+        }
+    }
+
+    private void publishArchived(Milestone milestone) {
+        if (!listeners.isEmpty()) {
+            var snapshot = milestone.snapshot();
+            notifyListeners(l -> l.milestoneArchived(snapshot));
+        }
+    }
+
+    private void publish(Ticket ticket) {
+        notifyListeners(l -> l.ticketChanged(ticket));
+    }
+
+    private void publish(BugReport bugReport) {
+        notifyListeners(l -> l.bugReportChanged(bugReport));
+    }
+
+    private Ticket detach(Ticket ticket) {
+        var stored = textStorage.store(ticket.id(), ticket.description());
+        return stored == ticket.description() ? ticket : ticket.withDescription(stored);
+    }
+
+    private BugReport detach(BugReport bugReport) {
+        var stored = textStorage.store(bugReport.id(), bugReport.description());
+        return stored == bugReport.description() ? bugReport : bugReport.withDescription(stored);
+    }
+
+    private Ticket materialize(Ticket ticket) {
+        var description = textStorage.load(ticket.id(), ticket.description());
+        return description == ticket.description() ? ticket : ticket.withDescription(description);
+    }
+
+    private BugReport materialize(BugReport bugReport) {
+        var description = textStorage.load(bugReport.id(), bugReport.description());
+        return description == bugReport.description() ? bugReport : bugReport.withDescription(description);
+    }
+
     private void validateUserExists(UUID userId) {
         if (!users.containsKey(userId)) {
             throw new IllegalArgumentException(STR."User with id \{userId} does not exist");
         }
     }
 
-    private void validateManagerPermission(Project project, UUID userId) {
-        if (!project.hasRole(userId, Role.Manager.class)) {
+    /** The user's role in the project, or null if they are not a member. */
+    private static Role roleOf(Project project, UUID userId) {
+        return project.getUserRole(userId).orElse(null);
+    }
+
+    private static void validateManagerPermission(Role role) {
+        if (!(role instanceof Role.Manager)) {
             throw new SecurityException("Only project manager can perform this action");
         }
     }
 
-    private void validateManagerOrTeamLeaderPermission(Project project, UUID userId) {
-        if (!project.hasRole(userId, Role.Manager.class) &&
-            !project.hasRole(userId, Role.TeamLeader.class)) {
+    private static void validateManagerOrTeamLeaderPermission(Role role) {
+        if (!(role instanceof Role.Manager) && !(role instanceof Role.TeamLeader)) {
             throw new SecurityException("Only project manager or team leader can perform this action");
         }
     }
 
-    private void validateTicketCreationPermission(Project project, UUID userId) {
-        if (!project.hasRole(userId, Role.Manager.class) &&
-            !project.hasRole(userId, Role.TeamLeader.class)) {
+    private static void validateTicketCreationPermission(Role role) {
+        if (!(role instanceof Role.Manager) && !(role instanceof Role.TeamLeader)) {
             throw new SecurityException("Only manager or team leader can create tickets");
         }
     }
 
-    private void validateTicketManagementPermission(Project project, UUID userId) {
-        if (!project.hasRole(userId, Role.Manager.class) &&
-            !project.hasRole(userId, Role.TeamLeader.class)) {
+    private static void validateTicketManagementPermission(Role role) {
+        if (!(role instanceof Role.Manager) && !(role instanceof Role.TeamLeader)) {
             throw new SecurityException("Only manager or team leader can assign developers to tickets");
         }
     }
@@ -275,38 +1047,90 @@ public class ProjectManagementService {
                 .orElseThrow(() -> new IllegalArgumentException(STR."Project with id \{projectId} does not exist"));
     }
 
-    private Milestone getMilestoneOrThrow(UUID milestoneId) {
-        return Optional.ofNullable(milestones.get(milestoneId))
-                .orElseThrow(() -> new IllegalArgumentException(STR."Milestone with id \{milestoneId} does not exist"));
+    private Ticket getStoredTicketOrThrow(UUID ticketId) {
+        var ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            rejectIfArchived("Ticket", ticketId);
+            throw new IllegalArgumentException(STR."Ticket with id \{ticketId} does not exist");
+        }
+        return ticket;
+    }
+
+    private BugReport getStoredBugReportOrThrow(UUID bugReportId) {
+        var bugReport = bugReports.get(bugReportId);
+        if (bugReport == null) {
+            rejectIfArchived("Bug report", bugReportId);
+            throw new IllegalArgumentException(STR."Bug report with id \{bugReportId} does not exist");
+        }
+        return bugReport;
     }
 
-    private Ticket getTicketOrThrow(UUID ticketId) {
-        return Optional.ofNullable(tickets.get(ticketId))
-                .orElseThrow(() -> new IllegalArgumentException(STR."Ticket with id \{ticketId} does not exist"));
+    private Milestone getMilestoneOrThrow(UUID milestoneId) {
+        var milestone = milestones.get(milestoneId);
+        if (milestone == null) {
+            rejectIfArchived("Milestone", milestoneId);
+            throw new IllegalArgumentException(STR."Milestone with id \{milestoneId} does not exist");
+        }
+        return milestone;
     }
 
-    private BugReport getBugReportOrThrow(UUID bugReportId) {
-        return Optional.ofNullable(bugReports.get(bugReportId))
-                .orElseThrow(() -> new IllegalArgumentException(STR."Bug report with id \{bugReportId} does not exist"));
+    private void rejectIfArchived(String kind, UUID id) {
+        if (archive != null && archive.contains(id)) {
+            throw new IllegalStateException(STR."\{kind} \{id} is archived and can no longer change");
+        }
     }
 
     public Optional<User> getUser(UUID userId) {
         return Optional.ofNullable(users.get(userId));
     }
 
+    public Optional<User> findUserByUsername(String username) {
+        return userIndex.byUsername(username).map(users::get);
+    }
+
+    public Optional<User> findUserByEmail(String email) {
+        return userIndex.byEmail(email).map(users::get);
+    }
+
     public Optional<Project> getProject(UUID projectId) {
         return Optional.ofNullable(projects.get(projectId));
     }
 
+    /**
+     * The project owning a live milestone, ticket or bug report, read from
+     * the stored entry without materializing text or consulting the archive.
+     */
+    public Optional<UUID> projectIdOf(UUID entityId) {
+        var ticket = tickets.get(entityId);
+        if (ticket != null) {
+            return Optional.of(ticket.projectId());
+        }
+        var bugReport = bugReports.get(entityId);
+        if (bugReport != null) {
+            return Optional.of(bugReport.projectId());
+        }
+        var milestone = milestones.get(entityId);
+        return milestone == null ? Optional.empty() : Optional.of(milestone.projectId());
+    }
+
     public Optional<Milestone> getMilestone(UUID milestoneId) {
-        return Optional.ofNullable(milestones.get(milestoneId));
+        var milestone = milestones.get(milestoneId);
+        return milestone != null || archive == null ? Optional.ofNullable(milestone) : archive.milestone(milestoneId);
     }
 
     public Optional<Ticket> getTicket(UUID ticketId) {
-        return Optional.ofNullable(tickets.get(ticketId));
+        var ticket = tickets.get(ticketId);
+        if (ticket != null) {
+            return Optional.of(materialize(ticket));
+        }
+        return archive == null ? Optional.empty() : archive.ticket(ticketId);
     }
 
     public Optional<BugReport> getBugReport(UUID bugReportId) {
-        return Optional.ofNullable(bugReports.get(bugReportId));
+        var bugReport = bugReports.get(bugReportId);
+        if (bugReport != null) {
+            return Optional.of(materialize(bugReport));
+        }
+        return archive == null ? Optional.empty() : archive.bugReport(bugReportId);
     }
 }
@@ -0,0 +1,87 @@
+package org.lab.service;
+
+import org.lab.model.*;
+import org.lab.service.ProjectAnalyticsService.ProjectStats;
+
+import java.util.List;
+import java.util.stream.StreamSupport;
+
+/**
+ * Computes {@link ProjectStats} for a project snapshot; the recount behind
+ * {@link ProjectAnalyticsService#recountProjectStats} that audits the
+ * service's running totals.
+ * Small projects go through the columnar {@link StatusKernel} path; once the
+ * number of tickets and bug reports reaches the parallel threshold, all fields
+ * are computed in one fused fork/join pass instead.
+ */
+public final class ProjectStatsCalculator {
+
+    /** Crossover measured with {@code StatsCrossoverBenchmark} on one CPU. */
+    private static final int SINGLE_CPU_CROSSOVER = 100_000;
+    /** Below this the fork/join split costs more than any core count wins back. */
+    private static final int MIN_PARALLEL_THRESHOLD = 10_000;
+
+    /** {@link #parallelThreshold(int)} for the cores this JVM may use. */
+    public static final int DEFAULT_PARALLEL_THRESHOLD =
+            parallelThreshold(Runtime.getRuntime().availableProcessors());
+
+    private final StatusKernel kernel;
+    private final int parallelThreshold;
+
+    /**
+     * The fused pass splits its work across cores, so it overtakes the
+     * columnar path at a size that shrinks with the core count.
+     */
+    public static int parallelThreshold(int processors) {
+        if (processors < 1) {
+            throw new IllegalArgumentException("Processor count must be positive");
+        }
+        return Math.max(MIN_PARALLEL_THRESHOLD, SINGLE_CPU_CROSSOVER / processors);
+    }
+
+    public ProjectStatsCalculator(StatusKernel kernel, int parallelThreshold) {
+        if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("Parallel threshold cannot be negative");
+        }
+        this.kernel = kernel;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public ProjectStats calculate(List<Ticket> tickets, List<BugReport> bugs, List<Milestone> milestones) {
+        if (tickets.size() + bugs.size() >= parallelThreshold) {
+            return fused(tickets, bugs, milestones, true);
+        }
+        return columnar(tickets, bugs, milestones);
+    }
+
+    public ProjectStats columnar(List<Ticket> tickets, List<BugReport> bugs, List<Milestone> milestones) {
+        var ticketColumns = StatusColumns.ofTickets(tickets);
+        var bugColumns = StatusColumns.ofBugs(bugs);
+
+        var ticketHistogram = kernel.histogram(ticketColumns.status(), ticketColumns.size(),
+                TicketStatus.values().length);
+        var bugHistogram = kernel.histogram(bugColumns.status(), bugColumns.size(),
+                BugReportStatus.values().length);
+
+        int totalTickets = ticketColumns.size();
+        int completedTickets = ticketHistogram[TicketStatus.COMPLETED.ordinal()];
+        int openBugs = bugHistogram[BugReportStatus.NEW.ordinal()];
+
+        int criticalBugs = kernel.count(bugColumns.critical(), bugColumns.size(), StatusColumns.TRUE)
+                - kernel.countBoth(bugColumns.critical(), StatusColumns.TRUE,
+                        bugColumns.status(), StatusColumns.code(BugReportStatus.CLOSED), bugColumns.size());
+
+        int activeMilestones = (int) milestones.stream()
+                .filter(m -> m.status() == MilestoneStatus.ACTIVE)
+                .count();
+
+        return ProjectStats.of(totalTickets, completedTickets, openBugs, criticalBugs, activeMilestones);
+    }
+
+    public ProjectStats fused(List<Ticket> tickets, List<BugReport> bugs, List<Milestone> milestones,
+                              boolean parallel) {
+        var spliterator = new ProjectStoreSpliterator(tickets, bugs, milestones);
+        return StreamSupport.stream(spliterator, parallel)
+                .collect(new ProjectStatsCollector());
+    }
+}
@@ -0,0 +1,90 @@
+package org.lab.service;
+
+import org.lab.model.*;
+import org.lab.service.ProjectAnalyticsService.ProjectStats;
+
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+/**
+ * Accumulates every {@link ProjectStats} field in a single pass over a mixed
+ * stream of tickets, bug reports and milestones.
+ */
+final class ProjectStatsCollector implements Collector<Object, ProjectStatsCollector.Counts, ProjectStats> {
+
+    static final class Counts {
+        private int totalTickets;
+        private int completedTickets;
+        private int openBugs;
+        private int criticalBugs;
+        private int activeMilestones;
+
+        void add(Object entity) {
+            switch (entity) {
+                case Ticket ticket -> {
+                    totalTickets++;
+                    if (ticket.status() == TicketStatus.COMPLETED) {
+                        completedTickets++;
+                    }
+                }
+                case BugReport bug -> {
+                    if (bug.status() == BugReportStatus.NEW) {
+                        openBugs++;
+                    }
+                    if (bug.status() != BugReportStatus.CLOSED && "critical".equalsIgnoreCase(bug.severity())) {
+                        criticalBugs++;
+                    }
+                }
+                case Milestone milestone -> {
+                    if (milestone.status() == MilestoneStatus.ACTIVE) {
+                        activeMilestones++;
+                    }
+                }
+                default -> throw new IllegalArgumentException(
+                        STR."Unsupported entity type: \{entity.getClass().getName()}");
+            }
+        }
+
+        Counts merge(Counts other) {
+            totalTickets += other.totalTickets;
+            completedTickets += other.completedTickets;
+            openBugs += other.openBugs;
+            criticalBugs += other.criticalBugs;
+            activeMilestones += other.activeMilestones;
+            return this;
+        }
+
+        ProjectStats toStats() {
+            return ProjectStats.of(totalTickets, completedTickets, openBugs, criticalBugs, activeMilestones);
+        }
+    }
+
+    @Override
+    public Supplier<Counts> supplier() {
+        return Counts::new;
+    }
+
+    @Override
+    public BiConsumer<Counts, Object> accumulator() {
+        return Counts::add;
+    }
+
+    @Override
+    public BinaryOperator<Counts> combiner() {
+        return Counts::merge;
+    }
+
+    @Override
+    public Function<Counts, ProjectStats> finisher() {
+        return Counts::toStats;
+    }
+
+    @Override
+    public Set<Characteristics> characteristics() {
+        return Set.of(Characteristics.UNORDERED);
+    }
+}
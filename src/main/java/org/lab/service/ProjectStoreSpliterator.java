@@ -0,0 +1,101 @@
+package org.lab.service;
+
+import org.lab.model.BugReport;
+import org.lab.model.Milestone;
+import org.lab.model.Ticket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over a project snapshot, seen as one indexed sequence of
+ * tickets, then bug reports, then milestones. Splits at the exact midpoint,
+ * so fork/join subtasks always receive balanced halves.
+ */
+final class ProjectStoreSpliterator implements Spliterator<Object> {
+
+    private final List<Ticket> tickets;
+    private final List<BugReport> bugs;
+    private final List<Milestone> milestones;
+    private int index;
+    private final int fence;
+
+    ProjectStoreSpliterator(List<Ticket> tickets, List<BugReport> bugs, List<Milestone> milestones) {
+        this(randomAccess(tickets), randomAccess(bugs), randomAccess(milestones), 0,
+                tickets.size() + bugs.size() + milestones.size());
+    }
+
+    private ProjectStoreSpliterator(List<Ticket> tickets, List<BugReport> bugs, List<Milestone> milestones,
+                                    int index, int fence) {
+        this.tickets = tickets;
+        this.bugs = bugs;
+        this.milestones = milestones;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Object> action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(get(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super Object> action) {
+        int ticketEnd = tickets.size();
+        int bugEnd = ticketEnd + bugs.size();
+        int i = index;
+        for (; i < fence && i < ticketEnd; i++) {
+            action.accept(tickets.get(i));
+        }
+        for (; i < fence && i < bugEnd; i++) {
+            action.accept(bugs.get(i - ticketEnd));
+        }
+        for (; i < fence; i++) {
+            action.accept(milestones.get(i - bugEnd));
+        }
+        index = fence;
+    }
+
+    @Override
+    public Spliterator<Object> trySplit() {
+        int mid = (index + fence) >>> 1;
+        if (mid <= index) {
+            return null;
+        }
+        var prefix = new ProjectStoreSpliterator(tickets, bugs, milestones, index, mid);
+        index = mid;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+    }
+
+    private Object get(int i) {
+        if (i < tickets.size()) {
+            return tickets.get(i);
+        }
+        i -= tickets.size();
+        if (i < bugs.size()) {
+            return bugs.get(i);
+        }
+        return milestones.get(i - bugs.size());
+    }
+
+    private static <T> List<T> randomAccess(List<T> list) {
+        return list instanceof RandomAccess ? list : new ArrayList<>(list);
+    }
+}
@@ -0,0 +1,59 @@
+package org.lab.service;
+
+final class ScalarStatusKernel implements StatusKernel {
+
+    static final ScalarStatusKernel INSTANCE = new ScalarStatusKernel();
+
+    private ScalarStatusKernel() {
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public int count(byte[] column, int length, byte value) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (column[i] == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int countBoth(byte[] first, byte firstValue, byte[] second, byte secondValue, int length) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (first[i] == firstValue && second[i] == secondValue) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int countBefore(byte[] codes, byte code, long[] timestamps, long threshold, int length) {
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (codes[i] == code && timestamps[i] < threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int[] histogram(byte[] column, int length, int buckets) {
+        var result = new int[buckets];
+        for (int i = 0; i < length; i++) {
+            int bucket = column[i];
+            if (bucket >= 0 && bucket < buckets) {
+                result[bucket]++;
+            }
+        }
+        return result;
+    }
+}
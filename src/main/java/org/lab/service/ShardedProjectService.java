@@ -0,0 +1,404 @@
+package org.lab.service;
+
+import org.lab.model.*;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Partitions project state over N shards. Each shard is a
+ * {@link ProjectManagementService} whose writes all run on one owner
+ * platform thread, so its compare-and-set updates never contend or retry
+ * and the shard's writes are applied in one order. Reads do not queue
+ * behind writes: they run on the caller's thread straight against the
+ * shard, which the service supports alongside its writer, and see every
+ * write the caller has already been answered for.
+ *
+ * <p>A project and all its milestones, tickets and bug reports live on the
+ * shard chosen when the project is created (round robin); a shared
+ * directory maps entity ids to shards. Users are global and are
+ * replicated to every shard so permission checks stay shard-local; their
+ * usernames and emails are claimed in a shared index before the broadcast,
+ * so shards never disagree on who won a name, and user lookups are served
+ * from a shared map without visiting a shard. Reads keyed by user fan out
+ * to all shards and merge; permission matrices are merged once and cached
+ * here until the user's membership changes through this service.
+ *
+ * <p>Projects and milestones are mutable and written by their shard's
+ * thread, so they are handed out as {@link Project#snapshot() snapshots},
+ * taken under their own lock; tickets, bug reports and users are
+ * immutable records.
+ */
+public final class ShardedProjectService implements AutoCloseable {
+    private final List<ProjectManagementService> shards;
+    private final List<ExecutorService> owners;
+    private final Map<UUID, Integer> directory = new ConcurrentHashMap<>();
+    private final UserIndex userIndex = new UserIndex();
+    private final Map<UUID, User> users = new ConcurrentHashMap<>();
+    private final Map<UUID, PermissionMatrix> permissionMatrices = new ConcurrentHashMap<>();
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    public ShardedProjectService(int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        var shards = new ArrayList<ProjectManagementService>(shardCount);
+        var owners = new ArrayList<ExecutorService>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new ProjectManagementService());
+            owners.add(Executors.newSingleThreadExecutor(Thread.ofPlatform().name("shard-" + i).factory()));
+        }
+        this.shards = List.copyOf(shards);
+        this.owners = List.copyOf(owners);
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    /** Shard owning the entity, or -1 if the id is unknown. */
+    public int shardOf(UUID entityId) {
+        return directory.getOrDefault(entityId, -1);
+    }
+
+    public User registerUser(String username, String email, String fullName) {
+        var user = User.create(username, email, fullName);
+        userIndex.claim(user);
+        broadcast(shard -> {
+            shard.bulkLoad(List.of(user), List.of(), List.of(), List.of(), List.of());
+            return null;
+        });
+        users.put(user.id(), user);
+        return user;
+    }
+
+    public Project createProject(String name, String description, UUID creatorId) {
+        int shard = Math.floorMod(nextShard.getAndIncrement(), shards.size());
+        var project = on(shard, s -> s.createProject(name, description, creatorId).snapshot());
+        directory.put(project.id(), shard);
+        permissionMatrices.remove(creatorId);
+        return project;
+    }
+
+    public void addTeamMember(UUID projectId, UUID userId, Role role, UUID requesterId) {
+        on(route(projectId, "Project"), s -> {
+            s.addTeamMember(projectId, userId, role, requesterId);
+            return null;
+        });
+        permissionMatrices.remove(userId);
+    }
+
+    public void assignTeamLeader(UUID projectId, UUID userId, UUID requesterId) {
+        on(route(projectId, "Project"), s -> {
+            s.assignTeamLeader(projectId, userId, requesterId);
+            return null;
+        });
+        permissionMatrices.remove(userId);
+    }
+
+    public Milestone createMilestone(String name, String description, UUID projectId,
+                                     LocalDate startDate, LocalDate endDate, UUID requesterId) {
+        int shard = route(projectId, "Project");
+        var milestone = on(shard, s -> s.createMilestone(name, description, projectId,
+                startDate, endDate, requesterId).snapshot());
+        directory.put(milestone.id(), shard);
+        return milestone;
+    }
+
+    public void changeMilestoneStatus(UUID milestoneId, MilestoneStatus newStatus, UUID requesterId) {
+        on(route(milestoneId, "Milestone"), s -> {
+            s.changeMilestoneStatus(milestoneId, newStatus, requesterId);
+            return null;
+        });
+    }
+
+    public Ticket createTicket(String title, String description, UUID projectId,
+                               UUID milestoneId, UUID requesterId) {
+        int shard = route(projectId, "Project");
+        var ticket = on(shard, s -> s.createTicket(title, description, projectId, milestoneId, requesterId));
+        directory.put(ticket.id(), shard);
+        return ticket;
+    }
+
+    public void assignDevelopersToTicket(UUID ticketId, Set<UUID> developerIds, UUID requesterId) {
+        on(route(ticketId, "Ticket"), s -> {
+            s.assignDevelopersToTicket(ticketId, developerIds, requesterId);
+            return null;
+        });
+    }
+
+    public void updateTicketStatus(UUID ticketId, TicketStatus newStatus, UUID requesterId) {
+        on(route(ticketId, "Ticket"), s -> {
+            s.updateTicketStatus(ticketId, newStatus, requesterId);
+            return null;
+        });
+    }
+
+    public void addDependency(UUID blockerId, UUID blockedId, UUID requesterId) {
+        on(route(blockerId, "Ticket"), s -> {
+            s.addDependency(blockerId, blockedId, requesterId);
+            return null;
+        });
+    }
+
+    public void removeDependency(UUID blockerId, UUID blockedId, UUID requesterId) {
+        on(route(blockerId, "Ticket"), s -> {
+            s.removeDependency(blockerId, blockedId, requesterId);
+            return null;
+        });
+    }
+
+    public BugReport createBugReport(String title, String description, UUID projectId,
+                                     UUID reporterId, String severity) {
+        int shard = route(projectId, "Project");
+        var bugReport = on(shard, s -> s.createBugReport(title, description, projectId, reporterId, severity));
+        directory.put(bugReport.id(), shard);
+        return bugReport;
+    }
+
+    public void assignBugReport(UUID bugReportId, UUID developerId, UUID requesterId) {
+        on(route(bugReportId, "Bug report"), s -> {
+            s.assignBugReport(bugReportId, developerId, requesterId);
+            return null;
+        });
+    }
+
+    public void updateBugReportStatus(UUID bugReportId, BugReportStatus newStatus, UUID requesterId) {
+        on(route(bugReportId, "Bug report"), s -> {
+            s.updateBugReportStatus(bugReportId, newStatus, requesterId);
+            return null;
+        });
+    }
+
+    /**
+     * Sharded counterpart of {@link ProjectManagementService#bulkLoad}: users
+     * go to every shard, projects are placed round robin and their
+     * milestones, tickets and bug reports follow them.
+     *
+     * <p>Not atomic across shards. Input errors — a child of an unknown
+     * project, a taken username or email — are rejected before any shard is
+     * touched, but if a shard then fails, the shards that finished keep
+     * their part and it stays routable, while the failed shard's part is
+     * unreachable; the caller should treat the load as partial and retry
+     * it, which replaces entities by id.
+     */
+    public void bulkLoad(Collection<User> newUsers, Collection<Project> newProjects,
+                         Collection<Milestone> newMilestones, Collection<Ticket> newTickets,
+                         Collection<BugReport> newBugReports) {
+        var placement = new HashMap<UUID, Integer>();
+        for (var project : newProjects) {
+            placement.put(project.id(), Math.floorMod(nextShard.getAndIncrement(), shards.size()));
+        }
+        Function<UUID, Integer> shardOfProject = projectId -> {
+            var shard = placement.containsKey(projectId) ? placement.get(projectId) : directory.get(projectId);
+            if (shard == null) {
+                throw new IllegalArgumentException(STR."Project with id \{projectId} does not exist");
+            }
+            return shard;
+        };
+
+        var projectsByShard = partition(newProjects, p -> placement.get(p.id()));
+        var milestonesByShard = partition(newMilestones, m -> shardOfProject.apply(m.projectId()));
+        var ticketsByShard = partition(newTickets, t -> shardOfProject.apply(t.projectId()));
+        var bugsByShard = partition(newBugReports, b -> shardOfProject.apply(b.projectId()));
+
+        userIndex.claimAll(newUsers);
+        var loadedUsers = List.copyOf(newUsers);
+        var futures = new ArrayList<CompletableFuture<Void>>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            int index = i;
+            var shard = shards.get(i);
+            var projects = projectsByShard.get(i);
+            var milestones = milestonesByShard.get(i);
+            var tickets = ticketsByShard.get(i);
+            var bugs = bugsByShard.get(i);
+            futures.add(CompletableFuture.runAsync(
+                    () -> shard.bulkLoad(loadedUsers, projects, milestones, tickets, bugs), owners.get(i))
+                    .thenRun(() -> {
+                        projects.forEach(p -> directory.put(p.id(), index));
+                        milestones.forEach(m -> directory.put(m.id(), index));
+                        tickets.forEach(t -> directory.put(t.id(), index));
+                        bugs.forEach(b -> directory.put(b.id(), index));
+                    }));
+        }
+        try {
+            futures.forEach(ShardedProjectService::await);
+            loadedUsers.forEach(u -> users.put(u.id(), u));
+        } finally {
+            newProjects.forEach(p -> p.teamMembers().keySet().forEach(permissionMatrices::remove));
+        }
+    }
+
+    public PermissionMatrix getPermissionMatrix(UUID userId) {
+        return permissionMatrices.computeIfAbsent(userId, id -> {
+            var roles = new HashMap<UUID, Role>();
+            fanOut(s -> List.of(s.getPermissionMatrix(id))).forEach(m -> roles.putAll(m.roles()));
+            return new PermissionMatrix(id, roles);
+        });
+    }
+
+    public List<Project> getUserProjects(UUID userId) {
+        return fanOut(s -> s.getUserProjects(userId).stream().map(Project::snapshot).toList());
+    }
+
+    public List<DeveloperLoad> recommendDevelopers(UUID projectId, int count) {
+        return read(route(projectId, "Project"), s -> s.recommendDevelopers(projectId, count));
+    }
+
+    /** Merges the first {@code offset + limit} items of every shard's inbox. */
+    public List<InboxItem> getInbox(UUID userId, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException(STR."Invalid page: offset \{offset}, limit \{limit}");
+        }
+        int head = (int) Math.min(Integer.MAX_VALUE, (long) offset + limit);
+        var merged = new ArrayList<>(fanOut(s -> s.getInbox(userId, 0, head)));
+        merged.sort(InboxItem.ORDER);
+        return merged.subList(Math.min(offset, merged.size()), Math.min(head, merged.size()));
+    }
+
+    public List<Ticket> getNextUnblockedTickets(UUID projectId, int limit) {
+        return read(route(projectId, "Project"), s -> s.getNextUnblockedTickets(projectId, limit));
+    }
+
+    public List<Ticket> getCriticalPath(UUID milestoneId) {
+        return read(route(milestoneId, "Milestone"), s -> s.getCriticalPath(milestoneId));
+    }
+
+    public List<Ticket> getUserTickets(UUID userId) {
+        return fanOut(s -> s.getUserTickets(userId));
+    }
+
+    public List<BugReport> getUserBugReports(UUID userId) {
+        return fanOut(s -> s.getUserBugReports(userId));
+    }
+
+    public List<Ticket> getTicketsByMilestone(UUID milestoneId) {
+        int shard = shardOf(milestoneId);
+        return shard < 0 ? List.of() : read(shard, s -> s.getTicketsByMilestone(milestoneId));
+    }
+
+    public List<Ticket> getTicketsByProject(UUID projectId) {
+        int shard = shardOf(projectId);
+        return shard < 0 ? List.of() : read(shard, s -> s.getTicketsByProject(projectId));
+    }
+
+    public List<BugReport> getBugReportsByProject(UUID projectId) {
+        int shard = shardOf(projectId);
+        return shard < 0 ? List.of() : read(shard, s -> s.getBugReportsByProject(projectId));
+    }
+
+    public ProjectAnalyticsService.ProjectStats getProjectStats(UUID projectId) {
+        int shard = shardOf(projectId);
+        return shard < 0 ? ProjectAnalyticsService.ProjectStats.of(0, 0, 0, 0, 0)
+                : read(shard, s -> s.getProjectStats(projectId));
+    }
+
+    public List<Milestone> getMilestonesByProject(UUID projectId) {
+        int shard = shardOf(projectId);
+        return shard < 0 ? List.of() : read(shard, s -> s.getMilestonesByProject(projectId).stream()
+                .map(Milestone::snapshot).toList());
+    }
+
+    public Optional<User> getUser(UUID userId) {
+        return Optional.ofNullable(users.get(userId));
+    }
+
+    public Optional<User> findUserByUsername(String username) {
+        return userIndex.byUsername(username).flatMap(this::getUser);
+    }
+
+    public Optional<User> findUserByEmail(String email) {
+        return userIndex.byEmail(email).flatMap(this::getUser);
+    }
+
+    public Optional<Project> getProject(UUID projectId) {
+        return lookup(projectId, s -> s.getProject(projectId).map(Project::snapshot));
+    }
+
+    public Optional<Milestone> getMilestone(UUID milestoneId) {
+        return lookup(milestoneId, s -> s.getMilestone(milestoneId).map(Milestone::snapshot));
+    }
+
+    public Optional<Ticket> getTicket(UUID ticketId) {
+        return lookup(ticketId, s -> s.getTicket(ticketId));
+    }
+
+    public Optional<BugReport> getBugReport(UUID bugReportId) {
+        return lookup(bugReportId, s -> s.getBugReport(bugReportId));
+    }
+
+    /** Stops the shard owners after draining queued work. */
+    @Override
+    public void close() {
+        owners.forEach(ExecutorService::close);
+    }
+
+    private int route(UUID entityId, String kind) {
+        var shard = directory.get(entityId);
+        if (shard == null) {
+            throw new IllegalArgumentException(STR."\{kind} with id \{entityId} does not exist");
+        }
+        return shard;
+    }
+
+    private <T> Optional<T> lookup(UUID entityId, Function<ProjectManagementService, Optional<T>> read) {
+        int shard = shardOf(entityId);
+        return shard < 0 ? Optional.empty() : read(shard, read);
+    }
+
+    /** Runs a write on the shard's owner thread and waits for it. */
+    private <T> T on(int shard, Function<ProjectManagementService, T> action) {
+        var service = shards.get(shard);
+        return await(CompletableFuture.supplyAsync(() -> action.apply(service), owners.get(shard)));
+    }
+
+    /** Runs a read on the calling thread. */
+    private <T> T read(int shard, Function<ProjectManagementService, T> read) {
+        return read.apply(shards.get(shard));
+    }
+
+    private <T> List<T> fanOut(Function<ProjectManagementService, List<T>> read) {
+        var merged = new ArrayList<T>();
+        shards.forEach(service -> merged.addAll(read.apply(service)));
+        return merged;
+    }
+
+    private void broadcast(Function<ProjectManagementService, Void> action) {
+        var futures = new ArrayList<CompletableFuture<Void>>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            var service = shards.get(i);
+            futures.add(CompletableFuture.supplyAsync(() -> action.apply(service), owners.get(i)));
+        }
+        futures.forEach(ShardedProjectService::await);
+    }
+
+    private <T> List<List<T>> partition(Collection<T> values, Function<T, Integer> shardOf) {
+        var result = new ArrayList<List<T>>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            result.add(new ArrayList<>());
+        }
+        values.forEach(v -> result.get(shardOf.apply(v)).add(v));
+        return result;
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package org.lab.service;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing table from id to a packed location (chunk or file number
+ * in the high half, offset in the low half) and length, with linear
+ * probing and backward-shift deletion. A negative length marks a free cell.
+ * Entries live in primitive arrays, so the table adds no per-entry objects.
+ * Not thread-safe.
+ */
+final class SlotTable {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    static long location(int chunk, long offset) {
+        return ((long) chunk << 32) | offset;
+    }
+
+    static int chunkOf(long location) {
+        return (int) (location >>> 32);
+    }
+
+    static long offsetOf(long location) {
+        return location & 0xFFFF_FFFFL;
+    }
+
+    private long[] mostBits = new long[INITIAL_CAPACITY];
+    private long[] leastBits = new long[INITIAL_CAPACITY];
+    private long[] locations = new long[INITIAL_CAPACITY];
+    private int[] lengths = emptyLengths(INITIAL_CAPACITY);
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return lengths.length;
+    }
+
+    int chunk(int index) {
+        return chunkOf(locations[index]);
+    }
+
+    long offset(int index) {
+        return offsetOf(locations[index]);
+    }
+
+    int length(int index) {
+        return lengths[index];
+    }
+
+    void relocate(int index, long location) {
+        locations[index] = location;
+    }
+
+    int indexOf(long most, long least) {
+        int mask = lengths.length - 1;
+        for (int index = hash(most, least) & mask; lengths[index] >= 0; index = (index + 1) & mask) {
+            if (mostBits[index] == most && leastBits[index] == least) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    int put(long most, long least, long location, int length) {
+        if ((size + 1) * 4L > lengths.length * 3L) {
+            resize();
+        }
+        int mask = lengths.length - 1;
+        int index = hash(most, least) & mask;
+        for (; lengths[index] >= 0; index = (index + 1) & mask) {
+            if (mostBits[index] == most && leastBits[index] == least) {
+                int previous = lengths[index];
+                locations[index] = location;
+                lengths[index] = length;
+                return previous;
+            }
+        }
+        mostBits[index] = most;
+        leastBits[index] = least;
+        locations[index] = location;
+        lengths[index] = length;
+        size++;
+        return -1;
+    }
+
+    int remove(long most, long least) {
+        int index = indexOf(most, least);
+        if (index < 0) {
+            return -1;
+        }
+        int removed = lengths[index];
+        int mask = lengths.length - 1;
+        int hole = index;
+        for (int next = (hole + 1) & mask; lengths[next] >= 0; next = (next + 1) & mask) {
+            int home = hash(mostBits[next], leastBits[next]) & mask;
+            // Move the entry back if the hole lies on its probe path.
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                mostBits[hole] = mostBits[next];
+                leastBits[hole] = leastBits[next];
+                locations[hole] = locations[next];
+                lengths[hole] = lengths[next];
+                hole = next;
+            }
+        }
+        lengths[hole] = -1;
+        size--;
+        return removed;
+    }
+
+    private void resize() {
+        var oldMost = mostBits;
+        var oldLeast = leastBits;
+        var oldLocations = locations;
+        var oldLengths = lengths;
+        int capacity = oldLengths.length * 2;
+        mostBits = new long[capacity];
+        leastBits = new long[capacity];
+        locations = new long[capacity];
+        lengths = emptyLengths(capacity);
+        size = 0;
+        for (int i = 0; i < oldLengths.length; i++) {
+            if (oldLengths[i] >= 0) {
+                put(oldMost[i], oldLeast[i], oldLocations[i], oldLengths[i]);
+            }
+        }
+    }
+
+    private static int[] emptyLengths(int capacity) {
+        var lengths = new int[capacity];
+        Arrays.fill(lengths, -1);
+        return lengths;
+    }
+
+    private static int hash(long most, long least) {
+        long h = most ^ least;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
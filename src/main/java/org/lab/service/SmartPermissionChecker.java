@@ -73,5 +73,13 @@ public class SmartPermissionChecker {
         return new MilestoneCheckResult(true, "Milestone ready to activate");
     }
 
+    /** Same rules, with the team size taken from the project's maintained member count. */
+    public static MilestoneCheckResult canActivateMilestone(Milestone milestone, Project project) {
+        if (!milestone.projectId().equals(project.id())) {
+            return new MilestoneCheckResult(false, "Milestone does not belong to the project");
+        }
+        return canActivateMilestone(milestone, project.teamSize());
+    }
+
     public record MilestoneCheckResult(boolean canActivate, String reason) {}
 }
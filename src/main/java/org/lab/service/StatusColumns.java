@@ -0,0 +1,75 @@
+package org.lab.service;
+
+import org.lab.model.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Columnar view of ticket and bug report statuses.
+ * Statuses are stored as their ordinal in a byte column so they can be
+ * scanned by a {@link StatusKernel}.
+ */
+public final class StatusColumns {
+
+    public static final byte TRUE = 1;
+
+    public record TicketColumns(byte[] status, long[] updatedAt, int size) {}
+
+    public record BugColumns(byte[] status, byte[] critical, int size) {}
+
+    private StatusColumns() {
+    }
+
+    public static TicketColumns ofTickets(List<Ticket> tickets) {
+        int size = tickets.size();
+        var status = new byte[size];
+        var updatedAt = new long[size];
+        int i = 0;
+        for (var ticket : tickets) {
+            status[i] = code(ticket.status());
+            updatedAt[i] = epochMicros(ticket.updatedAt());
+            i++;
+        }
+        return new TicketColumns(status, updatedAt, size);
+    }
+
+    public static BugColumns ofBugs(List<BugReport> bugs) {
+        int size = bugs.size();
+        var status = new byte[size];
+        var critical = new byte[size];
+        int i = 0;
+        for (var bug : bugs) {
+            status[i] = code(bug.status());
+            critical[i] = "critical".equalsIgnoreCase(bug.severity()) ? TRUE : 0;
+            i++;
+        }
+        return new BugColumns(status, critical, size);
+    }
+
+    public static byte code(TicketStatus status) {
+        return (byte) status.ordinal();
+    }
+
+    public static byte code(BugReportStatus status) {
+        return (byte) status.ordinal();
+    }
+
+    /**
+     * Encodes a timestamp as microseconds since the epoch, so that
+     * {@code epochMicros(a) < epochMicros(b)} whenever {@code a} is at least
+     * a microsecond before {@code b}. Years beyond roughly ±290,000 saturate
+     * to {@link Long#MIN_VALUE} or {@link Long#MAX_VALUE} instead of wrapping.
+     */
+    public static long epochMicros(LocalDateTime time) {
+        long seconds = time.toEpochSecond(ZoneOffset.UTC);
+        if (seconds >= Long.MAX_VALUE / 1_000_000L) {
+            return Long.MAX_VALUE;
+        }
+        if (seconds <= Long.MIN_VALUE / 1_000_000L) {
+            return Long.MIN_VALUE;
+        }
+        return seconds * 1_000_000L + time.getNano() / 1_000;
+    }
+}
@@ -0,0 +1,27 @@
+package org.lab.service;
+
+/**
+ * Counting primitives over byte-coded status columns.
+ * Obtain an implementation through {@link StatusKernels}.
+ */
+public interface StatusKernel {
+
+    String name();
+
+    /** Number of positions in {@code [0, length)} where {@code column} equals {@code value}. */
+    int count(byte[] column, int length, byte value);
+
+    /** Number of positions where both columns match their respective values. */
+    int countBoth(byte[] first, byte firstValue, byte[] second, byte secondValue, int length);
+
+    /** Number of positions where {@code codes} equals {@code code} and {@code timestamps} is below {@code threshold}. */
+    int countBefore(byte[] codes, byte code, long[] timestamps, long threshold, int length);
+
+    default int[] histogram(byte[] column, int length, int buckets) {
+        var result = new int[buckets];
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            result[bucket] = count(column, length, (byte) bucket);
+        }
+        return result;
+    }
+}
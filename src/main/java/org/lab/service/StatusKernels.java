@@ -0,0 +1,54 @@
+package org.lab.service;
+
+import java.util.Optional;
+
+/**
+ * Runtime selection of the {@link StatusKernel} implementation.
+ * The vector kernel is used when the {@code jdk.incubator.vector} module is
+ * resolved and {@value #VECTOR_PROPERTY} is not set to {@code false};
+ * otherwise the scalar kernel is used.
+ */
+public final class StatusKernels {
+
+    public static final String VECTOR_PROPERTY = "lab.analytics.vector";
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_KERNEL = "org.lab.service.VectorStatusKernel";
+
+    private StatusKernels() {
+    }
+
+    public static StatusKernel preferred() {
+        return Holder.PREFERRED;
+    }
+
+    public static StatusKernel scalar() {
+        return ScalarStatusKernel.INSTANCE;
+    }
+
+    public static Optional<StatusKernel> vector() {
+        return Holder.VECTOR;
+    }
+
+    private static Optional<StatusKernel> loadVector() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            var kernel = Class.forName(VECTOR_KERNEL)
+                    .asSubclass(StatusKernel.class)
+                    .getDeclaredConstructor()
+                    .newInstance();
+            return Optional.of(kernel);
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return Optional.empty();
+        }
+    }
+
+    private static final class Holder {
+        static final Optional<StatusKernel> VECTOR = loadVector();
+        static final StatusKernel PREFERRED = Boolean.parseBoolean(System.getProperty(VECTOR_PROPERTY, "true"))
+                ? VECTOR.orElse(ScalarStatusKernel.INSTANCE)
+                : ScalarStatusKernel.INSTANCE;
+    }
+}
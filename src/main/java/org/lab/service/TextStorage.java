@@ -0,0 +1,39 @@
+package org.lab.service;
+
+import java.util.UUID;
+
+/**
+ * Where free-text fields of tickets and bug reports live.
+ * {@link #store} returns the value to keep inside the stored record and
+ * {@link #load} turns it back into the original text on read.
+ */
+public sealed interface TextStorage permits TextStorage.OnHeap, OffHeapTextStorage {
+
+    String store(UUID ownerId, String text);
+
+    String load(UUID ownerId, String stored);
+
+    void release(UUID ownerId);
+
+    static TextStorage onHeap() {
+        return OnHeap.INSTANCE;
+    }
+
+    enum OnHeap implements TextStorage {
+        INSTANCE;
+
+        @Override
+        public String store(UUID ownerId, String text) {
+            return text;
+        }
+
+        @Override
+        public String load(UUID ownerId, String stored) {
+            return stored;
+        }
+
+        @Override
+        public void release(UUID ownerId) {
+        }
+    }
+}
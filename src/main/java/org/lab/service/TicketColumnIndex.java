@@ -0,0 +1,91 @@
+package org.lab.service;
+
+import org.lab.model.Ticket;
+import org.lab.model.TicketStatus;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Per-project {@link StatusColumns} of tickets kept up to date as the
+ * service replaces them, so a {@link StatusKernel} scans them directly
+ * instead of rebuilding them from the ticket objects on every call.
+ *
+ * <p>A replacement does not carry its values over: it refreshes the
+ * ticket's slot from the store under the project's lock. Whichever refresh
+ * runs last therefore sees the latest stored ticket, no matter in which
+ * order racing updates report, and a ticket that left the store or the
+ * project loses its slot, the last one moving into the gap.
+ */
+final class TicketColumnIndex {
+
+    private static final class Columns {
+        byte[] status = new byte[16];
+        long[] updatedAt = new long[16];
+        UUID[] ids = new UUID[16];
+        final Map<UUID, Integer> slots = new HashMap<>();
+        int size;
+
+        void put(Ticket ticket) {
+            var slot = slots.get(ticket.id());
+            if (slot == null) {
+                if (size == ids.length) {
+                    status = Arrays.copyOf(status, size * 2);
+                    updatedAt = Arrays.copyOf(updatedAt, size * 2);
+                    ids = Arrays.copyOf(ids, size * 2);
+                }
+                slot = size++;
+                ids[slot] = ticket.id();
+                slots.put(ticket.id(), slot);
+            }
+            status[slot] = StatusColumns.code(ticket.status());
+            updatedAt[slot] = StatusColumns.epochMicros(ticket.updatedAt());
+        }
+
+        void remove(UUID id) {
+            var slot = slots.remove(id);
+            if (slot == null) {
+                return;
+            }
+            int last = --size;
+            if (slot != last) {
+                status[slot] = status[last];
+                updatedAt[slot] = updatedAt[last];
+                ids[slot] = ids[last];
+                slots.put(ids[slot], slot);
+            }
+            ids[last] = null;
+        }
+    }
+
+    private final Map<UUID, Columns> byProject = new ConcurrentHashMap<>();
+
+    /** Brings the ticket's slot in {@code projectId} in line with what {@code store} holds for it now. */
+    void refresh(UUID projectId, UUID ticketId, Function<UUID, Ticket> store) {
+        var columns = byProject.computeIfAbsent(projectId, id -> new Columns());
+        synchronized (columns) {
+            var stored = store.apply(ticketId);
+            if (stored != null && stored.projectId().equals(projectId)) {
+                columns.put(stored);
+            } else {
+                columns.remove(ticketId);
+            }
+        }
+    }
+
+    /** Tickets of the project in {@code status} last updated before {@code thresholdMicros}. */
+    int countBefore(UUID projectId, StatusKernel kernel, TicketStatus status, long thresholdMicros) {
+        var columns = byProject.get(projectId);
+        if (columns == null) {
+            return 0;
+        }
+        synchronized (columns) {
+            return kernel.countBefore(columns.status, StatusColumns.code(status), columns.updatedAt,
+                    thresholdMicros, columns.size);
+        }
+    }
+}
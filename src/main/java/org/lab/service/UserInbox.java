@@ -0,0 +1,97 @@
+package org.lab.service;
+
+import org.lab.model.BugReport;
+import org.lab.model.Ticket;
+import org.lab.model.UuidSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Per-user sorted sets of open assigned work, kept by the service next to
+ * its store: every replaced ticket or bug report takes its old entry away
+ * from the old assignees and, while still open, adds its new entry for the
+ * new assignees. Completed tickets and closed bug reports simply get no
+ * entry. A page is then a walk over the head of one skip list.
+ *
+ * <p>Each replacement pair is applied unconditionally as a -1 for the old
+ * entry and a +1 for the new one on a count per user and entry, and an
+ * entry is listed while its count is positive. Every stored value is added
+ * once and taken away once, so the counts add up to the latest stored
+ * value whatever order racing reports arrive in, including a bulk load
+ * that replaces an entity with a lower version. While reports are still in
+ * flight a user may briefly see two versions of one entity.
+ */
+final class UserInbox {
+
+    private record Key(UUID userId, InboxItem item) {}
+
+    private final Map<UUID, NavigableSet<InboxItem>> byUser = new ConcurrentHashMap<>();
+    private final Map<Key, Integer> counts = new ConcurrentHashMap<>();
+
+    void ticketReplaced(Ticket previous, Ticket current) {
+        // Add before taking away, so an entry the pair leaves unchanged never drops out.
+        if (current != null && !current.status().isCompleted()) {
+            adjust(InboxItem.of(current), current.assignedDevelopers(), 1);
+        }
+        if (previous != null && !previous.status().isCompleted()) {
+            adjust(InboxItem.of(previous), previous.assignedDevelopers(), -1);
+        }
+    }
+
+    void bugReportReplaced(BugReport previous, BugReport current) {
+        if (current != null && !current.status().isClosed() && current.assignedTo() != null) {
+            adjust(InboxItem.of(current), UuidSet.of(current.assignedTo()), 1);
+        }
+        if (previous != null && !previous.status().isClosed() && previous.assignedTo() != null) {
+            adjust(InboxItem.of(previous), UuidSet.of(previous.assignedTo()), -1);
+        }
+    }
+
+    List<InboxItem> page(UUID userId, int offset, int limit) {
+        if (offset < 0 || limit < 0) {
+            throw new IllegalArgumentException(STR."Invalid page: offset \{offset}, limit \{limit}");
+        }
+        var items = byUser.get(userId);
+        if (items == null || limit == 0) {
+            return List.of();
+        }
+        var page = new ArrayList<InboxItem>(Math.min(limit, 64));
+        int skipped = 0;
+        for (var item : items) {
+            if (skipped++ < offset) {
+                continue;
+            }
+            page.add(item);
+            if (page.size() == limit) {
+                break;
+            }
+        }
+        return page;
+    }
+
+    /** Adds {@code delta} to the item's count for each user, listing it exactly while the count is positive. */
+    private void adjust(InboxItem item, Set<UUID> users, int delta) {
+        for (var userId : users) {
+            counts.compute(new Key(userId, item), (key, count) -> {
+                int before = count == null ? 0 : count;
+                int after = before + delta;
+                if (before <= 0 && after > 0) {
+                    byUser.computeIfAbsent(userId, u -> new ConcurrentSkipListSet<>(InboxItem.ORDER)).add(item);
+                } else if (before > 0 && after <= 0) {
+                    var items = byUser.get(userId);
+                    if (items != null) {
+                        items.remove(item);
+                    }
+                }
+                return after == 0 ? null : after;
+            });
+        }
+    }
+}
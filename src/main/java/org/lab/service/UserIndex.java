@@ -0,0 +1,77 @@
+package org.lab.service;
+
+import org.lab.model.User;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Unique, case-insensitive username and email keys for users. Claims run
+ * under the index's monitor and check both keys before writing either, so
+ * of two concurrent registrations for the same name exactly one wins and a
+ * losing claim is never visible; lookups read the maps without locking.
+ * Usernames and emails never change, so claims are never moved.
+ */
+final class UserIndex {
+    private final Map<String, UUID> byUsername = new ConcurrentHashMap<>();
+    private final Map<String, UUID> byEmail = new ConcurrentHashMap<>();
+
+    static String normalize(String key) {
+        return key.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Claims the user's username and email, or throws
+     * {@link IllegalStateException} leaving the index unchanged if another
+     * user holds either. Claiming again for the same user is a no-op.
+     */
+    synchronized void claim(User user) {
+        claimAll(List.of(user));
+    }
+
+    /**
+     * Claims every user or, if any key is held by another user or wanted by
+     * two users of the batch, throws {@link IllegalStateException} and
+     * claims none.
+     */
+    synchronized void claimAll(Collection<User> users) {
+        var usernames = new HashMap<String, UUID>();
+        var emails = new HashMap<String, UUID>();
+        for (var user : users) {
+            var username = normalize(user.username());
+            var email = normalize(user.email());
+            if (!owns(byUsername, usernames, username, user)) {
+                throw new IllegalStateException(STR."Username '\{user.username()}' is already taken");
+            }
+            if (!owns(byEmail, emails, email, user)) {
+                throw new IllegalStateException(STR."Email '\{user.email()}' is already registered");
+            }
+        }
+        byUsername.putAll(usernames);
+        byEmail.putAll(emails);
+    }
+
+    /** Records the key for the user in {@code batch} unless the index or the batch gives it to someone else. */
+    private static boolean owns(Map<String, UUID> index, Map<String, UUID> batch, String key, User user) {
+        var owner = index.get(key);
+        if (owner != null && !owner.equals(user.id())) {
+            return false;
+        }
+        var batchOwner = batch.putIfAbsent(key, user.id());
+        return batchOwner == null || batchOwner.equals(user.id());
+    }
+
+    Optional<UUID> byUsername(String username) {
+        return Optional.ofNullable(byUsername.get(normalize(username)));
+    }
+
+    Optional<UUID> byEmail(String email) {
+        return Optional.ofNullable(byEmail.get(normalize(email)));
+    }
+}
@@ -0,0 +1,103 @@
+package org.lab.service;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation backed by the incubating Vector API.
+ * Only loaded reflectively by {@link StatusKernels} once the
+ * {@code jdk.incubator.vector} module is known to be present.
+ */
+final class VectorStatusKernel implements StatusKernel {
+
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    VectorStatusKernel() {
+        if (BYTES.length() > Long.SIZE || BYTES.length() % LONGS.length() != 0) {
+            throw new IllegalStateException(STR."Unsupported vector shape: \{BYTES}");
+        }
+    }
+
+    @Override
+    public String name() {
+        return STR."vector-\{BYTES.vectorBitSize()}";
+    }
+
+    @Override
+    public int count(byte[] column, int length, byte value) {
+        int count = 0;
+        int i = 0;
+        for (int upper = BYTES.loopBound(length); i < upper; i += BYTES.length()) {
+            count += ByteVector.fromArray(BYTES, column, i).eq(value).trueCount();
+        }
+        for (; i < length; i++) {
+            if (column[i] == value) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int countBoth(byte[] first, byte firstValue, byte[] second, byte secondValue, int length) {
+        int count = 0;
+        int i = 0;
+        for (int upper = BYTES.loopBound(length); i < upper; i += BYTES.length()) {
+            var matches = ByteVector.fromArray(BYTES, first, i).eq(firstValue)
+                    .and(ByteVector.fromArray(BYTES, second, i).eq(secondValue));
+            count += matches.trueCount();
+        }
+        for (; i < length; i++) {
+            if (first[i] == firstValue && second[i] == secondValue) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int countBefore(byte[] codes, byte code, long[] timestamps, long threshold, int length) {
+        int count = 0;
+        int i = 0;
+        for (int upper = BYTES.loopBound(length); i < upper; i += BYTES.length()) {
+            long codeBits = ByteVector.fromArray(BYTES, codes, i).eq(code).toLong();
+            if (codeBits == 0) {
+                continue;
+            }
+            // One byte vector spans several long vectors; stitch their masks into one bit set.
+            long timeBits = 0;
+            for (int lane = 0; lane < BYTES.length(); lane += LONGS.length()) {
+                long bits = LongVector.fromArray(LONGS, timestamps, i + lane).lt(threshold).toLong();
+                timeBits |= bits << lane;
+            }
+            count += Long.bitCount(codeBits & timeBits);
+        }
+        for (; i < length; i++) {
+            if (codes[i] == code && timestamps[i] < threshold) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int[] histogram(byte[] column, int length, int buckets) {
+        var result = new int[buckets];
+        int i = 0;
+        for (int upper = BYTES.loopBound(length); i < upper; i += BYTES.length()) {
+            var vector = ByteVector.fromArray(BYTES, column, i);
+            for (int bucket = 0; bucket < buckets; bucket++) {
+                result[bucket] += vector.eq((byte) bucket).trueCount();
+            }
+        }
+        for (; i < length; i++) {
+            int bucket = column[i];
+            if (bucket >= 0 && bucket < buckets) {
+                result[bucket]++;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,202 @@
+package org.lab.service;
+
+import org.lab.model.Project;
+import org.lab.model.Role;
+import org.lab.model.Ticket;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Open-ticket counts per assignee and project, with each project's
+ * developers and team leaders kept in an indexed min-heap on their count.
+ * The service reports ticket replacements as for {@link ProjectCounters}:
+ * the count of every assignee of the old version, if it was open, goes
+ * down and that of every assignee of the new version, if open, goes up, and
+ * each change re-sifts one heap slot. Asking for the {@code k} least loaded
+ * walks the top of the heap best-first, without touching the rest.
+ */
+final class WorkloadIndex {
+
+    private final Map<UUID, ProjectHeap> byProject = new ConcurrentHashMap<>();
+
+    void ticketReplaced(Ticket previous, Ticket current) {
+        if (previous != null && !previous.status().isCompleted()) {
+            heap(previous.projectId()).adjust(previous.assignedDevelopers(), -1);
+        }
+        if (current != null && !current.status().isCompleted()) {
+            heap(current.projectId()).adjust(current.assignedDevelopers(), 1);
+        }
+    }
+
+    /** Re-reads whether {@code userId} may take tickets in the project after a role change. */
+    void memberChanged(Project project, UUID userId) {
+        heap(project.id()).setEligible(userId, eligible(project, userId));
+    }
+
+    /** Re-reads the whole team, e.g. after the project was loaded in bulk. */
+    void membersLoaded(Project project) {
+        heap(project.id()).retainEligible(project.teamMembers().keySet().stream()
+                .filter(userId -> eligible(project, userId))
+                .toList());
+    }
+
+    List<DeveloperLoad> leastLoaded(UUID projectId, int k) {
+        var heap = byProject.get(projectId);
+        return heap == null ? List.of() : heap.top(k);
+    }
+
+    private ProjectHeap heap(UUID projectId) {
+        return byProject.computeIfAbsent(projectId, id -> new ProjectHeap());
+    }
+
+    private static boolean eligible(Project project, UUID userId) {
+        return project.hasRole(userId, Role.Developer.class) || project.hasRole(userId, Role.TeamLeader.class);
+    }
+
+    private static final class Entry {
+        final UUID userId;
+        int openTickets;
+        /** Slot in the heap, or -1 while the user is not a developer of the project. */
+        int slot = -1;
+
+        Entry(UUID userId) {
+            this.userId = userId;
+        }
+
+        boolean lighterThan(Entry other) {
+            return openTickets != other.openTickets
+                    ? openTickets < other.openTickets
+                    : userId.compareTo(other.userId) < 0;
+        }
+    }
+
+    private static final class ProjectHeap {
+        private final Map<UUID, Entry> entries = new HashMap<>();
+        private Entry[] heap = new Entry[8];
+        private int size;
+
+        synchronized void adjust(Iterable<UUID> userIds, int delta) {
+            for (var userId : userIds) {
+                var entry = entries.computeIfAbsent(userId, Entry::new);
+                entry.openTickets += delta;
+                if (entry.slot >= 0) {
+                    if (delta < 0) {
+                        siftUp(entry.slot);
+                    } else {
+                        siftDown(entry.slot);
+                    }
+                }
+            }
+        }
+
+        synchronized void setEligible(UUID userId, boolean eligible) {
+            var entry = entries.computeIfAbsent(userId, Entry::new);
+            if (eligible && entry.slot < 0) {
+                insert(entry);
+            } else if (!eligible && entry.slot >= 0) {
+                removeAt(entry.slot);
+            }
+        }
+
+        synchronized void retainEligible(List<UUID> eligible) {
+            var keep = new HashSet<>(eligible);
+            var dropped = new ArrayList<Entry>();
+            for (int slot = 0; slot < size; slot++) {
+                if (!keep.contains(heap[slot].userId)) {
+                    dropped.add(heap[slot]);
+                }
+            }
+            dropped.forEach(entry -> removeAt(entry.slot));
+            eligible.forEach(userId -> setEligible(userId, true));
+        }
+
+        synchronized List<DeveloperLoad> top(int k) {
+            int count = Math.min(k, size);
+            var result = new ArrayList<DeveloperLoad>(count);
+            if (count == 0) {
+                return result;
+            }
+            // Best-first over the heap: a slot is a candidate once its parent is taken.
+            var frontier = new PriorityQueue<Entry>(Math.min(count * 2, size) + 1,
+                    (a, b) -> a == b ? 0 : a.lighterThan(b) ? -1 : 1);
+            frontier.add(heap[0]);
+            while (result.size() < count) {
+                var next = frontier.poll();
+                result.add(new DeveloperLoad(next.userId, next.openTickets));
+                int child = 2 * next.slot + 1;
+                if (child < size) {
+                    frontier.add(heap[child]);
+                }
+                if (child + 1 < size) {
+                    frontier.add(heap[child + 1]);
+                }
+            }
+            return result;
+        }
+
+        private void insert(Entry entry) {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            place(entry, size++);
+            siftUp(entry.slot);
+        }
+
+        private void removeAt(int slot) {
+            var removed = heap[slot];
+            var last = heap[--size];
+            heap[size] = null;
+            removed.slot = -1;
+            if (last != removed) {
+                place(last, slot);
+                siftUp(slot);
+                siftDown(last.slot);
+            }
+        }
+
+        private void siftUp(int slot) {
+            var entry = heap[slot];
+            while (slot > 0) {
+                int parent = (slot - 1) / 2;
+                if (!entry.lighterThan(heap[parent])) {
+                    break;
+                }
+                place(heap[parent], slot);
+                slot = parent;
+            }
+            place(entry, slot);
+        }
+
+        private void siftDown(int slot) {
+            var entry = heap[slot];
+            while (true) {
+                int child = 2 * slot + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && heap[child + 1].lighterThan(heap[child])) {
+                    child++;
+                }
+                if (!heap[child].lighterThan(entry)) {
+                    break;
+                }
+                place(heap[child], slot);
+                slot = child;
+            }
+            place(entry, slot);
+        }
+
+        private void place(Entry entry, int slot) {
+            heap[slot] = entry;
+            entry.slot = slot;
+        }
+    }
+}
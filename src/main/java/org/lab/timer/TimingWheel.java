@@ -0,0 +1,227 @@
+package org.lab.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel: {@value #LEVELS} wheels of {@value #SLOTS}
+ * slots, each slot of level {@code n} spanning {@code SLOTS^n} ticks. A
+ * timeout sits in the slot of the coarsest level that still tells its tick
+ * apart; when a finer wheel wraps around, the next slot of the coarser one
+ * is cascaded down. Scheduling and cancelling are O(1), advancing costs
+ * O(1) per tick plus the timeouts it moves or expires, and a pending
+ * timeout is a single list node.
+ *
+ * <p>Time is counted in ticks of {@code tickMillis} from the epoch and only
+ * moves when {@link #advance} is called. Deadlines are rounded up to a whole
+ * tick, so a timeout never fires early; deadlines that have already passed
+ * expire on the next call. Thread-safe; expired payloads are handed to the
+ * consumer after the wheel's lock is released.
+ */
+public final class TimingWheel<T> {
+
+    static final int SLOT_BITS = 6;
+    static final int SLOTS = 1 << SLOT_BITS;
+    static final int LEVELS = 8;
+    private static final int MASK = SLOTS - 1;
+
+    /** A scheduled payload; also the node of its slot's list. */
+    public static final class Timeout<T> {
+        private final TimingWheel<T> wheel;
+        private final T payload;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private Timeout<T>[] slotOwner;
+        private int slot;
+        private int level;
+
+        private Timeout(TimingWheel<T> wheel, T payload, long deadlineTick) {
+            this.wheel = wheel;
+            this.payload = payload;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        public long deadlineMillis() {
+            return deadlineTick * wheel.tickMillis;
+        }
+
+        /** Returns false if the timeout already expired or was cancelled. */
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+
+    private final long tickMillis;
+    private final Timeout<T>[][] heads;
+    private final int[] counts = new int[LEVELS];
+    private final ReentrantLock lock = new ReentrantLock();
+    private long nextTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        this.tickMillis = tickMillis;
+        this.heads = (Timeout<T>[][]) new Timeout<?>[LEVELS][SLOTS];
+        this.nextTick = startMillis / tickMillis + 1;
+    }
+
+    public Timeout<T> schedule(long deadlineMillis, T payload) {
+        lock.lock();
+        try {
+            var timeout = new Timeout<>(this, payload, Math.ceilDiv(deadlineMillis, tickMillis));
+            insert(timeout);
+            size++;
+            return timeout;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return size;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Expires every timeout whose deadline is at or before {@code nowMillis}; returns how many. */
+    public int advance(long nowMillis, Consumer<? super T> expired) {
+        var payloads = new ArrayList<T>();
+        lock.lock();
+        try {
+            long lastTick = Math.floorDiv(nowMillis, tickMillis);
+            nextTick = Math.min(skip(nextTick), Math.max(nextTick, lastTick + 1));
+            while (nextTick <= lastTick) {
+                if ((nextTick & MASK) == 0) {
+                    cascade(nextTick);
+                }
+                drain((int) (nextTick & MASK), payloads);
+                nextTick = Math.min(skip(nextTick + 1), lastTick + 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+        payloads.forEach(expired);
+        return payloads.size();
+    }
+
+    private boolean cancel(Timeout<T> timeout) {
+        lock.lock();
+        try {
+            if (timeout.slotOwner == null) {
+                return false;
+            }
+            unlink(timeout);
+            size--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The first tick from {@code tick} on that can do any work: while the
+     * finest levels are empty, nothing happens until the next slot boundary
+     * of the first level that holds timeouts.
+     */
+    private long skip(long tick) {
+        if (size == 0) {
+            return Long.MAX_VALUE;
+        }
+        int level = 0;
+        while (counts[level] == 0) {
+            level++;
+        }
+        if (level == 0) {
+            return tick;
+        }
+        long span = 1L << (SLOT_BITS * level);
+        return (tick + span - 1) & -span;
+    }
+
+    /** Moves the slots that start at {@code tick} one level down, coarsest last. */
+    private void cascade(long tick) {
+        for (int level = 1; level < LEVELS; level++) {
+            int slot = (int) ((tick >>> (SLOT_BITS * level)) & MASK);
+            var t = heads[level][slot];
+            heads[level][slot] = null;
+            while (t != null) {
+                var next = t.next;
+                counts[level]--;
+                t.slotOwner = null;
+                insert(t);
+                t = next;
+            }
+            if (slot != 0) {
+                break;
+            }
+        }
+    }
+
+    private void insert(Timeout<T> timeout) {
+        long tick = Math.max(timeout.deadlineTick, nextTick);
+        long delta = tick - nextTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        if (level == LEVELS - 1 && delta >= 1L << (SLOT_BITS * LEVELS)) {
+            // Beyond the top wheel: park in the farthest slot; later cascades re-place it.
+            tick = nextTick + (1L << (SLOT_BITS * LEVELS)) - 1;
+        }
+        int slot = (int) ((tick >>> (SLOT_BITS * level)) & MASK);
+        var owner = heads[level];
+        counts[level]++;
+        timeout.level = level;
+        timeout.slotOwner = owner;
+        timeout.slot = slot;
+        timeout.prev = null;
+        timeout.next = owner[slot];
+        if (owner[slot] != null) {
+            owner[slot].prev = timeout;
+        }
+        owner[slot] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        counts[timeout.level]--;
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            timeout.slotOwner[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.slotOwner = null;
+    }
+
+    private void drain(int slot, List<T> payloads) {
+        var wheel = heads[0];
+        for (var t = wheel[slot]; t != null; ) {
+            var next = t.next;
+            t.prev = null;
+            t.next = null;
+            t.slotOwner = null;
+            payloads.add(t.payload);
+            counts[0]--;
+            size--;
+            t = next;
+        }
+        wheel[slot] = null;
+    }
+}
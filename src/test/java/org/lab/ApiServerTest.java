@@ -0,0 +1,211 @@
+package org.lab;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.http.ApiServer;
+import org.lab.http.ApiTokens;
+import org.lab.model.Role;
+import org.lab.model.TicketStatus;
+import org.lab.model.User;
+import org.lab.service.ProjectAnalyticsService;
+import org.lab.service.ProjectManagementService;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiServerTest {
+
+    private static final Pattern ID = Pattern.compile("\"id\":\"([0-9a-f-]{36})\"");
+    private static final Pattern TOKEN = Pattern.compile("\"token\":\"([A-Za-z0-9_-]+)\"");
+
+    private ProjectManagementService service;
+    private ApiServer server;
+    private HttpClient client;
+    private User manager;
+    private User developer;
+    private final Map<UUID, String> tokens = new HashMap<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new ProjectManagementService();
+        server = ApiServer.start(service, 0);
+        client = HttpClient.newHttpClient();
+        manager = service.registerUser("manager", "manager@test.com", "Manager");
+        developer = service.registerUser("dev", "dev@test.com", "Developer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    @DisplayName("Ticket lifecycle over HTTP")
+    void ticketLifecycle() throws Exception {
+        var project = send("POST", "/projects", manager.id(), "{\"name\":\"Shop\",\"description\":\"Store\"}");
+        assertEquals(201, project.statusCode());
+        var projectId = id(project);
+
+        assertEquals(204, send("POST", STR."/projects/\{projectId}/members", manager.id(),
+                STR."{\"userId\":\"\{developer.id()}\",\"role\":\"developer\"}").statusCode());
+
+        var ticket = send("POST", STR."/projects/\{projectId}/tickets", manager.id(),
+                "{\"title\":\"Checkout\",\"description\":\"Line one\\nline \\\"two\\\"\"}");
+        assertEquals(201, ticket.statusCode());
+        var ticketId = id(ticket);
+
+        assertEquals(204, send("PUT", STR."/tickets/\{ticketId}/assignees", manager.id(),
+                STR."{\"developerIds\":[\"\{developer.id()}\"]}").statusCode());
+        assertEquals(204, send("PUT", STR."/tickets/\{ticketId}/status", manager.id(),
+                "{\"status\":\"accepted\"}").statusCode());
+        assertEquals(204, send("PUT", STR."/tickets/\{ticketId}/status", developer.id(),
+                "{\"status\":\"IN_PROGRESS\"}").statusCode());
+
+        var stored = service.getTicket(ticketId).orElseThrow();
+        assertEquals(TicketStatus.IN_PROGRESS, stored.status());
+        assertEquals("Line one\nline \"two\"", stored.description());
+        assertTrue(service.getProject(projectId).orElseThrow().hasRole(developer.id(), Role.Developer.class));
+
+        var fetched = send("GET", STR."/tickets/\{ticketId}", manager.id(), null);
+        assertEquals(200, fetched.statusCode());
+        assertTrue(fetched.body().contains("\"status\":\"IN_PROGRESS\""));
+        assertTrue(fetched.body().contains("\"description\":\"Line one\\nline \\\"two\\\"\""));
+
+        var listed = send("GET", STR."/users/\{developer.id()}/tickets", manager.id(), null);
+        assertTrue(listed.body().contains("\"count\":1"));
+    }
+
+    @Test
+    @DisplayName("Service exceptions map to HTTP status codes")
+    void errorMapping() throws Exception {
+        var project = service.createProject("Shop", "Store", manager.id());
+
+        assertEquals(404, send("GET", STR."/tickets/\{UUID.randomUUID()}", manager.id(), null).statusCode());
+        assertEquals(404, send("GET", "/nothing", manager.id(), null).statusCode());
+        assertEquals(405, send("DELETE", STR."/projects/\{project.id()}", null, null).statusCode());
+        assertEquals(400, send("GET", "/tickets/not-a-uuid", manager.id(), null).statusCode());
+        assertEquals(400, send("POST", "/projects", manager.id(), "{\"name\":").statusCode());
+        assertEquals(400, send("POST", "/projects", manager.id(),
+                STR."{\"name\":\{"[".repeat(100_000)}").statusCode());
+        assertEquals(413, send("POST", "/projects", manager.id(),
+                STR."{\"name\":\"\{"x".repeat(ApiServer.MAX_BODY_BYTES)}\"}").statusCode());
+        assertEquals(403, send("POST", STR."/projects/\{project.id()}/tickets", developer.id(),
+                "{\"title\":\"Nope\"}").statusCode());
+        assertEquals(403, send("POST", "/projects", null, "{\"name\":\"Anonymous\"}").statusCode());
+
+        var ticket = service.createTicket("Accepted", "", project.id(), null, manager.id());
+        service.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id());
+        assertEquals(409, send("PUT", STR."/tickets/\{ticket.id()}/status", manager.id(),
+                "{\"status\":\"ACCEPTED\"}").statusCode());
+        assertEquals(409, send("PUT", STR."/tickets/\{ticket.id()}/assignees", manager.id(),
+                STR."{\"developerIds\":[],\"expectedVersion\":0}").statusCode());
+        assertEquals(400, send("PUT", STR."/tickets/\{ticket.id()}/assignees", manager.id(),
+                STR."{\"developerIds\":[],\"expectedVersion\":1.5}").statusCode());
+        assertEquals(400, send("PUT", STR."/tickets/\{ticket.id()}/assignees", manager.id(),
+                STR."{\"developerIds\":[],\"expectedVersion\":99999999999999999999}").statusCode());
+    }
+
+    @Test
+    @DisplayName("Callers authenticate with a bearer token, not a bare user id")
+    void authentication() throws Exception {
+        var registered = send("POST", "/users", null,
+                "{\"username\":\"newcomer\",\"email\":\"new@test.com\",\"fullName\":\"New\"}");
+        assertEquals(201, registered.statusCode());
+        var matcher = TOKEN.matcher(registered.body());
+        assertTrue(matcher.find(), registered.body());
+
+        var token = matcher.group(1);
+        var mine = sendWithToken("POST", "/projects", token, "{\"name\":\"Mine\"}");
+        assertEquals(201, mine.statusCode());
+        var project = STR."/projects/\{id(mine)}";
+        assertEquals(200, sendWithToken("GET", project, token, null).statusCode());
+        assertEquals(403, sendWithToken("GET", project, null, null).statusCode());
+        assertEquals(403, sendWithToken("GET", project, "forged", null).statusCode());
+        assertEquals(403, sendWithToken("GET", project, (token.charAt(0) == 'A' ? "B" : "A") + token.substring(1), null).statusCode());
+        assertEquals(403, sendWithToken("POST", "/projects", "forged", "{\"name\":\"Nope\"}").statusCode());
+        assertEquals(403, sendAs("POST", "/projects", manager.id(), "{\"name\":\"Nope\"}").statusCode());
+        server.revokeToken(token);
+        assertEquals(403, sendWithToken("GET", project, token, null).statusCode());
+
+        server.close();
+        server = ApiServer.startTrustingUserHeader(service, new ProjectAnalyticsService(service),
+                new InetSocketAddress(0));
+        assertEquals(201, sendAs("POST", "/projects", manager.id(), "{\"name\":\"Trusted\"}").statusCode());
+    }
+
+    @Test
+    @DisplayName("A read-only server sharing the token secret accepts the leader's tokens")
+    void replicaAcceptsLeaderTokens() throws Exception {
+        var tokens = new ApiTokens("a shared secret of some length".getBytes(StandardCharsets.UTF_8));
+        var analytics = new ProjectAnalyticsService(service);
+        var project = service.createProject("Shop", "Store", manager.id());
+        try (var leader = ApiServer.start(service, analytics, new InetSocketAddress(0), tokens);
+             var replica = ApiServer.startReadOnly(service, analytics, new InetSocketAddress(0), tokens);
+             var stranger = ApiServer.startReadOnly(service, analytics, new InetSocketAddress(0), ApiTokens.random())) {
+            var token = leader.issueToken(manager.id());
+            var path = STR."/projects/\{project.id()}";
+            assertEquals(200, sendWithToken(replica, "GET", path, token, null).statusCode());
+            assertEquals(405, sendWithToken(replica, "POST", "/projects", token, "{\"name\":\"Nope\"}").statusCode());
+            assertEquals(403, sendWithToken(stranger, "GET", path, token, null).statusCode());
+        }
+    }
+
+    @Test
+    @DisplayName("Analytics endpoint returns project stats")
+    void analytics() throws Exception {
+        var project = service.createProject("Shop", "Store", manager.id());
+        service.createTicket("One", "", project.id(), null, manager.id());
+
+        var response = send("GET", STR."/projects/\{project.id()}/analytics", manager.id(), null);
+
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"totalTickets\":1"));
+    }
+
+    private HttpResponse<String> send(String method, String path, UUID user, String body) throws Exception {
+        return sendWithToken(method, path, user == null ? null : tokens.computeIfAbsent(user, server::issueToken), body);
+    }
+
+    private HttpResponse<String> sendWithToken(String method, String path, String token, String body) throws Exception {
+        return sendWithToken(server, method, path, token, body);
+    }
+
+    private HttpResponse<String> sendWithToken(ApiServer target, String method, String path, String token,
+                                               String body) throws Exception {
+        var request = request(target, method, path, body);
+        if (token != null) {
+            request.header(ApiServer.AUTHORIZATION_HEADER, STR."Bearer \{token}");
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> sendAs(String method, String path, UUID user, String body) throws Exception {
+        var request = request(server, method, path, body).header(ApiServer.USER_HEADER, user.toString());
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(ApiServer target, String method, String path, String body) {
+        return HttpRequest.newBuilder(URI.create(STR."http://localhost:\{target.port()}\{path}"))
+                .method(method, body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static UUID id(HttpResponse<String> response) {
+        var matcher = ID.matcher(response.body());
+        assertTrue(matcher.find(), response.body());
+        return UUID.fromString(matcher.group(1));
+    }
+}
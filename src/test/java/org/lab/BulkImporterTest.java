@@ -0,0 +1,241 @@
+package org.lab;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lab.io.BulkImporter;
+import org.lab.io.ExportFormat;
+import org.lab.io.ImportReport;
+import org.lab.io.ProjectExporter;
+import org.lab.model.*;
+import org.lab.service.ProjectManagementService;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkImporterTest {
+
+    @TempDir
+    Path dir;
+
+    private ProjectManagementService source;
+    private User manager;
+    private User developer;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        source = new ProjectManagementService();
+        manager = source.registerUser("manager", "manager@test.com", "Manager");
+        developer = source.registerUser("dev", "dev@test.com", "Developer");
+        project = source.createProject("Shop", "Online store", manager.id());
+        source.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        source.assignTeamLeader(project.id(), developer.id(), manager.id());
+
+        var milestone = source.createMilestone("Sprint 1", "First, \"quoted\" sprint", project.id(),
+                LocalDate.now(), LocalDate.now().plusWeeks(2), manager.id());
+        source.changeMilestoneStatus(milestone.id(), MilestoneStatus.ACTIVE, manager.id());
+        for (int i = 0; i < 20; i++) {
+            var ticket = source.createTicket(STR."Ticket \{i}", STR."Line one\nline two, ü \{i}",
+                    project.id(), i % 2 == 0 ? milestone.id() : null, manager.id());
+            source.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+        }
+        source.createBugReport("Crash", "", project.id(), developer.id(), "critical");
+    }
+
+    @Test
+    @DisplayName("JSON-lines export round-trips through the importer")
+    void roundTripJsonLines() throws Exception {
+        var file = exportWithUsers(ExportFormat.JSON_LINES,
+                STR."""
+                {"type":"user","id":"\{manager.id()}","username":"manager","email":"manager@test.com","fullName":"Manager"}
+                {"type":"user","id":"\{developer.id()}","username":"dev","email":"dev@test.com","fullName":"Developer"}
+                """);
+
+        assertRoundTrip(file, ExportFormat.JSON_LINES);
+    }
+
+    @Test
+    @DisplayName("CSV export round-trips through the importer across many small chunks")
+    void roundTripCsv() throws Exception {
+        var file = exportWithUsers(ExportFormat.CSV,
+                STR."""
+                user,\{manager.id()},manager,manager@test.com,Manager
+                user,\{developer.id()},dev,dev@test.com,Developer
+                """);
+
+        assertRoundTrip(file, ExportFormat.CSV);
+    }
+
+    @Test
+    @DisplayName("Malformed rows are reported with line numbers and skipped")
+    void reportsMalformedRows() throws Exception {
+        var userId = UUID.randomUUID();
+        var projectId = UUID.randomUUID();
+        var file = dir.resolve("broken.csv");
+        Files.writeString(file, STR."""
+                user,\{userId},alice,alice@test.com,Alice
+                user,not-a-uuid,bob,bob@test.com,Bob
+                project,\{projectId},Shop,,\{userId},,,2025-01-01T10:00,2025-01-01T10:00
+                member,\{projectId},\{userId},manager
+                widget,1,2
+                ticket,\{UUID.randomUUID()},\{UUID.randomUUID()},,Orphan,,NEW,,2025-01-01T10:00,2025-01-01T10:00
+                ticket,\{UUID.randomUUID()},\{projectId},,Valid,"multi
+                line",NEW,,2025-01-01T10:00,2025-01-01T10:00
+                member,\{projectId},\{userId}
+                """);
+
+        var target = new ProjectManagementService();
+        var report = new BulkImporter(target, 32).importFile(file, ExportFormat.CSV);
+
+        assertEquals(8, report.rowsRead());
+        assertEquals(4, report.errorCount());
+        assertEquals(4, report.rowsImported());
+        assertEquals(2, report.errors().get(0).line());
+        assertEquals(5, report.errors().get(1).line());
+        assertEquals(6, report.errors().get(2).line());
+        assertTrue(report.errors().get(2).message().contains("Unknown project"));
+        assertEquals(9, report.errors().get(3).line());
+        assertEquals(1, target.getTicketsByProject(projectId).size());
+        assertEquals("multi\nline", target.getTicketsByProject(projectId).getFirst().description());
+    }
+
+    @Test
+    @DisplayName("CSV chunk boundaries land on row ends whatever the chunk size")
+    void splitsCsvAtAnyChunkSize() throws Exception {
+        var file = exportWithUsers(ExportFormat.CSV,
+                STR."""
+                user,\{manager.id()},manager,manager@test.com,Manager
+                user,\{developer.id()},dev,dev@test.com,Developer
+                """);
+
+        for (int chunkSize = 1; chunkSize < 400; chunkSize += 7) {
+            var target = new ProjectManagementService();
+            var report = new BulkImporter(target, chunkSize).importFile(file, ExportFormat.CSV);
+            assertTrue(report.successful(), () -> report.errors().toString());
+            assertEquals(27, report.rowsImported());
+            assertEquals(source.getTicketsByProject(project.id()).size(),
+                    target.getTicketsByProject(project.id()).size());
+        }
+    }
+
+    @Test
+    @DisplayName("The reported errors are the first ones by line, not the first ones found")
+    void keepsLowestLinesWhenCapped() throws Exception {
+        var file = dir.resolve("many.csv");
+        var rows = new StringBuilder(STR."member,\{UUID.randomUUID()},\{UUID.randomUUID()},developer\n");
+        rows.append("widget,1,2\n".repeat(BulkImporter.MAX_REPORTED_ERRORS));
+        Files.writeString(file, rows);
+
+        var report = new BulkImporter(new ProjectManagementService(), 256).importFile(file, ExportFormat.CSV);
+
+        assertEquals(BulkImporter.MAX_REPORTED_ERRORS + 1, report.errorCount());
+        assertEquals(BulkImporter.MAX_REPORTED_ERRORS, report.errors().size());
+        assertEquals(1, report.errors().getFirst().line());
+        assertTrue(report.errors().getFirst().message().contains("Unknown project"));
+        assertEquals(BulkImporter.MAX_REPORTED_ERRORS, report.errors().getLast().line());
+    }
+
+    @Test
+    @DisplayName("Assignees must hold a developer role in the imported project")
+    void rejectsAssigneesWithoutDeveloperRole() throws Exception {
+        var managerId = UUID.randomUUID();
+        var testerId = UUID.randomUUID();
+        var leaderId = UUID.randomUUID();
+        var projectId = UUID.randomUUID();
+        var file = dir.resolve("roles.csv");
+        Files.writeString(file, STR."""
+                user,\{managerId},boss,boss@test.com,Boss
+                user,\{testerId},qa,qa@test.com,QA
+                user,\{leaderId},lead,lead@test.com,Lead
+                project,\{projectId},Shop,,\{managerId},\{leaderId},,2025-01-01T10:00,2025-01-01T10:00
+                member,\{projectId},\{managerId},manager
+                member,\{projectId},\{testerId},tester
+                member,\{projectId},\{leaderId},teamleader
+                ticket,\{UUID.randomUUID()},\{projectId},,To tester,,NEW,\{testerId},2025-01-01T10:00,2025-01-01T10:00
+                ticket,\{UUID.randomUUID()},\{projectId},,To leader,,NEW,\{leaderId},2025-01-01T10:00,2025-01-01T10:00
+                bug,\{UUID.randomUUID()},\{projectId},Crash,,NEW,\{testerId},\{leaderId},low,2025-01-01T10:00,2025-01-01T10:00
+                """);
+
+        var target = new ProjectManagementService();
+        var report = new BulkImporter(target, 1024).importFile(file, ExportFormat.CSV);
+
+        assertEquals(2, report.errorCount(), () -> report.errors().toString());
+        assertEquals(8, report.errors().get(0).line());
+        assertTrue(report.errors().get(0).message().contains("is not a developer"));
+        assertEquals(10, report.errors().get(1).line());
+        assertEquals("Assigned user must be a developer", report.errors().get(1).message());
+        assertEquals(List.of("To leader"), target.getTicketsByProject(projectId).stream().map(Ticket::title).toList());
+    }
+
+    @Test
+    @DisplayName("Clashing usernames and emails are row errors, not a failed import")
+    void rejectsClashingUsers() throws Exception {
+        var target = new ProjectManagementService();
+        var existing = target.registerUser("carol", "carol@test.com", "Carol");
+        var aliceId = UUID.randomUUID();
+        var file = dir.resolve("users.csv");
+        Files.writeString(file, STR."""
+                user,\{aliceId},alice,alice@test.com,Alice
+                user,\{UUID.randomUUID()},ALICE,other@test.com,Shouting Alice
+                user,\{UUID.randomUUID()},Carol,new@test.com,Impostor
+                user,\{UUID.randomUUID()},dave,Alice@Test.com,Dave
+                user,\{existing.id()},carol,carol@test.com,Carol
+                """);
+
+        var report = new BulkImporter(target, 1024).importFile(file, ExportFormat.CSV);
+
+        assertEquals(3, report.errorCount(), () -> report.errors().toString());
+        assertEquals(List.of(2L, 3L, 4L), report.errors().stream().map(ImportReport.RowError::line).toList());
+        assertTrue(report.errors().get(0).message().contains("already taken"));
+        assertTrue(report.errors().get(2).message().contains("already registered"));
+        assertEquals(aliceId, target.findUserByUsername("Alice").orElseThrow().id());
+        assertEquals(existing.id(), target.findUserByUsername("carol").orElseThrow().id());
+        assertTrue(target.findUserByUsername("dave").isEmpty());
+    }
+
+    private Path exportWithUsers(ExportFormat format, String userRows) throws Exception {
+        var file = dir.resolve("export." + format.name().toLowerCase());
+        Files.writeString(file, userRows);
+        try (var channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            new ProjectExporter(source, format).export(project.id(), channel);
+        }
+        return file;
+    }
+
+    private void assertRoundTrip(Path file, ExportFormat format) throws Exception {
+        var target = new ProjectManagementService();
+
+        var report = new BulkImporter(target, 128).importFile(file, format);
+
+        assertTrue(report.successful(), () -> report.errors().toString());
+        assertEquals(2 + 1 + 2 + 1 + 20 + 1, report.rowsImported());
+
+        var imported = target.getProject(project.id()).orElseThrow();
+        assertEquals(project.teamMembers(), imported.teamMembers());
+        assertEquals(project.teamLeaderId(), imported.teamLeaderId());
+        assertEquals(project.activeMilestoneId(), imported.activeMilestoneId());
+        assertEquals(project.bugReportIds(), imported.bugReportIds());
+        assertEquals(project.version(), imported.version());
+
+        var byId = Comparator.comparing((Ticket t) -> t.id());
+        assertEquals(source.getTicketsByProject(project.id()).stream().sorted(byId).toList(),
+                target.getTicketsByProject(project.id()).stream().sorted(byId).toList());
+        assertEquals(source.getBugReportsByProject(project.id()).stream().toList(),
+                target.getBugReportsByProject(project.id()));
+
+        var milestone = target.getMilestone(project.activeMilestoneId()).orElseThrow();
+        assertEquals(Set.copyOf(source.getMilestone(milestone.id()).orElseThrow().ticketIds()),
+                Set.copyOf(milestone.ticketIds()));
+    }
+}
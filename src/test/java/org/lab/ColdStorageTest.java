@@ -0,0 +1,169 @@
+package org.lab;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lab.model.*;
+import org.lab.service.ColdStorage;
+import org.lab.service.OffHeapTextStorage;
+import org.lab.service.ProjectManagementService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColdStorageTest {
+
+    @TempDir
+    Path dir;
+
+    private ColdStorage archive;
+    private OffHeapTextStorage texts;
+    private ProjectManagementService service;
+    private User manager;
+    private User developer;
+    private User tester;
+    private Project project;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archive = new ColdStorage(dir, 4096, 2);
+        texts = new OffHeapTextStorage();
+        service = new ProjectManagementService(texts, archive);
+        manager = service.registerUser("manager", "manager@test.com", "Manager");
+        developer = service.registerUser("dev", "dev@test.com", "Developer");
+        tester = service.registerUser("tester", "tester@test.com", "Tester");
+        project = service.createProject("Project", "", manager.id());
+        service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        service.addTeamMember(project.id(), tester.id(), new Role.Tester(), manager.id());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        archive.close();
+        texts.close();
+    }
+
+    private Milestone finishedMilestone(String name, int ticketCount) {
+        var milestone = service.createMilestone(name, "Goals", project.id(),
+                LocalDate.now(), LocalDate.now().plusDays(14), manager.id());
+        service.changeMilestoneStatus(milestone.id(), MilestoneStatus.ACTIVE, manager.id());
+        for (int i = 0; i < ticketCount; i++) {
+            var ticket = service.createTicket(STR."\{name} task \{i}", STR."Details of \{name} task \{i}",
+                    project.id(), milestone.id(), manager.id());
+            service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+            service.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id());
+            service.updateTicketStatus(ticket.id(), TicketStatus.IN_PROGRESS, developer.id());
+            service.updateTicketStatus(ticket.id(), TicketStatus.COMPLETED, developer.id());
+        }
+        return milestone;
+    }
+
+    @Test
+    @DisplayName("Closing a milestone moves it and its tickets off-heap, still readable by id")
+    void archivesClosedMilestones() {
+        var milestone = finishedMilestone("Sprint", 3);
+        var open = service.createTicket("Open work", "Later", project.id(), null, manager.id());
+        assertEquals(4, texts.size());
+
+        service.changeMilestoneStatus(milestone.id(), MilestoneStatus.CLOSED, manager.id());
+
+        assertEquals(4, archive.size());
+        assertEquals(1, texts.size());
+        assertEquals(List.of(open.id()), service.getTicketsByProject(project.id()).stream().map(Ticket::id).toList());
+        var stats = service.getProjectStats(project.id());
+        assertEquals(4, stats.totalTickets());
+        assertEquals(3, stats.completedTickets());
+        assertEquals(75.0, stats.completionPercentage());
+        assertEquals(0, service.getProjectStats(project.id()).activeMilestones());
+        var archived = service.getMilestone(milestone.id()).orElseThrow();
+        assertEquals(MilestoneStatus.CLOSED, archived.status());
+        assertEquals(3, archived.ticketIds().size());
+        var tickets = service.getTicketsByMilestone(milestone.id());
+        assertEquals(3, tickets.size());
+        assertTrue(tickets.stream().allMatch(t -> t.status() == TicketStatus.COMPLETED));
+        var first = service.getTicket(archived.ticketIds().getFirst()).orElseThrow();
+        assertEquals(STR."Details of \{first.title()}", first.description());
+        assertEquals(Set.of(developer.id()), first.assignedDevelopers());
+
+        assertThrows(IllegalStateException.class,
+                () -> service.assignDevelopersToTicket(first.id(), Set.of(), manager.id()));
+        assertThrows(IllegalStateException.class,
+                () -> service.createTicket("Late", "", project.id(), milestone.id(), manager.id()));
+    }
+
+    @Test
+    @DisplayName("Closed bug reports are archived and served through the block cache")
+    void archivesClosedBugReports() {
+        var bug = service.createBugReport("Crash", "Stack trace", project.id(), tester.id(), "HIGH");
+        service.assignBugReport(bug.id(), developer.id(), manager.id());
+        service.updateBugReportStatus(bug.id(), BugReportStatus.FIXED, developer.id());
+        service.updateBugReportStatus(bug.id(), BugReportStatus.TESTED, tester.id());
+        service.updateBugReportStatus(bug.id(), BugReportStatus.CLOSED, manager.id());
+
+        assertTrue(service.getBugReportsByProject(project.id()).isEmpty());
+        assertEquals("Stack trace", service.getBugReport(bug.id()).orElseThrow().description());
+        assertEquals(BugReportStatus.CLOSED, service.getBugReport(bug.id()).orElseThrow().status());
+        assertEquals(2, archive.blockReads());
+        assertEquals(1, archive.cacheHits());
+
+        finishedMilestone("A", 1);
+        finishedMilestone("B", 1);
+        for (var milestone : service.getMilestonesByProject(project.id())) {
+            service.changeMilestoneStatus(milestone.id(), MilestoneStatus.CLOSED, manager.id());
+            assertTrue(service.getMilestone(milestone.id()).isPresent());
+        }
+        // Two milestone blocks pushed the bug's block out of the two-entry cache.
+        long hits = archive.cacheHits();
+        service.getBugReport(bug.id());
+        assertEquals(hits, archive.cacheHits());
+    }
+
+    @Test
+    @DisplayName("Sweeping after a bulk load archives closed aggregates across several segments")
+    void sweepsBulkLoadedHistory() throws IOException {
+        var now = LocalDateTime.now();
+        var milestones = new ArrayList<Milestone>();
+        var tickets = new ArrayList<Ticket>();
+        for (int m = 0; m < 20; m++) {
+            var milestoneId = UUID.randomUUID();
+            var ticketIds = new ArrayList<UUID>();
+            for (int t = 0; t < 10; t++) {
+                var ticket = new Ticket(UUID.randomUUID(), STR."Task \{m}.\{t}", "x".repeat(200),
+                        TicketStatus.COMPLETED, project.id(), milestoneId, Set.of(developer.id()), now, now);
+                tickets.add(ticket);
+                ticketIds.add(ticket.id());
+            }
+            milestones.add(new Milestone(milestoneId, STR."Release \{m}", "", MilestoneStatus.CLOSED, project.id(),
+                    null, null, ticketIds, now, now));
+        }
+        service.bulkLoad(List.of(), List.of(), milestones, tickets, List.of());
+
+        assertEquals(20, service.archiveClosed());
+
+        assertTrue(service.getTicketsByProject(project.id()).isEmpty());
+        assertTrue(service.getMilestonesByProject(project.id()).isEmpty());
+        assertEquals(220, archive.size());
+        var sample = tickets.get(137);
+        assertEquals(sample.title(), service.getTicket(sample.id()).orElseThrow().title());
+        assertEquals(10, service.getTicketsByMilestone(milestones.get(7).id()).size());
+        try (var files = Files.list(dir)) {
+            assertTrue(files.count() > 1);
+        }
+
+        archive.close();
+        try (var files = Files.list(dir)) {
+            assertEquals(0, files.count());
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package org.lab;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.command.Command;
+import org.lab.command.CommandListener;
+import org.lab.command.CommandPipeline;
+import org.lab.model.*;
+import org.lab.service.ProjectManagementService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CommandPipelineTest {
+
+    private ProjectManagementService service;
+    private CommandPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProjectManagementService();
+        pipeline = new CommandPipeline(service, 64, 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    @Test
+    @DisplayName("Commands are applied and acknowledged with their results")
+    void appliesCommands() throws Exception {
+        var manager = pipeline.submit(new Command.RegisterUser("manager", "manager@test.com", "Manager")).get();
+        var developer = pipeline.submit(new Command.RegisterUser("dev", "dev@test.com", "Developer")).get();
+        var project = pipeline.submit(new Command.CreateProject("Shop", "Store", manager.id())).get();
+        pipeline.submit(new Command.AddTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id())).get();
+
+        var tickets = new ArrayList<CompletableFuture<Ticket>>();
+        for (int i = 0; i < 100; i++) {
+            tickets.add(pipeline.submit(new Command.CreateTicket(STR."Ticket \{i}", "", project.id(), null, manager.id())));
+        }
+        var ticket = tickets.getFirst().get();
+        pipeline.submit(new Command.AssignTicket(ticket.id(), Set.of(developer.id()), manager.id()));
+        pipeline.submit(new Command.UpdateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id()));
+        pipeline.submit(new Command.UpdateTicketStatus(ticket.id(), TicketStatus.IN_PROGRESS, developer.id())).get();
+
+        assertEquals(100, service.getTicketsByProject(project.id()).size());
+        assertEquals(TicketStatus.IN_PROGRESS, service.getTicket(ticket.id()).orElseThrow().status());
+        for (var future : tickets) {
+            assertEquals(project.id(), future.get().projectId());
+        }
+    }
+
+    @Test
+    @DisplayName("Rejected commands fail their own future only")
+    void rejectsIndividually() throws Exception {
+        var manager = service.registerUser("manager", "manager@test.com", "Manager");
+        var outsider = service.registerUser("outsider", "outsider@test.com", "Outsider");
+        var project = service.createProject("Shop", "Store", manager.id());
+
+        var denied = pipeline.submit(new Command.CreateTicket("Denied", "", project.id(), null, outsider.id()));
+        var accepted = pipeline.submit(new Command.CreateTicket("Accepted", "", project.id(), null, manager.id()));
+        var unknown = pipeline.submit(new Command.CreateTicket("Lost", "", UUID.randomUUID(), null, manager.id()));
+
+        var error = assertThrows(ExecutionException.class, denied::get);
+        assertInstanceOf(SecurityException.class, error.getCause());
+        assertEquals("Accepted", accepted.get().title());
+        assertInstanceOf(IllegalArgumentException.class,
+                assertThrows(ExecutionException.class, unknown::get).getCause());
+    }
+
+    @Test
+    @DisplayName("Listeners see every outcome before the batch is acknowledged")
+    void notifiesListenersBeforeAck() throws Exception {
+        var manager = service.registerUser("manager", "manager@test.com", "Manager");
+        var project = service.createProject("Shop", "Store", manager.id());
+        var applied = new CopyOnWriteArrayList<Command<?>>();
+        var rejected = new CopyOnWriteArrayList<Command<?>>();
+        var batched = new CopyOnWriteArrayList<Integer>();
+        pipeline.addListener(new CommandListener() {
+            @Override
+            public void onApplied(Command<?> command, Object result) {
+                applied.add(command);
+            }
+
+            @Override
+            public void onRejected(Command<?> command, RuntimeException error) {
+                rejected.add(command);
+            }
+
+            @Override
+            public void onBatch(List<Command<?>> batch, long elapsedNanos) {
+                batched.add(batch.size());
+            }
+        });
+
+        var futures = new ArrayList<CompletableFuture<Ticket>>();
+        for (int i = 0; i < 500; i++) {
+            futures.add(pipeline.submit(new Command.CreateTicket("Ticket", "", project.id(), null, manager.id())));
+        }
+        var last = pipeline.submit(new Command.UpdateTicketStatus(UUID.randomUUID(), TicketStatus.ACCEPTED, manager.id()));
+        assertThrows(ExecutionException.class, last::get);
+        futures.forEach(CompletableFuture::join);
+
+        assertEquals(500, applied.size());
+        assertEquals(1, rejected.size());
+        assertEquals(501, batched.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batched.stream().allMatch(size -> size <= 64));
+    }
+
+    @Test
+    @DisplayName("A throwing listener fails its commands but not the pipeline")
+    void isolatesListenerFailures() throws Exception {
+        var manager = service.registerUser("manager", "manager@test.com", "Manager");
+        var project = service.createProject("Shop", "Store", manager.id());
+        pipeline.addListener(new CommandListener() {
+            @Override
+            public void onApplied(Command<?> command, Object result) {
+                if (command instanceof Command.CreateTicket c && c.title().equals("Poison")) {
+                    throw new IllegalStateException("journal full");
+                }
+            }
+        });
+
+        var poisoned = pipeline.submit(new Command.CreateTicket("Poison", "", project.id(), null, manager.id()));
+        var error = assertThrows(ExecutionException.class, poisoned::get);
+        assertEquals("journal full", error.getCause().getCause().getMessage());
+
+        var next = pipeline.submit(new Command.CreateTicket("Next", "", project.id(), null, manager.id()));
+        assertEquals("Next", next.get().title());
+        assertEquals(2, service.getTicketsByProject(project.id()).size());
+    }
+
+    @Test
+    @DisplayName("Every command accepted while closing is completed")
+    void closeRacesWithSubmit() throws Exception {
+        var manager = service.registerUser("manager", "manager@test.com", "Manager");
+        var project = service.createProject("Shop", "Store", manager.id());
+        var accepted = new CopyOnWriteArrayList<CompletableFuture<Ticket>>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                executor.submit(() -> {
+                    while (true) {
+                        try {
+                            accepted.add(pipeline.submit(
+                                    new Command.CreateTicket("Racing", "", project.id(), null, manager.id())));
+                        } catch (IllegalStateException e) {
+                            return;
+                        }
+                    }
+                });
+            }
+            Thread.sleep(20);
+            pipeline.close();
+        }
+
+        assertTrue(accepted.stream().allMatch(CompletableFuture::isDone));
+        assertEquals(accepted.size(), service.getTicketsByProject(project.id()).size());
+    }
+
+    @Test
+    @DisplayName("Close drains queued commands and refuses new ones")
+    void closeDrains() {
+        var manager = service.registerUser("manager", "manager@test.com", "Manager");
+        var project = service.createProject("Shop", "Store", manager.id());
+        var futures = new ArrayList<CompletableFuture<Ticket>>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(pipeline.submit(new Command.CreateTicket("Ticket", "", project.id(), null, manager.id())));
+        }
+
+        pipeline.close();
+
+        assertTrue(futures.stream().allMatch(CompletableFuture::isDone));
+        assertEquals(200, service.getTicketsByProject(project.id()).size());
+        assertThrows(IllegalStateException.class, () ->
+                pipeline.submit(new Command.RegisterUser("late", "late@test.com", "Late")));
+    }
+
+    @Test
+    @DisplayName("A role granted earlier in a batch applies to the member's later commands")
+    void rolesFollowMembershipWithinBatch() throws Exception {
+        var manager = service.registerUser("manager", "manager@test.com", "Manager");
+        var developer = service.registerUser("dev", "dev@test.com", "Developer");
+        var project = service.createProject("Shop", "Store", manager.id());
+        var gate = new CountDownLatch(1);
+        pipeline.addListener(new CommandListener() {
+            @Override
+            public void onApplied(Command<?> command, Object result) {
+                if (command instanceof Command.RegisterUser) {
+                    awaitUninterruptibly(gate);
+                }
+            }
+        });
+
+        var blocker = pipeline.submit(new Command.RegisterUser("blocker", "blocker@test.com", "Blocker"));
+        var early = pipeline.submit(new Command.CreateTicket("Early", "", project.id(), null, developer.id()));
+        pipeline.submit(new Command.AddTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id()));
+        pipeline.submit(new Command.AssignTeamLeader(project.id(), developer.id(), manager.id()));
+        var late = pipeline.submit(new Command.CreateTicket("Late", "", project.id(), null, developer.id()));
+        gate.countDown();
+
+        blocker.get();
+        var error = assertThrows(ExecutionException.class, early::get);
+        assertInstanceOf(SecurityException.class, error.getCause());
+        assertEquals("Late", late.get().title());
+    }
+
+    @Test
+    @DisplayName("Interrupting the pipeline thread fails queued commands and closes the pipeline")
+    void interruptFailsQueued() throws Exception {
+        var manager = service.registerUser("manager", "manager@test.com", "Manager");
+        var project = service.createProject("Shop", "Store", manager.id());
+        var gate = new CountDownLatch(1);
+        var interrupted = new AtomicBoolean();
+        pipeline.addListener(new CommandListener() {
+            @Override
+            public void onApplied(Command<?> command, Object result) {
+                awaitUninterruptibly(gate);
+            }
+
+            @Override
+            public void onBatch(List<Command<?>> batch, long elapsedNanos) {
+                if (interrupted.compareAndSet(false, true)) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+
+        var first = pipeline.submit(new Command.CreateTicket("First", "", project.id(), null, manager.id()));
+        while (service.getTicketsByProject(project.id()).isEmpty()) {
+            Thread.onSpinWait();
+        }
+        var queued = new ArrayList<CompletableFuture<Ticket>>();
+        for (int i = 0; i < 10; i++) {
+            queued.add(pipeline.submit(new Command.CreateTicket("Queued", "", project.id(), null, manager.id())));
+        }
+        gate.countDown();
+
+        assertEquals("First", first.get().title());
+        for (var future : queued) {
+            var error = assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(IllegalStateException.class, error.getCause());
+        }
+        assertEquals(1, service.getTicketsByProject(project.id()).size());
+        assertThrows(IllegalStateException.class, () ->
+                pipeline.submit(new Command.RegisterUser("late", "late@test.com", "Late")));
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        while (true) {
+            try {
+                latch.await();
+                return;
+            } catch (InterruptedException e) {
+                // Keep waiting; the test controls the release.
+            }
+        }
+    }
+}
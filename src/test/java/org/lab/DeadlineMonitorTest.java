@@ -0,0 +1,143 @@
+package org.lab;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.model.*;
+import org.lab.service.DeadlineListener;
+import org.lab.service.DeadlineMonitor;
+import org.lab.service.ProjectAnalyticsService;
+import org.lab.service.ProjectManagementService;
+import org.lab.service.StatusKernels;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineMonitorTest {
+
+    /** A clock the test moves by hand. */
+    private static final class TestClock extends Clock {
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private ProjectManagementService service;
+    private TestClock clock;
+    private DeadlineMonitor monitor;
+    private User manager;
+    private User developer;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProjectManagementService();
+        manager = service.registerUser("manager", "manager@test.com", "Manager");
+        developer = service.registerUser("dev", "dev@test.com", "Developer");
+        project = service.createProject("Project", "", manager.id());
+        service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        clock = new TestClock();
+        monitor = DeadlineMonitor.manual(service, clock, Duration.ofDays(7), Duration.ofSeconds(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        monitor.close();
+    }
+
+    private Ticket startTicket(String title) {
+        var ticket = service.createTicket(title, "", project.id(), null, manager.id());
+        service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+        service.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id());
+        service.updateTicketStatus(ticket.id(), TicketStatus.IN_PROGRESS, developer.id());
+        return ticket;
+    }
+
+    @Test
+    @DisplayName("In-progress tickets go stuck after the limit unless they move on")
+    void ticketsGoStuck() {
+        var stuck = new ArrayList<Ticket>();
+        monitor.addListener(new DeadlineListener() {
+            @Override
+            public void ticketStuck(Ticket ticket) {
+                stuck.add(ticket);
+            }
+        });
+        var idle = startTicket("Idle");
+        var finished = startTicket("Finished");
+        service.updateTicketStatus(finished.id(), TicketStatus.COMPLETED, developer.id());
+        assertEquals(1, monitor.pendingDeadlines());
+
+        clock.advance(Duration.ofDays(6));
+        assertEquals(0, monitor.advance());
+        assertEquals(0, monitor.stuckTicketCount(project.id()));
+
+        clock.advance(Duration.ofDays(1).plusSeconds(2));
+        assertEquals(1, monitor.advance());
+        assertEquals(Set.of(idle.id()), monitor.stuckTickets(project.id()));
+        assertEquals(List.of(idle.id()), stuck.stream().map(Ticket::id).toList());
+
+        service.updateTicketStatus(idle.id(), TicketStatus.COMPLETED, developer.id());
+        assertEquals(0, monitor.stuckTicketCount(project.id()));
+    }
+
+    @Test
+    @DisplayName("Active milestones go overdue after their end date; closing cancels")
+    void milestonesGoOverdue() {
+        var late = service.createMilestone("Late", "", project.id(), LocalDate.now(), LocalDate.now().plusDays(2),
+                manager.id());
+        var closed = service.createMilestone("Closed", "", project.id(), LocalDate.now(),
+                LocalDate.now().plusDays(2), manager.id());
+        service.changeMilestoneStatus(late.id(), MilestoneStatus.ACTIVE, manager.id());
+        service.changeMilestoneStatus(closed.id(), MilestoneStatus.ACTIVE, manager.id());
+        service.changeMilestoneStatus(closed.id(), MilestoneStatus.CLOSED, manager.id());
+
+        clock.advance(Duration.ofDays(4));
+        monitor.advance();
+
+        assertEquals(Set.of(late.id()), monitor.overdueMilestones(project.id()));
+    }
+
+    @Test
+    @DisplayName("Tickets in progress before the monitor started are picked up, and the health check uses it")
+    void healthCheckUsesMonitor() throws Exception {
+        monitor.close();
+        startTicket("Earlier");
+        monitor = DeadlineMonitor.manual(service, clock, Duration.ofDays(7), Duration.ofSeconds(1));
+        var analytics = new ProjectAnalyticsService(service, StatusKernels.preferred(), monitor);
+        assertTrue(analytics.quickHealthCheck(project.id()).healthy());
+
+        clock.advance(Duration.ofDays(8));
+        monitor.advance();
+
+        var result = analytics.quickHealthCheck(project.id());
+        assertFalse(result.healthy());
+        assertEquals("Found 1 tickets stuck in progress for over a week", result.issue());
+    }
+}
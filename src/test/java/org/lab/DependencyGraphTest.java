@@ -0,0 +1,208 @@
+package org.lab;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.graph.DependencyGraph;
+import org.lab.model.*;
+import org.lab.service.ProjectManagementService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DependencyGraphTest {
+
+    private static List<UUID> ids(int count) {
+        var ids = new ArrayList<UUID>();
+        for (int i = 0; i < count; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+
+    @Test
+    @DisplayName("Rejects edges that close a cycle and keeps the graph unchanged")
+    void rejectsCycles() {
+        var graph = new DependencyGraph();
+        var t = ids(4);
+        t.forEach(id -> graph.put(id, null, true, 0));
+        assertTrue(graph.addEdge(t.get(2), t.get(1)));
+        assertTrue(graph.addEdge(t.get(1), t.get(0)));
+        assertTrue(graph.addEdge(t.get(3), t.get(2)));
+        assertFalse(graph.addEdge(t.get(3), t.get(2)));
+
+        assertThrows(IllegalStateException.class, () -> graph.addEdge(t.get(0), t.get(3)));
+        assertThrows(IllegalStateException.class, () -> graph.addEdge(t.get(1), t.get(1)));
+        assertThrows(IllegalArgumentException.class, () -> graph.addEdge(t.get(0), UUID.randomUUID()));
+        assertEquals(3, graph.edgeCount());
+        assertEquals(List.of(t.get(3), t.get(2), t.get(1), t.get(0)), graph.topologicalOrder());
+        assertEquals(List.of(t.get(3)), graph.unblocked(10));
+    }
+
+    @Test
+    @DisplayName("Unblocked set and critical path follow status and edge changes")
+    void followsChanges() {
+        var graph = new DependencyGraph();
+        var milestone = UUID.randomUUID();
+        var t = ids(5);
+        t.forEach(id -> graph.put(id, milestone, true, 0));
+        graph.addEdge(t.get(0), t.get(1));
+        graph.addEdge(t.get(1), t.get(2));
+        graph.addEdge(t.get(3), t.get(2));
+
+        assertEquals(List.of(t.get(0), t.get(1), t.get(2)), graph.criticalPath(milestone));
+        assertEquals(Set.of(t.get(0), t.get(3), t.get(4)), Set.copyOf(graph.unblocked(10)));
+
+        graph.put(t.get(0), milestone, false, 1);
+        assertEquals(List.of(t.get(1), t.get(2)), graph.criticalPath(milestone));
+        assertTrue(graph.unblocked(10).contains(t.get(1)));
+        graph.put(t.get(0), milestone, true, 0);
+        assertEquals(2, graph.criticalPathLength(milestone), "stale version ignored");
+
+        graph.addEdge(t.get(4), t.get(3));
+        assertEquals(3, graph.criticalPathLength(milestone));
+        graph.removeEdge(t.get(1), t.get(2));
+        assertEquals(List.of(t.get(4), t.get(3), t.get(2)), graph.criticalPath(milestone));
+
+        graph.remove(t.get(4));
+        assertEquals(List.of(t.get(3), t.get(2)), graph.criticalPath(milestone));
+        assertEquals(2, graph.edgeCount());
+        t.forEach(id -> graph.put(id, milestone, false, 5));
+        assertTrue(graph.criticalPath(milestone).isEmpty());
+        assertTrue(graph.unblocked(10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Order, unblocked set and depths match a recomputation after random edits")
+    void matchesRecomputation() {
+        var graph = new DependencyGraph();
+        var random = new Random(42);
+        var milestone = UUID.randomUUID();
+        var t = ids(300);
+        var open = new HashMap<UUID, Boolean>();
+        var edges = new HashMap<UUID, List<UUID>>();
+        t.forEach(id -> {
+            graph.put(id, milestone, true, 0);
+            open.put(id, true);
+            edges.put(id, new ArrayList<>());
+        });
+        long version = 1;
+        for (int step = 0; step < 3000; step++) {
+            var a = t.get(random.nextInt(t.size()));
+            var b = t.get(random.nextInt(t.size()));
+            switch (random.nextInt(5)) {
+                case 0, 1, 2 -> {
+                    try {
+                        if (graph.addEdge(a, b)) {
+                            edges.get(a).add(b);
+                        }
+                    } catch (IllegalStateException cycle) {
+                        assertTrue(a.equals(b) || reaches(edges, b, a));
+                    }
+                }
+                case 3 -> {
+                    if (graph.removeEdge(a, b)) {
+                        edges.get(a).remove(b);
+                    }
+                }
+                default -> {
+                    open.put(a, !open.get(a));
+                    graph.put(a, milestone, open.get(a), version++);
+                }
+            }
+        }
+
+        var order = graph.topologicalOrder();
+        var position = new HashMap<UUID, Integer>();
+        for (int i = 0; i < order.size(); i++) {
+            position.put(order.get(i), i);
+        }
+        edges.forEach((from, targets) -> targets.forEach(to -> assertTrue(position.get(from) < position.get(to))));
+
+        var depth = new HashMap<UUID, Integer>();
+        var blockedBy = new HashMap<UUID, List<UUID>>();
+        edges.forEach((from, targets) -> targets.forEach(to -> blockedBy.computeIfAbsent(to, k -> new ArrayList<>()).add(from)));
+        int deepest = 0;
+        var unblocked = new HashSet<UUID>();
+        for (var id : order) {
+            var blockers = blockedBy.getOrDefault(id, List.of());
+            int d = open.get(id) ? 1 + blockers.stream().mapToInt(depth::get).max().orElse(0) : 0;
+            depth.put(id, d);
+            deepest = Math.max(deepest, d);
+            if (open.get(id) && blockers.stream().noneMatch(open::get)) {
+                unblocked.add(id);
+            }
+            assertEquals(blockers.size(), graph.blockers(id).size());
+        }
+        assertEquals(unblocked, Set.copyOf(graph.unblocked(t.size())));
+        assertEquals(deepest, graph.criticalPathLength(milestone));
+        var path = graph.criticalPath(milestone);
+        assertEquals(deepest, path.size());
+        for (int i = 1; i < path.size(); i++) {
+            assertTrue(edges.get(path.get(i - 1)).contains(path.get(i)));
+        }
+    }
+
+    private static boolean reaches(Map<UUID, List<UUID>> edges, UUID from, UUID to) {
+        var stack = new ArrayList<>(List.of(from));
+        var seen = new HashSet<UUID>();
+        while (!stack.isEmpty()) {
+            var next = stack.removeLast();
+            if (next.equals(to)) {
+                return true;
+            }
+            if (seen.add(next)) {
+                stack.addAll(edges.get(next));
+            }
+        }
+        return false;
+    }
+
+    @Test
+    @DisplayName("Service keeps ticket dependencies in step with ticket changes")
+    void serviceDependencies() {
+        var service = new ProjectManagementService();
+        var manager = service.registerUser("manager", "manager@test.com", "Manager");
+        var developer = service.registerUser("dev", "dev@test.com", "Developer");
+        var project = service.createProject("Project", "", manager.id());
+        var other = service.createProject("Other", "", manager.id());
+        service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        var milestone = service.createMilestone("Sprint", "", project.id(),
+                LocalDate.now(), LocalDate.now().plusDays(14), manager.id());
+        var design = service.createTicket("Design", "", project.id(), milestone.id(), manager.id());
+        var build = service.createTicket("Build", "", project.id(), milestone.id(), manager.id());
+        var ship = service.createTicket("Ship", "", project.id(), milestone.id(), manager.id());
+        var foreign = service.createTicket("Foreign", "", other.id(), null, manager.id());
+
+        service.addDependency(design.id(), build.id(), manager.id());
+        service.addDependency(build.id(), ship.id(), manager.id());
+        assertThrows(IllegalStateException.class, () -> service.addDependency(ship.id(), design.id(), manager.id()));
+        assertThrows(IllegalArgumentException.class, () -> service.addDependency(foreign.id(), ship.id(), manager.id()));
+        assertThrows(SecurityException.class, () -> service.addDependency(design.id(), ship.id(), developer.id()));
+
+        assertEquals(List.of(design.id()), service.getBlockers(build.id()));
+        assertEquals(List.of(ship.id()), service.getBlockedTickets(build.id()));
+        assertEquals(List.of("Design", "Build", "Ship"),
+                service.getCriticalPath(milestone.id()).stream().map(Ticket::title).toList());
+        assertEquals(List.of("Design"),
+                service.getNextUnblockedTickets(project.id(), 10).stream().map(Ticket::title).toList());
+
+        service.assignDevelopersToTicket(design.id(), Set.of(developer.id()), manager.id());
+        service.updateTicketStatus(design.id(), TicketStatus.ACCEPTED, manager.id());
+        service.updateTicketStatus(design.id(), TicketStatus.IN_PROGRESS, developer.id());
+        service.updateTicketStatus(design.id(), TicketStatus.COMPLETED, developer.id());
+
+        assertEquals(List.of("Build"),
+                service.getNextUnblockedTickets(project.id(), 10).stream().map(Ticket::title).toList());
+        assertEquals(List.of("Build", "Ship"),
+                service.getCriticalPath(milestone.id()).stream().map(Ticket::title).toList());
+    }
+}
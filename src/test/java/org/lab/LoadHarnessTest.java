@@ -0,0 +1,102 @@
+package org.lab;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.load.*;
+import org.lab.model.Role;
+import org.lab.service.ProjectManagementService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadHarnessTest {
+
+    @Test
+    @DisplayName("Histogram percentiles stay within the bucket precision")
+    void histogramPercentiles() {
+        var histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1_000L);
+        }
+
+        assertEquals(100_000, histogram.count());
+        assertEquals(100_000_000L, histogram.maxNanos());
+        assertEquals(50_000_000, histogram.percentileNanos(50), 50_000_000 * 0.04);
+        assertEquals(99_000_000, histogram.percentileNanos(99), 99_000_000 * 0.04);
+        assertEquals(100_000_000L, histogram.percentileNanos(100));
+    }
+
+    @Test
+    @DisplayName("Generator builds projects with the configured role mix")
+    void generatorRoleMix() {
+        var service = new ProjectManagementService();
+        var config = new WorkloadConfig(50, 3, 11, 0.2, 4, 1, 1, Duration.ZERO, Duration.ZERO,
+                WorkloadConfig.defaults().mix(), 7);
+
+        var workload = new WorkloadGenerator(service).generate(config);
+
+        assertEquals(50, workload.users().size());
+        assertEquals(3, workload.projects().size());
+        for (var fixture : workload.projects()) {
+            var project = service.getProject(fixture.id()).orElseThrow();
+            assertEquals(12, project.teamMembers().size());
+            assertEquals(2, project.getUsersByRole(Role.Tester.class).size());
+            assertEquals(8, project.getUsersByRole(Role.Developer.class).size());
+            assertEquals(fixture.teamLeaderId(), project.teamLeaderId());
+            assertEquals(fixture.milestoneId(), project.activeMilestoneId());
+            assertEquals(4, service.getTicketsByProject(fixture.id()).size());
+        }
+    }
+
+    @Test
+    @DisplayName("Harness issues exactly the requested number of operations")
+    void runsOperationBudget() throws Exception {
+        var mix = new EnumMap<>(WorkloadConfig.defaults().mix());
+        mix.put(Operation.ANALYTICS, 0);
+        var config = new WorkloadConfig(100, 5, 6, 0.2, 10, 16, 5_000, Duration.ZERO, Duration.ZERO, mix, 1);
+
+        var report = new LoadHarness(new ProjectManagementService()).run(config);
+
+        assertEquals(5_000, report.totalOperations());
+        assertEquals(0, report.operations().get(Operation.ANALYTICS).total());
+        assertTrue(report.operations().get(Operation.CREATE_TICKET).completed() > 0);
+        assertEquals(5_000, report.overallLatency().count());
+        assertTrue(report.throughput() > 0);
+        assertTrue(report.format().contains("create-ticket"));
+    }
+
+    @Test
+    @DisplayName("Concurrent ticket creation keeps milestone ticket lists complete")
+    void concurrentTicketCreation() throws Exception {
+        var service = new ProjectManagementService();
+        var manager = service.registerUser("manager", "manager@test.com", "Manager");
+        var project = service.createProject("Load", "Concurrency", manager.id());
+        var milestone = service.createMilestone("Sprint", "Sprint", project.id(),
+                LocalDate.now(), LocalDate.now().plusDays(7), manager.id());
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2_000; i++) {
+                executor.submit(() -> service.createTicket("Ticket", "", project.id(), milestone.id(), manager.id()));
+            }
+        }
+
+        assertEquals(2_000, service.getTicketsByProject(project.id()).size());
+        assertEquals(2_000, service.getMilestone(milestone.id()).orElseThrow().ticketIds().size());
+    }
+
+    @Test
+    @DisplayName("Config parser applies overrides and rejects unknown options")
+    void parsesArguments() {
+        var config = WorkloadConfig.parse("--users=20", "--threads=4", "--mix=analytics:0,read-ticket:3");
+
+        assertEquals(20, config.users());
+        assertEquals(4, config.threads());
+        assertEquals(0, config.mix().get(Operation.ANALYTICS));
+        assertEquals(3, config.mix().get(Operation.READ_TICKET));
+        assertThrows(IllegalArgumentException.class, () -> WorkloadConfig.parse("--bogus=1"));
+    }
+}
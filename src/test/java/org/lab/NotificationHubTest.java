@@ -0,0 +1,169 @@
+package org.lab;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lab.model.*;
+import org.lab.notify.*;
+import org.lab.service.ProjectManagementService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationHubTest {
+
+    /** A clock the test moves by hand. */
+    private static final class TestClock extends Clock {
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    private ProjectManagementService service;
+    private TestClock clock;
+    private InMemorySink sink;
+    private User manager;
+    private User developer;
+    private User tester;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProjectManagementService();
+        manager = service.registerUser("manager", "manager@test.com", "Manager");
+        developer = service.registerUser("dev", "dev@test.com", "Developer");
+        tester = service.registerUser("tester", "tester@test.com", "Tester");
+        project = service.createProject("Project", "", manager.id());
+        service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        service.addTeamMember(project.id(), tester.id(), new Role.Tester(), manager.id());
+        clock = new TestClock();
+        sink = new InMemorySink();
+    }
+
+    private static List<String> lines(Digest digest) {
+        return digest.notifications().stream().map(Notification::describe).toList();
+    }
+
+    @Test
+    @DisplayName("Assignments and status changes reach assignees as one coalesced digest once it is due")
+    void coalescesUntilDue() {
+        var policy = new DigestPolicy(10, Duration.ofMinutes(5), 100, 8);
+        try (var hub = NotificationHub.manual(service, sink, policy, clock)) {
+            var ticket = service.createTicket("Login", "", project.id(), null, manager.id());
+            service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+            service.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id());
+            service.updateTicketStatus(ticket.id(), TicketStatus.IN_PROGRESS, developer.id());
+            assertEquals(2, hub.pendingNotifications());
+            assertEquals(1, hub.coalescedNotifications());
+
+            clock.advance(Duration.ofMinutes(4));
+            assertEquals(0, hub.flushDue());
+            clock.advance(Duration.ofMinutes(1));
+            assertEquals(1, hub.flushDue());
+
+            var digest = sink.digests().getFirst();
+            assertEquals(developer.id(), digest.recipient());
+            assertEquals(List.of("Ticket 'Login' was assigned to you", "Ticket 'Login' is now IN_PROGRESS"),
+                    lines(digest));
+            assertEquals(3, digest.received());
+            assertEquals(1, digest.coalesced());
+            assertEquals(0, hub.pendingNotifications());
+        }
+    }
+
+    @Test
+    @DisplayName("A recipient's buffer is flushed as soon as it reaches the digest size")
+    void flushesOnSize() {
+        var policy = new DigestPolicy(3, Duration.ofHours(1), 100, 8);
+        try (var hub = NotificationHub.manual(service, sink, policy, clock)) {
+            for (int i = 0; i < 7; i++) {
+                var ticket = service.createTicket(STR."Ticket \{i}", "", project.id(), null, manager.id());
+                service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+            }
+            assertEquals(2, sink.digests().size());
+            assertTrue(sink.digests().stream().allMatch(d -> d.notifications().size() == 3));
+            assertEquals(1, hub.pendingNotifications());
+        }
+        assertEquals(3, sink.digests().size());
+    }
+
+    @Test
+    @DisplayName("Buffered notifications stay under the pending cap by flushing the oldest buffer early")
+    void boundsPendingNotifications() {
+        var second = service.registerUser("dev2", "dev2@test.com", "Second");
+        service.addTeamMember(project.id(), second.id(), new Role.Developer(), manager.id());
+        var policy = new DigestPolicy(4, Duration.ofHours(1), 4, 8);
+        try (var hub = NotificationHub.manual(service, sink, policy, clock)) {
+            for (int i = 0; i < 3; i++) {
+                var ticket = service.createTicket(STR."Ticket \{i}", "", project.id(), null, manager.id());
+                service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+            }
+            for (int i = 0; i < 2; i++) {
+                var ticket = service.createTicket(STR."Other \{i}", "", project.id(), null, manager.id());
+                service.assignDevelopersToTicket(ticket.id(), Set.of(second.id()), manager.id());
+            }
+            assertEquals(List.of(developer.id()), sink.digests().stream().map(Digest::recipient).toList());
+            assertEquals(2, hub.pendingNotifications());
+        }
+    }
+
+    @Test
+    @DisplayName("Bug assignment goes to the assignee and status changes to reporter and assignee")
+    void notifiesAboutBugs() {
+        var policy = new DigestPolicy(10, Duration.ofMinutes(5), 100, 8);
+        try (var hub = NotificationHub.manual(service, sink, policy, clock)) {
+            var bug = service.createBugReport("Crash", "", project.id(), tester.id(), "HIGH");
+            service.assignBugReport(bug.id(), developer.id(), manager.id());
+            service.updateBugReportStatus(bug.id(), BugReportStatus.FIXED, developer.id());
+            assertEquals(2, hub.flushAll());
+        }
+        assertEquals(List.of("Bug 'Crash' was assigned to you", "Bug 'Crash' is now FIXED"),
+                lines(sink.digestsFor(developer.id()).getFirst()));
+        assertEquals(List.of("Bug 'Crash' is now FIXED"), lines(sink.digestsFor(tester.id()).getFirst()));
+    }
+
+    @Test
+    @DisplayName("A started hub delivers to a file sink and drains everything on close")
+    void deliversToFile(@TempDir Path dir) throws Exception {
+        var file = dir.resolve("digests.txt");
+        try (var fileSink = new FileSink(file)) {
+            var hub = NotificationHub.start(service, fileSink, new DigestPolicy(2, Duration.ofHours(1), 100, 1));
+            for (int i = 0; i < 5; i++) {
+                var ticket = service.createTicket(STR."Ticket \{i}", "", project.id(), null, manager.id());
+                service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+            }
+            hub.close();
+            assertEquals(3, hub.deliveredDigests());
+            assertEquals(0, hub.failedDeliveries());
+        }
+        var text = Files.readString(file);
+        assertEquals(5, text.lines().filter(line -> line.startsWith("- Ticket")).count());
+        assertEquals(3, text.lines().filter(line -> line.startsWith("To: " + developer.id())).count());
+    }
+}
@@ -0,0 +1,139 @@
+package org.lab;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.model.Role;
+import org.lab.service.OffHeapTextStorage;
+import org.lab.service.ProjectManagementService;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapTextStorageTest {
+
+    private final OffHeapTextStorage storage = new OffHeapTextStorage(64, 0.5);
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+    }
+
+    @Test
+    @DisplayName("Stored text is materialized on load")
+    void storeAndLoad() {
+        var id = UUID.randomUUID();
+
+        assertNull(storage.store(id, "Payment fails with ünïcödé"));
+        assertEquals("Payment fails with ünïcödé", storage.load(id, null));
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    @DisplayName("Texts larger than a chunk get a dedicated chunk")
+    void storeLargeText() {
+        var id = UUID.randomUUID();
+        var text = "x".repeat(1_000);
+
+        storage.store(id, text);
+
+        assertEquals(text, storage.load(id, null));
+    }
+
+    @Test
+    @DisplayName("Unknown owner falls back to the stored value")
+    void loadUnknownOwner() {
+        assertEquals("inline", storage.load(UUID.randomUUID(), "inline"));
+    }
+
+    @Test
+    @DisplayName("Compaction reclaims space of released texts")
+    void compactionReclaimsReleasedTexts() {
+        var kept = UUID.randomUUID();
+        storage.store(kept, "keep me");
+        for (int i = 0; i < 20; i++) {
+            var id = UUID.randomUUID();
+            storage.store(id, "temporary description " + i);
+            storage.release(id);
+        }
+
+        storage.compact();
+
+        assertEquals("keep me".length(), storage.usedBytes());
+        assertEquals(storage.usedBytes(), storage.liveBytes());
+        assertEquals("keep me", storage.load(kept, null));
+    }
+
+    @Test
+    @DisplayName("Slot table survives growth, replacement and removal")
+    void manyOwners() {
+        var ids = new java.util.ArrayList<UUID>();
+        for (int i = 0; i < 5_000; i++) {
+            var id = UUID.randomUUID();
+            ids.add(id);
+            storage.store(id, "text " + i);
+        }
+        for (int i = 0; i < ids.size(); i += 2) {
+            storage.release(ids.get(i));
+        }
+        storage.store(ids.get(1), "replaced");
+
+        assertEquals(2_500, storage.size());
+        assertEquals("replaced", storage.load(ids.get(1), null));
+        assertEquals("text 3", storage.load(ids.get(3), null));
+        assertNull(storage.load(ids.get(4), null));
+    }
+
+    @Test
+    @DisplayName("Concurrent readers see intact texts while a writer churns and compacts")
+    void concurrentReadsDuringCompaction() throws Exception {
+        var stable = new UUID[64];
+        for (int i = 0; i < stable.length; i++) {
+            stable[i] = UUID.randomUUID();
+            storage.store(stable[i], STR."Stable text \{i}");
+        }
+        var futures = new ArrayList<Future<?>>();
+        try (var pool = Executors.newFixedThreadPool(4)) {
+            futures.add(pool.submit(() -> {
+                var churn = UUID.randomUUID();
+                for (int i = 0; i < 5_000; i++) {
+                    storage.store(churn, STR."Churn \{i}");
+                }
+            }));
+            for (int r = 0; r < 3; r++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 5_000; i++) {
+                        int k = i % stable.length;
+                        assertEquals(STR."Stable text \{k}", storage.load(stable[k], null));
+                    }
+                }));
+            }
+            for (var future : futures) {
+                future.get();
+            }
+        }
+        assertEquals(stable.length + 1, storage.size());
+    }
+
+    @Test
+    @DisplayName("Service keeps descriptions off-heap and materializes them on read")
+    void serviceMaterializesDescriptions() {
+        var service = new ProjectManagementService(storage);
+        var manager = service.registerUser("manager", "manager@test.com", "Manager");
+        var developer = service.registerUser("dev", "dev@test.com", "Developer");
+        var project = service.createProject("Project", "Description", manager.id());
+        service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+
+        var ticket = service.createTicket("Ticket", "Ticket details", project.id(), null, manager.id());
+        var bug = service.createBugReport("Bug", "Steps to reproduce", project.id(), developer.id(), "low");
+
+        assertEquals("Ticket details", service.getTicket(ticket.id()).orElseThrow().description());
+        assertEquals("Steps to reproduce", service.getBugReport(bug.id()).orElseThrow().description());
+        assertEquals("Ticket details", service.getTicketsByProject(project.id()).getFirst().description());
+        assertEquals(2, storage.size());
+    }
+}
@@ -8,6 +8,7 @@ import org.lab.service.ProjectAnalyticsService;
 import org.lab.service.ProjectManagementService;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -114,6 +115,23 @@ class ProjectAnalyticsServiceTest {
         assertTrue(result.issue().contains("Critical bug"));
     }
 
+    @Test
+    @DisplayName("Health check finds tickets stuck in progress from the live status columns")
+    void quickHealthCheck_detectsStuckTickets() throws Exception {
+        var weekAgo = LocalDateTime.now().minusDays(10);
+        var stuck = new Ticket(UUID.randomUUID(), "Stuck", "Desc", TicketStatus.IN_PROGRESS, project.id(),
+                null, Set.of(developer.id()), weekAgo, weekAgo);
+        projectService.bulkLoad(List.of(), List.of(), List.of(), List.of(stuck), List.of());
+        projectService.createTicket("Fresh", "Desc", project.id(), null, manager.id());
+
+        var result = analyticsService.quickHealthCheck(project.id());
+        assertFalse(result.healthy());
+        assertEquals("Found 1 tickets stuck in progress for over a week", result.issue());
+
+        projectService.updateTicketStatus(stuck.id(), TicketStatus.COMPLETED, developer.id());
+        assertTrue(analyticsService.quickHealthCheck(project.id()).healthy());
+    }
+
     @Test
     @DisplayName("Empty project returns healthy status")
     void quickHealthCheck_returnsHealthyForEmptyProject() throws Exception {
@@ -138,4 +156,60 @@ class ProjectAnalyticsServiceTest {
         assertTrue(parallelTime < 150,
                 STR."Parallel execution should be faster: \{parallelTime}ms");
     }
+
+    @Test
+    @DisplayName("Stats are served without loading any list, which then load and page on demand")
+    void getProjectAnalytics_loadsListsLazily() {
+        for (int i = 0; i < 5; i++) {
+            projectService.createTicket(STR."Ticket \{i}", "Desc", project.id(), null, manager.id());
+        }
+
+        var analytics = analyticsService.getProjectAnalytics(project.id());
+
+        assertEquals(5, analytics.stats().totalTickets());
+        assertFalse(analytics.tickets().isLoaded());
+        var ids = analytics.tickets().ids();
+        var page = analytics.tickets().page(3, 10);
+        assertEquals(ids.subList(3, 5), page.stream().map(Ticket::id).toList());
+        assertTrue(analytics.tickets().page(5, 10).isEmpty());
+        assertFalse(analytics.tickets().isLoaded());
+        assertThrows(IllegalArgumentException.class, () -> analytics.tickets().page(-1, 1));
+
+        assertEquals(5, analytics.tickets().size());
+        assertTrue(analytics.tickets().isLoaded());
+        assertEquals(ids, analytics.tickets().stream().map(Ticket::id).toList());
+    }
+
+    @Test
+    @DisplayName("Running stats match a full recount after updates, reloads and milestone changes")
+    void getProjectStats_matchesRecount() {
+        var milestone = projectService.createMilestone("Sprint", "Desc", project.id(),
+                LocalDate.now(), LocalDate.now().plusWeeks(1), manager.id());
+        projectService.changeMilestoneStatus(milestone.id(), MilestoneStatus.ACTIVE, manager.id());
+        var ticket = projectService.createTicket("Ticket", "Desc", project.id(), milestone.id(), manager.id());
+        projectService.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+        projectService.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id());
+        var critical = projectService.createBugReport("Crash", "Desc", project.id(), developer.id(), "Critical");
+        projectService.assignBugReport(critical.id(), developer.id(), manager.id());
+        projectService.updateBugReportStatus(critical.id(), BugReportStatus.FIXED, developer.id());
+        projectService.createBugReport("Typo", "Desc", project.id(), developer.id(), "low");
+
+        var now = LocalDateTime.now();
+        var reloaded = new Ticket(ticket.id(), "Ticket", "Desc", TicketStatus.COMPLETED, project.id(),
+                milestone.id(), Set.of(developer.id()), now, now);
+        var extra = new Ticket(UUID.randomUUID(), "Extra", "Desc", TicketStatus.NEW, project.id(),
+                null, Set.of(), now, now);
+        projectService.bulkLoad(List.of(), List.of(), List.of(), List.of(reloaded, extra), List.of());
+
+        var recount = analyticsService.recountProjectStats(project.id());
+        var stats = projectService.getProjectStats(project.id());
+
+        assertEquals(recount, stats);
+        assertTrue(analyticsService.verifyProjectStats(project.id()));
+        assertEquals(2, stats.totalTickets());
+        assertEquals(1, stats.completedTickets());
+        assertEquals(1, stats.openBugs());
+        assertEquals(1, stats.criticalBugs());
+        assertEquals(1, stats.activeMilestones());
+    }
 }
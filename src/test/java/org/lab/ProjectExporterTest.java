@@ -0,0 +1,86 @@
+package org.lab;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.io.ExportFormat;
+import org.lab.io.ProjectExporter;
+import org.lab.model.*;
+import org.lab.service.ProjectManagementService;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectExporterTest {
+
+    private ProjectManagementService service;
+    private Project project;
+    private Ticket ticket;
+    private User developer;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProjectManagementService();
+        var manager = service.registerUser("manager", "manager@test.com", "Manager");
+        developer = service.registerUser("dev", "dev@test.com", "Developer");
+        project = service.createProject("Shop", "Online \"store\", v2", manager.id());
+        service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+
+        var milestone = service.createMilestone("Sprint 1", null, project.id(),
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 14), manager.id());
+        ticket = service.createTicket("Checkout", "Line one\nLine two — ü 😀", project.id(),
+                milestone.id(), manager.id());
+        service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+        service.createBugReport("Crash", "", project.id(), developer.id(), "critical");
+    }
+
+    @Test
+    @DisplayName("JSON-lines export writes one escaped row per entity")
+    void exportJsonLines() throws Exception {
+        var lines = export(ExportFormat.JSON_LINES, 64).split("\n");
+
+        assertEquals(6, lines.length);
+        assertTrue(lines[0].startsWith(STR."{\"type\":\"project\",\"id\":\"\{project.id()}\""));
+        assertTrue(lines[0].contains("\"description\":\"Online \\\"store\\\", v2\""));
+        assertTrue(lines[0].contains("\"teamLeaderId\":null"));
+        var ticketLine = lines[4];
+        assertTrue(ticketLine.contains("\"description\":\"Line one\\nLine two — ü 😀\""));
+        assertTrue(ticketLine.contains(STR."\"assignedDevelopers\":[\"\{developer.id()}\"]"));
+        assertTrue(lines[5].contains("\"description\":\"\""));
+    }
+
+    @Test
+    @DisplayName("CSV export quotes only when needed and keeps null apart from empty")
+    void exportCsv() throws Exception {
+        var csv = export(ExportFormat.CSV, 64);
+
+        assertTrue(csv.startsWith(STR."project,\{project.id()},Shop,\"Online \"\"store\"\", v2\","));
+        assertTrue(csv.contains(STR."\nticket,\{ticket.id()},\{project.id()},"));
+        assertTrue(csv.contains("\"Line one\nLine two — ü 😀\",NEW"));
+        assertTrue(csv.contains(",Crash,\"\",NEW,"));
+        assertTrue(csv.contains(",Sprint 1,,OPEN,2025-01-01,2025-01-14,"));
+    }
+
+    @Test
+    @DisplayName("Reported byte count matches the written output")
+    void exportReportsBytesWritten() throws Exception {
+        var out = new ByteArrayOutputStream();
+        var exporter = new ProjectExporter(service, ExportFormat.JSON_LINES);
+
+        long written = exporter.export(project.id(), Channels.newChannel(out));
+
+        assertEquals(out.size(), written);
+        assertEquals(written, exporter.export(project.id(), Channels.newChannel(new ByteArrayOutputStream())));
+    }
+
+    private String export(ExportFormat format, int bufferSize) throws Exception {
+        var out = new ByteArrayOutputStream();
+        new ProjectExporter(service, format, bufferSize).export(project.id(), Channels.newChannel(out));
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -4,10 +4,23 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.lab.model.*;
+import org.lab.service.ChangeListener;
+import org.lab.service.DeveloperLoad;
+import org.lab.service.InboxItem;
+import org.lab.service.PermissionChecker.Permission;
 import org.lab.service.ProjectManagementService;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -206,6 +219,160 @@ class ProjectManagementServiceTest {
         assertEquals(1, developerProjects.size());
     }
 
+    @Test
+    @DisplayName("Should bump versions and reject stale expected versions")
+    void testOptimisticVersions() {
+        var project = service.createProject("Project 1", "Description", manager.id());
+        long projectVersion = project.version();
+        service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        assertEquals(projectVersion + 1, project.version());
+        assertThrows(StaleVersionException.class, () ->
+                service.assignTeamLeader(project.id(), developer.id(), manager.id(), projectVersion));
+        assertFalse(project.hasRole(developer.id(), Role.TeamLeader.class));
+        service.assignTeamLeader(project.id(), developer.id(), manager.id(), projectVersion + 1);
+        assertEquals(developer.id(), project.teamLeaderId());
+
+        var ticket = service.createTicket("Task", "Desc", project.id(), null, manager.id());
+        assertEquals(0, ticket.version());
+        service.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id(), 0);
+        assertEquals(1, service.getTicket(ticket.id()).orElseThrow().version());
+
+        var stale = assertThrows(StaleVersionException.class, () ->
+                service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id(), 0));
+        assertEquals(1, stale.actualVersion());
+
+        var milestone = service.createMilestone("Sprint", "Sprint", project.id(),
+                LocalDate.now(), LocalDate.now().plusDays(7), manager.id());
+        assertThrows(StaleVersionException.class, () ->
+                service.changeMilestoneStatus(milestone.id(), MilestoneStatus.ACTIVE, manager.id(), 5));
+        service.changeMilestoneStatus(milestone.id(), MilestoneStatus.ACTIVE, manager.id(), milestone.version());
+        assertEquals(MilestoneStatus.ACTIVE, milestone.status());
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many concurrent identical transitions win")
+    void testConcurrentTransitionsDoNotOverwrite() throws Exception {
+        var project = service.createProject("Project 1", "Description", manager.id());
+        var ticket = service.createTicket("Task", "Desc", project.id(), null, manager.id());
+        var wins = new AtomicInteger();
+        var conflicts = new AtomicInteger();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 64; i++) {
+                executor.submit(() -> {
+                    try {
+                        service.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id());
+                        wins.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        conflicts.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertEquals(1, wins.get());
+        assertEquals(63, conflicts.get());
+        assertEquals(1, service.getTicket(ticket.id()).orElseThrow().version());
+    }
+
+    @Test
+    @DisplayName("Should find users by username or email ignoring case and reject duplicates")
+    void testUniqueUserLookups() {
+        assertEquals(developer, service.findUserByUsername("DEV1").orElseThrow());
+        assertEquals(tester, service.findUserByEmail(" Tester@Test.com").orElseThrow());
+        assertTrue(service.findUserByUsername("nobody").isEmpty());
+
+        assertThrows(IllegalStateException.class,
+                () -> service.registerUser("Dev1", "other@test.com", "Impostor"));
+        assertThrows(IllegalStateException.class,
+                () -> service.registerUser("fresh", "DEV@test.com", "Impostor"));
+        // The failed email claim must give the username back.
+        var fresh = service.registerUser("fresh", "fresh@test.com", "Fresh User");
+        assertEquals(fresh, service.findUserByUsername("fresh").orElseThrow());
+
+        var clash = User.create("other", "LEAD@test.com", "Clash");
+        var ok = User.create("imported", "imported@test.com", "Imported");
+        assertThrows(IllegalStateException.class,
+                () -> service.bulkLoad(List.of(ok, clash), List.of(), List.of(), List.of(), List.of()));
+        assertTrue(service.findUserByUsername("imported").isEmpty());
+        assertTrue(service.getUser(ok.id()).isEmpty());
+
+        var twin = User.create("Twin", "twin@test.com", "Twin");
+        var shoutingTwin = User.create("TWIN", "twin2@test.com", "Twin");
+        assertThrows(IllegalStateException.class,
+                () -> service.bulkLoad(List.of(twin, shoutingTwin), List.of(), List.of(), List.of(), List.of()));
+        assertTrue(service.findUserByUsername("twin").isEmpty());
+        assertTrue(service.findUserByEmail("twin@test.com").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many concurrent registrations of a name win")
+    void testConcurrentRegistrationsStayUnique() throws Exception {
+        var wins = new AtomicInteger();
+        var conflicts = new AtomicInteger();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 256; i++) {
+                int name = i % 16;
+                // Odd attempts race on the email only, with a username of their own.
+                String username = i % 2 == 0 ? (i % 4 == 0 ? "racer" : "RACER") + name : STR."solo\{i}";
+                executor.submit(() -> {
+                    try {
+                        service.registerUser(username, STR."racer\{name}@test.com", "Racer");
+                        wins.incrementAndGet();
+                    } catch (IllegalStateException e) {
+                        conflicts.incrementAndGet();
+                    }
+                });
+            }
+        }
+
+        assertEquals(16, wins.get());
+        assertEquals(240, conflicts.get());
+        for (int name = 0; name < 16; name++) {
+            var user = service.findUserByEmail(STR."racer\{name}@test.com").orElseThrow();
+            assertEquals(user, service.findUserByUsername(user.username()).orElseThrow());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep per-role member sets when a developer becomes team leader")
+    void testRoleSetsFollowReRoling() {
+        var project = service.createProject("Project 1", "Description", manager.id());
+        service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        service.addTeamMember(project.id(), teamLeader.id(), new Role.Developer(), manager.id());
+        service.addTeamMember(project.id(), tester.id(), new Role.Tester(), manager.id());
+
+        service.assignTeamLeader(project.id(), teamLeader.id(), manager.id());
+
+        assertEquals(List.of(developer.id()), project.getUsersByRole(Role.Developer.class));
+        assertEquals(List.of(teamLeader.id()), project.getUsersByRole(Role.TeamLeader.class));
+        assertEquals(1, project.memberCount(Role.Tester.class));
+        assertEquals(4, project.teamSize());
+        assertEquals(4, project.getUsersByRole(Role.class).size());
+        assertTrue(project.getTeamSummary().contains("Developers: 1"));
+    }
+
+    @Test
+    @DisplayName("Should index memberships from team leader assignment and bulk load")
+    void testUserProjectsIndex() {
+        var project = service.createProject("Project 1", "Description", manager.id());
+        service.addTeamMember(project.id(), teamLeader.id(), new Role.Developer(), manager.id());
+        service.assignTeamLeader(project.id(), teamLeader.id(), manager.id());
+
+        var imported = Project.create("Imported", "Description", manager.id());
+        imported.addTeamMember(tester.id(), new Role.Tester());
+        service.bulkLoad(List.of(), List.of(imported), List.of(),
+                List.of(), List.of());
+
+        assertEquals(List.of(project.id()),
+                service.getUserProjects(teamLeader.id()).stream().map(Project::id).toList());
+        assertEquals(List.of(imported.id()),
+                service.getUserProjects(tester.id()).stream().map(Project::id).toList());
+        assertEquals(2, service.getUserProjects(manager.id()).size());
+        assertTrue(service.getUserProjects(developer.id()).isEmpty());
+    }
+
     @Test
     @DisplayName("Should retrieve user tickets")
     void testGetUserTickets() {
@@ -258,4 +425,195 @@ class ProjectManagementServiceTest {
         assertTrue(managerRole instanceof Role.Manager);
         assertFalse(devRole instanceof Role.Manager);
     }
+
+    @Test
+    @DisplayName("Inbox lists open assigned work by priority and drops finished items")
+    void testInbox() {
+        var project = service.createProject("Test Project", "Description", manager.id());
+        service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        service.addTeamMember(project.id(), tester.id(), new Role.Tester(), manager.id());
+
+        var fresh = service.createTicket("Fresh", "Desc", project.id(), null, manager.id());
+        var started = service.createTicket("Started", "Desc", project.id(), null, manager.id());
+        service.assignDevelopersToTicket(fresh.id(), Set.of(developer.id()), manager.id());
+        service.assignDevelopersToTicket(started.id(), Set.of(developer.id()), manager.id());
+        service.updateTicketStatus(started.id(), TicketStatus.ACCEPTED, manager.id());
+        service.updateTicketStatus(started.id(), TicketStatus.IN_PROGRESS, developer.id());
+        var crash = service.createBugReport("Crash", "Desc", project.id(), tester.id(), "CRITICAL");
+        var typo = service.createBugReport("Typo", "Desc", project.id(), tester.id(), "medium");
+        service.assignBugReport(crash.id(), developer.id(), manager.id());
+        service.assignBugReport(typo.id(), developer.id(), manager.id());
+
+        assertEquals(List.of("Crash", "Started", "Typo", "Fresh"),
+                service.getInbox(developer.id(), 0, 10).stream().map(InboxItem::title).toList());
+        assertEquals(List.of("Started", "Typo"),
+                service.getInbox(developer.id(), 1, 2).stream().map(InboxItem::title).toList());
+        assertEquals(InboxItem.Kind.BUG_REPORT, service.getInbox(developer.id(), 0, 1).getFirst().kind());
+        assertTrue(service.getInbox(tester.id(), 0, 10).isEmpty());
+
+        service.updateTicketStatus(started.id(), TicketStatus.COMPLETED, developer.id());
+        service.updateBugReportStatus(crash.id(), BugReportStatus.FIXED, developer.id());
+        service.updateBugReportStatus(crash.id(), BugReportStatus.TESTED, tester.id());
+        service.updateBugReportStatus(crash.id(), BugReportStatus.CLOSED, manager.id());
+        service.assignDevelopersToTicket(fresh.id(), Set.of(), manager.id());
+
+        assertEquals(List.of("Typo"),
+                service.getInbox(developer.id(), 0, 10).stream().map(InboxItem::title).toList());
+        assertThrows(IllegalArgumentException.class, () -> service.getInbox(developer.id(), -1, 10));
+    }
+
+    @Test
+    @DisplayName("Inbox follows a bulk reload even to a lower version")
+    void testInboxFollowsBulkReload() {
+        var project = service.createProject("Test Project", "Description", manager.id());
+        service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        var ticket = service.createTicket("Accepted", "Desc", project.id(), null, manager.id());
+        service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+        service.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id());
+        var accepted = service.getTicket(ticket.id()).orElseThrow();
+        assertEquals(2, accepted.version());
+        assertEquals(List.of("Accepted"),
+                service.getInbox(developer.id(), 0, 10).stream().map(InboxItem::title).toList());
+
+        var completed = new Ticket(ticket.id(), "Accepted", "Desc", TicketStatus.COMPLETED, project.id(),
+                null, Set.of(developer.id()), accepted.createdAt(), accepted.updatedAt(), 0);
+        service.bulkLoad(List.of(), List.of(), List.of(), List.of(completed), List.of());
+        assertTrue(service.getInbox(developer.id(), 0, 10).isEmpty());
+
+        var reopened = new Ticket(ticket.id(), "Reopened", "Desc", TicketStatus.NEW, project.id(),
+                null, Set.of(developer.id()), accepted.createdAt(), accepted.updatedAt(), 0);
+        service.bulkLoad(List.of(), List.of(), List.of(), List.of(reopened), List.of());
+        service.bulkLoad(List.of(), List.of(), List.of(), List.of(reopened), List.of());
+        assertEquals(List.of("Reopened"),
+                service.getInbox(developer.id(), 0, 10).stream().map(InboxItem::title).toList());
+    }
+
+    @Test
+    @DisplayName("Recommends the developers and team leaders with the fewest open tickets")
+    void testRecommendDevelopers() {
+        var project = service.createProject("Test Project", "Description", manager.id());
+        var second = service.registerUser("dev2", "dev2@test.com", "Second Developer");
+        service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        service.addTeamMember(project.id(), second.id(), new Role.Developer(), manager.id());
+        service.addTeamMember(project.id(), tester.id(), new Role.Tester(), manager.id());
+        service.addTeamMember(project.id(), teamLeader.id(), new Role.Developer(), manager.id());
+        service.assignTeamLeader(project.id(), teamLeader.id(), manager.id());
+
+        for (int i = 0; i < 3; i++) {
+            var ticket = service.createTicket(STR."Task \{i}", "Desc", project.id(), null, manager.id());
+            service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+        }
+        var shared = service.createTicket("Shared", "Desc", project.id(), null, manager.id());
+        service.assignDevelopersToTicket(shared.id(), Set.of(second.id(), teamLeader.id()), manager.id());
+        var extra = service.createTicket("Extra", "Desc", project.id(), null, manager.id());
+        service.assignDevelopersToTicket(extra.id(), Set.of(second.id()), manager.id());
+
+        var loads = service.recommendDevelopers(project.id(), 10);
+        assertEquals(List.of(teamLeader.id(), second.id(), developer.id()),
+                loads.stream().map(DeveloperLoad::userId).toList());
+        assertEquals(List.of(1, 2, 3), loads.stream().map(DeveloperLoad::openTickets).toList());
+
+        service.updateTicketStatus(extra.id(), TicketStatus.ACCEPTED, manager.id());
+        service.updateTicketStatus(extra.id(), TicketStatus.IN_PROGRESS, second.id());
+        service.updateTicketStatus(extra.id(), TicketStatus.COMPLETED, second.id());
+        service.assignDevelopersToTicket(shared.id(), Set.of(second.id()), manager.id());
+
+        assertEquals(List.of(new DeveloperLoad(teamLeader.id(), 0)), service.recommendDevelopers(project.id(), 1));
+        assertEquals(new DeveloperLoad(second.id(), 1), service.recommendDevelopers(project.id(), 2).get(1));
+        assertThrows(IllegalArgumentException.class, () -> service.recommendDevelopers(UUID.randomUUID(), 1));
+    }
+
+    @Test
+    @DisplayName("Recommendations match a recount after many random assignments")
+    void testRecommendDevelopersRandomized() {
+        var project = service.createProject("Test Project", "Description", manager.id());
+        var developers = new ArrayList<UUID>();
+        for (int d = 0; d < 40; d++) {
+            var user = service.registerUser(STR."d\{d}", STR."d\{d}@test.com", "Developer");
+            service.addTeamMember(project.id(), user.id(), new Role.Developer(), manager.id());
+            developers.add(user.id());
+        }
+        var random = new Random(7);
+        var tickets = new ArrayList<Ticket>();
+        for (int t = 0; t < 300; t++) {
+            var ticket = service.createTicket(STR."Task \{t}", "", project.id(), null, manager.id());
+            tickets.add(ticket);
+            var assignees = new HashSet<>(List.of(developers.get(random.nextInt(40)), developers.get(random.nextInt(40))));
+            service.assignDevelopersToTicket(ticket.id(), assignees, manager.id());
+            if (random.nextInt(4) == 0) {
+                var earlier = tickets.get(random.nextInt(tickets.size()));
+                service.assignDevelopersToTicket(earlier.id(), Set.of(developers.get(random.nextInt(40))),
+                        manager.id());
+            }
+        }
+
+        var open = new HashMap<UUID, Integer>();
+        developers.forEach(d -> open.put(d, 0));
+        service.getTicketsByProject(project.id())
+                .forEach(t -> t.assignedDevelopers().forEach(d -> open.merge(d, 1, Integer::sum)));
+        var expected = open.entrySet().stream()
+                .map(e -> new DeveloperLoad(e.getKey(), e.getValue()))
+                .sorted(Comparator.comparingInt(DeveloperLoad::openTickets).thenComparing(DeveloperLoad::userId))
+                .limit(12)
+                .toList();
+
+        assertEquals(expected, service.recommendDevelopers(project.id(), 12));
+    }
+
+    @Test
+    @DisplayName("Permission matrix is cached per user and rebuilt only after their role changes")
+    void testPermissionMatrix() {
+        var first = service.createProject("First", "Description", manager.id());
+        var second = service.createProject("Second", "Description", manager.id());
+        service.addTeamMember(first.id(), developer.id(), new Role.Developer(), manager.id());
+        service.addTeamMember(second.id(), tester.id(), new Role.Tester(), manager.id());
+
+        var matrix = service.getPermissionMatrix(developer.id());
+        assertEquals(Set.of(first.id()), matrix.projects());
+        assertTrue(matrix.has(first.id(), new Permission.CanFixBugReports()));
+        assertFalse(matrix.has(first.id(), new Permission.CanManageTickets()));
+        assertFalse(matrix.has(second.id(), new Permission.CanWorkOnTickets()));
+        assertEquals(Set.of(new Permission.CanWorkOnTickets(), new Permission.CanCreateBugReports(),
+                new Permission.CanFixBugReports()), matrix.permissions(first.id()));
+        assertSame(matrix, service.getPermissionMatrix(developer.id()));
+
+        var managerMatrix = service.getPermissionMatrix(manager.id());
+        service.addTeamMember(second.id(), teamLeader.id(), new Role.Developer(), manager.id());
+        assertSame(matrix, service.getPermissionMatrix(developer.id()));
+        assertSame(managerMatrix, service.getPermissionMatrix(manager.id()));
+
+        service.assignTeamLeader(first.id(), developer.id(), manager.id());
+        var promoted = service.getPermissionMatrix(developer.id());
+        assertNotSame(matrix, promoted);
+        assertEquals(new Role.TeamLeader(), promoted.role(first.id()).orElseThrow());
+        assertTrue(promoted.has(first.id(), new Permission.CanManageTickets()));
+
+        service.addTeamMember(second.id(), developer.id(), new Role.Developer(), manager.id());
+        assertEquals(Set.of(first.id(), second.id()), service.getPermissionMatrix(developer.id()).projects());
+        assertThrows(IllegalArgumentException.class, () -> service.getPermissionMatrix(UUID.randomUUID()));
+    }
+
+    @Test
+    @DisplayName("A failing change listener neither fails the write nor hides it from later listeners")
+    void testFailingChangeListener() {
+        var project = service.createProject("Test Project", "Description", manager.id());
+        var ticket = service.createTicket("Ticket", "Description", project.id(), null, manager.id());
+        var seen = new ArrayList<Ticket>();
+        service.addChangeListener(new ChangeListener() {
+            @Override
+            public void ticketChanged(Ticket changed) {
+                throw new IllegalStateException("Interrupted while the queue is full");
+            }
+        });
+        service.addChangeListener(new ChangeListener() {
+            @Override
+            public void ticketChanged(Ticket changed) {
+                seen.add(changed);
+            }
+        });
+
+        assertDoesNotThrow(() -> service.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id()));
+        assertEquals(TicketStatus.ACCEPTED, service.getTicket(ticket.id()).orElseThrow().status());
+        assertEquals(List.of(TicketStatus.ACCEPTED), seen.stream().map(Ticket::status).toList());
+    }
 }
@@ -0,0 +1,94 @@
+package org.lab;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.model.*;
+import org.lab.service.ProjectStatsCalculator;
+import org.lab.service.StatusKernels;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectStatsCalculatorTest {
+
+    private static final String[] SEVERITIES = {"critical", "CRITICAL", "high", "low"};
+
+    @Test
+    @DisplayName("Fused sequential and parallel passes match the columnar path")
+    void fusedPassMatchesColumnarPath() {
+        var random = new Random(7);
+        var projectId = UUID.randomUUID();
+        var tickets = randomTickets(random, projectId, 50_000);
+        var bugs = randomBugs(random, projectId, 20_000);
+        var milestones = randomMilestones(random, projectId, 40);
+
+        var calculator = new ProjectStatsCalculator(StatusKernels.scalar(), 0);
+        var expected = calculator.columnar(tickets, bugs, milestones);
+
+        assertEquals(expected, calculator.fused(tickets, bugs, milestones, false));
+        assertEquals(expected, calculator.fused(tickets, bugs, milestones, true));
+        assertEquals(expected, calculator.calculate(tickets, bugs, milestones));
+    }
+
+    @Test
+    @DisplayName("Empty project yields zero stats on every path")
+    void emptyProjectYieldsZeroStats() {
+        var calculator = new ProjectStatsCalculator(StatusKernels.preferred(), 0);
+
+        var stats = calculator.calculate(List.of(), List.of(), List.of());
+
+        assertEquals(0, stats.totalTickets());
+        assertEquals(0.0, stats.completionPercentage());
+        assertEquals(stats, calculator.columnar(List.of(), List.of(), List.of()));
+    }
+
+    @Test
+    @DisplayName("Default parallel threshold shrinks with the core count")
+    void parallelThresholdFollowsCores() {
+        assertEquals(100_000, ProjectStatsCalculator.parallelThreshold(1));
+        assertEquals(25_000, ProjectStatsCalculator.parallelThreshold(4));
+        assertEquals(10_000, ProjectStatsCalculator.parallelThreshold(64));
+        assertEquals(ProjectStatsCalculator.parallelThreshold(Runtime.getRuntime().availableProcessors()),
+                ProjectStatsCalculator.DEFAULT_PARALLEL_THRESHOLD);
+        assertThrows(IllegalArgumentException.class, () -> ProjectStatsCalculator.parallelThreshold(0));
+    }
+
+    private List<Ticket> randomTickets(Random random, UUID projectId, int count) {
+        var statuses = TicketStatus.values();
+        var tickets = new ArrayList<Ticket>(count);
+        for (int i = 0; i < count; i++) {
+            var ticket = Ticket.create(STR."Ticket \{i}", "Desc", projectId, null);
+            tickets.add(ticket.withStatus(statuses[random.nextInt(statuses.length)]));
+        }
+        return tickets;
+    }
+
+    private List<BugReport> randomBugs(Random random, UUID projectId, int count) {
+        var statuses = BugReportStatus.values();
+        var bugs = new ArrayList<BugReport>(count);
+        for (int i = 0; i < count; i++) {
+            var bug = BugReport.create(STR."Bug \{i}", "Desc", projectId, UUID.randomUUID(),
+                    SEVERITIES[random.nextInt(SEVERITIES.length)]);
+            bugs.add(bug.withStatus(statuses[random.nextInt(statuses.length)]));
+        }
+        return bugs;
+    }
+
+    private List<Milestone> randomMilestones(Random random, UUID projectId, int count) {
+        var milestones = new ArrayList<Milestone>(count);
+        for (int i = 0; i < count; i++) {
+            var milestone = Milestone.create(STR."Sprint \{i}", "Desc", projectId,
+                    LocalDate.now(), LocalDate.now().plusWeeks(2));
+            if (random.nextBoolean()) {
+                milestone.changeStatus(MilestoneStatus.ACTIVE);
+            }
+            milestones.add(milestone);
+        }
+        return milestones;
+    }
+}
@@ -0,0 +1,164 @@
+package org.lab;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.model.*;
+import org.lab.query.Criterion;
+import org.lab.service.ProjectManagementService;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.lab.query.TicketQueries.*;
+
+class QueryPlannerTest {
+
+    private ProjectManagementService service;
+    private User manager;
+    private List<User> developers;
+    private Project project;
+    private Milestone milestone;
+    private List<Ticket> tickets;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProjectManagementService();
+        manager = service.registerUser("manager", "manager@test.com", "Manager");
+        project = service.createProject("Project", "", manager.id());
+        developers = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            var developer = service.registerUser(STR."dev\{i}", STR."dev\{i}@test.com", STR."Developer \{i}");
+            service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+            developers.add(developer);
+        }
+        milestone = service.createMilestone("M1", "", project.id(), LocalDate.now(), LocalDate.now().plusDays(7),
+                manager.id());
+
+        var random = new Random(7);
+        tickets = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            var ticket = service.createTicket(STR."Ticket \{i}", "", project.id(),
+                    i % 2 == 0 ? milestone.id() : null, manager.id());
+            var developer = developers.get(random.nextInt(developers.size()));
+            service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+            if (random.nextBoolean()) {
+                service.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id());
+                if (random.nextBoolean()) {
+                    service.updateTicketStatus(ticket.id(), TicketStatus.IN_PROGRESS, developer.id());
+                }
+            }
+            tickets.add(ticket);
+        }
+    }
+
+    private List<Ticket> naive(Criterion<Ticket> criterion) {
+        return service.getTicketsByProject(project.id()).stream().filter(criterion::test).toList();
+    }
+
+    @Test
+    @DisplayName("Indexed queries return what filtering every ticket returns")
+    void matchesNaiveFiltering() {
+        var developer = developers.getFirst().id();
+        var queries = List.of(
+                assignedTo(developer),
+                status(TicketStatus.IN_PROGRESS).and(assignedTo(developer)).and(inMilestone(milestone.id())),
+                status(TicketStatus.NEW, TicketStatus.ACCEPTED).and(updatedSince(LocalDateTime.now().minusDays(3))),
+                assignedTo(developer).or(assignedTo(developers.get(1).id())).and(status(TicketStatus.ACCEPTED)),
+                inProject(project.id()).and(status(TicketStatus.IN_PROGRESS).negate()),
+                matching("title ends with 7", t -> t.title().endsWith("7")));
+
+        for (var query : queries) {
+            assertEquals(new HashSet<>(naive(query)), new HashSet<>(service.findTickets(query)), query::toString);
+        }
+    }
+
+    @Test
+    @DisplayName("Id queries agree with entity queries for nested AND/OR mixes")
+    void idsMatchEntitiesForNestedCriteria() {
+        var first = developers.getFirst().id();
+        var second = developers.get(1).id();
+        var queries = List.of(
+                inProject(UUID.randomUUID()).or(assignedTo(first).and(status(TicketStatus.ACCEPTED))),
+                assignedTo(first).and(status(TicketStatus.ACCEPTED)).or(inMilestone(milestone.id())),
+                assignedTo(second).or(assignedTo(first).and(status(TicketStatus.IN_PROGRESS)))
+                        .and(inProject(project.id())),
+                status(TicketStatus.NEW).or(assignedTo(first).and(inMilestone(milestone.id()))
+                        .or(assignedTo(second).and(status(TicketStatus.ACCEPTED)))),
+                assignedTo(first).or(assignedTo(second)).and(status(TicketStatus.ACCEPTED)));
+
+        for (var query : queries) {
+            var expected = naive(query).stream().map(Ticket::id).collect(Collectors.toSet());
+            assertEquals(expected, new HashSet<>(service.findTicketIds(query)), query::toString);
+            assertEquals(expected, service.findTickets(query).stream().map(Ticket::id).collect(Collectors.toSet()),
+                    query::toString);
+        }
+        var nested = inProject(UUID.randomUUID()).or(assignedTo(first).and(status(TicketStatus.ACCEPTED)));
+        assertFalse(service.explainTickets(nested).filters().isEmpty(), () -> service.explainTickets(nested).explain());
+    }
+
+    @Test
+    @DisplayName("Streaming a project's tickets visits what the project listing returns")
+    void forEachInProjectMatchesListing() {
+        var visited = new ArrayList<Ticket>();
+        service.forEachTicketInProject(project.id(), visited::add);
+
+        assertEquals(Set.copyOf(service.getTicketsByProject(project.id())), Set.copyOf(visited));
+        assertEquals(service.getTicketsByProject(project.id()).size(), visited.size());
+        service.forEachTicketInProject(UUID.randomUUID(), t -> fail(STR."Unexpected ticket \{t.id()}"));
+    }
+
+    @Test
+    @DisplayName("Planner starts from the most selective index and explains its choice")
+    void picksMostSelectiveIndex() {
+        var developer = developers.getFirst().id();
+        var query = inProject(project.id()).and(assignedTo(developer)).and(status(TicketStatus.IN_PROGRESS));
+
+        var plan = service.explainTickets(query);
+
+        long assigned = service.getUserTickets(developer).size();
+        long inProgress = naive(status(TicketStatus.IN_PROGRESS)).size();
+        var expected = assigned <= inProgress ? assignedTo(developer) : status(TicketStatus.IN_PROGRESS);
+        assertEquals(List.of(expected), plan.indexLookups());
+        assertEquals(Math.min(assigned, inProgress), plan.estimatedRows());
+        assertEquals(2, plan.filters().size());
+        assertTrue(plan.explain().startsWith(STR."Index lookup on \{expected}"), plan::explain);
+        assertTrue(plan.explain().contains("Filter: project = "), plan::explain);
+    }
+
+    @Test
+    @DisplayName("Criteria no index serves fall back to a full scan")
+    void fullScanWithoutIndex() {
+        var plan = service.explainTickets(matching("title starts with T", t -> t.title().startsWith("T"))
+                .or(inMilestone(milestone.id())));
+
+        assertTrue(plan.fullScan());
+        assertEquals(200, plan.totalRows());
+        assertTrue(plan.explain().startsWith("Full scan (200 rows)"), plan::explain);
+    }
+
+    @Test
+    @DisplayName("Indexes follow status and assignee changes")
+    void indexesFollowUpdates() {
+        var ticket = tickets.getFirst();
+        var current = service.getTicket(ticket.id()).orElseThrow();
+        var previousAssignee = current.assignedDevelopers().iterator().next();
+        var other = developers.stream().map(User::id).filter(id -> !id.equals(previousAssignee)).findFirst().orElseThrow();
+
+        service.assignDevelopersToTicket(ticket.id(), Set.of(other), manager.id());
+
+        assertTrue(service.getUserTickets(other).stream().anyMatch(t -> t.id().equals(ticket.id())));
+        assertTrue(service.getUserTickets(previousAssignee).stream().noneMatch(t -> t.id().equals(ticket.id())));
+        assertEquals(List.of(), service.findTickets(assignedTo(UUID.randomUUID())));
+        assertEquals(naive(updatedSince(current.updatedAt())).size(),
+                service.findTickets(updatedSince(current.updatedAt())).size());
+    }
+}
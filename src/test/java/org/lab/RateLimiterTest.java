@@ -0,0 +1,160 @@
+package org.lab;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.command.Admission;
+import org.lab.command.Command;
+import org.lab.command.RateLimit;
+import org.lab.command.RateLimitedService;
+import org.lab.command.RateLimiter;
+import org.lab.command.RateLimits;
+import org.lab.model.Project;
+import org.lab.model.Role;
+import org.lab.model.Ticket;
+import org.lab.model.User;
+import org.lab.service.ProjectManagementService;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private ProjectManagementService service;
+    private User manager;
+    private User developer;
+    private User leader;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        service = new ProjectManagementService();
+        manager = service.registerUser("manager", "manager@test.com", "Manager");
+        developer = service.registerUser("dev", "dev@test.com", "Developer");
+        project = service.createProject("Project", "", manager.id());
+        service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        leader = service.registerUser("lead", "lead@test.com", "Leader");
+        service.addTeamMember(project.id(), leader.id(), new Role.Developer(), manager.id());
+        service.assignTeamLeader(project.id(), leader.id(), manager.id());
+    }
+
+    private Command.CreateTicket ticket(User requester) {
+        return new Command.CreateTicket("Task", "", project.id(), null, requester.id());
+    }
+
+    @Test
+    @DisplayName("A burst is admitted, then the caller is told when the next token arrives")
+    void refillsAtTheConfiguredRate() {
+        var limits = RateLimits.NONE.withUserLimit(Command.CreateTicket.class, new RateLimit(10, 3));
+        var gate = new RateLimitedService(service, new RateLimiter(limits, clock::get));
+
+        for (int i = 0; i < 3; i++) {
+            assertInstanceOf(Admission.Admitted.class, gate.execute(ticket(manager)));
+        }
+        var throttled = assertInstanceOf(Admission.Throttled.class, gate.execute(ticket(manager)));
+        assertEquals(Admission.Scope.USER, throttled.scope());
+        assertEquals(manager.id(), throttled.key());
+        assertEquals(Command.CreateTicket.class, throttled.operation());
+        assertEquals(Duration.ofMillis(100), throttled.retryAfter());
+        assertEquals(3, service.getTicketsByProject(project.id()).size());
+
+        clock.addAndGet(Duration.ofMillis(60).toNanos());
+        assertEquals(Duration.ofMillis(40),
+                assertInstanceOf(Admission.Throttled.class, gate.execute(ticket(manager))).retryAfter());
+        clock.addAndGet(Duration.ofMillis(40).toNanos());
+        var admitted = assertInstanceOf(Admission.Admitted.class, gate.execute(ticket(manager)));
+        assertEquals(project.id(), ((Ticket) admitted.result()).projectId());
+        assertFalse(gate.execute(ticket(manager)).admitted());
+
+        assertTrue(gate.execute(new Command.CreateBugReport("Bug", "", project.id(), developer.id(), "LOW"))
+                .admitted());
+        assertTrue(gate.execute(ticket(leader)).admitted());
+    }
+
+    @Test
+    @DisplayName("Users share their project's bucket and keep their own token when it is empty")
+    void limitsPerProject() {
+        var limits = RateLimits.NONE
+                .withUserLimit(Command.CreateTicket.class, new RateLimit(1, 2))
+                .withProjectLimit(Command.CreateTicket.class, new RateLimit(1, 3));
+        var gate = new RateLimitedService(service, new RateLimiter(limits, clock::get));
+
+        assertTrue(gate.execute(ticket(manager)).admitted());
+        assertTrue(gate.execute(ticket(manager)).admitted());
+        assertTrue(gate.execute(ticket(leader)).admitted());
+        var throttled = assertInstanceOf(Admission.Throttled.class, gate.execute(ticket(leader)));
+        assertEquals(Admission.Scope.PROJECT, throttled.scope());
+        assertEquals(project.id(), throttled.key());
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        assertTrue(gate.execute(ticket(leader)).admitted());
+        assertEquals(4, service.getTicketsByProject(project.id()).size());
+    }
+
+    @Test
+    @DisplayName("Rejected commands still throw and still use up tokens")
+    void countsInvalidCalls() {
+        var outsider = service.registerUser("outsider", "outsider@test.com", "Outsider");
+        var limits = RateLimits.NONE.withUserLimit(Command.CreateTicket.class, new RateLimit(1, 2));
+        var gate = new RateLimitedService(service, new RateLimiter(limits, clock::get));
+
+        assertThrows(SecurityException.class, () -> gate.execute(ticket(outsider)));
+        assertThrows(SecurityException.class, () -> gate.execute(ticket(outsider)));
+        assertFalse(gate.execute(ticket(outsider)).admitted());
+        assertTrue(service.getTicketsByProject(project.id()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Concurrent callers never get more than the burst out of a bucket")
+    void admitsExactlyTheBurstUnderContention() throws Exception {
+        var limits = RateLimits.NONE.withUserLimit(Command.CreateTicket.class, new RateLimit(1, 500));
+        var limiter = new RateLimiter(limits, clock::get);
+        var user = UUID.randomUUID();
+        var futures = new ArrayList<Future<Integer>>();
+        try (var pool = Executors.newFixedThreadPool(8)) {
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    int admitted = 0;
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.tryAcquire(Command.CreateTicket.class, user, null) == null) {
+                            admitted++;
+                        }
+                    }
+                    return admitted;
+                }));
+            }
+            int admitted = 0;
+            for (var future : futures) {
+                admitted += future.get();
+            }
+            assertEquals(500, admitted);
+        }
+    }
+
+    @Test
+    @DisplayName("Refilled buckets are evicted and recreated full")
+    void evictsIdleBuckets() {
+        var limits = RateLimits.NONE.withUserLimit(Command.CreateTicket.class, new RateLimit(10, 2));
+        var limiter = new RateLimiter(limits, clock::get);
+        var busy = UUID.randomUUID();
+        var idle = UUID.randomUUID();
+        assertNull(limiter.tryAcquire(Command.CreateTicket.class, idle, null));
+        clock.addAndGet(Duration.ofMillis(150).toNanos());
+        assertNull(limiter.tryAcquire(Command.CreateTicket.class, busy, null));
+        assertNull(limiter.tryAcquire(Command.CreateTicket.class, busy, null));
+        assertNull(limiter.tryAcquire(Command.UpdateTicketStatus.class, busy, null));
+        assertEquals(2, limiter.bucketCount());
+
+        assertEquals(1, limiter.evictIdle());
+        assertEquals(1, limiter.bucketCount());
+        assertNotNull(limiter.tryAcquire(Command.CreateTicket.class, busy, null));
+        assertNull(limiter.tryAcquire(Command.CreateTicket.class, idle, null));
+    }
+}
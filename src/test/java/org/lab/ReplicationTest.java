@@ -0,0 +1,236 @@
+package org.lab;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.lab.io.RowCodec;
+import org.lab.model.*;
+import org.lab.replication.FollowerReplica;
+import org.lab.replication.LeaderServer;
+import org.lab.replication.ReplicationLog;
+import org.lab.service.ColdStorage;
+import org.lab.service.ProjectManagementService;
+import org.lab.service.TextStorage;
+
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplicationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private ProjectManagementService leader;
+    private LeaderServer server;
+    private final List<FollowerReplica> followers = new ArrayList<>();
+    private User manager;
+    private User developer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        leader = new ProjectManagementService();
+        manager = leader.registerUser("manager", "manager@test.com", "Manager");
+        developer = leader.registerUser("dev", "dev@test.com", "Developer");
+        server = LeaderServer.start(leader, new InetSocketAddress("localhost", 0), 1 << 12);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        for (var follower : followers) {
+            follower.close();
+        }
+        server.close();
+    }
+
+    private FollowerReplica follow() throws Exception {
+        var follower = FollowerReplica.connect(new InetSocketAddress("localhost", server.port()));
+        followers.add(follower);
+        return follower;
+    }
+
+    private void awaitCaughtUp(FollowerReplica follower) throws InterruptedException {
+        assertTrue(follower.awaitSequence(server.log().lastSequence(), TIMEOUT),
+                () -> STR."Replica did not catch up: \{follower.lag()}, \{follower.failure()}");
+    }
+
+    @Test
+    @DisplayName("Followers apply the leader's changes with their versions")
+    void followersApplyChanges() throws Exception {
+        var first = follow();
+        var second = follow();
+
+        var project = leader.createProject("Project", "Description", manager.id());
+        leader.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        var milestone = leader.createMilestone("M1", "", project.id(),
+                LocalDate.now(), LocalDate.now().plusDays(7), manager.id());
+        leader.changeMilestoneStatus(milestone.id(), MilestoneStatus.ACTIVE, manager.id());
+        var ticket = leader.createTicket("Ticket", "Some text", project.id(), milestone.id(), manager.id());
+        leader.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+        leader.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id());
+        var bug = leader.createBugReport("Bug", "Steps", project.id(), developer.id(), "high");
+
+        for (var follower : List.of(first, second)) {
+            awaitCaughtUp(follower);
+            var replica = follower.service();
+            var replicatedProject = replica.getProject(project.id()).orElseThrow();
+            assertEquals(project.version(), replicatedProject.version());
+            assertEquals(project.teamMembers(), replicatedProject.teamMembers());
+            assertEquals(List.of(milestone.id()), replicatedProject.milestoneIds());
+            assertEquals(List.of(bug.id()), replicatedProject.bugReportIds());
+            assertEquals(milestone.id(), replicatedProject.activeMilestoneId());
+            assertEquals(List.of(ticket.id()), replica.getMilestone(milestone.id()).orElseThrow().ticketIds());
+            assertEquals(leader.getTicket(ticket.id()), replica.getTicket(ticket.id()));
+            assertEquals(leader.getBugReport(bug.id()), replica.getBugReport(bug.id()));
+            assertEquals(1, replica.getUserProjects(developer.id()).size());
+            assertEquals(0, follower.lag().entries());
+        }
+    }
+
+    @Test
+    @DisplayName("A follower joining late starts from a snapshot")
+    void lateFollowerGetsSnapshot() throws Exception {
+        var project = leader.createProject("Project", "", manager.id());
+        leader.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+        var tickets = new ArrayList<Ticket>();
+        for (int i = 0; i < 50; i++) {
+            tickets.add(leader.createTicket(STR."Ticket \{i}", "", project.id(), null, manager.id()));
+        }
+
+        var follower = follow();
+        awaitCaughtUp(follower);
+        leader.updateTicketStatus(tickets.getFirst().id(), TicketStatus.ACCEPTED, manager.id());
+        awaitCaughtUp(follower);
+
+        assertEquals(50, follower.service().getTicketsByProject(project.id()).size());
+        assertEquals(TicketStatus.ACCEPTED,
+                follower.service().getTicket(tickets.getFirst().id()).orElseThrow().status());
+    }
+
+    @Test
+    @DisplayName("Concurrent writers converge to the leader's latest versions")
+    void concurrentWritesConverge() throws Exception {
+        var follower = follow();
+        var project = leader.createProject("Project", "", manager.id());
+        leader.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            for (int t = 0; t < 4; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        var ticket = leader.createTicket("Ticket", "", project.id(), null, manager.id());
+                        leader.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+                        leader.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id());
+                    }
+                    return null;
+                });
+            }
+        }
+        awaitCaughtUp(follower);
+
+        var expected = new HashSet<>(leader.getTicketsByProject(project.id()));
+        assertEquals(400, expected.size());
+        assertEquals(expected, new HashSet<>(follower.service().getTicketsByProject(project.id())));
+    }
+
+    @Test
+    @DisplayName("Concurrent appends are numbered densely and each holds its own rows")
+    void concurrentAppendsStayIntact() throws Exception {
+        var log = new ReplicationLog(1 << 12);
+        var project = Project.create("Project", "", manager.id());
+        var written = ConcurrentHashMap.<UUID>newKeySet();
+        try (var executor = Executors.newFixedThreadPool(4)) {
+            for (int t = 0; t < 4; t++) {
+                executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        var ticket = Ticket.create(STR."Ticket \{i}", "x".repeat(i), project.id(), null);
+                        written.add(ticket.id());
+                        log.ticketChanged(ticket);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        var entries = log.read(0, 4096, Duration.ZERO);
+        assertEquals(2000, entries.size());
+        var read = new HashSet<UUID>();
+        for (int i = 0; i < entries.size(); i++) {
+            var entry = entries.get(i);
+            assertEquals(i + 1, entry.sequence());
+            var batch = RowCodec.decode(entry.rows(), entry.rows().length);
+            assertEquals(1, batch.tickets().size());
+            read.add(batch.tickets().getFirst().id());
+        }
+        assertEquals(written, read);
+    }
+
+    @Test
+    @DisplayName("Archiving on the leader evicts the aggregate on followers")
+    void archivalReachesFollowers(@TempDir Path dir) throws Exception {
+        try (var archive = new ColdStorage(dir.resolve("leader"));
+             var followerArchive = new ColdStorage(dir.resolve("follower"))) {
+            var archiving = new ProjectManagementService(TextStorage.onHeap(), archive);
+            var lead = archiving.registerUser("lead", "lead@test.com", "Lead");
+            var dev = archiving.registerUser("developer", "developer@test.com", "Developer");
+            var tester = archiving.registerUser("tester", "tester@test.com", "Tester");
+            try (var archivingServer = LeaderServer.start(archiving, new InetSocketAddress("localhost", 0), 1 << 12)) {
+                var address = new InetSocketAddress("localhost", archivingServer.port());
+                var dropping = FollowerReplica.connect(address);
+                var keeping = FollowerReplica.connect(address,
+                        new ProjectManagementService(TextStorage.onHeap(), followerArchive));
+                followers.add(dropping);
+                followers.add(keeping);
+
+                var project = archiving.createProject("Project", "", lead.id());
+                // Snapshots carry active work only, so both must be streaming before anything is archived.
+                for (var follower : List.of(dropping, keeping)) {
+                    assertTrue(follower.awaitSequence(archivingServer.log().lastSequence(), TIMEOUT));
+                }
+                archiving.addTeamMember(project.id(), dev.id(), new Role.Developer(), lead.id());
+                archiving.addTeamMember(project.id(), tester.id(), new Role.Tester(), lead.id());
+                var milestone = archiving.createMilestone("M1", "", project.id(),
+                        LocalDate.now(), LocalDate.now().plusDays(7), lead.id());
+                archiving.changeMilestoneStatus(milestone.id(), MilestoneStatus.ACTIVE, lead.id());
+                var ticket = archiving.createTicket("Ticket", "", project.id(), milestone.id(), lead.id());
+                archiving.assignDevelopersToTicket(ticket.id(), Set.of(dev.id()), lead.id());
+                archiving.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, lead.id());
+                archiving.updateTicketStatus(ticket.id(), TicketStatus.IN_PROGRESS, dev.id());
+                archiving.updateTicketStatus(ticket.id(), TicketStatus.COMPLETED, dev.id());
+                var bug = archiving.createBugReport("Bug", "", project.id(), tester.id(), "low");
+                archiving.assignBugReport(bug.id(), dev.id(), lead.id());
+                archiving.updateBugReportStatus(bug.id(), BugReportStatus.FIXED, dev.id());
+                archiving.updateBugReportStatus(bug.id(), BugReportStatus.TESTED, tester.id());
+                archiving.updateBugReportStatus(bug.id(), BugReportStatus.CLOSED, lead.id());
+                archiving.changeMilestoneStatus(milestone.id(), MilestoneStatus.CLOSED, lead.id());
+
+                for (var follower : List.of(dropping, keeping)) {
+                    assertTrue(follower.awaitSequence(archivingServer.log().lastSequence(), TIMEOUT),
+                            () -> STR."Replica did not catch up: \{follower.lag()}, \{follower.failure()}");
+                    var replica = follower.service();
+                    assertTrue(replica.getTicketsByProject(project.id()).isEmpty());
+                    assertTrue(replica.getBugReportsByProject(project.id()).isEmpty());
+                    assertEquals(0, replica.getProjectStats(project.id()).activeMilestones());
+                    assertEquals(archiving.getProjectStats(project.id()), replica.getProjectStats(project.id()));
+                }
+                assertTrue(dropping.service().getMilestone(milestone.id()).isEmpty());
+                assertEquals(MilestoneStatus.CLOSED,
+                        keeping.service().getMilestone(milestone.id()).orElseThrow().status());
+                assertEquals(TicketStatus.COMPLETED, keeping.service().getTicket(ticket.id()).orElseThrow().status());
+                assertEquals(BugReportStatus.CLOSED, keeping.service().getBugReport(bug.id()).orElseThrow().status());
+                assertEquals(3, followerArchive.size());
+            }
+        }
+    }
+}
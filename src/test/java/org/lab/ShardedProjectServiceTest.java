@@ -0,0 +1,174 @@
+package org.lab;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.model.*;
+import org.lab.service.PermissionChecker.Permission;
+import org.lab.service.ShardedProjectService;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedProjectServiceTest {
+
+    private ShardedProjectService service;
+    private User manager;
+    private User developer;
+
+    @BeforeEach
+    void setUp() {
+        service = new ShardedProjectService(4);
+        manager = service.registerUser("manager", "manager@test.com", "Manager");
+        developer = service.registerUser("dev", "dev@test.com", "Developer");
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("Projects spread over shards and keep their entities co-located")
+    void coLocatesProjectEntities() {
+        var projects = new ArrayList<Project>();
+        for (int i = 0; i < 8; i++) {
+            var project = service.createProject(STR."Project \{i}", "Description", manager.id());
+            service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+            projects.add(project);
+        }
+
+        var usedShards = new HashSet<Integer>();
+        for (var project : projects) {
+            int shard = service.shardOf(project.id());
+            usedShards.add(shard);
+            var ticket = service.createTicket("Ticket", "", project.id(), null, manager.id());
+            var bug = service.createBugReport("Bug", "", project.id(), developer.id(), "low");
+            assertEquals(shard, service.shardOf(ticket.id()));
+            assertEquals(shard, service.shardOf(bug.id()));
+            service.assignDevelopersToTicket(ticket.id(), Set.of(developer.id()), manager.id());
+            service.updateTicketStatus(ticket.id(), TicketStatus.ACCEPTED, manager.id());
+            service.updateTicketStatus(ticket.id(), TicketStatus.IN_PROGRESS, developer.id());
+        }
+
+        assertEquals(4, usedShards.size());
+        assertEquals(8, service.getUserProjects(developer.id()).size());
+        var tickets = service.getUserTickets(developer.id());
+        assertEquals(8, tickets.size());
+        assertTrue(tickets.stream().allMatch(t -> t.status() == TicketStatus.IN_PROGRESS));
+        assertEquals(1, service.getTicketsByProject(projects.getFirst().id()).size());
+    }
+
+    @Test
+    @DisplayName("Shard exceptions reach the caller unchanged")
+    void propagatesExceptions() {
+        var project = service.createProject("Project", "Description", manager.id());
+
+        assertThrows(SecurityException.class, () ->
+                service.createTicket("Ticket", "", project.id(), null, developer.id()));
+        assertThrows(IllegalArgumentException.class, () ->
+                service.updateTicketStatus(UUID.randomUUID(), TicketStatus.ACCEPTED, manager.id()));
+        assertThrows(IllegalArgumentException.class, () ->
+                service.addTeamMember(project.id(), UUID.randomUUID(), new Role.Developer(), manager.id()));
+        assertTrue(service.getTicket(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Bulk load places projects and routes their children")
+    void bulkLoadRoutes() {
+        var tester = User.create("tester", "tester@test.com", "Tester");
+        var projects = new ArrayList<Project>();
+        var tickets = new ArrayList<Ticket>();
+        for (int i = 0; i < 4; i++) {
+            var project = Project.create(STR."Imported \{i}", "Description", tester.id());
+            projects.add(project);
+            tickets.add(Ticket.create("Ticket", "", project.id(), null));
+        }
+
+        service.bulkLoad(List.of(tester), projects, List.of(), tickets, List.of());
+
+        assertTrue(service.getUser(tester.id()).isPresent());
+        assertEquals(4, service.getUserProjects(tester.id()).size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(service.shardOf(projects.get(i).id()), service.shardOf(tickets.get(i).id()));
+            assertEquals(1, service.getTicketsByProject(projects.get(i).id()).size());
+        }
+        var second = service.createProject("Native", "Description", tester.id());
+        assertTrue(service.getProject(second.id()).isPresent());
+    }
+
+    @Test
+    @DisplayName("Reads return detached projects and serve users without a shard")
+    void readsAreSnapshots() {
+        var project = service.createProject("Shop", "Store", manager.id());
+        var milestone = service.createMilestone("M1", "", project.id(),
+                LocalDate.now(), LocalDate.now().plusDays(7), manager.id());
+
+        service.getProject(project.id()).orElseThrow().addTeamMember(developer.id(), new Role.Developer());
+        project.addTeamMember(developer.id(), new Role.Developer());
+        service.getUserProjects(manager.id()).getFirst().addTeamMember(developer.id(), new Role.Developer());
+        service.getMilestone(milestone.id()).orElseThrow().addTicket(UUID.randomUUID());
+
+        assertFalse(service.getProject(project.id()).orElseThrow().hasRole(developer.id(), Role.Developer.class));
+        assertTrue(service.getMilestone(milestone.id()).orElseThrow().ticketIds().isEmpty());
+        assertEquals(developer, service.getUser(developer.id()).orElseThrow());
+        assertTrue(service.getUser(UUID.randomUUID()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Concurrent registrations of one name leave a single user on every shard")
+    void registrationsStayUniqueAcrossShards() throws Exception {
+        var winners = new ConcurrentLinkedQueue<User>();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 32; i++) {
+                int attempt = i;
+                executor.submit(() -> {
+                    try {
+                        winners.add(service.registerUser(attempt % 2 == 0 ? "shared" : "SHARED",
+                                STR."shared\{attempt}@test.com", "Shared"));
+                    } catch (IllegalStateException e) {
+                        // lost the race
+                    }
+                });
+            }
+        }
+
+        assertEquals(1, winners.size());
+        var winner = winners.peek();
+        assertEquals(winner, service.findUserByUsername("Shared").orElseThrow());
+        assertEquals(winner, service.findUserByEmail(winner.email()).orElseThrow());
+        var project = service.createProject("Project", "", manager.id());
+        service.addTeamMember(project.id(), winner.id(), new Role.Developer(), manager.id());
+        assertEquals(List.of(project.id()), service.getUserProjects(winner.id()).stream().map(Project::id).toList());
+    }
+
+    @Test
+    @DisplayName("Permission matrix merges roles from every shard and follows membership changes")
+    void permissionMatrixAcrossShards() {
+        var projects = new ArrayList<Project>();
+        for (int i = 0; i < 4; i++) {
+            var project = service.createProject(STR."Project \{i}", "Description", manager.id());
+            service.addTeamMember(project.id(), developer.id(), new Role.Developer(), manager.id());
+            projects.add(project);
+        }
+
+        var matrix = service.getPermissionMatrix(developer.id());
+        assertEquals(4, matrix.projects().size());
+        assertSame(matrix, service.getPermissionMatrix(developer.id()));
+        assertTrue(projects.stream().allMatch(p -> matrix.has(p.id(), new Permission.CanWorkOnTickets())));
+
+        service.assignTeamLeader(projects.get(2).id(), developer.id(), manager.id());
+        var updated = service.getPermissionMatrix(developer.id());
+        assertTrue(updated.has(projects.get(2).id(), new Permission.CanCreateTickets()));
+        assertFalse(updated.has(projects.get(1).id(), new Permission.CanCreateTickets()));
+    }
+}
@@ -157,4 +157,23 @@ class SmartPermissionCheckerTest {
         assertTrue(result.canActivate());
         assertTrue(result.reason().contains("ready"));
     }
+
+    @Test
+    @DisplayName("Milestone activation uses the project's team size")
+    void testCanActivateMilestoneForProject() {
+        var managerId = UUID.randomUUID();
+        var project = Project.create("Project", "Description", managerId);
+        var milestone = Milestone.create("Sprint 1", "First sprint", project.id(),
+            java.time.LocalDate.now(), java.time.LocalDate.now().plusDays(14));
+        milestone.addTicket(UUID.randomUUID());
+
+        assertFalse(SmartPermissionChecker.canActivateMilestone(milestone, project).canActivate());
+
+        project.addTeamMember(UUID.randomUUID(), new Role.Developer());
+        project.addTeamMember(UUID.randomUUID(), new Role.Tester());
+
+        assertTrue(SmartPermissionChecker.canActivateMilestone(milestone, project).canActivate());
+        assertFalse(SmartPermissionChecker.canActivateMilestone(milestone,
+            Project.create("Other", "Description", managerId)).canActivate());
+    }
 }
@@ -0,0 +1,90 @@
+package org.lab;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.model.TicketStatus;
+import org.lab.service.StatusColumns;
+import org.lab.service.StatusKernel;
+import org.lab.service.StatusKernels;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class StatusKernelTest {
+
+    private static final int[] SIZES = {0, 1, 7, 63, 64, 65, 1000, 4099};
+
+    @Test
+    @DisplayName("Scalar kernel counts statuses")
+    void scalarKernelCountsStatuses() {
+        var kernel = StatusKernels.scalar();
+        byte[] column = {0, 1, 2, 3, 3, 3, 2};
+
+        assertArrayEquals(new int[]{1, 1, 2, 3}, kernel.histogram(column, column.length, 4));
+        assertEquals(3, kernel.count(column, column.length, (byte) 3));
+        assertEquals(2, kernel.count(column, 5, (byte) 3));
+    }
+
+    @Test
+    @DisplayName("Timestamps keep their order far past 2262 and saturate at the extremes")
+    void encodesTimestampsInOrder() {
+        var now = LocalDateTime.of(2026, 1, 1, 0, 0);
+        var far = LocalDateTime.of(2500, 1, 1, 0, 0);
+        assertTrue(StatusColumns.epochMicros(now) < StatusColumns.epochMicros(now.plusNanos(1_000)));
+        assertTrue(StatusColumns.epochMicros(now) < StatusColumns.epochMicros(far));
+        assertTrue(StatusColumns.epochMicros(far) < StatusColumns.epochMicros(far.plusSeconds(1)));
+        assertEquals(Long.MAX_VALUE, StatusColumns.epochMicros(LocalDateTime.MAX));
+        assertEquals(Long.MIN_VALUE, StatusColumns.epochMicros(LocalDateTime.MIN));
+    }
+
+    @Test
+    @DisplayName("Scalar kernel filters by status and timestamp")
+    void scalarKernelCountsBeforeThreshold() {
+        var kernel = StatusKernels.scalar();
+        byte[] codes = {2, 2, 1, 2};
+        long[] timestamps = {5, 10, 1, 20};
+
+        assertEquals(1, kernel.countBefore(codes, (byte) 2, timestamps, 10, codes.length));
+        assertEquals(2, kernel.countBefore(codes, (byte) 2, timestamps, 11, codes.length));
+    }
+
+    @Test
+    @DisplayName("Vector kernel matches scalar kernel on random columns")
+    void vectorKernelMatchesScalar() {
+        var vector = StatusKernels.vector();
+        assumeTrue(vector.isPresent(), "Vector API is not available");
+
+        var scalar = StatusKernels.scalar();
+        var random = new Random(42);
+        int buckets = TicketStatus.values().length;
+
+        for (int size : SIZES) {
+            var codes = new byte[size];
+            var flags = new byte[size];
+            var timestamps = new long[size];
+            for (int i = 0; i < size; i++) {
+                codes[i] = (byte) random.nextInt(buckets);
+                flags[i] = (byte) random.nextInt(2);
+                timestamps[i] = random.nextLong(1_000);
+            }
+
+            assertKernelsAgree(scalar, vector.get(), codes, flags, timestamps, buckets);
+        }
+    }
+
+    private void assertKernelsAgree(StatusKernel expected, StatusKernel actual,
+                                    byte[] codes, byte[] flags, long[] timestamps, int buckets) {
+        int size = codes.length;
+        assertArrayEquals(expected.histogram(codes, size, buckets), actual.histogram(codes, size, buckets));
+        for (byte code = 0; code < buckets; code++) {
+            assertEquals(expected.count(codes, size, code), actual.count(codes, size, code));
+            assertEquals(expected.countBoth(codes, code, flags, (byte) 1, size),
+                    actual.countBoth(codes, code, flags, (byte) 1, size));
+            assertEquals(expected.countBefore(codes, code, timestamps, 500, size),
+                    actual.countBefore(codes, code, timestamps, 500, size));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.lab;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.timer.TimingWheel;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+
+    @Test
+    @DisplayName("Timeouts fire on the tick of their deadline, across cascades")
+    void firesOnDeadline() {
+        var wheel = new TimingWheel<Long>(10, 0);
+        var random = new Random(3);
+        var deadlines = new ArrayList<Long>();
+        for (int i = 0; i < 2_000; i++) {
+            long deadline = 10 + random.nextLong(10_000_000L);
+            deadlines.add(deadline);
+            wheel.schedule(deadline, deadline);
+        }
+        deadlines.add(5_000L);
+        wheel.schedule(5_000L, 5_000L);
+
+        var fired = new ArrayList<Long>();
+        for (long now = 0; now <= 10_000_000L + 10; now += 1_000) {
+            long at = now;
+            wheel.advance(now, deadline -> {
+                assertTrue(deadline <= at, STR."\{deadline} fired early at \{at}");
+                assertTrue(deadline > at - 1_000, STR."\{deadline} fired late at \{at}");
+                fired.add(deadline);
+            });
+        }
+
+        assertEquals(deadlines.size(), fired.size());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Cancelled timeouts never fire and past deadlines fire on the next advance")
+    void cancelAndPastDeadlines() {
+        var wheel = new TimingWheel<String>(1, 1_000);
+        var cancelled = wheel.schedule(1_500, "cancelled");
+        wheel.schedule(1_500, "kept");
+        wheel.schedule(10, "past");
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertEquals(2, wheel.size());
+
+        var fired = new ArrayList<String>();
+        wheel.advance(1_001, fired::add);
+        assertEquals(List.of("past"), fired);
+        wheel.advance(1_499, fired::add);
+        assertEquals(List.of("past"), fired);
+        wheel.advance(1_500, fired::add);
+        assertEquals(List.of("past", "kept"), fired);
+    }
+
+    @Test
+    @DisplayName("Deadlines far beyond the top wheel still fire on time")
+    void veryDistantDeadline() {
+        var wheel = new TimingWheel<String>(1, 0);
+        long far = 1L << 50;
+        wheel.schedule(far, "far");
+
+        var fired = new ArrayList<String>();
+        wheel.advance(far - 1, fired::add);
+        assertTrue(fired.isEmpty());
+        wheel.advance(far, fired::add);
+        assertEquals(List.of("far"), fired);
+    }
+}
@@ -0,0 +1,64 @@
+package org.lab;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.lab.model.Ticket;
+import org.lab.model.TicketStatus;
+import org.lab.model.UuidSet;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidSetTest {
+
+    @Test
+    @DisplayName("Behaves as an immutable set equal to any set with the same ids")
+    void actsAsSet() {
+        var a = UUID.randomUUID();
+        var b = UUID.randomUUID();
+        var set = UuidSet.copyOf(List.of(b, a, b));
+
+        assertEquals(2, set.size());
+        assertTrue(set.contains(a));
+        assertFalse(set.contains(UUID.randomUUID()));
+        assertFalse(set.contains("not an id"));
+        assertEquals(Set.of(a, b), set);
+        assertEquals(set, Set.of(a, b));
+        assertEquals(Set.of(a, b).hashCode(), set.hashCode());
+        assertEquals(UuidSet.of(a, b), set);
+        assertThrows(UnsupportedOperationException.class, () -> set.add(UUID.randomUUID()));
+        assertThrows(UnsupportedOperationException.class, () -> set.remove(a));
+        assertThrows(NullPointerException.class, () -> UuidSet.of(a, null));
+    }
+
+    @Test
+    @DisplayName("Finds members by binary search once past the linear-scan size")
+    void largeSets() {
+        var ids = new ArrayList<UUID>();
+        for (int i = 0; i < 100; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        var set = UuidSet.copyOf(new HashSet<>(ids));
+        assertEquals(100, set.size());
+        assertTrue(ids.stream().allMatch(set::contains));
+        assertFalse(set.contains(UUID.randomUUID()));
+        assertEquals(new HashSet<>(ids), set);
+    }
+
+    @Test
+    @DisplayName("Tickets share their assignee set across versions and the empty set across tickets")
+    void ticketsShareSets() {
+        var ticket = Ticket.create("Task", "", UUID.randomUUID(), null)
+                .assignDevelopers(new HashSet<>(Set.of(UUID.randomUUID())));
+        var moved = ticket.withStatus(TicketStatus.ACCEPTED);
+
+        assertSame(ticket.assignedDevelopers(), moved.assignedDevelopers());
+        assertSame(UuidSet.copyOf(ticket.assignedDevelopers()), ticket.assignedDevelopers());
+        assertSame(UuidSet.of(), Ticket.create("Other", "", UUID.randomUUID(), null).assignedDevelopers());
+    }
+}